@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+
+# Compares Echo's wall-clock time-to-window with and without the class-data-sharing archive.
+#
+# Usage: scripts/cds-benchmark.sh [RUNS] [HISTORY_SIZE]
+# Build the jar and the archive first with: ./gradlew appCdsArchive
+
+RUNS=${1:-10}
+HISTORY_SIZE=${2:-1000}
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+ARCHIVE="$ROOT_DIR/build/libs/echo.jsa"
+
+if [ ! -f "$ARCHIVE" ]
+then
+    echo "Cannot find $ARCHIVE, run ./gradlew appCdsArchive first"
+    exit 1
+fi
+
+echo "=== Without application archive (JDK default CDS only) ==="
+JAVA_OPTS="-Xshare:auto" "$ROOT_DIR/scripts/startup-benchmark.sh" "$RUNS" "$HISTORY_SIZE"
+
+echo
+echo "=== With application archive ==="
+JAVA_OPTS="-XX:SharedArchiveFile=$ARCHIVE -Xshare:auto" "$ROOT_DIR/scripts/startup-benchmark.sh" "$RUNS" "$HISTORY_SIZE"
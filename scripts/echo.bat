@@ -0,0 +1,13 @@
+@ECHO OFF
+REM Starts Echo from build\libs\echo.jar, using the class-data-sharing archive build\libs\echo.jsa if it exists.
+REM Create the archive with: gradlew appCdsArchive
+
+SETLOCAL
+SET ROOT_DIR=%~dp0..
+SET JAR=%ROOT_DIR%\build\libs\echo.jar
+SET ARCHIVE=%ROOT_DIR%\build\libs\echo.jsa
+
+SET CDS_OPTS=
+IF EXIST "%ARCHIVE%" SET CDS_OPTS=-XX:SharedArchiveFile="%ARCHIVE%" -Xshare:auto
+
+java %CDS_OPTS% %JAVA_OPTS% -jar "%JAR%" %*
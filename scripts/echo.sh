@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+
+# Starts Echo from build/libs/echo.jar, using the class-data-sharing archive build/libs/echo.jsa if it exists.
+# Create the archive with: ./gradlew appCdsArchive
+#
+# Extra JVM options can be passed through the JAVA_OPTS environment variable.
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT_DIR/build/libs/echo.jar"
+ARCHIVE="$ROOT_DIR/build/libs/echo.jsa"
+
+CDS_OPTS=""
+if [ -f "$ARCHIVE" ]
+then
+    # -Xshare:auto starts normally if the archive does not match this JDK or jar
+    CDS_OPTS="-XX:SharedArchiveFile=$ARCHIVE -Xshare:auto"
+fi
+
+exec java $CDS_OPTS $JAVA_OPTS -jar "$JAR" "$@"
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+
+# Measures Echo's time-to-first-paint and time-to-interactive over repeated cold starts.
+#
+# Usage: scripts/startup-benchmark.sh [RUNS] [HISTORY_SIZE]
+#   RUNS          number of cold starts to measure (default 10)
+#   HISTORY_SIZE  number of tasks in the generated data/echo.txt (default 10000)
+#
+# Extra JVM options can be passed through the JAVA_OPTS environment variable.
+# Build the jar first with: ./gradlew shadowJar
+
+RUNS=${1:-10}
+HISTORY_SIZE=${2:-10000}
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT_DIR/build/libs/echo.jar"
+
+if [ ! -f "$JAR" ]
+then
+    echo "Cannot find $JAR, run ./gradlew shadowJar first"
+    exit 1
+fi
+
+# run from a scratch directory so that the real data/echo.txt is never touched
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+mkdir -p "$WORK_DIR/data"
+
+awk -v n="$HISTORY_SIZE" 'BEGIN {
+    for (i = 0; i < n; i++) {
+        day = (i % 28) + 1
+        if (i % 3 == 0) {
+            printf "T | %d | todo number %d\n", i % 2, i
+        } else if (i % 3 == 1) {
+            printf "D | %d | deadline number %d | 2026-02-%02d 1800\n", i % 2, i, day
+        } else {
+            printf "E | %d | event number %d | 2026-02-%02d 1000 | 2026-02-%02d 1200\n", i % 2, i, day, day
+        }
+    }
+}' > "$WORK_DIR/data/echo.txt.seed"
+
+RESULTS="$WORK_DIR/results.txt"
+for ((run = 1; run <= RUNS; run++))
+do
+    # every run starts from the same history, a run may save changes to it
+    cp "$WORK_DIR/data/echo.txt.seed" "$WORK_DIR/data/echo.txt"
+    (cd "$WORK_DIR" && java $JAVA_OPTS -Decho.startup.report=true -Decho.startup.exitWhenInteractive=true \
+        -jar "$JAR") | grep "^echo.startup" >> "$RESULTS"
+done
+
+# prints the median and max of one of the reported fields
+summarise() {
+    sed -n "s/.*$1=\([0-9]*\).*/\1/p" "$RESULTS" | sort -n | awk -v name="$1" '
+        { values[NR] = $1 }
+        END {
+            if (NR == 0) { print name ": no results"; exit }
+            median = (NR % 2 == 1) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2
+            printf "%-16s median %6d ms   max %6d ms   (%d runs)\n", name, median, values[NR], NR
+        }'
+}
+
+echo "History size: $HISTORY_SIZE tasks"
+summarise firstPaintMs
+summarise interactiveMs
@@ -2,19 +2,35 @@ package echo;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-import echo.command.Command;
+import echo.command.CommandContext;
+import echo.command.CommandDispatcher;
+import echo.command.ResponseCache;
 import echo.exception.ParsingException;
 import echo.exception.StorageException;
 import echo.exception.TaskException;
 import echo.exception.TaskManagerException;
+import echo.monitoring.CommandEvent;
 import echo.parser.InstructionParser;
+import echo.profile.Profile;
+import echo.profile.ProfileCache;
+import echo.profile.SaveBatcher;
+import echo.reminder.ReminderScheduler;
+import echo.storage.Archive;
+import echo.storage.Durability;
+import echo.storage.SaveFileChanges;
+import echo.storage.SaveFileWatcher;
 import echo.storage.Storage;
-import echo.task.AddTaskResult;
 import echo.task.Task;
 import echo.task.TaskManager;
+import echo.task.TimedTask;
 import echo.ui.MessageFormatter;
 
 /**
@@ -27,184 +43,368 @@ import echo.ui.MessageFormatter;
  */
 public class Echo {
 
-    private static final String FILE_PATH = "data/echo.txt";
+    private static final String DATA_DIRECTORY = "data";
+    // the task list used at startup, saved to data/echo.txt
+    private static final String DEFAULT_PROFILE_NAME = "echo";
+    // if set, done tasks that ended more than this many days ago are archived whenever a task list is loaded
+    private static final String PROPERTY_ARCHIVE_AFTER_DAYS = "echo.archive.afterDays";
+    // estimated heap the loaded task lists may use together before the least recently used ones are unloaded
+    private static final String PROPERTY_PROFILE_MEMORY_BUDGET_MB = "echo.profiles.memoryBudgetMb";
+    private static final int DEFAULT_PROFILE_MEMORY_BUDGET_MB = 256;
+    // if true, task lists are kept in page files, and saving only writes the tasks that changed
+    private static final String PROPERTY_PAGED_STORAGE = "echo.storage.paged";
+    // none, batched or every_write, see Durability
+    private static final String PROPERTY_DURABILITY = "echo.storage.durability";
+    private static final Durability DEFAULT_DURABILITY = Durability.NONE;
+    // how long a batched save waits for more changes to save with it
+    private static final String PROPERTY_BATCH_WINDOW_MS = "echo.storage.batchWindowMs";
+    private static final int DEFAULT_BATCH_WINDOW_MS = 100;
+    // if false, changes other programs make to the save files are not merged into the loaded task lists
+    private static final String PROPERTY_WATCH_FILES = "echo.storage.watch";
+    // how many minutes before a deadline or event starts to remind the user of it
+    private static final String PROPERTY_REMINDER_LEAD_MINUTES = "echo.reminder.leadMinutes";
+    private static final int DEFAULT_REMINDER_LEAD_MINUTES = 15;
+    // how many responses to read-only commands like list and find to keep until the tasks change, 0 for none
+    private static final String PROPERTY_RESPONSE_CACHE_SIZE = "echo.responseCache.size";
+    private static final int DEFAULT_RESPONSE_CACHE_SIZE = 64;
+    private static final long BYTES_PER_MB = 1024 * 1024;
 
     private static final String ERROR_MESSAGE_SAVE_FAIL = "Saving failed due to: %s";
-    private static final String ERROR_MESSAGE_KEYWORD_NULL = "Keyword is null";
+    private static final String ERROR_MESSAGE_WATCH_FAIL = "Watching the save files failed due to: %s";
     private static final String ERROR_MESSAGE_USER_MESSAGE_NULL = "User message is null";
+    // failure recorded for a command that threw an Error rather than an exception
+    private static final String FAILURE_UNEXPECTED_ERROR = "unexpected error";
 
-    private static final String MESSAGE_UNKNOWN_COMMAND = "Unknown command, please try again!";
 
-    private TaskManager taskManager;
+    private Profile activeProfile;
+    private ProfileCache profiles;
     private MessageFormatter messageFormatter;
-    private Storage storage;
     private InstructionParser instructionParser;
     private Optional<String> loadingErrorMessage;
+    private CommandDispatcher commandDispatcher;
+    private CommandContext commandContext;
+    private SaveBatcher saveBatcher;
+    private final String dataDirectory;
+    private final boolean isPaged;
+    private SaveFileWatcher fileWatcher;
+    // told about changes merged in from other programs, on the thread watching the save files
+    private volatile Consumer<String> externalChangeListener;
+    private final ReminderScheduler reminderScheduler;
+    // told about reminders of tasks starting soon, on the thread of the reminder scheduler
+    private volatile Consumer<String> reminderListener;
+    // told about saves that failed, on the thread of the command or of the batched saves
+    private volatile Consumer<String> saveFailureListener;
+    // held while the task lists are changed or saved, since batched saves happen on another thread
+    private final Object lock = new Object();
 
     /**
      * Initalizes a new instance of Echo
      */
     public Echo() {
-        this.storage = new Storage(Echo.FILE_PATH);
+        this(Echo.DATA_DIRECTORY);
+    }
+
+    /**
+     * Initalizes a new instance of Echo that saves its task lists in another directory,
+     * e.g. to run it against a scratch copy of the data.
+     *
+     * @param dataDirectory Directory holding the save files of every task list.
+     */
+    public Echo(String dataDirectory) {
+        long memoryBudgetMb = Integer.getInteger(Echo.PROPERTY_PROFILE_MEMORY_BUDGET_MB,
+            Echo.DEFAULT_PROFILE_MEMORY_BUDGET_MB);
+        this.dataDirectory = dataDirectory;
+        this.isPaged = Boolean.getBoolean(Echo.PROPERTY_PAGED_STORAGE);
+        this.profiles = new ProfileCache(dataDirectory, memoryBudgetMb * Echo.BYTES_PER_MB, this.isPaged);
         this.messageFormatter = new MessageFormatter();
         this.loadingErrorMessage = Optional.empty();
         this.instructionParser = new InstructionParser();
-
-        // load tasks, which will populate loadingErrorMessage if there is a file loading issue
-        ArrayList<Task> tasks = this.loadTasksFromFile();
-        this.taskManager = new TaskManager(tasks);
+        this.commandDispatcher = new CommandDispatcher(Integer.getInteger(Echo.PROPERTY_RESPONSE_CACHE_SIZE,
+            Echo.DEFAULT_RESPONSE_CACHE_SIZE));
+        this.commandContext = new EchoCommandContext();
+        this.saveBatcher = new SaveBatcher(Echo.getDurability(),
+            Integer.getInteger(Echo.PROPERTY_BATCH_WINDOW_MS, Echo.DEFAULT_BATCH_WINDOW_MS), this.lock);
+        this.saveBatcher.setFailureListener(this::reportSaveFailure);
+        Duration reminderLeadTime = Duration.ofMinutes(Integer.getInteger(Echo.PROPERTY_REMINDER_LEAD_MINUTES,
+            Echo.DEFAULT_REMINDER_LEAD_MINUTES));
+        this.reminderScheduler = new ReminderScheduler(reminderLeadTime, LocalDateTime.now(), this::remind);
+
+        // start with no tasks, the saved tasks are only read when loadTasks is called
+        this.activeProfile = new Profile(Echo.DEFAULT_PROFILE_NAME, dataDirectory, this.isPaged);
     }
 
     /**
-     * Loads tasks from file.
-     * Intended as a helper method to use the Storage class to load tasks.
+     * Loads the saved tasks of the default task list from file into its task manager.
+     * Populates the loading error message if there is a file loading issue.
      *
-     * @return ArrayList of Task after successfully loading, or empty ArrayList if there was an error.
+     * Loading a large history can take a while, so the GUI calls this off the JavaFX application thread
+     * and holds back user commands until it returns.
+     *
+     * Once loaded, the save files are watched for changes made by other programs, see mergeExternalChanges,
+     * and the user is reminded of deadlines and events of the task list in use shortly before they start.
+     */
+    public void loadTasks() {
+        synchronized (this.lock) {
+            this.loadTasksAndArchive();
+            this.reminderScheduler.watch(this.activeProfile.getTaskManager());
+        }
+        this.startWatchingFiles();
+        this.reminderScheduler.start();
+    }
+
+    /**
+     * Starts watching the data directory, unless the task lists are paged or the watch property is false.
      */
-    private ArrayList<Task> loadTasksFromFile() {
+    private void startWatchingFiles() {
+        boolean isWatched = Boolean.parseBoolean(System.getProperty(Echo.PROPERTY_WATCH_FILES, "true"));
+        if (this.isPaged || !isWatched || this.fileWatcher != null) {
+            return;
+        }
+
+        this.fileWatcher = new SaveFileWatcher(this.dataDirectory, this::mergeExternalChanges);
         try {
-            ArrayList<Task> tasks = this.storage.loadTasks();
-            return tasks;
-        } catch (FileNotFoundException e) {
-            this.loadingErrorMessage = Optional.of(this.messageFormatter.createErrorMessage(e));
-            return new ArrayList<>();
-        } catch (StorageException e) {
-            this.loadingErrorMessage = Optional.of(this.messageFormatter.createErrorMessage(e));
-            return new ArrayList<>();
-        } catch (TaskException e) {
-            this.loadingErrorMessage = Optional.of(this.messageFormatter.createErrorMessage(e));
-            return new ArrayList<>();
+            this.fileWatcher.start();
+        } catch (IOException e) {
+            System.out.println(Echo.ERROR_MESSAGE_WATCH_FAIL.formatted(e.getMessage()));
         }
     }
 
     /**
-     * Greets user with a greeting.
+     * Sets the listener told about changes to the save files made by other programs, once they are merged in.
+     * It is called on the thread watching the save files, not the thread of the GUI.
      *
-     * @return a greeting to the user of type string.
+     * @param listener Listener given a message for the user, or null to stop telling anyone.
      */
-    public String greetUser() {
-        return this.messageFormatter.greetUser();
+    public void setExternalChangeListener(Consumer<String> listener) {
+        this.externalChangeListener = listener;
     }
 
     /**
-     * Gets loading error message in the form of an {@code Optional<String>}.
+     * Sets the listener told about deadlines and events of the task list in use that start soon.
+     * It is called on the thread of the reminder scheduler, not the thread of the GUI.
      *
-     * @return Error message from loading the saved tasks history.
+     * @param listener Listener given a message for the user, or null to stop telling anyone.
      */
-    public Optional<String> getLoadingErrorMessage() {
-        return this.loadingErrorMessage;
+    public void setReminderListener(Consumer<String> listener) {
+        this.reminderListener = listener;
     }
 
     /**
-     * Says bye to the user.
+     * Sets the listener told when saving a task list fails, including a batched save on another thread.
+     * The task list is saved again on its next change, or in the next window if saves are batched.
      *
-     * @return an ending message for exiting the chatbot.
+     * @param listener Listener given a message for the user, or null to only print the failures.
      */
-    public String exitUser() {
-        return this.messageFormatter.exitUser();
+    public void setSaveFailureListener(Consumer<String> listener) {
+        this.saveFailureListener = listener;
     }
 
     /**
-     * Adds a task to the task list.
+     * Tells the save failure listener that saving failed, or prints it if there is no listener.
      *
-     * @param description the description of the task to be added.
-     * @param type Type of command that the user is trying to perform.
-     * @param commandArgs arguments for the particular command the user is trying to perform.
-     * @return description to inform user the addition of a new task.
-     * @throws TaskException if creation of task was unsuccessful.
-     * @throws TaskManagerException if type is not of Command.TODO, Command.Event or Command.Description.
+     * @param reason Why saving failed.
      */
-    public String addTask(String description, Command type,
-            ArrayList<String> commandArgs) throws TaskException, TaskManagerException {
-        AddTaskResult result = this.taskManager.addTask(description, type, commandArgs);
-
-        this.saveTasksToFile();
-
-        int numTasks = this.taskManager.getNumTasks();
-        return this.messageFormatter.createAddTaskMessage(result, numTasks);
+    private void reportSaveFailure(String reason) {
+        String message = Echo.ERROR_MESSAGE_SAVE_FAIL.formatted(reason);
+        Consumer<String> listener = this.saveFailureListener;
+        if (listener != null) {
+            listener.accept(message);
+        } else {
+            System.out.println(message);
+        }
     }
 
     /**
-     * Gets tasks that have been stored in TaskManager, and format it for the user.
+     * Tells the reminder listener, if any, that a task starts soon.
      *
-     * @return formatted tasks in the form of a String.
+     * @param occurrence The task, or the occurrence of a recurring task, that starts soon.
      */
-    public String getTasks() {
-        ArrayList<Task> tasks = this.taskManager.getTasks();
-        return this.messageFormatter.createListTaskMessage(tasks);
+    private void remind(TimedTask occurrence) {
+        Consumer<String> listener = this.reminderListener;
+        if (listener != null) {
+            listener.accept(this.messageFormatter.createReminderMessage(occurrence, LocalDateTime.now()));
+        }
     }
 
     /**
-     * Marks a task in the task manager as done.
+     * Merges the changes another program made to a save file into its task list, if it is loaded.
+     * The save file is read without holding the lock, so commands are only held up while the changes are
+     * applied. If the save file is still being written, it is read again on its next change.
      *
-     * @param taskNumber 1-indexed task number.
-     * @return String of message telling user a task has been marked as done.
-     * @throws TaskManagerException if negative taskNumber or taskNumber more than number of tasks present
+     * @param fileName Name of the changed file, or null if any file may have changed.
      */
-    public String markAsDone(int taskNumber) throws TaskManagerException {
-        Task task = this.taskManager.markAsDone(taskNumber);
-
-        this.saveTasksToFile();
+    private void mergeExternalChanges(String fileName) {
+        ArrayList<Profile> changedProfiles = new ArrayList<>();
+        synchronized (this.lock) {
+            ArrayList<String> names = this.profiles.getLoadedNames();
+            for (String name : names) {
+                Profile profile = this.profiles.getIfLoaded(name);
+                boolean isChangedFile = fileName == null || name.equals(Profile.getNameOfSaveFile(fileName));
+                if (isChangedFile && profile.hasChangedOnDisk()) {
+                    changedProfiles.add(profile);
+                }
+            }
+        }
 
-        return this.messageFormatter.createMarkAsDoneMessage(task);
+        for (Profile profile : changedProfiles) {
+            SaveFileChanges changes;
+            try {
+                changes = profile.readExternalChanges();
+            } catch (IOException e) {
+                continue;
+            } catch (StorageException e) {
+                continue;
+            }
+
+            String message;
+            synchronized (this.lock) {
+                message = this.mergeChangesIntoProfile(profile, changes);
+            }
+            Consumer<String> listener = this.externalChangeListener;
+            if (message != null && listener != null) {
+                listener.accept(message);
+            }
+        }
     }
 
     /**
-     * Marks a task as undone in the task manager.
+     * Merges changes into a task list and saves it if it had changes of its own.
+     * Must be called while holding the lock.
      *
-     * @param taskNumber 1-indexed task number.
-     * @return String of message telling user a task has been marked as undone.
-     * @throws TaskManagerException If negative taskNumber or taskNumber more than number of tasks present
+     * @return a message for the user, or null if there was nothing to tell.
      */
-    public String markAsUndone(int taskNumber) throws TaskManagerException {
-        Task task = this.taskManager.markAsUndone(taskNumber);
+    private String mergeChangesIntoProfile(Profile profile, SaveFileChanges changes) {
+        if (this.profiles.getIfLoaded(profile.getName()) != profile) {
+            // unloaded in the meantime, so it is read afresh the next time it is used
+            return null;
+        }
+
+        try {
+            if (!profile.mergeExternalChanges(changes) || changes.isEmpty()) {
+                return null;
+            }
+        } catch (StorageException e) {
+            return this.messageFormatter.createErrorMessage(e);
+        }
+        if (profile.hasUnsavedChanges()) {
+            this.saveTasksToFile(profile);
+        }
+        return this.messageFormatter.createExternalChangesMessage(profile.getName(), changes);
+    }
 
-        this.saveTasksToFile();
+    private void loadTasksAndArchive() {
+        this.loadTasksFromFile();
+        this.profiles.add(this.activeProfile);
+        if (this.loadingErrorMessage.isPresent()) {
+            return;
+        }
 
-        return this.messageFormatter.createMarkAsUndoneMessage(task);
+        try {
+            this.archiveOldDoneTasks(this.activeProfile);
+        } catch (StorageException e) {
+            this.loadingErrorMessage = Optional.of(this.messageFormatter.createErrorMessage(e));
+        }
     }
 
     /**
-     * Removes a task from the task manager.
-     *
-     * @param taskNumber 1-indexed task number to be removed.
-     * @return String of message informing user the task has been removed.
-     * @throws TaskManagerException If negative taskNumber or taskNumber more than number of tasks present
+     * Reads the durability to save with from the {@code echo.storage.durability} system property,
+     * falling back to the default if it is not set or not a Durability.
      */
-    public String removeTask(int taskNumber) throws TaskManagerException {
-        Task task = this.taskManager.removeTask(taskNumber);
-        int numTasks = this.taskManager.getNumTasks();
+    private static Durability getDurability() {
+        String value = System.getProperty(Echo.PROPERTY_DURABILITY);
+        if (value == null) {
+            return Echo.DEFAULT_DURABILITY;
+        }
+        try {
+            return Durability.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Echo.DEFAULT_DURABILITY;
+        }
+    }
 
-        this.saveTasksToFile();
+    /**
+     * Archives the done tasks of a task list that ended more than the number of days in the archive policy ago,
+     * if the policy is set, saving the remaining tasks in the same operation.
+     *
+     * @throws StorageException If the archive file could not be written, or the remaining tasks could not be saved.
+     */
+    private void archiveOldDoneTasks(Profile profile) throws StorageException {
+        Integer archiveAfterDays = Integer.getInteger(Echo.PROPERTY_ARCHIVE_AFTER_DAYS);
+        if (archiveAfterDays == null || archiveAfterDays < 0) {
+            return;
+        }
 
-        return this.messageFormatter.createRemoveTaskMessage(task, numTasks);
+        LocalDateTime endedBefore = LocalDateTime.now().minusDays(archiveAfterDays);
+        profile.archiveDoneTasks(endedBefore);
     }
 
     /**
-     * Saves the tasks in the TaskManager to a file.
-     * Informs user if saving of current tasks failed.
+     * Loads the tasks of the active task list from file.
+     * Intended as a helper method to use the Storage class to load tasks.
+     * The task list is left empty if there was an error.
      */
-    private void saveTasksToFile() {
+    private void loadTasksFromFile() {
         try {
-            ArrayList<Task> tasks = this.taskManager.getTasks();
-            this.storage.saveTasks(tasks);
-        } catch (IOException e) {
-            System.out.println(Echo.ERROR_MESSAGE_SAVE_FAIL.formatted(e.getMessage()));
+            this.activeProfile.load();
+        } catch (FileNotFoundException e) {
+            this.loadingErrorMessage = Optional.of(this.messageFormatter.createErrorMessage(e));
+        } catch (StorageException e) {
+            this.loadingErrorMessage = Optional.of(this.messageFormatter.createErrorMessage(e));
+        } catch (TaskException e) {
+            this.loadingErrorMessage = Optional.of(this.messageFormatter.createErrorMessage(e));
+        }
+    }
+
+    /**
+     * Switches to another task list, loading it if it is not loaded.
+     *
+     * @param name Name of the task list.
+     * @return the task list now in use.
+     * @throws StorageException If the task list could not be loaded or archived,
+     *     or another task list could not be saved before unloading it.
+     * @throws TaskException If a saved task of the task list is invalid.
+     */
+    private Profile useProfile(String name) throws StorageException, TaskException {
+        boolean isLoaded = this.profiles.isLoaded(name);
+        Profile profile = this.profiles.get(name);
+        this.activeProfile = profile;
+        this.reminderScheduler.watch(profile.getTaskManager());
+        if (!isLoaded) {
+            this.archiveOldDoneTasks(profile);
         }
+        return profile;
     }
 
     /**
-     * Searches TaskManager for Tasks whose descriptions have keyword
+     * Greets user with a greeting.
      *
-     * @param keyword keyword to look for in the Task description
-     * @return Formatted String that contains the Tasks that have keyword in their description
+     * @return a greeting to the user of type string.
      */
-    public String findTasks(String keyword) {
-        assert keyword != null : Echo.ERROR_MESSAGE_KEYWORD_NULL;
+    public String greetUser() {
+        return this.messageFormatter.greetUser();
+    }
 
-        ArrayList<Task> filteredTasks = this.taskManager.findTasksByKeyword(keyword);
-        String res = this.messageFormatter.createFilteredListTaskMessage(filteredTasks);
-        return res;
+    /**
+     * Gets loading error message in the form of an {@code Optional<String>}.
+     *
+     * @return Error message from loading the saved tasks history.
+     */
+    public Optional<String> getLoadingErrorMessage() {
+        return this.loadingErrorMessage;
+    }
+
+    /**
+     * Saves the tasks of a task list to its file, as durably as the durability property asks for.
+     * Informs user if saving of current tasks failed.
+     */
+    private void saveTasksToFile(Profile profile) {
+        try {
+            this.saveBatcher.save(profile);
+        } catch (IOException e) {
+            this.reportSaveFailure(e.getMessage());
+        } catch (StorageException e) {
+            this.reportSaveFailure(e.getMessage());
+        }
     }
 
     /**
@@ -216,93 +416,163 @@ public class Echo {
     public String getResponse(String userMessage) {
         assert userMessage != null : Echo.ERROR_MESSAGE_USER_MESSAGE_NULL;
 
+        CommandEvent event = new CommandEvent();
+        event.begin();
+
+        String response = null;
+        boolean isSuccessful = false;
+        boolean isCached = false;
+        int taskCount = 0;
+        String failure = null;
         try {
-            return this.processCommandNormally(userMessage);
-        } catch (ParsingException e) {
-            return this.messageFormatter.createErrorMessage(e);
-        } catch (TaskManagerException e) {
-            // if number to mark or unmark more than length of current task list
-            return this.messageFormatter.createErrorMessage(e);
-        } catch (TaskException e) {
-            return this.messageFormatter.createErrorMessage(e);
+            synchronized (this.lock) {
+                long numCacheHits = this.getResponseCache().getNumHits();
+                try {
+                    response = this.processCommandNormally(userMessage);
+                    isSuccessful = true;
+                } catch (ParsingException e) {
+                    failure = e.getMessage();
+                    response = this.messageFormatter.createErrorMessage(e);
+                } catch (StorageException e) {
+                    failure = e.getMessage();
+                    response = this.messageFormatter.createErrorMessage(e);
+                } catch (TaskManagerException e) {
+                    // if number to mark or unmark more than length of current task list
+                    failure = e.getMessage();
+                    response = this.messageFormatter.createErrorMessage(e);
+                } catch (TaskException e) {
+                    failure = e.getMessage();
+                    response = this.messageFormatter.createErrorMessage(e);
+                } finally {
+                    // read while holding the lock, as other threads change the tasks and switch task lists under it
+                    isCached = this.getResponseCache().getNumHits() > numCacheHits;
+                    taskCount = this.activeProfile.getTaskManager().getNumTasks();
+                }
+            }
+            return response;
+        } catch (RuntimeException e) {
+            failure = e.toString();
+            throw e;
+        } finally {
+            // also committed when the command failed, or threw before it could respond
+            event.end();
+            if (event.shouldCommit()) {
+                event.command = this.getCommandKeyword(userMessage);
+                event.taskCount = taskCount;
+                event.requestSize = userMessage.getBytes(StandardCharsets.UTF_8).length;
+                event.responseSize = response == null ? 0 : response.getBytes(StandardCharsets.UTF_8).length;
+                event.isSuccessful = isSuccessful;
+                event.isCached = isCached;
+                event.failure = isSuccessful || failure != null ? failure : Echo.FAILURE_UNEXPECTED_ERROR;
+                event.commit();
+            }
         }
     }
 
-    private String processCommandNormally(String userMessage)
-            throws ParsingException, TaskManagerException, TaskException {
-        Command command = this.instructionParser.parseCommand(userMessage);
-
-        switch (command) {
-        case BYE:
-            return this.exitUser();
-        case LIST:
-            return this.getTasks();
-        case MARK:
-            return this.handleMark(userMessage);
-        case UNMARK:
-            return this.handleUnmark(userMessage);
-        case DELETE:
-            return this.handleDelete(userMessage);
-        case TODO:
-            return this.handleToDo(userMessage);
-        case DEADLINE:
-            return this.handleDeadline(userMessage);
-        case EVENT:
-            return handleEvent(userMessage);
-        case FIND:
-            return this.handleFind(userMessage);
-        default:
-            return this.handleUnknownCommand();
-        }
+    /**
+     * Gets the cache of responses to read-only commands, e.g. to report how often it was hit.
+     * Its counts are read without holding the lock, so they may miss a command being handled.
+     *
+     * @return The ResponseCache.
+     */
+    public ResponseCache getResponseCache() {
+        return this.commandDispatcher.getResponseCache();
     }
 
-    private String handleUnknownCommand() {
-        String defaultMessage = Echo.MESSAGE_UNKNOWN_COMMAND;
-        return defaultMessage;
+    /**
+     * Gets the first word of the user message, used to label the recorded command.
+     */
+    private String getCommandKeyword(String userMessage) {
+        String trimmedMessage = userMessage.trim();
+        int spaceIndex = trimmedMessage.indexOf(' ');
+        return spaceIndex < 0 ? trimmedMessage : trimmedMessage.substring(0, spaceIndex);
     }
 
-    private String handleFind(String userMessage) throws ParsingException {
-        String keyword = instructionParser.parseFindKeyword(userMessage);
-        String foundTasksMessage = this.findTasks(keyword);
-        return foundTasksMessage;
+    private String processCommandNormally(String userMessage)
+            throws ParsingException, StorageException, TaskManagerException, TaskException {
+        return this.commandDispatcher.dispatch(userMessage, this.commandContext, this.messageFormatter);
     }
 
-    private String handleEvent(String userMessage) throws ParsingException, TaskException, TaskManagerException {
-        String eventDescription = instructionParser.parseEventDescription(userMessage);
-        ArrayList<String> eventArgs = instructionParser.parseEventArgs(userMessage);
-        String eventMessage = this.addTask(eventDescription, Command.EVENT, eventArgs);
-        return eventMessage;
+    /**
+     * Stops watching the save files and reminding the user of tasks, and saves the changes still waiting
+     * for a batched save, e.g. when the window is closed.
+     * Informs user if saving failed.
+     */
+    public void close() {
+        if (this.fileWatcher != null) {
+            this.fileWatcher.close();
+        }
+        this.reminderScheduler.close();
+        try {
+            this.saveBatcher.close();
+        } catch (StorageException e) {
+            this.reportSaveFailure(e.getMessage());
+        }
     }
 
-    private String handleDeadline(String userMessage) throws ParsingException, TaskException, TaskManagerException {
-        String deadlineDescription = instructionParser.parseDeadlineDescription(userMessage);
-        ArrayList<String> deadlineArgs = instructionParser.parseDeadlineArgs(userMessage);
-        String deadlineMessage = this.addTask(deadlineDescription, Command.DEADLINE, deadlineArgs);
-        return deadlineMessage;
+    /**
+     * Checks if a user message is a command to exit Echo, in any of the forms the dispatcher accepts.
+     *
+     * @param userMessage Message from the user.
+     * @return true if the message is a valid bye command, else false.
+     */
+    public boolean isExitCommand(String userMessage) {
+        return this.commandDispatcher.isExitCommand(userMessage);
     }
 
-    private String handleToDo(String userMessage) throws ParsingException, TaskException, TaskManagerException {
-        String todoDescription = instructionParser.parseTodoDescription(userMessage);
-        ArrayList<String> todoCommandArgs = instructionParser.parseTodoArgs(userMessage);
-        String todoMessage = this.addTask(todoDescription, Command.TODO, todoCommandArgs);
-        return todoMessage;
-    }
+    /**
+     * Gives command handlers access to the tasks and services of this Echo.
+     */
+    private class EchoCommandContext implements CommandContext {
 
-    private String handleDelete(String userMessage) throws TaskManagerException {
-        int deleteTaskNumber = this.instructionParser.parseDeleteArgs(userMessage);
-        String deleteMessage = this.removeTask(deleteTaskNumber);
-        return deleteMessage;
-    }
+        @Override
+        public TaskManager getTaskManager() {
+            return Echo.this.activeProfile.getTaskManager();
+        }
 
-    private String handleUnmark(String userMessage) throws TaskManagerException {
-        int unmarkTaskNumber = this.instructionParser.parseMarkUnmarkArgs(userMessage);
-        String unmarkMessage = this.markAsUndone(unmarkTaskNumber);
-        return unmarkMessage;
-    }
+        @Override
+        public InstructionParser getInstructionParser() {
+            return Echo.this.instructionParser;
+        }
 
-    private String handleMark(String userMessage) throws TaskManagerException {
-        int markTaskNumber = this.instructionParser.parseMarkUnmarkArgs(userMessage);
-        String markMessage = this.markAsDone(markTaskNumber);
-        return markMessage;
+        @Override
+        public String addAlias(String alias, String target) throws ParsingException {
+            return Echo.this.commandDispatcher.addAlias(alias, target);
+        }
+
+        @Override
+        public void saveTasks() {
+            Echo.this.saveTasksToFile(Echo.this.activeProfile);
+        }
+
+        @Override
+        public Storage getStorage() throws StorageException {
+            return Echo.this.activeProfile.getStorage();
+        }
+
+        @Override
+        public void checkCanSaveDependencies() throws StorageException {
+            Echo.this.activeProfile.checkCanSaveDependencies();
+        }
+
+        @Override
+        public Archive getArchive() {
+            return Echo.this.activeProfile.getArchive();
+        }
+
+        @Override
+        public ArrayList<Task> archiveDoneTasks(LocalDateTime endedBefore) throws StorageException {
+            return Echo.this.activeProfile.archiveDoneTasks(endedBefore);
+        }
+
+        @Override
+        public Profile useProfile(String name) throws StorageException, TaskException {
+            return Echo.this.useProfile(name);
+        }
+
+        @Override
+        public LocalDateTime getCurrentTime() {
+            return LocalDateTime.now();
+        }
     }
 }
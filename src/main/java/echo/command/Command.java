@@ -1,17 +1,11 @@
 package echo.command;
 
 /**
- * Represents the types of commands that can be executed in the Echo application.
- * Each enum constant corresponds to a specific user command.
+ * Represents the types of tasks that commands can add in the Echo application.
+ * The keywords of the commands themselves belong to their {@link CommandHandler}.
  */
 public enum Command {
     TODO,
     DEADLINE,
-    EVENT,
-    LIST,
-    BYE,
-    MARK,
-    UNMARK,
-    DELETE,
-    FIND
+    EVENT
 }
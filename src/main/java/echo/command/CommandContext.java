@@ -0,0 +1,100 @@
+package echo.command;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.parser.InstructionParser;
+import echo.profile.Profile;
+import echo.storage.Archive;
+import echo.storage.Storage;
+import echo.task.Task;
+import echo.task.TaskManager;
+
+/**
+ * Gives a CommandHandler access to the parts of the running Echo it can act on.
+ */
+public interface CommandContext {
+
+    /**
+     * Gets the task manager holding the current tasks.
+     *
+     * @return The current TaskManager.
+     */
+    TaskManager getTaskManager();
+
+    /**
+     * Gets the parser handlers extract the arguments of their commands with.
+     *
+     * @return The InstructionParser used by Echo.
+     */
+    InstructionParser getInstructionParser();
+
+    /**
+     * Defines a new alias for an existing command.
+     *
+     * @param alias New alias, made of letters and numbers.
+     * @param target Keyword, alias or unambiguous prefix of the command the alias stands for.
+     * @return Full keyword of the command the alias stands for.
+     * @throws ParsingException If the alias is invalid or taken, or the target is not a known command
+     */
+    String addAlias(String alias, String target) throws ParsingException;
+
+    /**
+     * Saves the tasks in the task manager, to be called after modifying them.
+     * Informs the user if saving failed.
+     */
+    void saveTasks();
+
+    /**
+     * Gets the storage the tasks are saved to, e.g. to sync its save file with another one.
+     *
+     * @return The Storage used by Echo.
+     * @throws StorageException If the tasks are kept in a page file rather than a save file
+     */
+    Storage getStorage() throws StorageException;
+
+    /**
+     * Checks that the task list in use can save dependencies between its tasks, before one is added.
+     *
+     * @throws StorageException If the tasks are kept in a page file, which does not keep dependencies
+     */
+    void checkCanSaveDependencies() throws StorageException;
+
+    /**
+     * Gets the archive done tasks are moved into.
+     *
+     * @return The Archive used by Echo.
+     */
+    Archive getArchive();
+
+    /**
+     * Moves the done tasks of the task list in use into its archive, and saves the remaining tasks
+     * in the same operation, putting the done tasks back if they could not be saved.
+     *
+     * @param endedBefore Only archive tasks that ended before this time, or null to archive every done task.
+     * @return The tasks that were archived, in order.
+     * @throws StorageException If the archive could not be written, or the remaining tasks could not be saved
+     */
+    ArrayList<Task> archiveDoneTasks(LocalDateTime endedBefore) throws StorageException;
+
+    /**
+     * Switches to another task list, loading it if needed. The other methods act on the task list in use.
+     *
+     * @param name Name of the task list.
+     * @return The task list now in use.
+     * @throws StorageException If the task list could not be loaded,
+     *     or another task list could not be saved before unloading it
+     * @throws TaskException If a saved task of the task list is invalid
+     */
+    Profile useProfile(String name) throws StorageException, TaskException;
+
+    /**
+     * Gets the current time, which time-based queries are relative to.
+     *
+     * @return The current date and time.
+     */
+    LocalDateTime getCurrentTime();
+}
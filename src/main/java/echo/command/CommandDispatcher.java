@@ -0,0 +1,171 @@
+package echo.command;
+
+import java.util.ServiceLoader;
+
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.parser.CommandRegistry;
+import echo.parser.InstructionParser;
+import echo.ui.MessageFormatter;
+
+/**
+ * Dispatches user messages to the CommandHandler of their command.
+ * Handlers are discovered through {@link ServiceLoader} when the dispatcher is created, and each brings
+ * its own keyword and aliases. The keyword may be typed in any case, as an alias, or as an unambiguous prefix.
+ */
+public class CommandDispatcher {
+    private static final String ERROR_MESSAGE_INVALID_HANDLER = "Cannot register the handler for command %s: %s";
+    private static final String ERROR_MESSAGE_UNKNOWN_COMMAND =
+        "Sorry what does that mean ah? I never see %s before...";
+    private static final String KEYWORD_DELIMITER = " ";
+
+    private final CommandRegistry<CommandHandler<?, ?>> handlers = new CommandRegistry<>();
+    private final ResponseCache responseCache;
+
+    /**
+     * Creates a CommandDispatcher with every CommandHandler listed in
+     * META-INF/services/echo.command.CommandHandler, which caches no responses.
+     */
+    public CommandDispatcher() {
+        this(0);
+    }
+
+    /**
+     * Creates a CommandDispatcher with every CommandHandler listed in
+     * META-INF/services/echo.command.CommandHandler, which caches the responses to read-only commands.
+     *
+     * @param responseCacheSize Maximum number of responses to cache, or 0 to cache none.
+     */
+    @SuppressWarnings("rawtypes")
+    public CommandDispatcher(int responseCacheSize) {
+        this.responseCache = new ResponseCache(responseCacheSize);
+        for (CommandHandler handler : ServiceLoader.load(CommandHandler.class)) {
+            this.register(handler);
+        }
+    }
+
+    /**
+     * Registers a handler under its keyword and built-in aliases.
+     *
+     * @param handler CommandHandler to register.
+     * @throws IllegalStateException If another handler already uses the keyword or one of the aliases,
+     *     or they are not made of letters and numbers.
+     */
+    public void register(CommandHandler<?, ?> handler) {
+        try {
+            this.handlers.register(handler.getKeyword(), handler);
+            for (String alias : handler.getAliases()) {
+                this.handlers.addAlias(alias, handler);
+            }
+        } catch (ParsingException e) {
+            // handlers are fixed when Echo is built, so this only happens if one is written wrongly
+            throw new IllegalStateException(
+                CommandDispatcher.ERROR_MESSAGE_INVALID_HANDLER.formatted(handler.getKeyword(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Defines a new alias for an existing command.
+     *
+     * @param alias New alias, made of letters and numbers.
+     * @param target Keyword, alias or unambiguous prefix of the command the alias stands for.
+     * @return Full keyword of the command the alias stands for.
+     * @throws ParsingException If the alias is invalid or taken, or the target is not a known command
+     */
+    public String addAlias(String alias, String target) throws ParsingException {
+        CommandHandler<?, ?> handler = this.handlers.lookup(target, 0, target.length());
+        if (handler == null) {
+            throw new ParsingException(CommandDispatcher.ERROR_MESSAGE_UNKNOWN_COMMAND.formatted(target));
+        }
+        this.handlers.addAlias(alias.toLowerCase(), handler);
+        return handler.getKeyword();
+    }
+
+    /**
+     * Checks if a user message is a command to exit Echo, in any of the forms the dispatcher accepts.
+     *
+     * @param userMessage Message from the user.
+     * @return true if the message starts with the keyword of a command that ends the conversation, else false.
+     */
+    public boolean isExitCommand(String userMessage) {
+        try {
+            return this.findHandler(userMessage.trim()).isExit();
+        } catch (ParsingException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the cache of responses to read-only commands, e.g. to report how often it was hit.
+     *
+     * @return The ResponseCache.
+     */
+    public ResponseCache getResponseCache() {
+        return this.responseCache;
+    }
+
+    /**
+     * Parses, executes and formats a user message with the handler of its command.
+     *
+     * @param userMessage Message from the user.
+     * @param context Task manager and services of the running Echo.
+     * @param formatter Formatter for messages to the user.
+     * @return Message for the user.
+     * @throws ParsingException If the command is unknown or ambiguous, or its arguments are invalid
+     * @throws StorageException If a save file could not be read or written
+     * @throws TaskException If a task could not be created
+     * @throws TaskManagerException If the task manager rejected the command
+     */
+    public String dispatch(String userMessage, CommandContext context, MessageFormatter formatter)
+            throws ParsingException, StorageException, TaskException, TaskManagerException {
+        String trimmedMessage = userMessage.trim();
+        CommandHandler<?, ?> handler = this.findHandler(trimmedMessage);
+
+        // handlers expect the full keyword, even if the user typed an alias or a prefix
+        int keywordEnd = CommandDispatcher.findKeywordEnd(trimmedMessage);
+        String keyword = handler.getKeyword();
+        String canonicalMessage = keywordEnd == keyword.length() && trimmedMessage.startsWith(keyword)
+            ? trimmedMessage
+            : keyword + trimmedMessage.substring(keywordEnd);
+        return this.run(handler, canonicalMessage, context, formatter);
+    }
+
+    /**
+     * Finds the handler of the command the trimmed user message starts with.
+     */
+    CommandHandler<?, ?> findHandler(String trimmedMessage) throws ParsingException {
+        int keywordEnd = CommandDispatcher.findKeywordEnd(trimmedMessage);
+        CommandHandler<?, ?> handler = this.handlers.lookup(trimmedMessage, 0, keywordEnd);
+        if (handler == null) {
+            String keyword = trimmedMessage.substring(0, keywordEnd).toLowerCase();
+            throw new ParsingException(CommandDispatcher.ERROR_MESSAGE_UNKNOWN_COMMAND.formatted(keyword));
+        }
+        return handler;
+    }
+
+    /**
+     * Finds the end of the command keyword, which is the first space or the end of the message.
+     */
+    private static int findKeywordEnd(String trimmedMessage) {
+        int spaceIndex = trimmedMessage.indexOf(CommandDispatcher.KEYWORD_DELIMITER);
+        return spaceIndex < 0 ? trimmedMessage.length() : spaceIndex;
+    }
+
+    private <Q, R> String run(CommandHandler<Q, R> handler, String userMessage, CommandContext context,
+            MessageFormatter formatter)
+            throws ParsingException, StorageException, TaskException, TaskManagerException {
+        InstructionParser parser = context.getInstructionParser();
+        Q request = handler.parse(userMessage, parser);
+        String cachedResponse = this.responseCache.get(handler, request, context.getTaskManager());
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+
+        R result = handler.execute(request, context);
+        String response = handler.format(request, result, formatter);
+        this.responseCache.put(handler, request, context.getTaskManager(), response);
+        return response;
+    }
+}
@@ -0,0 +1,109 @@
+package echo.command;
+
+import java.util.List;
+
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles one type of command in three steps: parsing the user message once into a typed request,
+ * executing the request against the task manager, and formatting the typed result for the user.
+ *
+ * Handlers are found with {@link java.util.ServiceLoader} and bring their own keyword, so a new command only
+ * needs a handler listed in META-INF/services/echo.command.CommandHandler and does not require any change to
+ * Echo, the parser or {@link Command}.
+ * Implementations must be public and have a public no-argument constructor.
+ *
+ * @param <Q> Type of the request parsed from the user message.
+ * @param <R> Type of the result of executing the request.
+ */
+public interface CommandHandler<Q, R> {
+
+    /**
+     * Gets the keyword the user types to run this command, e.g. "list".
+     *
+     * @return Lower case keyword made of ASCII letters and numbers, only one handler may use each keyword.
+     */
+    String getKeyword();
+
+    /**
+     * Gets the built-in aliases of the command, e.g. "ls" for "list".
+     *
+     * @return Lower case aliases made of ASCII letters and numbers, none by default.
+     */
+    default List<String> getAliases() {
+        return List.of();
+    }
+
+    /**
+     * Checks if Echo should close after responding to this command.
+     *
+     * @return true if the command ends the conversation, else false, which is the default.
+     */
+    default boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Parses the user message into a request, checking every argument of the command.
+     * This is the only place the message is parsed; it starts with the full keyword of the command
+     * and has no surrounding spaces.
+     *
+     * @param userMessage Message from the user.
+     * @param parser Parser to extract the arguments of the command with.
+     * @return Request to be executed.
+     * @throws ParsingException If the arguments of the command are invalid
+     */
+    Q parse(String userMessage, InstructionParser parser) throws ParsingException;
+
+    /**
+     * Executes the request.
+     *
+     * @param request Request parsed from the user message.
+     * @param context Task manager and services of the running Echo.
+     * @return Result of executing the request.
+     * @throws ParsingException If the request turns out to be invalid while executing it
+     * @throws StorageException If a save file could not be read or written
+     * @throws TaskException If a task could not be created
+     * @throws TaskManagerException If the task manager rejected the request
+     */
+    R execute(Q request, CommandContext context)
+        throws ParsingException, StorageException, TaskException, TaskManagerException;
+
+    /**
+     * Formats the result of the request as a message for the user.
+     *
+     * @param request Request that was executed.
+     * @param result Result of executing the request.
+     * @param formatter Formatter for messages to the user.
+     * @return Message for the user.
+     */
+    String format(Q request, R result, MessageFormatter formatter);
+
+    /**
+     * Gets the key the response to a request is cached under, for commands that only read the tasks.
+     * Requests with the same key must get the same response as long as the tasks do not change.
+     *
+     * @param request Request parsed from the user message.
+     * @return Key of the request, or null if its response must not be cached, which is the default.
+     */
+    default String getCacheKey(Q request) {
+        return null;
+    }
+
+    /**
+     * Checks if a change to a task could change the cached response to a request.
+     *
+     * @param request Request whose response is cached.
+     * @param task Task that was added, removed, or marked as done or undone.
+     * @return true if the response may be out of date, which is the default, else false.
+     */
+    default boolean isAffectedBy(Q request, Task task) {
+        return true;
+    }
+}
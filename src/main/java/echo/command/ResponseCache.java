@@ -0,0 +1,173 @@
+package echo.command;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import echo.task.Task;
+import echo.task.TaskChangeListener;
+import echo.task.TaskManager;
+
+/**
+ * Remembers the responses to read-only commands, e.g. list and find, so that asking again before the tasks
+ * change does not filter and format the tasks again.
+ *
+ * Responses are cached under the command and the key its handler gives the parsed request, so messages that
+ * only differ in how the user typed them share a response. Each change the TaskManager reports drops only the
+ * responses the changed task could affect, as decided by the handler, e.g. find results for keywords
+ * the task does not contain are kept. The modification count of the TaskManager guards against changes
+ * that were not reported one by one: if it moved on since the cache last caught up, every response is dropped.
+ * Only the least recently used responses are kept once there are more than the capacity.
+ *
+ * Not thread-safe, Echo only uses it while holding its lock, which the TaskManager is also changed under.
+ */
+public class ResponseCache implements TaskChangeListener {
+    private static final String KEY_SEPARATOR = " ";
+
+    private final int capacity;
+    private final LinkedHashMap<String, Entry<?>> entries;
+    private TaskManager taskManager;
+    // modification count of the TaskManager that the cached responses are up to date with
+    private long modificationCount;
+    private long numHits;
+    private long numMisses;
+
+    /**
+     * Represents a cached response and the request it answers.
+     */
+    private static class Entry<Q> {
+        private final CommandHandler<Q, ?> handler;
+        private final Q request;
+        private final String response;
+
+        private Entry(CommandHandler<Q, ?> handler, Q request, String response) {
+            this.handler = handler;
+            this.request = request;
+            this.response = response;
+        }
+
+        private boolean isAffectedBy(Task task) {
+            return this.handler.isAffectedBy(this.request, task);
+        }
+    }
+
+    /**
+     * Creates an empty ResponseCache.
+     *
+     * @param capacity Maximum number of responses to keep, or 0 to cache nothing.
+     */
+    public ResponseCache(int capacity) {
+        this.capacity = capacity;
+        // in access order, so the least recently used response comes first
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets the cached response to a request, counting a hit or a miss if the handler allows caching it.
+     *
+     * @param handler Handler of the request.
+     * @param request Request parsed from the user message.
+     * @param taskManager TaskManager the request is executed against.
+     * @return the cached response, or null if there is none.
+     */
+    public <Q> String get(CommandHandler<Q, ?> handler, Q request, TaskManager taskManager) {
+        String key = ResponseCache.getKey(handler, request);
+        if (key == null || this.capacity == 0) {
+            return null;
+        }
+
+        this.catchUp(taskManager);
+        Entry<?> entry = this.entries.get(key);
+        if (entry == null) {
+            this.numMisses++;
+            return null;
+        }
+        this.numHits++;
+        return entry.response;
+    }
+
+    /**
+     * Caches the response to a request, if the handler allows caching it.
+     * Must be called before the tasks are changed again.
+     *
+     * @param handler Handler of the request.
+     * @param request Request parsed from the user message.
+     * @param taskManager TaskManager the request was executed against.
+     * @param response Response to the request.
+     */
+    public <Q> void put(CommandHandler<Q, ?> handler, Q request, TaskManager taskManager, String response) {
+        String key = ResponseCache.getKey(handler, request);
+        if (key == null || this.capacity == 0) {
+            return;
+        }
+
+        this.catchUp(taskManager);
+        this.entries.put(key, new Entry<>(handler, request, response));
+        if (this.entries.size() > this.capacity) {
+            Iterator<String> keys = this.entries.keySet().iterator();
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    public long getNumHits() {
+        return this.numHits;
+    }
+
+    public long getNumMisses() {
+        return this.numMisses;
+    }
+
+    /**
+     * Gets the number of responses cached.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public void onTaskAdded(Task task) {
+        this.invalidate(task);
+    }
+
+    @Override
+    public void onTaskRemoved(Task task) {
+        this.invalidate(task);
+    }
+
+    @Override
+    public void onTaskChanged(Task task) {
+        this.invalidate(task);
+    }
+
+    private static <Q> String getKey(CommandHandler<Q, ?> handler, Q request) {
+        String key = handler.getCacheKey(request);
+        return key == null ? null : handler.getKeyword() + ResponseCache.KEY_SEPARATOR + key;
+    }
+
+    /**
+     * Drops the cached responses a changed task could affect.
+     */
+    private void invalidate(Task task) {
+        this.entries.values().removeIf(entry -> entry.isAffectedBy(task));
+        this.modificationCount = this.taskManager.getModificationCount();
+    }
+
+    /**
+     * Drops every cached response if they are of another TaskManager, e.g. after switching task lists,
+     * or the TaskManager changed without reporting each change.
+     */
+    private void catchUp(TaskManager taskManager) {
+        if (this.taskManager != taskManager) {
+            if (this.taskManager != null) {
+                this.taskManager.removeChangeListener(this);
+            }
+            this.taskManager = taskManager;
+            taskManager.addChangeListener(this);
+            this.entries.clear();
+            this.modificationCount = taskManager.getModificationCount();
+        } else if (this.modificationCount != taskManager.getModificationCount()) {
+            this.entries.clear();
+            this.modificationCount = taskManager.getModificationCount();
+        }
+    }
+}
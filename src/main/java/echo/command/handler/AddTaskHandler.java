@@ -0,0 +1,78 @@
+package echo.command.handler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+
+import echo.command.Command;
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.task.AddTaskResult;
+import echo.task.DateParser;
+import echo.ui.MessageFormatter;
+
+/**
+ * Base handler for commands that add a task, which only differ in how they are parsed.
+ */
+public abstract class AddTaskHandler implements CommandHandler<AddTaskRequest, AddTaskResult> {
+    protected static final LocalTime START_OF_DAY = LocalTime.MIDNIGHT;
+    protected static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    // number of recently typed dates to remember, shared by every command that adds a task
+    private static final int NUM_DATES_CACHED = 32;
+    private static final DateParser DATE_PARSER = new DateParser(AddTaskHandler.NUM_DATES_CACHED);
+
+    /**
+     * Gets the type of task this handler adds.
+     *
+     * @return TODO, DEADLINE or EVENT.
+     */
+    protected abstract Command getTaskType();
+
+    @Override
+    public AddTaskResult execute(AddTaskRequest request, CommandContext context)
+            throws TaskException, TaskManagerException {
+        ArrayList<String> args = this.resolveDates(request.getArgs(), context.getCurrentTime());
+        AddTaskResult result = context.getTaskManager()
+            .addTask(request.getDescription(), this.getTaskType(), args);
+        context.saveTasks();
+        return result;
+    }
+
+    @Override
+    public String format(AddTaskRequest request, AddTaskResult result, MessageFormatter formatter) {
+        return formatter.createAddTaskMessage(result, result.getNumTasks());
+    }
+
+    /**
+     * Replaces the dates among the arguments, which the user may have typed as e.g. "tomorrow 6pm",
+     * by the times they stand for, written as they are saved.
+     * Tasks without dates keep their arguments as they are.
+     *
+     * @param args Arguments of the task.
+     * @param now The current time.
+     * @return the arguments with their dates resolved.
+     * @throws TaskException If a date is not in a form Echo understands.
+     */
+    protected ArrayList<String> resolveDates(ArrayList<String> args, LocalDateTime now) throws TaskException {
+        return args;
+    }
+
+    /**
+     * Parses a date typed by the user, e.g. "2026-01-25 1800", "tomorrow 6pm", "next mon" or "in 3 days".
+     *
+     * @param date The date as typed.
+     * @param now The current time.
+     * @param defaultDate Day to use if the user only typed a time.
+     * @param defaultTime Time to use if the user only typed a day.
+     * @return the time the date stands for.
+     * @throws TaskException If the date is not in a form Echo understands.
+     */
+    protected static LocalDateTime parseDate(String date, LocalDateTime now, LocalDate defaultDate,
+            LocalTime defaultTime) throws TaskException {
+        return AddTaskHandler.DATE_PARSER.parse(date, now, defaultDate, defaultTime);
+    }
+}
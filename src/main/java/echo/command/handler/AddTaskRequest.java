@@ -0,0 +1,30 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+/**
+ * Represents a request to add a ToDo, Deadline or Event, as parsed from the user message.
+ */
+public class AddTaskRequest {
+    private final String description;
+    private final ArrayList<String> args;
+
+    /**
+     * Constructs an AddTaskRequest.
+     *
+     * @param description description of the task to add
+     * @param args arguments of the task, such as its dates
+     */
+    public AddTaskRequest(String description, ArrayList<String> args) {
+        this.description = description;
+        this.args = args;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public ArrayList<String> getArgs() {
+        return this.args;
+    }
+}
@@ -0,0 +1,45 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exception.TaskManagerException;
+import echo.parser.InstructionParser;
+import echo.task.Dependency;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the after command, which makes a task wait until another task is done.
+ */
+public class AfterHandler implements CommandHandler<DependencyRequest, Dependency> {
+    private static final String KEYWORD = "after";
+
+    @Override
+    public String getKeyword() {
+        return AfterHandler.KEYWORD;
+    }
+
+    @Override
+    public DependencyRequest parse(String userMessage, InstructionParser parser) throws ParsingException {
+        ArrayList<Integer> taskNumbers = parser.parseAfterTaskNumbers(userMessage);
+        return new DependencyRequest(taskNumbers.get(0), taskNumbers.get(1));
+    }
+
+    @Override
+    public Dependency execute(DependencyRequest request, CommandContext context)
+            throws StorageException, TaskManagerException {
+        context.checkCanSaveDependencies();
+        Dependency dependency = context.getTaskManager().addDependency(request.getTaskNumber(),
+            request.getPrerequisiteNumber());
+        context.saveTasks();
+        return dependency;
+    }
+
+    @Override
+    public String format(DependencyRequest request, Dependency result, MessageFormatter formatter) {
+        return formatter.createDependencyMessage(result);
+    }
+}
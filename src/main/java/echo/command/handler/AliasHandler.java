@@ -0,0 +1,38 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.parser.InstructionParser;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the alias command, which defines a new alias for a command.
+ * The result is the full keyword of the command the alias stands for.
+ */
+public class AliasHandler implements CommandHandler<AliasRequest, String> {
+    private static final String KEYWORD = "alias";
+
+    @Override
+    public String getKeyword() {
+        return AliasHandler.KEYWORD;
+    }
+
+    @Override
+    public AliasRequest parse(String userMessage, InstructionParser parser) throws ParsingException {
+        ArrayList<String> aliasArgs = parser.parseAliasArgs(userMessage);
+        return new AliasRequest(aliasArgs.get(0), aliasArgs.get(1));
+    }
+
+    @Override
+    public String execute(AliasRequest request, CommandContext context) throws ParsingException {
+        return context.addAlias(request.getAlias(), request.getTarget());
+    }
+
+    @Override
+    public String format(AliasRequest request, String keyword, MessageFormatter formatter) {
+        return formatter.createAliasMessage(request.getAlias(), keyword);
+    }
+}
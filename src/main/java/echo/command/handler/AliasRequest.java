@@ -0,0 +1,28 @@
+package echo.command.handler;
+
+/**
+ * Represents a request to define a new alias, as parsed from the user message.
+ */
+public class AliasRequest {
+    private final String alias;
+    private final String target;
+
+    /**
+     * Constructs an AliasRequest.
+     *
+     * @param alias the new alias
+     * @param target keyword, alias or prefix of the command the alias stands for
+     */
+    public AliasRequest(String alias, String target) {
+        this.alias = alias;
+        this.target = target;
+    }
+
+    public String getAlias() {
+        return this.alias;
+    }
+
+    public String getTarget() {
+        return this.target;
+    }
+}
@@ -0,0 +1,45 @@
+package echo.command.handler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.task.TaskManager;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the archive command, which moves done tasks into the archive,
+ * either all of them or only those that ended more than a number of days ago.
+ */
+public class ArchiveHandler implements CommandHandler<Optional<Integer>, ArchiveResult> {
+    private static final String KEYWORD = "archive";
+
+    @Override
+    public String getKeyword() {
+        return ArchiveHandler.KEYWORD;
+    }
+
+    @Override
+    public Optional<Integer> parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseArchiveDays(userMessage);
+    }
+
+    @Override
+    public ArchiveResult execute(Optional<Integer> days, CommandContext context) throws StorageException {
+        TaskManager taskManager = context.getTaskManager();
+        LocalDateTime endedBefore = days.map(d -> context.getCurrentTime().minusDays(d)).orElse(null);
+        ArrayList<Task> archivedTasks = context.archiveDoneTasks(endedBefore);
+        return new ArchiveResult(archivedTasks, taskManager.getNumTasks());
+    }
+
+    @Override
+    public String format(Optional<Integer> days, ArchiveResult result, MessageFormatter formatter) {
+        return formatter.createArchiveMessage(result.getArchivedTasks().size(), result.getNumTasks());
+    }
+}
@@ -0,0 +1,32 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.task.Task;
+
+/**
+ * Represents the tasks moved into the archive by an archive command.
+ */
+public class ArchiveResult {
+    private final ArrayList<Task> archivedTasks;
+    private final int numTasks;
+
+    /**
+     * Constructs an ArchiveResult.
+     *
+     * @param archivedTasks tasks that were moved into the archive
+     * @param numTasks number of tasks left in the list
+     */
+    public ArchiveResult(ArrayList<Task> archivedTasks, int numTasks) {
+        this.archivedTasks = archivedTasks;
+        this.numTasks = numTasks;
+    }
+
+    public ArrayList<Task> getArchivedTasks() {
+        return this.archivedTasks;
+    }
+
+    public int getNumTasks() {
+        return this.numTasks;
+    }
+}
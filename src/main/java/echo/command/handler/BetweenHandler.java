@@ -0,0 +1,40 @@
+package echo.command.handler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the between command, which shows the Deadlines and Events in a range of days.
+ */
+public class BetweenHandler implements CommandHandler<DateRange, ArrayList<Task>> {
+    private static final String KEYWORD = "between";
+
+    @Override
+    public String getKeyword() {
+        return BetweenHandler.KEYWORD;
+    }
+
+    @Override
+    public DateRange parse(String userMessage, InstructionParser parser) throws ParsingException {
+        ArrayList<LocalDate> days = parser.parseBetweenDates(userMessage);
+        return new DateRange(days.get(0), days.get(1));
+    }
+
+    @Override
+    public ArrayList<Task> execute(DateRange range, CommandContext context) throws StorageException {
+        return context.getTaskManager().findTasksBetween(range.getFirstDay(), range.getLastDay());
+    }
+
+    @Override
+    public String format(DateRange range, ArrayList<Task> result, MessageFormatter formatter) {
+        return formatter.createTasksBetweenMessage(range.getFirstDay(), range.getLastDay(), result);
+    }
+}
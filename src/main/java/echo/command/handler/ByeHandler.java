@@ -0,0 +1,39 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.parser.InstructionParser;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the bye command, which says bye to the user.
+ * Closing the window is left to the user interface.
+ */
+public class ByeHandler implements CommandHandler<Void, Void> {
+    private static final String KEYWORD = "bye";
+
+    @Override
+    public String getKeyword() {
+        return ByeHandler.KEYWORD;
+    }
+
+    @Override
+    public boolean isExit() {
+        return true;
+    }
+
+    @Override
+    public Void parse(String userMessage, InstructionParser parser) {
+        return null;
+    }
+
+    @Override
+    public Void execute(Void request, CommandContext context) {
+        return null;
+    }
+
+    @Override
+    public String format(Void request, Void result, MessageFormatter formatter) {
+        return formatter.exitUser();
+    }
+}
@@ -0,0 +1,38 @@
+package echo.command.handler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the conflicts command, which shows the tasks taking place on a day.
+ */
+public class ConflictsHandler implements CommandHandler<LocalDate, ArrayList<Task>> {
+    private static final String KEYWORD = "conflicts";
+
+    @Override
+    public String getKeyword() {
+        return ConflictsHandler.KEYWORD;
+    }
+
+    @Override
+    public LocalDate parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseConflictsDate(userMessage);
+    }
+
+    @Override
+    public ArrayList<Task> execute(LocalDate day, CommandContext context) {
+        return context.getTaskManager().findTasksOn(day);
+    }
+
+    @Override
+    public String format(LocalDate day, ArrayList<Task> result, MessageFormatter formatter) {
+        return formatter.createTasksOnDateMessage(day, result);
+    }
+}
@@ -0,0 +1,32 @@
+package echo.command.handler;
+
+import java.time.LocalDate;
+
+/**
+ * Represents an inclusive range of days, as parsed from the user message.
+ */
+public class DateRange {
+    private final LocalDate firstDay;
+    private final LocalDate lastDay;
+
+    /**
+     * Constructs a DateRange.
+     *
+     * @param firstDay first day of the range
+     * @param lastDay last day of the range, not earlier than firstDay
+     */
+    public DateRange(LocalDate firstDay, LocalDate lastDay) {
+        assert !firstDay.isAfter(lastDay);
+
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+    }
+
+    public LocalDate getFirstDay() {
+        return this.firstDay;
+    }
+
+    public LocalDate getLastDay() {
+        return this.lastDay;
+    }
+}
@@ -0,0 +1,54 @@
+package echo.command.handler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import echo.command.Command;
+import echo.exception.ParsingException;
+import echo.exception.TaskException;
+import echo.parser.InstructionParser;
+import echo.task.DateParser;
+
+/**
+ * Handles the deadline command, which adds a Deadline.
+ */
+public class DeadlineHandler extends AddTaskHandler {
+    private static final String KEYWORD = "deadline";
+    private static final String ALIAS = "dl";
+    private static final int INDEX_BY = 0;
+
+    @Override
+    public String getKeyword() {
+        return DeadlineHandler.KEYWORD;
+    }
+
+    @Override
+    protected Command getTaskType() {
+        return Command.DEADLINE;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of(DeadlineHandler.ALIAS);
+    }
+
+    @Override
+    public AddTaskRequest parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return new AddTaskRequest(parser.parseDeadlineDescription(userMessage),
+            parser.parseDeadlineArgs(userMessage));
+    }
+
+    /**
+     * Resolves the /by date, which is at the end of the day if the user only typed a day,
+     * and today if the user only typed a time.
+     */
+    @Override
+    protected ArrayList<String> resolveDates(ArrayList<String> args, LocalDateTime now) throws TaskException {
+        LocalDateTime by = AddTaskHandler.parseDate(args.get(DeadlineHandler.INDEX_BY), now, now.toLocalDate(),
+            AddTaskHandler.END_OF_DAY);
+        ArrayList<String> resolvedArgs = new ArrayList<>(args);
+        resolvedArgs.set(DeadlineHandler.INDEX_BY, DateParser.toSaveFormat(by));
+        return resolvedArgs;
+    }
+}
@@ -0,0 +1,49 @@
+package echo.command.handler;
+
+import java.util.List;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.TaskManagerException;
+import echo.parser.InstructionParser;
+import echo.task.RemoveTaskResult;
+import echo.task.Task;
+import echo.task.TaskManager;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the delete command, which removes a task.
+ */
+public class DeleteHandler implements CommandHandler<Integer, RemoveTaskResult> {
+    private static final String KEYWORD = "delete";
+    private static final String ALIAS = "rm";
+
+    @Override
+    public String getKeyword() {
+        return DeleteHandler.KEYWORD;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of(DeleteHandler.ALIAS);
+    }
+
+    @Override
+    public Integer parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseDeleteArgs(userMessage);
+    }
+
+    @Override
+    public RemoveTaskResult execute(Integer taskNumber, CommandContext context) throws TaskManagerException {
+        TaskManager taskManager = context.getTaskManager();
+        Task task = taskManager.removeTask(taskNumber);
+        context.saveTasks();
+        return new RemoveTaskResult(task, taskManager.getNumTasks());
+    }
+
+    @Override
+    public String format(Integer taskNumber, RemoveTaskResult result, MessageFormatter formatter) {
+        return formatter.createRemoveTaskMessage(result.getTask(), result.getNumTasks());
+    }
+}
@@ -0,0 +1,28 @@
+package echo.command.handler;
+
+/**
+ * Represents a task the user wants to do after another task, as parsed from the user message.
+ */
+public class DependencyRequest {
+    private final int taskNumber;
+    private final int prerequisiteNumber;
+
+    /**
+     * Constructs a DependencyRequest.
+     *
+     * @param taskNumber number of the task that comes after the other task
+     * @param prerequisiteNumber number of the task to be done first
+     */
+    public DependencyRequest(int taskNumber, int prerequisiteNumber) {
+        this.taskNumber = taskNumber;
+        this.prerequisiteNumber = prerequisiteNumber;
+    }
+
+    public int getTaskNumber() {
+        return this.taskNumber;
+    }
+
+    public int getPrerequisiteNumber() {
+        return this.prerequisiteNumber;
+    }
+}
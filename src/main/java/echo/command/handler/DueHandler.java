@@ -0,0 +1,39 @@
+package echo.command.handler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the due command, which shows the Deadlines due on a day.
+ */
+public class DueHandler implements CommandHandler<LocalDate, ArrayList<Task>> {
+    private static final String KEYWORD = "due";
+
+    @Override
+    public String getKeyword() {
+        return DueHandler.KEYWORD;
+    }
+
+    @Override
+    public LocalDate parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseDueDate(userMessage);
+    }
+
+    @Override
+    public ArrayList<Task> execute(LocalDate day, CommandContext context) throws StorageException {
+        return context.getTaskManager().findDeadlinesDueOn(day);
+    }
+
+    @Override
+    public String format(LocalDate day, ArrayList<Task> result, MessageFormatter formatter) {
+        return formatter.createDueTasksMessage(day, result);
+    }
+}
@@ -0,0 +1,50 @@
+package echo.command.handler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import echo.command.Command;
+import echo.exception.ParsingException;
+import echo.exception.TaskException;
+import echo.parser.InstructionParser;
+import echo.task.DateParser;
+
+/**
+ * Handles the event command, which adds an Event.
+ */
+public class EventHandler extends AddTaskHandler {
+    private static final String KEYWORD = "event";
+    private static final int INDEX_FROM = 0;
+    private static final int INDEX_TO = 1;
+
+    @Override
+    public String getKeyword() {
+        return EventHandler.KEYWORD;
+    }
+
+    @Override
+    protected Command getTaskType() {
+        return Command.EVENT;
+    }
+
+    @Override
+    public AddTaskRequest parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return new AddTaskRequest(parser.parseEventDescription(userMessage), parser.parseEventArgs(userMessage));
+    }
+
+    /**
+     * Resolves the /from and /to dates. A day without a time starts the event at the start of the day
+     * and ends it at the end of the day, and an end without a day falls on the day the event starts.
+     */
+    @Override
+    protected ArrayList<String> resolveDates(ArrayList<String> args, LocalDateTime now) throws TaskException {
+        LocalDateTime from = AddTaskHandler.parseDate(args.get(EventHandler.INDEX_FROM), now, now.toLocalDate(),
+            AddTaskHandler.START_OF_DAY);
+        LocalDateTime to = AddTaskHandler.parseDate(args.get(EventHandler.INDEX_TO), now, from.toLocalDate(),
+            AddTaskHandler.END_OF_DAY);
+        ArrayList<String> resolvedArgs = new ArrayList<>(args);
+        resolvedArgs.set(EventHandler.INDEX_FROM, DateParser.toSaveFormat(from));
+        resolvedArgs.set(EventHandler.INDEX_TO, DateParser.toSaveFormat(to));
+        return resolvedArgs;
+    }
+}
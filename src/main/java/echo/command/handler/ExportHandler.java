@@ -0,0 +1,37 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exchange.TaskExchange;
+import echo.exchange.TaskFormat;
+import echo.parser.InstructionParser;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the export command, which writes the tasks into a CSV, JSON Lines or iCalendar file for other apps.
+ */
+public class ExportHandler implements CommandHandler<String, Integer> {
+    private static final String KEYWORD = "export";
+
+    @Override
+    public String getKeyword() {
+        return ExportHandler.KEYWORD;
+    }
+
+    @Override
+    public String parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseExportPath(userMessage);
+    }
+
+    @Override
+    public Integer execute(String path, CommandContext context) throws StorageException {
+        return new TaskExchange().exportTasks(context.getTaskManager().getTasks(), path, TaskFormat.fromPath(path));
+    }
+
+    @Override
+    public String format(String path, Integer numTasks, MessageFormatter formatter) {
+        return formatter.createExportMessage(numTasks, path);
+    }
+}
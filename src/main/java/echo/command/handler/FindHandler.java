@@ -0,0 +1,58 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the find command, which shows the tasks whose description contains a keyword,
+ * including archived tasks if the keyword follows --all.
+ */
+public class FindHandler implements CommandHandler<FindRequest, FindResult> {
+    private static final String KEYWORD = "find";
+
+    @Override
+    public String getKeyword() {
+        return FindHandler.KEYWORD;
+    }
+
+    @Override
+    public FindRequest parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return new FindRequest(parser.parseFindKeyword(userMessage), parser.isFindAll(userMessage));
+    }
+
+    @Override
+    public FindResult execute(FindRequest request, CommandContext context) throws StorageException {
+        ArrayList<Task> matchingTasks = context.getTaskManager().findTasksByKeyword(request.getKeyword());
+        ArrayList<Task> archivedMatchingTasks = request.includesArchive()
+            ? context.getArchive().findTasksByKeyword(request.getKeyword())
+            : new ArrayList<>();
+        return new FindResult(matchingTasks, archivedMatchingTasks);
+    }
+
+    @Override
+    public String format(FindRequest request, FindResult result, MessageFormatter formatter) {
+        if (!request.includesArchive()) {
+            return formatter.createFilteredListTaskMessage(result.getMatchingTasks());
+        }
+        return formatter.createFilteredListTaskMessage(result.getMatchingTasks(), result.getArchivedMatchingTasks());
+    }
+
+    @Override
+    public String getCacheKey(FindRequest request) {
+        // the archive can change without the task manager knowing, so archived matches are not cached
+        return request.includesArchive() ? null : request.getKeyword();
+    }
+
+    @Override
+    public boolean isAffectedBy(FindRequest request, Task task) {
+        // matches are numbered among themselves, so other tasks do not change the response
+        return task.descriptionContains(request.getKeyword());
+    }
+}
@@ -0,0 +1,28 @@
+package echo.command.handler;
+
+/**
+ * Represents a request to find tasks by keyword, as parsed from the user message.
+ */
+public class FindRequest {
+    private final String keyword;
+    private final boolean includesArchive;
+
+    /**
+     * Constructs a FindRequest.
+     *
+     * @param keyword keyword to search for in the task descriptions
+     * @param includesArchive whether archived tasks should be searched as well
+     */
+    public FindRequest(String keyword, boolean includesArchive) {
+        this.keyword = keyword;
+        this.includesArchive = includesArchive;
+    }
+
+    public String getKeyword() {
+        return this.keyword;
+    }
+
+    public boolean includesArchive() {
+        return this.includesArchive;
+    }
+}
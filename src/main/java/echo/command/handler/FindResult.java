@@ -0,0 +1,33 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.task.Task;
+
+/**
+ * Represents the tasks found by a find command, among the current tasks and in the archive.
+ */
+public class FindResult {
+    private final ArrayList<Task> matchingTasks;
+    private final ArrayList<Task> archivedMatchingTasks;
+
+    /**
+     * Constructs a FindResult.
+     *
+     * @param matchingTasks current tasks whose descriptions contain the keyword
+     * @param archivedMatchingTasks archived tasks whose descriptions contain the keyword,
+     *     empty if the archive was not searched
+     */
+    public FindResult(ArrayList<Task> matchingTasks, ArrayList<Task> archivedMatchingTasks) {
+        this.matchingTasks = matchingTasks;
+        this.archivedMatchingTasks = archivedMatchingTasks;
+    }
+
+    public ArrayList<Task> getMatchingTasks() {
+        return this.matchingTasks;
+    }
+
+    public ArrayList<Task> getArchivedMatchingTasks() {
+        return this.archivedMatchingTasks;
+    }
+}
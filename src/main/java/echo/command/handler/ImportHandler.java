@@ -0,0 +1,48 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exchange.ImportResult;
+import echo.exchange.TaskExchange;
+import echo.exchange.TaskFormat;
+import echo.parser.InstructionParser;
+import echo.task.TaskManager;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the import command, which adds the tasks in a CSV, JSON Lines or iCalendar file to the list.
+ */
+public class ImportHandler implements CommandHandler<String, ImportResult> {
+    private static final String KEYWORD = "import";
+
+    @Override
+    public String getKeyword() {
+        return ImportHandler.KEYWORD;
+    }
+
+    @Override
+    public String parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseImportPath(userMessage);
+    }
+
+    @Override
+    public ImportResult execute(String path, CommandContext context) throws StorageException {
+        TaskManager taskManager = context.getTaskManager();
+        ImportResult result = new TaskExchange().importTasks(path, TaskFormat.fromPath(path),
+            taskManager.getDescriptionPool());
+
+        // add and save every task at once, however many the file has
+        if (!result.getTasks().isEmpty()) {
+            taskManager.importTasks(result.getTasks());
+            context.saveTasks();
+        }
+        return result;
+    }
+
+    @Override
+    public String format(String path, ImportResult result, MessageFormatter formatter) {
+        return formatter.createImportMessage(result, path);
+    }
+}
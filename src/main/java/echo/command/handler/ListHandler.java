@@ -0,0 +1,50 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the list command, which shows every task.
+ */
+public class ListHandler implements CommandHandler<Void, ArrayList<Task>> {
+    private static final String KEYWORD = "list";
+    private static final String ALIAS = "ls";
+
+    @Override
+    public String getKeyword() {
+        return ListHandler.KEYWORD;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of(ListHandler.ALIAS);
+    }
+
+    @Override
+    public Void parse(String userMessage, InstructionParser parser) {
+        // list takes no arguments
+        return null;
+    }
+
+    @Override
+    public ArrayList<Task> execute(Void request, CommandContext context) {
+        return context.getTaskManager().getTasks();
+    }
+
+    @Override
+    public String format(Void request, ArrayList<Task> result, MessageFormatter formatter) {
+        return formatter.createListTaskMessage(result);
+    }
+
+    @Override
+    public String getCacheKey(Void request) {
+        // every change to the tasks changes the list, so the key never outlives a change
+        return "";
+    }
+}
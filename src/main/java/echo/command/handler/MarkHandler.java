@@ -0,0 +1,38 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.TaskManagerException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the mark command, which marks a task as done.
+ */
+public class MarkHandler implements CommandHandler<Integer, Task> {
+    private static final String KEYWORD = "mark";
+
+    @Override
+    public String getKeyword() {
+        return MarkHandler.KEYWORD;
+    }
+
+    @Override
+    public Integer parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseMarkArgs(userMessage);
+    }
+
+    @Override
+    public Task execute(Integer taskNumber, CommandContext context) throws TaskManagerException {
+        Task task = context.getTaskManager().markAsDone(taskNumber);
+        context.saveTasks();
+        return task;
+    }
+
+    @Override
+    public String format(Integer taskNumber, Task task, MessageFormatter formatter) {
+        return formatter.createMarkAsDoneMessage(task);
+    }
+}
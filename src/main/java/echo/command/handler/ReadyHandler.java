@@ -0,0 +1,37 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the ready command, which shows the undone tasks that are not waiting for another undone task.
+ */
+public class ReadyHandler implements CommandHandler<Void, ArrayList<Task>> {
+    private static final String KEYWORD = "ready";
+
+    @Override
+    public String getKeyword() {
+        return ReadyHandler.KEYWORD;
+    }
+
+    @Override
+    public Void parse(String userMessage, InstructionParser parser) {
+        // ready takes no arguments
+        return null;
+    }
+
+    @Override
+    public ArrayList<Task> execute(Void request, CommandContext context) {
+        return context.getTaskManager().getReadyTasks();
+    }
+
+    @Override
+    public String format(Void request, ArrayList<Task> result, MessageFormatter formatter) {
+        return formatter.createReadyTasksMessage(result);
+    }
+}
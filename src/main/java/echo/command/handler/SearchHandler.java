@@ -0,0 +1,40 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the search command, which shows the tasks whose descriptions best match some words,
+ * ignoring case and small typos.
+ */
+public class SearchHandler implements CommandHandler<String, ArrayList<Task>> {
+    private static final String KEYWORD = "search";
+    // enough to find a task without scrolling, the ranking puts the best matches first
+    private static final int MAX_RESULTS = 10;
+
+    @Override
+    public String getKeyword() {
+        return SearchHandler.KEYWORD;
+    }
+
+    @Override
+    public String parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseSearchQuery(userMessage);
+    }
+
+    @Override
+    public ArrayList<Task> execute(String query, CommandContext context) {
+        return context.getTaskManager().searchTasks(query, SearchHandler.MAX_RESULTS);
+    }
+
+    @Override
+    public String format(String query, ArrayList<Task> result, MessageFormatter formatter) {
+        return formatter.createSearchMessage(query, result);
+    }
+}
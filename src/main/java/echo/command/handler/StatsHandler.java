@@ -0,0 +1,36 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.parser.InstructionParser;
+import echo.task.TaskStatistics;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the stats command, which shows how many tasks there are of each kind, how many are done
+ * and how many deadlines are overdue.
+ */
+public class StatsHandler implements CommandHandler<Void, TaskStatistics> {
+    private static final String KEYWORD = "stats";
+
+    @Override
+    public String getKeyword() {
+        return StatsHandler.KEYWORD;
+    }
+
+    @Override
+    public Void parse(String userMessage, InstructionParser parser) {
+        // stats takes no arguments
+        return null;
+    }
+
+    @Override
+    public TaskStatistics execute(Void request, CommandContext context) {
+        return context.getTaskManager().getStatistics(context.getCurrentTime());
+    }
+
+    @Override
+    public String format(Void request, TaskStatistics result, MessageFormatter formatter) {
+        return formatter.createStatisticsMessage(result);
+    }
+}
@@ -0,0 +1,49 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exception.TaskManagerException;
+import echo.parser.InstructionParser;
+import echo.sync.SyncResult;
+import echo.sync.Synchronizer;
+import echo.task.TaskManager;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the sync command, which merges the tasks of the save file with those of another save file.
+ */
+public class SyncHandler implements CommandHandler<String, SyncResult> {
+    private static final String KEYWORD = "sync";
+
+    @Override
+    public String getKeyword() {
+        return SyncHandler.KEYWORD;
+    }
+
+    @Override
+    public String parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseSyncPath(userMessage);
+    }
+
+    @Override
+    public SyncResult execute(String path, CommandContext context) throws StorageException, TaskManagerException {
+        SyncResult result = new Synchronizer().sync(context.getStorage(), path);
+
+        // the save file has been changed in place already, so the tasks are not saved again
+        TaskManager taskManager = context.getTaskManager();
+        for (int taskNumber : result.getTaskNumbersDoneHere()) {
+            taskManager.markAsDone(taskNumber);
+        }
+        taskManager.importTasks(result.getTasksAddedHere());
+        // the save file matches the tasks again, so its changes are not merged in a second time
+        context.getStorage().trackSavedTasks(taskManager.getTasks(), result.getLocalVersion());
+        return result;
+    }
+
+    @Override
+    public String format(String path, SyncResult result, MessageFormatter formatter) {
+        return formatter.createSyncMessage(result);
+    }
+}
@@ -0,0 +1,27 @@
+package echo.command.handler;
+
+import echo.command.Command;
+import echo.exception.ParsingException;
+import echo.parser.InstructionParser;
+
+/**
+ * Handles the todo command, which adds a ToDo.
+ */
+public class ToDoHandler extends AddTaskHandler {
+    private static final String KEYWORD = "todo";
+
+    @Override
+    public String getKeyword() {
+        return ToDoHandler.KEYWORD;
+    }
+
+    @Override
+    protected Command getTaskType() {
+        return Command.TODO;
+    }
+
+    @Override
+    public AddTaskRequest parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return new AddTaskRequest(parser.parseTodoDescription(userMessage), parser.parseTodoArgs(userMessage));
+    }
+}
@@ -0,0 +1,38 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.TaskManagerException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the unmark command, which marks a task as not done yet.
+ */
+public class UnmarkHandler implements CommandHandler<Integer, Task> {
+    private static final String KEYWORD = "unmark";
+
+    @Override
+    public String getKeyword() {
+        return UnmarkHandler.KEYWORD;
+    }
+
+    @Override
+    public Integer parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseUnmarkArgs(userMessage);
+    }
+
+    @Override
+    public Task execute(Integer taskNumber, CommandContext context) throws TaskManagerException {
+        Task task = context.getTaskManager().markAsUndone(taskNumber);
+        context.saveTasks();
+        return task;
+    }
+
+    @Override
+    public String format(Integer taskNumber, Task task, MessageFormatter formatter) {
+        return formatter.createMarkAsUndoneMessage(task);
+    }
+}
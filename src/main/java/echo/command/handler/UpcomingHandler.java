@@ -0,0 +1,38 @@
+package echo.command.handler;
+
+import java.util.ArrayList;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.parser.InstructionParser;
+import echo.task.Task;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the upcoming command, which shows the next few undone Deadlines and Events.
+ */
+public class UpcomingHandler implements CommandHandler<Integer, ArrayList<Task>> {
+    private static final String KEYWORD = "upcoming";
+
+    @Override
+    public String getKeyword() {
+        return UpcomingHandler.KEYWORD;
+    }
+
+    @Override
+    public Integer parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseUpcomingCount(userMessage);
+    }
+
+    @Override
+    public ArrayList<Task> execute(Integer count, CommandContext context) throws StorageException {
+        return context.getTaskManager().findUpcomingTasks(context.getCurrentTime(), count);
+    }
+
+    @Override
+    public String format(Integer count, ArrayList<Task> result, MessageFormatter formatter) {
+        return formatter.createUpcomingTasksMessage(result);
+    }
+}
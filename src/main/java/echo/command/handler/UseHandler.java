@@ -0,0 +1,37 @@
+package echo.command.handler;
+
+import echo.command.CommandContext;
+import echo.command.CommandHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.parser.InstructionParser;
+import echo.profile.Profile;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the use command, which switches to another task list, creating it if it does not exist yet.
+ */
+public class UseHandler implements CommandHandler<String, Profile> {
+    private static final String KEYWORD = "use";
+
+    @Override
+    public String getKeyword() {
+        return UseHandler.KEYWORD;
+    }
+
+    @Override
+    public String parse(String userMessage, InstructionParser parser) throws ParsingException {
+        return parser.parseProfileName(userMessage);
+    }
+
+    @Override
+    public Profile execute(String name, CommandContext context) throws StorageException, TaskException {
+        return context.useProfile(name);
+    }
+
+    @Override
+    public String format(String name, Profile profile, MessageFormatter formatter) {
+        return formatter.createUseProfileMessage(profile.getName(), profile.getTaskManager().getNumTasks());
+    }
+}
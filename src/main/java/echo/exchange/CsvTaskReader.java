@@ -0,0 +1,139 @@
+package echo.exchange;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.util.ArrayList;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.task.DescriptionPool;
+import echo.task.Task;
+
+/**
+ * Reads tasks from the rows of a CSV file as in RFC 4180, such as one written by CsvTaskWriter
+ * or saved from a spreadsheet.
+ *
+ * The first row names the columns, which may come in any order. Columns other than those of TaskFields
+ * are ignored, and only type and description are required. Quoted fields may span several lines.
+ */
+class CsvTaskReader implements TaskReader {
+    private static final String ERROR_MESSAGE_NO_HEADER =
+        "The CSV file needs a first row naming its columns, with at least type and description!";
+    private static final String ERROR_MESSAGE_UNCLOSED_QUOTE = "A quoted field is never closed!";
+    private static final String ERROR_MESSAGE_TEXT_AFTER_QUOTE = "There is text after the closing quote of a field!";
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final LineNumberReader in;
+    private final DescriptionPool descriptionPool;
+    private final TaskFields fields = new TaskFields();
+    // names of the columns, read from the header row
+    private String[] columns;
+    // fields of the row being read, reused for every row
+    private final ArrayList<String> values = new ArrayList<>();
+    private final StringBuilder value = new StringBuilder();
+
+    CsvTaskReader(LineNumberReader in, DescriptionPool descriptionPool) {
+        this.in = in;
+        this.descriptionPool = descriptionPool;
+    }
+
+    @Override
+    public Task read() throws IOException, StorageException, TaskException {
+        if (this.columns == null) {
+            this.readHeader();
+        }
+
+        String line = this.in.readLine();
+        while (line != null && line.isBlank()) {
+            line = this.in.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+
+        this.readRow(line);
+        this.fields.clear();
+        for (int i = 0; i < this.columns.length && i < this.values.size(); i++) {
+            this.fields.set(this.columns[i], this.values.get(i));
+        }
+        return this.fields.toTask(this.descriptionPool);
+    }
+
+    private void readHeader() throws IOException, StorageException {
+        String line = this.in.readLine();
+        if (line == null) {
+            throw new StorageException(CsvTaskReader.ERROR_MESSAGE_NO_HEADER);
+        }
+        try {
+            this.readRow(line);
+        } catch (TaskException e) {
+            throw new StorageException(CsvTaskReader.ERROR_MESSAGE_NO_HEADER);
+        }
+
+        this.columns = this.values.toArray(new String[0]);
+        boolean hasType = false;
+        boolean hasDescription = false;
+        for (String column : this.columns) {
+            hasType |= column.trim().equalsIgnoreCase(TaskFields.NAME_TYPE);
+            hasDescription |= column.trim().equalsIgnoreCase(TaskFields.NAME_DESCRIPTION);
+        }
+        if (!hasType || !hasDescription) {
+            throw new StorageException(CsvTaskReader.ERROR_MESSAGE_NO_HEADER);
+        }
+    }
+
+    /**
+     * Splits a row into its fields, reading more lines while a quoted field is open.
+     * An unquoted empty field is read as null, and a quoted one as an empty string.
+     */
+    private void readRow(String firstLine) throws IOException, TaskException {
+        this.values.clear();
+        String line = firstLine;
+        int i = 0;
+        while (true) {
+            this.value.setLength(0);
+            boolean isQuoted = i < line.length() && line.charAt(i) == CsvTaskReader.QUOTE;
+            if (isQuoted) {
+                i++;
+                while (true) {
+                    if (i == line.length()) {
+                        // the field goes on in the next line
+                        line = this.in.readLine();
+                        if (line == null) {
+                            throw new TaskException(CsvTaskReader.ERROR_MESSAGE_UNCLOSED_QUOTE);
+                        }
+                        this.value.append('\n');
+                        i = 0;
+                        continue;
+                    }
+                    char c = line.charAt(i++);
+                    if (c != CsvTaskReader.QUOTE) {
+                        this.value.append(c);
+                    } else if (i < line.length() && line.charAt(i) == CsvTaskReader.QUOTE) {
+                        this.value.append(CsvTaskReader.QUOTE);
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != CsvTaskReader.SEPARATOR) {
+                    throw new TaskException(CsvTaskReader.ERROR_MESSAGE_TEXT_AFTER_QUOTE);
+                }
+                this.values.add(this.value.toString());
+            } else {
+                int end = line.indexOf(CsvTaskReader.SEPARATOR, i);
+                end = end < 0 ? line.length() : end;
+                this.values.add(end == i ? null : line.substring(i, end));
+                i = end;
+            }
+
+            if (i >= line.length()) {
+                return;
+            }
+            // skip the separator
+            i++;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package echo.exchange;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import echo.task.Task;
+
+/**
+ * Writes tasks as rows of a CSV file as in RFC 4180, under a header row naming the columns:
+ * type,done,description,by,from,to,every,until
+ *
+ * Dates are written in ISO 8601, e.g. 2026-01-25T18:00, and fields a task does not have are left empty.
+ * A field is quoted only if it contains a comma, a quote or a line break.
+ */
+class CsvTaskWriter implements TaskWriter {
+    static final String[] COLUMNS = {
+        TaskFields.NAME_TYPE, TaskFields.NAME_DONE, TaskFields.NAME_DESCRIPTION, TaskFields.NAME_BY,
+        TaskFields.NAME_FROM, TaskFields.NAME_TO, TaskFields.NAME_EVERY, TaskFields.NAME_UNTIL
+    };
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final String LINE_END = "\r\n";
+
+    private final Writer out;
+    private final TaskFields fields = new TaskFields();
+    // reused for every row, so writing a row only creates the strings of its dates
+    private final StringBuilder row = new StringBuilder();
+
+    CsvTaskWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        this.row.setLength(0);
+        for (int i = 0; i < CsvTaskWriter.COLUMNS.length; i++) {
+            if (i > 0) {
+                this.row.append(CsvTaskWriter.SEPARATOR);
+            }
+            this.row.append(CsvTaskWriter.COLUMNS[i]);
+        }
+        this.out.append(this.row.append(CsvTaskWriter.LINE_END));
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        this.fields.setFrom(task);
+        this.row.setLength(0);
+        this.row.append(this.fields.type).append(CsvTaskWriter.SEPARATOR)
+            .append(this.fields.isDone).append(CsvTaskWriter.SEPARATOR);
+        this.appendField(this.fields.description).append(CsvTaskWriter.SEPARATOR);
+        this.appendField(this.fields.by).append(CsvTaskWriter.SEPARATOR);
+        this.appendField(this.fields.from).append(CsvTaskWriter.SEPARATOR);
+        this.appendField(this.fields.to).append(CsvTaskWriter.SEPARATOR);
+        this.appendField(this.fields.every).append(CsvTaskWriter.SEPARATOR);
+        this.appendField(this.fields.until).append(CsvTaskWriter.LINE_END);
+        this.out.append(this.row);
+    }
+
+    @Override
+    public void writeFooter() {
+    }
+
+    private StringBuilder appendField(Object value) {
+        if (value == null) {
+            return this.row;
+        }
+
+        String text = value.toString();
+        if (!CsvTaskWriter.needsQuotes(text)) {
+            return this.row.append(text);
+        }
+        this.row.append(CsvTaskWriter.QUOTE);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            // a quote inside a quoted field is written twice
+            if (c == CsvTaskWriter.QUOTE) {
+                this.row.append(CsvTaskWriter.QUOTE);
+            }
+            this.row.append(c);
+        }
+        return this.row.append(CsvTaskWriter.QUOTE);
+    }
+
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == CsvTaskWriter.SEPARATOR || c == CsvTaskWriter.QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
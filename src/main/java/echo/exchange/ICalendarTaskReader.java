@@ -0,0 +1,295 @@
+package echo.exchange;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+import echo.exception.TaskException;
+import echo.task.DescriptionPool;
+import echo.task.Task;
+
+/**
+ * Reads tasks from the VTODOs and VEVENTs of an iCalendar file as in RFC 5545, such as one written by
+ * ICalendarTaskWriter or exported from a calendar app.
+ *
+ * A VTODO with a DUE becomes a Deadline, any other VTODO a ToDo, and a VEVENT an Event lasting from its
+ * DTSTART to its DTEND, or no time at all without one. Other components, e.g. VTIMEZONE, and components
+ * nested in a task, e.g. VALARM, are skipped.
+ *
+ * Echo keeps local times to the minute: times in UTC are converted to the time zone of this computer,
+ * times with a TZID are read as they are, and dates without a time start at midnight.
+ * An RRULE must repeat every day, week or month, and may end with an UNTIL or a COUNT.
+ */
+class ICalendarTaskReader implements TaskReader {
+    private static final String ERROR_MESSAGE_WRONG_DATE = "%s is not an iCalendar date like 20260125T180000!";
+    private static final String ERROR_MESSAGE_UNSUPPORTED_RULE =
+        "I can only repeat tasks every day, week or month, not by the rule %s!";
+    private static final String ERROR_MESSAGE_UNCLOSED_COMPONENT = "The %s is never closed by an END!";
+
+    private static final String COMPONENT_TODO = "VTODO";
+    private static final String COMPONENT_EVENT = "VEVENT";
+    private static final DateTimeFormatter FORMATTER_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter FORMATTER_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int LENGTH_DATE = 8;
+
+    private final LineNumberReader in;
+    private final DescriptionPool descriptionPool;
+    private final TaskFields fields = new TaskFields();
+    // a line read ahead to check if it continues the line before it
+    private String nextLine;
+    private final StringBuilder unfoldedLine = new StringBuilder();
+    private final StringBuilder text = new StringBuilder();
+
+    // properties of the task being read, which are only turned into fields at its end
+    private String component;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private LocalDateTime due;
+    private String rule;
+
+    ICalendarTaskReader(LineNumberReader in, DescriptionPool descriptionPool) {
+        this.in = in;
+        this.descriptionPool = descriptionPool;
+        this.nextLine = null;
+    }
+
+    @Override
+    public Task read() throws IOException, TaskException {
+        this.component = null;
+        // depth of components nested in the task being read, e.g. 1 inside its VALARM
+        int nestedDepth = 0;
+        String line;
+        while ((line = this.readUnfoldedLine()) != null) {
+            int valueStart = ICalendarTaskReader.findValueStart(line);
+            if (valueStart < 0) {
+                continue;
+            }
+            int nameEnd = line.indexOf(';');
+            nameEnd = nameEnd < 0 || nameEnd > valueStart ? valueStart : nameEnd;
+            String name = line.substring(0, nameEnd).trim().toUpperCase(Locale.ROOT);
+            String value = line.substring(valueStart + 1);
+
+            if (this.component == null) {
+                if (name.equals("BEGIN") && this.isTaskComponent(value)) {
+                    this.beginTask(value.trim().toUpperCase(Locale.ROOT));
+                }
+            } else if (name.equals("BEGIN")) {
+                nestedDepth++;
+            } else if (name.equals("END") && nestedDepth > 0) {
+                nestedDepth--;
+            } else if (name.equals("END")) {
+                return this.endTask();
+            } else if (nestedDepth == 0) {
+                this.readProperty(name, value);
+            }
+        }
+
+        if (this.component != null) {
+            throw new TaskException(ICalendarTaskReader.ERROR_MESSAGE_UNCLOSED_COMPONENT.formatted(this.component));
+        }
+        return null;
+    }
+
+    private boolean isTaskComponent(String value) {
+        String trimmedValue = value.trim();
+        return trimmedValue.equalsIgnoreCase(ICalendarTaskReader.COMPONENT_TODO)
+            || trimmedValue.equalsIgnoreCase(ICalendarTaskReader.COMPONENT_EVENT);
+    }
+
+    private void beginTask(String taskComponent) {
+        this.component = taskComponent;
+        this.fields.clear();
+        this.start = null;
+        this.end = null;
+        this.due = null;
+        this.rule = null;
+    }
+
+    /**
+     * Reads a property of the task being read, e.g. SUMMARY or DTSTART.
+     *
+     * Parameters such as VALUE=DATE and TZID are not needed, as the value shows if it is a date.
+     *
+     * @param name Name of the property, in upper case.
+     * @param value Value of the property.
+     */
+    private void readProperty(String name, String value) throws TaskException {
+        if (name.equals("SUMMARY")) {
+            this.fields.description = this.unescapeText(value);
+        } else if (name.equals("DTSTART")) {
+            this.start = ICalendarTaskReader.parseDateTime(value);
+        } else if (name.equals("DTEND")) {
+            this.end = ICalendarTaskReader.parseDateTime(value);
+        } else if (name.equals("DUE")) {
+            this.due = ICalendarTaskReader.parseDateTime(value);
+        } else if (name.equals("STATUS")) {
+            this.fields.isDone |= value.trim().equalsIgnoreCase("COMPLETED");
+        } else if (name.equals("COMPLETED")) {
+            // the time the task was completed, only present if it was
+            this.fields.isDone = true;
+        } else if (name.equals(ICalendarTaskWriter.PROPERTY_DONE)) {
+            this.fields.isDone |= value.trim().equalsIgnoreCase("TRUE");
+        } else if (name.equals("RRULE")) {
+            this.rule = value.trim();
+        }
+    }
+
+    private Task endTask() throws TaskException {
+        boolean isEvent = this.component.equals(ICalendarTaskReader.COMPONENT_EVENT);
+        this.component = null;
+
+        LocalDateTime firstStart;
+        if (isEvent) {
+            this.fields.type = TaskFields.TYPE_EVENT;
+            this.fields.from = this.start;
+            this.fields.to = this.end == null ? this.start : this.end;
+            firstStart = this.start;
+        } else if (this.due != null) {
+            this.fields.type = TaskFields.TYPE_DEADLINE;
+            this.fields.by = this.due;
+            firstStart = this.due;
+        } else {
+            this.fields.type = TaskFields.TYPE_TODO;
+            firstStart = this.start;
+        }
+
+        if (this.rule != null) {
+            this.readRule(firstStart);
+        }
+        return this.fields.toTask(this.descriptionPool);
+    }
+
+    /**
+     * Reads an RRULE, e.g. FREQ=WEEKLY;UNTIL=20260331T235959 or FREQ=DAILY;COUNT=10, into the every and
+     * until fields. A COUNT is turned into the day of the last occurrence.
+     */
+    private void readRule(LocalDateTime firstStart) throws TaskException {
+        ChronoUnit unit = null;
+        long count = 0;
+        for (String part : this.rule.split(";")) {
+            int equalsIndex = part.indexOf('=');
+            String partName = equalsIndex < 0 ? part : part.substring(0, equalsIndex).toUpperCase(Locale.ROOT);
+            String partValue = equalsIndex < 0 ? "" : part.substring(equalsIndex + 1).toUpperCase(Locale.ROOT);
+            if (partName.equals("FREQ")) {
+                unit = ICalendarTaskReader.toUnit(partValue);
+                this.fields.every = partValue;
+            } else if (partName.equals("UNTIL")) {
+                this.fields.until = ICalendarTaskReader.parseDateTime(partValue).toLocalDate();
+            } else if (partName.equals("COUNT") && partValue.matches("[1-9][0-9]{0,8}")) {
+                count = Long.parseLong(partValue);
+            } else if (!(partName.equals("INTERVAL") && partValue.equals("1")) && !partName.equals("WKST")) {
+                // the week start only matters together with rules Echo does not support
+                throw new TaskException(ICalendarTaskReader.ERROR_MESSAGE_UNSUPPORTED_RULE.formatted(this.rule));
+            }
+        }
+
+        if (unit == null) {
+            throw new TaskException(ICalendarTaskReader.ERROR_MESSAGE_UNSUPPORTED_RULE.formatted(this.rule));
+        }
+        if (count > 0 && firstStart != null) {
+            this.fields.until = firstStart.plus(count - 1, unit).toLocalDate();
+        }
+    }
+
+    private static ChronoUnit toUnit(String frequency) {
+        if (frequency.equals("DAILY")) {
+            return ChronoUnit.DAYS;
+        } else if (frequency.equals("WEEKLY")) {
+            return ChronoUnit.WEEKS;
+        } else if (frequency.equals("MONTHLY")) {
+            return ChronoUnit.MONTHS;
+        }
+        return null;
+    }
+
+    /**
+     * Parses a date and time, e.g. 20260125T180000, 20260125T100000Z in UTC, or the date 20260125.
+     * Seconds are dropped, as Echo keeps times to the minute.
+     */
+    private static LocalDateTime parseDateTime(String value) throws TaskException {
+        String trimmedValue = value.trim();
+        try {
+            if (trimmedValue.length() == ICalendarTaskReader.LENGTH_DATE) {
+                return LocalDate.parse(trimmedValue, ICalendarTaskReader.FORMATTER_DATE).atStartOfDay();
+            }
+            if (trimmedValue.endsWith("Z")) {
+                LocalDateTime utcTime = LocalDateTime.parse(trimmedValue.substring(0, trimmedValue.length() - 1),
+                    ICalendarTaskReader.FORMATTER_DATE_TIME);
+                return utcTime.atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime().truncatedTo(ChronoUnit.MINUTES);
+            }
+            return LocalDateTime.parse(trimmedValue, ICalendarTaskReader.FORMATTER_DATE_TIME)
+                .truncatedTo(ChronoUnit.MINUTES);
+        } catch (DateTimeParseException e) {
+            throw new TaskException(ICalendarTaskReader.ERROR_MESSAGE_WRONG_DATE.formatted(trimmedValue));
+        }
+    }
+
+    /**
+     * Reads the next content line, joining the lines it was folded into.
+     *
+     * @return the line, or null at the end of the file.
+     */
+    private String readUnfoldedLine() throws IOException {
+        String line = this.nextLine != null ? this.nextLine : this.in.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        this.nextLine = this.in.readLine();
+        if (this.nextLine == null || !ICalendarTaskReader.isContinuation(this.nextLine)) {
+            return line;
+        }
+        this.unfoldedLine.setLength(0);
+        this.unfoldedLine.append(line);
+        while (this.nextLine != null && ICalendarTaskReader.isContinuation(this.nextLine)) {
+            this.unfoldedLine.append(this.nextLine, 1, this.nextLine.length());
+            this.nextLine = this.in.readLine();
+        }
+        return this.unfoldedLine.toString();
+    }
+
+    private static boolean isContinuation(String line) {
+        return !line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t');
+    }
+
+    /**
+     * Finds the colon between the name and parameters of a content line and its value.
+     * Colons inside quoted parameter values, e.g. in a TZID, are not it.
+     *
+     * @return the index of the colon, or -1 if the line has none.
+     */
+    private static int findValueStart(String line) {
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == ':' && !isQuoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String unescapeText(String value) {
+        this.text.setLength(0);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                this.text.append(c);
+                continue;
+            }
+            char escaped = value.charAt(++i);
+            this.text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+        }
+        return this.text.toString();
+    }
+}
@@ -0,0 +1,189 @@
+package echo.exchange;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import echo.task.Task;
+
+/**
+ * Writes tasks as an iCalendar file as in RFC 5545, which calendar and to-do apps can import.
+ *
+ * ToDos and Deadlines become VTODOs, with the time of a Deadline as its DUE, and Events become VEVENTs.
+ * RecurringTasks get an RRULE, and a DTSTART as well if they are Deadlines, since recurrence counts from it.
+ * Done VTODOs have the status COMPLETED. VEVENTs have no status for it, so done Events are marked with
+ * X-ECHO-DONE, which ICalendarTaskReader reads back and other apps ignore.
+ *
+ * Times are written as floating local times, like Echo keeps them. Lines longer than 75 bytes are folded.
+ */
+class ICalendarTaskWriter implements TaskWriter {
+    static final String PROPERTY_DONE = "X-ECHO-DONE";
+
+    private static final String LINE_END = "\r\n";
+    // lines are folded by a line end followed by a space
+    private static final String FOLD = "\r\n ";
+    private static final int MAX_LINE_BYTES = 75;
+    private static final String UNTIL_END_OF_DAY = "T235959";
+
+    private final Writer out;
+    private final TaskFields fields = new TaskFields();
+    // reused for every task, so writing a task only creates the string of its lines
+    private final StringBuilder lines = new StringBuilder();
+    private final StringBuilder line = new StringBuilder();
+    // time of the export in UTC, as every component needs a DTSTAMP
+    private final String timestamp;
+    private long numTasks;
+
+    ICalendarTaskWriter(Writer out) {
+        this.out = out;
+        StringBuilder builder = new StringBuilder();
+        ICalendarTaskWriter.appendDateTime(builder, LocalDateTime.now(ZoneOffset.UTC)).append('Z');
+        this.timestamp = builder.toString();
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        this.lines.setLength(0);
+        this.addLine("BEGIN:VCALENDAR");
+        this.addLine("VERSION:2.0");
+        this.addLine("PRODID:-//Echo//Echo task tracker//EN");
+        this.out.append(this.lines);
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        this.fields.setFrom(task);
+        this.numTasks++;
+        this.lines.setLength(0);
+
+        boolean isEvent = this.fields.type.equals(TaskFields.TYPE_EVENT);
+        String component = isEvent ? "VEVENT" : "VTODO";
+        this.addLine("BEGIN:" + component);
+        // unique within the export and across exports
+        this.startLine("UID:").append(this.numTasks).append('-').append(this.timestamp).append("@echo");
+        this.endLine();
+        this.startLine("DTSTAMP:").append(this.timestamp);
+        this.endLine();
+        this.startLine("SUMMARY:");
+        ICalendarTaskWriter.appendText(this.line, this.fields.description);
+        this.endLine();
+
+        if (isEvent) {
+            this.addDateTime("DTSTART:", this.fields.from);
+            this.addDateTime("DTEND:", this.fields.to);
+            if (this.fields.isDone) {
+                this.addLine(ICalendarTaskWriter.PROPERTY_DONE + ":TRUE");
+            }
+        } else {
+            if (this.fields.by != null && this.fields.every != null) {
+                this.addDateTime("DTSTART:", this.fields.by);
+            }
+            if (this.fields.by != null) {
+                this.addDateTime("DUE:", this.fields.by);
+            }
+            this.addLine(this.fields.isDone ? "STATUS:COMPLETED" : "STATUS:NEEDS-ACTION");
+        }
+
+        if (this.fields.every != null) {
+            this.startLine("RRULE:FREQ=").append(this.fields.every);
+            if (this.fields.until != null) {
+                ICalendarTaskWriter.appendDate(this.line.append(";UNTIL="), this.fields.until)
+                    .append(ICalendarTaskWriter.UNTIL_END_OF_DAY);
+            }
+            this.endLine();
+        }
+        this.addLine("END:" + component);
+        this.out.append(this.lines);
+    }
+
+    @Override
+    public void writeFooter() throws IOException {
+        this.lines.setLength(0);
+        this.addLine("END:VCALENDAR");
+        this.out.append(this.lines);
+    }
+
+    private StringBuilder startLine(String start) {
+        this.line.setLength(0);
+        return this.line.append(start);
+    }
+
+    private void addLine(String content) {
+        this.startLine(content);
+        this.endLine();
+    }
+
+    private void addDateTime(String start, LocalDateTime dateTime) {
+        ICalendarTaskWriter.appendDateTime(this.startLine(start), dateTime);
+        this.endLine();
+    }
+
+    /**
+     * Adds the line being built to the lines of the task, folding it after every 75 bytes of UTF-8.
+     * A character is never split across a fold.
+     */
+    private void endLine() {
+        int lineBytes = 0;
+        for (int i = 0; i < this.line.length(); i++) {
+            char c = this.line.charAt(i);
+            boolean isPair = Character.isHighSurrogate(c) && i + 1 < this.line.length()
+                && Character.isLowSurrogate(this.line.charAt(i + 1));
+            int charBytes = isPair ? 4 : c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            if (lineBytes + charBytes > ICalendarTaskWriter.MAX_LINE_BYTES) {
+                this.lines.append(ICalendarTaskWriter.FOLD);
+                // the space starting a folded line counts towards its length
+                lineBytes = 1;
+            }
+            this.lines.append(c);
+            if (isPair) {
+                this.lines.append(this.line.charAt(++i));
+            }
+            lineBytes += charBytes;
+        }
+        this.lines.append(ICalendarTaskWriter.LINE_END);
+    }
+
+    /**
+     * Appends text with the characters that have a meaning in iCalendar escaped by a backslash.
+     */
+    private static void appendText(StringBuilder builder, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else if (c != '\r') {
+                builder.append(c);
+            }
+        }
+    }
+
+    /**
+     * Appends a date and time as in iCalendar, e.g. 20260125T180000.
+     */
+    private static StringBuilder appendDateTime(StringBuilder builder, LocalDateTime dateTime) {
+        ICalendarTaskWriter.appendDate(builder, dateTime.toLocalDate()).append('T');
+        ICalendarTaskWriter.appendTwoDigits(builder, dateTime.getHour());
+        ICalendarTaskWriter.appendTwoDigits(builder, dateTime.getMinute());
+        return ICalendarTaskWriter.appendTwoDigits(builder, dateTime.getSecond());
+    }
+
+    /**
+     * Appends a date as in iCalendar, e.g. 20260125.
+     */
+    private static StringBuilder appendDate(StringBuilder builder, LocalDate date) {
+        builder.append(date.getYear());
+        ICalendarTaskWriter.appendTwoDigits(builder, date.getMonthValue());
+        return ICalendarTaskWriter.appendTwoDigits(builder, date.getDayOfMonth());
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder builder, int value) {
+        if (value < 10) {
+            builder.append('0');
+        }
+        return builder.append(value);
+    }
+}
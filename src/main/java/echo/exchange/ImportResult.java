@@ -0,0 +1,46 @@
+package echo.exchange;
+
+import java.util.ArrayList;
+
+import echo.task.Task;
+
+/**
+ * Represents the tasks read from a file by an import, and the entries that were skipped as they were not tasks.
+ */
+public class ImportResult {
+    private final ArrayList<Task> tasks;
+    private final int numSkipped;
+    private final int firstSkippedLine;
+    private final String firstSkipReason;
+
+    /**
+     * Creates an ImportResult.
+     *
+     * @param tasks Tasks read from the file, in order.
+     * @param numSkipped Number of entries skipped.
+     * @param firstSkippedLine Line the first skipped entry ended on, or 0 if none were skipped.
+     * @param firstSkipReason Why the first skipped entry is not a task, or null if none were skipped.
+     */
+    public ImportResult(ArrayList<Task> tasks, int numSkipped, int firstSkippedLine, String firstSkipReason) {
+        this.tasks = tasks;
+        this.numSkipped = numSkipped;
+        this.firstSkippedLine = firstSkippedLine;
+        this.firstSkipReason = firstSkipReason;
+    }
+
+    public ArrayList<Task> getTasks() {
+        return this.tasks;
+    }
+
+    public int getNumSkipped() {
+        return this.numSkipped;
+    }
+
+    public int getFirstSkippedLine() {
+        return this.firstSkippedLine;
+    }
+
+    public String getFirstSkipReason() {
+        return this.firstSkipReason;
+    }
+}
@@ -0,0 +1,164 @@
+package echo.exchange;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+
+import echo.exception.TaskException;
+import echo.task.DescriptionPool;
+import echo.task.Task;
+
+/**
+ * Reads tasks from JSON Lines, one JSON object per line, such as those written by JsonLinesTaskWriter.
+ *
+ * Each object must be flat: its values can be strings, numbers, true, false or null, but not objects
+ * or arrays. Names other than those of TaskFields are ignored, and blank lines are skipped.
+ */
+class JsonLinesTaskReader implements TaskReader {
+    private static final String ERROR_MESSAGE_NOT_AN_OBJECT = "The line is not a JSON object!";
+    private static final String ERROR_MESSAGE_MALFORMED = "The JSON object is malformed at column %d!";
+    private static final String ERROR_MESSAGE_NESTED = "Values of %s can only be text, numbers, true, false or null!";
+
+    private static final int RADIX_HEX = 16;
+    private static final int LENGTH_UNICODE_ESCAPE = 4;
+
+    private final LineNumberReader in;
+    private final DescriptionPool descriptionPool;
+    private final TaskFields fields = new TaskFields();
+    private final StringBuilder text = new StringBuilder();
+    private String line;
+    // index of the next character of the line to parse
+    private int position;
+
+    JsonLinesTaskReader(LineNumberReader in, DescriptionPool descriptionPool) {
+        this.in = in;
+        this.descriptionPool = descriptionPool;
+    }
+
+    @Override
+    public Task read() throws IOException, TaskException {
+        this.line = this.in.readLine();
+        while (this.line != null && this.line.isBlank()) {
+            this.line = this.in.readLine();
+        }
+        if (this.line == null) {
+            return null;
+        }
+
+        this.position = 0;
+        this.fields.clear();
+        this.skipWhitespace();
+        if (!this.consume('{')) {
+            throw new TaskException(JsonLinesTaskReader.ERROR_MESSAGE_NOT_AN_OBJECT);
+        }
+        this.skipWhitespace();
+        if (!this.consume('}')) {
+            do {
+                this.skipWhitespace();
+                String name = this.readString();
+                this.skipWhitespace();
+                this.expect(':');
+                this.skipWhitespace();
+                this.fields.set(name, this.readValue(name));
+                this.skipWhitespace();
+            } while (this.consume(','));
+            this.expect('}');
+        }
+        this.skipWhitespace();
+        if (this.position != this.line.length()) {
+            throw this.malformed();
+        }
+        return this.fields.toTask(this.descriptionPool);
+    }
+
+    /**
+     * Reads a value, giving the text of a string or number, or null for null. true and false are read
+     * as text as well, which TaskFields parses for the done field.
+     */
+    private String readValue(String name) throws TaskException {
+        if (this.position >= this.line.length()) {
+            throw this.malformed();
+        }
+        char c = this.line.charAt(this.position);
+        if (c == '"') {
+            return this.readString();
+        } else if (c == '{' || c == '[') {
+            throw new TaskException(JsonLinesTaskReader.ERROR_MESSAGE_NESTED.formatted(name));
+        }
+
+        int start = this.position;
+        while (this.position < this.line.length() && ",} \t".indexOf(this.line.charAt(this.position)) < 0) {
+            this.position++;
+        }
+        String literal = this.line.substring(start, this.position);
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String readString() throws TaskException {
+        this.expect('"');
+        this.text.setLength(0);
+        while (this.position < this.line.length()) {
+            char c = this.line.charAt(this.position++);
+            if (c == '"') {
+                return this.text.toString();
+            } else if (c != '\\') {
+                this.text.append(c);
+            } else if (this.position < this.line.length()) {
+                this.appendEscaped(this.line.charAt(this.position++));
+            }
+        }
+        throw this.malformed();
+    }
+
+    private void appendEscaped(char escaped) throws TaskException {
+        if (escaped == 'n') {
+            this.text.append('\n');
+        } else if (escaped == 'r') {
+            this.text.append('\r');
+        } else if (escaped == 't') {
+            this.text.append('\t');
+        } else if (escaped == 'b') {
+            this.text.append('\b');
+        } else if (escaped == 'f') {
+            this.text.append('\f');
+        } else if (escaped == 'u') {
+            int end = this.position + JsonLinesTaskReader.LENGTH_UNICODE_ESCAPE;
+            if (end > this.line.length()) {
+                throw this.malformed();
+            }
+            try {
+                this.text.append((char) Integer.parseInt(this.line, this.position, end, JsonLinesTaskReader.RADIX_HEX));
+            } catch (NumberFormatException e) {
+                throw this.malformed();
+            }
+            this.position = end;
+        } else {
+            // \" \\ and \/ stand for the character itself
+            this.text.append(escaped);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (this.position < this.line.length() && Character.isWhitespace(this.line.charAt(this.position))) {
+            this.position++;
+        }
+    }
+
+    private boolean consume(char c) {
+        if (this.position < this.line.length() && this.line.charAt(this.position) == c) {
+            this.position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) throws TaskException {
+        if (!this.consume(c)) {
+            throw this.malformed();
+        }
+    }
+
+    private TaskException malformed() {
+        // columns are counted from 1, like in text editors
+        return new TaskException(JsonLinesTaskReader.ERROR_MESSAGE_MALFORMED.formatted(this.position + 1));
+    }
+}
@@ -0,0 +1,88 @@
+package echo.exchange;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import echo.task.Task;
+
+/**
+ * Writes tasks as JSON Lines, one JSON object per line with the fields of TaskFields, e.g.
+ * {"type":"deadline","done":false,"description":"return book","by":"2026-01-25T18:00"}
+ *
+ * Dates are written in ISO 8601, and fields a task does not have are left out.
+ */
+class JsonLinesTaskWriter implements TaskWriter {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private final TaskFields fields = new TaskFields();
+    // reused for every line, so writing a line only creates the strings of its dates
+    private final StringBuilder line = new StringBuilder();
+
+    JsonLinesTaskWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() {
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        this.fields.setFrom(task);
+        this.line.setLength(0);
+        this.line.append('{');
+        this.appendName(TaskFields.NAME_TYPE);
+        this.appendString(this.fields.type).append(',');
+        this.appendName(TaskFields.NAME_DONE);
+        this.line.append(this.fields.isDone).append(',');
+        this.appendName(TaskFields.NAME_DESCRIPTION);
+        this.appendString(this.fields.description);
+        this.appendOptional(TaskFields.NAME_BY, this.fields.by);
+        this.appendOptional(TaskFields.NAME_FROM, this.fields.from);
+        this.appendOptional(TaskFields.NAME_TO, this.fields.to);
+        this.appendOptional(TaskFields.NAME_EVERY, this.fields.every);
+        this.appendOptional(TaskFields.NAME_UNTIL, this.fields.until);
+        this.out.append(this.line.append('}').append('\n'));
+    }
+
+    @Override
+    public void writeFooter() {
+    }
+
+    private void appendOptional(String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        this.line.append(',');
+        this.appendName(name);
+        this.appendString(value.toString());
+    }
+
+    private void appendName(String name) {
+        this.appendString(name).append(':');
+    }
+
+    private StringBuilder appendString(String text) {
+        this.line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                this.line.append('\\').append(c);
+            } else if (c == '\n') {
+                this.line.append("\\n");
+            } else if (c == '\r') {
+                this.line.append("\\r");
+            } else if (c == '\t') {
+                this.line.append("\\t");
+            } else if (c < ' ') {
+                // other control characters have no short escape
+                this.line.append("\\u00").append(JsonLinesTaskWriter.HEX_DIGITS[c >> 4])
+                    .append(JsonLinesTaskWriter.HEX_DIGITS[c & 0xf]);
+            } else {
+                this.line.append(c);
+            }
+        }
+        return this.line.append('"');
+    }
+}
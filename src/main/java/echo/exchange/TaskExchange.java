@@ -0,0 +1,116 @@
+package echo.exchange;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.task.DescriptionPool;
+import echo.task.Task;
+
+/**
+ * Exports tasks to and imports tasks from files in the formats of TaskFormat, for use by other apps.
+ *
+ * Files are streamed task by task through a buffered FileChannel, so only one buffer of the file
+ * is held in memory at a time, however many tasks it has.
+ */
+public class TaskExchange {
+    private static final String ERROR_MESSAGE_NO_SUCH_FILE = "There is no file at %s to import!";
+    private static final String ERROR_MESSAGE_EXPORT_FAILED = "Exporting failed due to: %s";
+    private static final String ERROR_MESSAGE_IMPORT_FAILED = "Importing failed due to: %s";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * Writes tasks into a file, replacing the file if it exists.
+     *
+     * @param tasks Tasks to write, in order.
+     * @param path Path of the file.
+     * @param format Format to write the file in.
+     * @return the number of tasks written.
+     * @throws StorageException If the file could not be written.
+     */
+    public int exportTasks(List<Task> tasks, String path, TaskFormat format) throws StorageException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(),
+                    TaskExchange.BUFFER_SIZE)) {
+            TaskWriter writer = format.createWriter(out);
+            writer.writeHeader();
+            for (Task task : tasks) {
+                writer.write(task);
+            }
+            writer.writeFooter();
+            return tasks.size();
+        } catch (IOException e) {
+            throw new StorageException(TaskExchange.ERROR_MESSAGE_EXPORT_FAILED.formatted(e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads the tasks in a file, skipping entries that are not valid tasks.
+     *
+     * @param path Path of the file.
+     * @param format Format the file is in.
+     * @param descriptionPool Pool to intern the descriptions of read tasks into,
+     *     usually that of the TaskManager the tasks are imported into.
+     * @return the tasks read and the entries skipped.
+     * @throws StorageException If the file does not exist, could not be read, or as a whole is not in the format.
+     */
+    public ImportResult importTasks(String path, TaskFormat format, DescriptionPool descriptionPool)
+            throws StorageException {
+        Path file = Path.of(path);
+        if (!Files.isRegularFile(file)) {
+            throw new StorageException(TaskExchange.ERROR_MESSAGE_NO_SUCH_FILE.formatted(path));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                LineNumberReader in = new LineNumberReader(Channels.newReader(channel,
+                    StandardCharsets.UTF_8.newDecoder(), TaskExchange.BUFFER_SIZE), TaskExchange.BUFFER_SIZE)) {
+            TaskExchange.skipByteOrderMark(in);
+            TaskReader reader = format.createReader(in, descriptionPool);
+            ArrayList<Task> tasks = new ArrayList<>();
+            int numSkipped = 0;
+            int firstSkippedLine = 0;
+            String firstSkipReason = null;
+            while (true) {
+                try {
+                    Task task = reader.read();
+                    if (task == null) {
+                        break;
+                    }
+                    tasks.add(task);
+                } catch (TaskException e) {
+                    if (numSkipped == 0) {
+                        firstSkippedLine = in.getLineNumber();
+                        firstSkipReason = e.getMessage();
+                    }
+                    numSkipped++;
+                }
+            }
+            return new ImportResult(tasks, numSkipped, firstSkippedLine, firstSkipReason);
+        } catch (IOException e) {
+            throw new StorageException(TaskExchange.ERROR_MESSAGE_IMPORT_FAILED.formatted(e.getMessage()));
+        }
+    }
+
+    /**
+     * Skips the byte order mark some apps, e.g. spreadsheets, start UTF-8 files with.
+     */
+    private static void skipByteOrderMark(LineNumberReader in) throws IOException {
+        in.mark(1);
+        if (in.read() != TaskExchange.BYTE_ORDER_MARK) {
+            in.reset();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package echo.exchange;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import echo.exception.TaskException;
+import echo.task.DateTimeWriter;
+import echo.task.Deadline;
+import echo.task.DescriptionPool;
+import echo.task.Event;
+import echo.task.Recurrence;
+import echo.task.RecurringTask;
+import echo.task.Task;
+import echo.task.TimedTask;
+import echo.task.ToDo;
+
+/**
+ * Holds the fields of one task in the flat form every export format shares, named after the options
+ * of the commands that create tasks: type, done, description, by, from, to, every and until.
+ *
+ * A writer fills the fields from each task in turn and a reader fills them from each entry in turn,
+ * so one TaskFields is reused for a whole file.
+ */
+class TaskFields {
+    static final String TYPE_TODO = "todo";
+    static final String TYPE_DEADLINE = "deadline";
+    static final String TYPE_EVENT = "event";
+
+    static final String NAME_TYPE = "type";
+    static final String NAME_DONE = "done";
+    static final String NAME_DESCRIPTION = "description";
+    static final String NAME_BY = "by";
+    static final String NAME_FROM = "from";
+    static final String NAME_TO = "to";
+    static final String NAME_EVERY = "every";
+    static final String NAME_UNTIL = "until";
+
+    private static final String ERROR_MESSAGE_NO_TYPE = "The entry has no type!";
+    private static final String ERROR_MESSAGE_UNKNOWN_TYPE = "I don't know the type %s, only todo, deadline and event!";
+    private static final String ERROR_MESSAGE_NO_DESCRIPTION = "The entry has no description!";
+    private static final String ERROR_MESSAGE_NO_BY = "The deadline has no by date!";
+    private static final String ERROR_MESSAGE_NO_FROM_OR_TO = "The event needs both a from and a to date!";
+    private static final String ERROR_MESSAGE_TODO_REPEATS = "A todo has no date to repeat from!";
+    private static final String ERROR_MESSAGE_WRONG_DATE = "%s is not a date and time like 2026-01-25T18:00!";
+    private static final String ERROR_MESSAGE_WRONG_UNTIL = "%s is not a date like 2026-03-31!";
+    private static final String ERROR_MESSAGE_WRONG_DONE = "%s is not true or false!";
+
+    // also accept the format dates are typed in, e.g. in a CSV file written by hand
+    private static final DateTimeFormatter FORMATTER_TYPED = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    // a task is one line of the save file
+    private static final Pattern LINE_BREAKS = Pattern.compile("\\R");
+
+    String type;
+    boolean isDone;
+    String description;
+    LocalDateTime by;
+    LocalDateTime from;
+    LocalDateTime to;
+    // DAILY, WEEKLY or MONTHLY, or anything Recurrence.of accepts when read
+    String every;
+    LocalDate until;
+
+    private final StringBuilder dateBuilder = new StringBuilder();
+
+    /**
+     * Clears every field, before reading the next entry.
+     */
+    void clear() {
+        this.type = null;
+        this.isDone = false;
+        this.description = null;
+        this.by = null;
+        this.from = null;
+        this.to = null;
+        this.every = null;
+        this.until = null;
+    }
+
+    /**
+     * Fills the fields from a task.
+     *
+     * @param task Task to write.
+     */
+    void setFrom(Task task) {
+        this.clear();
+        this.isDone = task.isDone();
+        this.description = task.getDescription();
+
+        Task occurrence = task;
+        if (task instanceof RecurringTask) {
+            Recurrence recurrence = ((RecurringTask) task).getRecurrence();
+            this.every = recurrence.getFrequencyName();
+            this.until = recurrence.getUntil();
+            occurrence = ((RecurringTask) task).getFirstOccurrence();
+        }
+
+        if (occurrence instanceof Deadline) {
+            this.type = TaskFields.TYPE_DEADLINE;
+            this.by = ((Deadline) occurrence).getStart();
+        } else if (occurrence instanceof Event) {
+            this.type = TaskFields.TYPE_EVENT;
+            this.from = ((Event) occurrence).getStart();
+            this.to = ((Event) occurrence).getEnd();
+        } else {
+            this.type = TaskFields.TYPE_TODO;
+        }
+    }
+
+    /**
+     * Creates the task the fields describe.
+     * Line breaks in the description are replaced by spaces, since Echo saves every task on one line.
+     *
+     * @param descriptionPool Pool to intern the description into.
+     * @return the task.
+     * @throws TaskException If the fields do not describe a valid task.
+     */
+    Task toTask(DescriptionPool descriptionPool) throws TaskException {
+        if (this.type == null || this.type.isBlank()) {
+            throw new TaskException(TaskFields.ERROR_MESSAGE_NO_TYPE);
+        }
+        if (this.description == null || this.description.isBlank()) {
+            throw new TaskException(TaskFields.ERROR_MESSAGE_NO_DESCRIPTION);
+        }
+        String taskDescription = descriptionPool.intern(TaskFields.joinLines(this.description.trim()));
+
+        String lowerCaseType = this.type.trim().toLowerCase(Locale.ROOT);
+        Task task;
+        if (lowerCaseType.equals(TaskFields.TYPE_TODO)) {
+            if (this.every != null) {
+                throw new TaskException(TaskFields.ERROR_MESSAGE_TODO_REPEATS);
+            }
+            task = new ToDo(taskDescription);
+        } else {
+            TimedTask occurrence = this.toTimedTask(lowerCaseType, taskDescription);
+            task = this.every == null
+                ? occurrence
+                : new RecurringTask(occurrence, Recurrence.of(this.every,
+                    this.until == null ? null : this.until.toString()));
+        }
+        if (this.isDone) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private TimedTask toTimedTask(String lowerCaseType, String taskDescription) throws TaskException {
+        if (lowerCaseType.equals(TaskFields.TYPE_DEADLINE)) {
+            if (this.by == null) {
+                throw new TaskException(TaskFields.ERROR_MESSAGE_NO_BY);
+            }
+            return new Deadline(taskDescription, this.toTyped(this.by));
+        } else if (lowerCaseType.equals(TaskFields.TYPE_EVENT)) {
+            if (this.from == null || this.to == null) {
+                throw new TaskException(TaskFields.ERROR_MESSAGE_NO_FROM_OR_TO);
+            }
+            return new Event(taskDescription, this.toTyped(this.from), this.toTyped(this.to));
+        }
+        throw new TaskException(TaskFields.ERROR_MESSAGE_UNKNOWN_TYPE.formatted(this.type));
+    }
+
+    /**
+     * Replaces the line breaks in a description by spaces, without a regular expression in the usual case
+     * of a description on one line.
+     */
+    private static String joinLines(String description) {
+        if (description.indexOf('\n') < 0 && description.indexOf('\r') < 0) {
+            return description;
+        }
+        return TaskFields.LINE_BREAKS.matcher(description).replaceAll(" ");
+    }
+
+    /**
+     * Parses a date and time written as in ISO 8601, e.g. 2026-01-25T18:00, or as typed into Echo,
+     * e.g. 2026-01-25 1800.
+     *
+     * @param value Text of the date and time.
+     * @return the date and time, or null if the text is empty.
+     * @throws TaskException If the text is neither.
+     */
+    static LocalDateTime parseDateTime(String value) throws TaskException {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmedValue = value.trim();
+        try {
+            return LocalDateTime.parse(trimmedValue);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(trimmedValue, TaskFields.FORMATTER_TYPED);
+            } catch (DateTimeParseException e2) {
+                throw new TaskException(TaskFields.ERROR_MESSAGE_WRONG_DATE.formatted(trimmedValue));
+            }
+        }
+    }
+
+    /**
+     * Parses a date written as in ISO 8601, e.g. 2026-03-31.
+     *
+     * @param value Text of the date.
+     * @return the date, or null if the text is empty.
+     * @throws TaskException If the text is not a date.
+     */
+    static LocalDate parseDate(String value) throws TaskException {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new TaskException(TaskFields.ERROR_MESSAGE_WRONG_UNTIL.formatted(value.trim()));
+        }
+    }
+
+    /**
+     * Parses whether a task is done, from true or false, yes or no, or 1 or 0, in any case.
+     *
+     * @param value Text of the field.
+     * @return whether the task is done, false if the text is empty.
+     * @throws TaskException If the text is none of those.
+     */
+    static boolean parseDone(String value) throws TaskException {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        String lowerCaseValue = value.trim().toLowerCase(Locale.ROOT);
+        if (lowerCaseValue.equals("true") || lowerCaseValue.equals("yes") || lowerCaseValue.equals("1")) {
+            return true;
+        } else if (lowerCaseValue.equals("false") || lowerCaseValue.equals("no") || lowerCaseValue.equals("0")) {
+            return false;
+        }
+        throw new TaskException(TaskFields.ERROR_MESSAGE_WRONG_DONE.formatted(value.trim()));
+    }
+
+    /**
+     * Sets a field from its name and text, e.g. while reading a CSV row or a JSON object.
+     * Fields with other names are ignored, so files with extra fields can be read.
+     *
+     * @param name Name of the field, in any case.
+     * @param value Text of the field, or null if it has none.
+     * @throws TaskException If the text is not valid for the field.
+     */
+    void set(String name, String value) throws TaskException {
+        String lowerCaseName = name.trim().toLowerCase(Locale.ROOT);
+        if (lowerCaseName.equals(TaskFields.NAME_TYPE)) {
+            this.type = value;
+        } else if (lowerCaseName.equals(TaskFields.NAME_DONE)) {
+            this.isDone = TaskFields.parseDone(value);
+        } else if (lowerCaseName.equals(TaskFields.NAME_DESCRIPTION)) {
+            this.description = value;
+        } else if (lowerCaseName.equals(TaskFields.NAME_BY)) {
+            this.by = TaskFields.parseDateTime(value);
+        } else if (lowerCaseName.equals(TaskFields.NAME_FROM)) {
+            this.from = TaskFields.parseDateTime(value);
+        } else if (lowerCaseName.equals(TaskFields.NAME_TO)) {
+            this.to = TaskFields.parseDateTime(value);
+        } else if (lowerCaseName.equals(TaskFields.NAME_EVERY)) {
+            this.every = value == null || value.isBlank() ? null : value.trim();
+        } else if (lowerCaseName.equals(TaskFields.NAME_UNTIL)) {
+            this.until = TaskFields.parseDate(value);
+        }
+    }
+
+    /**
+     * Writes a date and time as the constructors of tasks expect it, e.g. 2026-01-25 1800.
+     */
+    private String toTyped(LocalDateTime dateTime) {
+        this.dateBuilder.setLength(0);
+        return DateTimeWriter.appendSave(this.dateBuilder, dateTime).toString();
+    }
+}
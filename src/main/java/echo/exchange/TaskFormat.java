@@ -0,0 +1,73 @@
+package echo.exchange;
+
+import java.io.LineNumberReader;
+import java.io.Writer;
+import java.util.Locale;
+
+import echo.task.DescriptionPool;
+
+/**
+ * Represents the file formats tasks can be exported to and imported from, each known by its file extension.
+ */
+public enum TaskFormat {
+    CSV(".csv"),
+    JSON_LINES(".jsonl"),
+    ICALENDAR(".ics");
+
+    private final String extension;
+
+    TaskFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Finds the format of a file from its extension, ignoring case.
+     *
+     * @param path Path of the file.
+     * @return the format, or null if the extension is not one of a format.
+     */
+    public static TaskFormat fromPath(String path) {
+        String lowerCasePath = path.toLowerCase(Locale.ROOT);
+        for (TaskFormat format : TaskFormat.values()) {
+            if (lowerCasePath.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * Creates a writer of tasks in this format.
+     *
+     * @param out Writer to write the file through.
+     * @return the TaskWriter.
+     */
+    public TaskWriter createWriter(Writer out) {
+        if (this == TaskFormat.CSV) {
+            return new CsvTaskWriter(out);
+        } else if (this == TaskFormat.JSON_LINES) {
+            return new JsonLinesTaskWriter(out);
+        }
+        return new ICalendarTaskWriter(out);
+    }
+
+    /**
+     * Creates a reader of tasks in this format.
+     *
+     * @param in Reader to read the file through, which counts the lines read for error messages.
+     * @param descriptionPool Pool to intern the descriptions of read tasks into.
+     * @return the TaskReader.
+     */
+    public TaskReader createReader(LineNumberReader in, DescriptionPool descriptionPool) {
+        if (this == TaskFormat.CSV) {
+            return new CsvTaskReader(in, descriptionPool);
+        } else if (this == TaskFormat.JSON_LINES) {
+            return new JsonLinesTaskReader(in, descriptionPool);
+        }
+        return new ICalendarTaskReader(in, descriptionPool);
+    }
+}
@@ -0,0 +1,25 @@
+package echo.exchange;
+
+import java.io.IOException;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.task.Task;
+
+/**
+ * Reads tasks from a file one at a time, so that only the entry being read is held in memory.
+ */
+public interface TaskReader {
+
+    /**
+     * Reads the next task.
+     * If the next entry is not a valid task, it is passed over and a TaskException is thrown,
+     * after which the following entries can still be read.
+     *
+     * @return the task, or null if there are no more entries.
+     * @throws IOException If the file could not be read.
+     * @throws StorageException If the file as a whole is not in the format, e.g. a CSV file without a header.
+     * @throws TaskException If the entry is not a valid task.
+     */
+    Task read() throws IOException, StorageException, TaskException;
+}
@@ -0,0 +1,34 @@
+package echo.exchange;
+
+import java.io.IOException;
+
+import echo.task.Task;
+
+/**
+ * Writes tasks to a file one at a time, so that a file of any number of tasks is written
+ * without building it in memory.
+ */
+public interface TaskWriter {
+
+    /**
+     * Writes what comes before the first task, e.g. the header row of a CSV file.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    void writeHeader() throws IOException;
+
+    /**
+     * Writes a task.
+     *
+     * @param task Task to write.
+     * @throws IOException If the file could not be written.
+     */
+    void write(Task task) throws IOException;
+
+    /**
+     * Writes what comes after the last task, e.g. the end of an iCalendar file.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    void writeFooter() throws IOException;
+}
@@ -0,0 +1,50 @@
+package echo.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted around a single user command handled by Echo.
+ * Covers parsing, the task manager operation, saving and formatting of the response.
+ * Committed whether the command succeeded or not.
+ *
+ * Disabled by default, enable it through the profile in config/jfr/echo.jfc.
+ */
+@Name("echo.Command")
+@Label("Echo Command")
+@Category({"Echo", "Command"})
+@Description("Time taken by Echo to respond to a single user message")
+@Enabled(false)
+public class CommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Task Count")
+    @Description("Number of tasks in the task manager after the command")
+    public int taskCount;
+
+    @Label("Request Size")
+    @DataAmount(DataAmount.BYTES)
+    public long requestSize;
+
+    @Label("Response Size")
+    @DataAmount(DataAmount.BYTES)
+    public long responseSize;
+
+    @Label("Succeeded")
+    @Description("false if the command ended with an error message for the user")
+    public boolean isSuccessful;
+
+    @Label("Cached")
+    @Description("true if the response came from the response cache")
+    public boolean isCached;
+
+    @Label("Failure")
+    @Description("Error message of a failed command, or the exception it threw, null if it succeeded")
+    public String failure;
+}
@@ -0,0 +1,30 @@
+package echo.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted while TaskManager looks for scheduling conflicts of a new task.
+ *
+ * Disabled by default, enable it through the profile in config/jfr/echo.jfc.
+ */
+@Name("echo.ConflictCheck")
+@Label("Echo Conflict Check")
+@Category({"Echo", "Task Manager"})
+@Description("Time taken to find the tasks conflicting with a newly added task")
+@Enabled(false)
+public class ConflictCheckEvent extends Event {
+    @Label("Task Type")
+    public String taskType;
+
+    @Label("Tasks Checked")
+    @Description("Number of existing tasks compared against the new task")
+    public int tasksChecked;
+
+    @Label("Conflict Count")
+    public int conflictCount;
+}
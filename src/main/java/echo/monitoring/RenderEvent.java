@@ -0,0 +1,31 @@
+package echo.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted while MessageFormatter renders a list of tasks for the user.
+ *
+ * Disabled by default, enable it through the profile in config/jfr/echo.jfc.
+ */
+@Name("echo.Render")
+@Label("Echo Render")
+@Category({"Echo", "Message Formatter"})
+@Description("Time taken to format tasks into a message for the user")
+@Enabled(false)
+public class RenderEvent extends Event {
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Task Count")
+    public int taskCount;
+
+    @Label("Message Size")
+    @DataAmount(DataAmount.BYTES)
+    public long messageSize;
+}
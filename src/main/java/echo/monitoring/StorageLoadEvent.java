@@ -0,0 +1,31 @@
+package echo.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when Storage reads the task list from disk.
+ *
+ * Disabled by default, enable it through the profile in config/jfr/echo.jfc.
+ */
+@Name("echo.StorageLoad")
+@Label("Echo Storage Load")
+@Category({"Echo", "Storage"})
+@Description("Time taken to read and parse the data file")
+@Enabled(false)
+public class StorageLoadEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Task Count")
+    public int taskCount;
+
+    @Label("Bytes Read")
+    @DataAmount(DataAmount.BYTES)
+    public long bytesRead;
+}
@@ -0,0 +1,31 @@
+package echo.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when Storage writes the task list to disk.
+ *
+ * Disabled by default, enable it through the profile in config/jfr/echo.jfc.
+ */
+@Name("echo.StorageSave")
+@Label("Echo Storage Save")
+@Category({"Echo", "Storage"})
+@Description("Time taken to write the task list to the data file")
+@Enabled(false)
+public class StorageSaveEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Task Count")
+    public int taskCount;
+
+    @Label("Bytes Written")
+    @DataAmount(DataAmount.BYTES)
+    public long bytesWritten;
+}
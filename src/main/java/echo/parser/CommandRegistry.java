@@ -0,0 +1,189 @@
+package echo.parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+import echo.exception.ParsingException;
+
+/**
+ * Maps command keywords to values using a trie, so that the keyword at the start of a user message
+ * can be looked up without allocating any strings.
+ *
+ * Keywords are matched case-insensitively. Besides exact keywords and aliases, any unambiguous prefix
+ * of a keyword or alias is accepted, e.g. "l" for "list". A prefix shared by keywords of different values
+ * is rejected, e.g. "de" could be "deadline" or "delete".
+ *
+ * @param <T> Type of value the keywords map to.
+ */
+public class CommandRegistry<T> {
+    // keywords are restricted to ASCII, which lets every trie node index its children directly
+    private static final int ALPHABET_SIZE = 128;
+
+    private static final String ERROR_MESSAGE_INVALID_KEYWORD = "Commands can only contain letters and numbers!";
+    private static final String ERROR_MESSAGE_KEYWORD_TAKEN = "%s is already a command!";
+    private static final String ERROR_MESSAGE_AMBIGUOUS_PREFIX =
+        "%s could mean %s, please type more of the command!";
+    private static final String CANDIDATE_DELIMITER = " or ";
+
+    private final Node<T> root = new Node<>();
+    // the full keyword of each value, used to rewrite aliases and prefixes into their keyword
+    private final HashMap<T, String> keywords = new HashMap<>();
+
+    /**
+     * Registers the keyword of a value.
+     *
+     * @param keyword Full keyword of the value, made of ASCII letters and numbers.
+     * @param value Value the keyword maps to.
+     * @throws ParsingException If the keyword contains other characters or is already registered.
+     */
+    public void register(String keyword, T value) throws ParsingException {
+        this.insert(keyword, value);
+        this.keywords.put(value, keyword.toLowerCase());
+    }
+
+    /**
+     * Registers an alias for a value that already has a keyword.
+     *
+     * @param alias Alias of the value, made of ASCII letters and numbers.
+     * @param value Value the alias maps to.
+     * @throws ParsingException If the alias contains other characters or is already registered.
+     */
+    public void addAlias(String alias, T value) throws ParsingException {
+        assert this.keywords.containsKey(value);
+
+        this.insert(alias, value);
+    }
+
+    /**
+     * Gets the full keyword of a value.
+     *
+     * @param value Value that has been registered.
+     * @return Lower case keyword the value was registered with.
+     */
+    public String getKeyword(T value) {
+        return this.keywords.get(value);
+    }
+
+    /**
+     * Looks up the value of the keyword, alias or unambiguous prefix in text[start, end).
+     * Exact matches take priority over prefixes.
+     *
+     * @param text Text containing the keyword.
+     * @param start Index of the first character of the keyword.
+     * @param end Index after the last character of the keyword.
+     * @return Value of the keyword, or null if nothing matches.
+     * @throws ParsingException If the keyword is a prefix of keywords with different values.
+     */
+    public T lookup(CharSequence text, int start, int end) throws ParsingException {
+        if (start >= end) {
+            return null;
+        }
+
+        Node<T> node = this.root;
+        for (int i = start; i < end && node != null; i++) {
+            int index = CommandRegistry.toIndex(text.charAt(i));
+            node = index < 0 ? null : node.children[index];
+        }
+
+        if (node == null) {
+            return null;
+        } else if (node.value != null) {
+            return node.value;
+        } else if (node.isAmbiguous) {
+            throw new ParsingException(CommandRegistry.ERROR_MESSAGE_AMBIGUOUS_PREFIX
+                .formatted(text.subSequence(start, end), this.describeCandidates(node)));
+        } else {
+            return node.prefixValue;
+        }
+    }
+
+    private void insert(String keyword, T value) throws ParsingException {
+        assert value != null;
+
+        if (keyword.isEmpty()) {
+            throw new ParsingException(CommandRegistry.ERROR_MESSAGE_INVALID_KEYWORD);
+        }
+
+        // check the whole keyword first so that a rejected keyword leaves the trie untouched
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            if (CommandRegistry.toIndex(c) < 0 || !Character.isLetterOrDigit(c)) {
+                throw new ParsingException(CommandRegistry.ERROR_MESSAGE_INVALID_KEYWORD);
+            }
+        }
+
+        Node<T> node = this.root;
+        for (int i = 0; i < keyword.length(); i++) {
+            int index = CommandRegistry.toIndex(keyword.charAt(i));
+            if (node.children[index] == null) {
+                node.children[index] = new Node<>();
+            }
+            node = node.children[index];
+        }
+        if (node.value != null) {
+            throw new ParsingException(CommandRegistry.ERROR_MESSAGE_KEYWORD_TAKEN.formatted(keyword));
+        }
+        node.value = value;
+
+        // every node on the path now leads to value as well
+        node = this.root;
+        for (int i = 0; i < keyword.length(); i++) {
+            node = node.children[CommandRegistry.toIndex(keyword.charAt(i))];
+            node.addPrefixValue(value);
+        }
+    }
+
+    private String describeCandidates(Node<T> node) {
+        TreeSet<String> candidates = new TreeSet<>();
+        ArrayList<Node<T>> toVisit = new ArrayList<>();
+        toVisit.add(node);
+        while (!toVisit.isEmpty()) {
+            Node<T> current = toVisit.remove(toVisit.size() - 1);
+            if (current.value != null) {
+                candidates.add(this.keywords.get(current.value));
+            }
+            for (Node<T> child : current.children) {
+                if (child != null) {
+                    toVisit.add(child);
+                }
+            }
+        }
+        return String.join(CommandRegistry.CANDIDATE_DELIMITER, candidates);
+    }
+
+    /**
+     * Converts a character into the index of the child it leads to, ignoring case.
+     *
+     * @return Index of the child, or -1 if the character can never be part of a keyword.
+     */
+    private static int toIndex(char c) {
+        char lowerCase = Character.toLowerCase(c);
+        return lowerCase < CommandRegistry.ALPHABET_SIZE ? lowerCase : -1;
+    }
+
+    /**
+     * A node of the trie, reached by the characters of a keyword prefix.
+     */
+    private static class Node<T> {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private final Node<T>[] children = new Node[CommandRegistry.ALPHABET_SIZE];
+        // value of the keyword ending exactly at this node, if any
+        private T value;
+        // the single value of all keywords below this node, null if there are none or several
+        private T prefixValue;
+        private boolean isAmbiguous;
+
+        private void addPrefixValue(T newValue) {
+            if (this.isAmbiguous || newValue.equals(this.prefixValue)) {
+                return;
+            }
+            if (this.prefixValue == null) {
+                this.prefixValue = newValue;
+            } else {
+                this.prefixValue = null;
+                this.isAmbiguous = true;
+            }
+        }
+    }
+}
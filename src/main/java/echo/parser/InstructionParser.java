@@ -1,37 +1,36 @@
 package echo.parser;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Optional;
 
-import echo.command.Command;
 import echo.exception.ParsingException;
+import echo.exchange.TaskFormat;
 
 /**
  * Parses user input commands and extracts relevant information for task operations.
  * This class handles the interpretation of user messages, validating command syntax,
  * and extracting task descriptions and arguments for various task types (Todo, Deadline, Event).
  *
- * <p>The parser performs validation at two levels: first during command identification in
- * {@link #parseCommand(String)}, and again when extracting specific arguments in the
- * respective parse methods.</p>
+ * <p>Recognising the command keyword is left to {@link echo.command.CommandDispatcher}; each parse method
+ * expects a message that starts with the full keyword of its command and checks the arguments of that
+ * command, so every message is only parsed once.</p>
  */
 public class InstructionParser {
-    private static final String STRING_EMPTY = "";
-    private static final String STRING_SPACE = " ";
-    private static final String STRING_DEADLINE = "deadline";
-    private static final String STRING_TODO = "todo";
-    private static final String STRING_EVENT = "event";
-    private static final String STRING_UNMARK = "unmark";
-    private static final String STRING_MARK = "mark";
-    private static final String STRING_DELETE = "delete";
-    private static final String STRING_BYE = "bye";
-    private static final String STRING_LIST = "list";
-    private static final String STRING_FIND = "find";
-
     private static final String INPUT_DELIMITER = " ";
     private static final String INPUT_DEADLINE_BY = "/by";
     private static final String INPUT_EVENT_FROM = "/from";
     private static final String INPUT_EVENT_TO = "/to";
+    private static final String INPUT_EVERY = "/every";
+    private static final String INPUT_UNTIL = "/until";
+    private static final String INPUT_FIND_ALL = "--all";
+    // names of task lists become file names, so only allow characters that are safe in any file system
+    private static final String INPUT_PROFILE_NAME_PATTERN = "[A-Za-z0-9_-]+";
+    private static final String INPUT_WHITESPACE = "\\s+";
+    private static final DateTimeFormatter INPUT_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     private static final String ERROR_MESSAGE_TODO_MISSING_DESCRIPTION =
         "The todo description cannot be empty leh...";
@@ -48,7 +47,11 @@ public class InstructionParser {
     private static final String ERROR_MESSAGE_EVENT_MISSING_FROM = "Did you forget to specify /from for the event?";
     private static final String ERROR_MESSAGE_EVENT_MISSING_TO = "Did you forget to specify /to for the event?";
 
-    private static final String ERRROR_MESSAGE_MARK_NO_NUMBER = "mark requires a task number!";
+    private static final String ERROR_MESSAGE_EVERY_MISSING_FREQUENCY =
+        "How often should it repeat? Use /every day, /every week or /every month!";
+    private static final String ERROR_MESSAGE_UNTIL_WITHOUT_EVERY = "/until only works together with /every!";
+
+    private static final String ERROR_MESSAGE_MARK_NO_NUMBER = "mark requires a task number!";
     private static final String ERROR_MESSAGE_MARK_INVALID_NUMBER = "mark needs a valid task number!";
 
     private static final String ERROR_MESSAGE_UNMARK_NO_NUMBER = "unmark requires a task number!";
@@ -58,99 +61,120 @@ public class InstructionParser {
     private static final String ERROR_MESSAGE_DELETE_INVALID_NUMBER = "delete needs a valid task number!";
 
     private static final String ERROR_MESSAGE_FIND_NO_KEYWORD = "find requires a keyword!";
+    private static final String ERROR_MESSAGE_SEARCH_NO_QUERY = "search requires some words to look for!";
 
-    private static final String ERROR_MESSAGE_UNKNOWN_COMMAND =
-        "Sorry what does that mean ah? I never see %s before...";
+    private static final String ERROR_MESSAGE_ARCHIVE_INVALID_DAYS =
+        "archive needs a number of days that is 0 or more!";
 
-    private static final String ERROR_MESSAGE_EMPTY_USER_MESSAGE = "User message cannot be empty!";
+    private static final String ERROR_MESSAGE_USE_NO_NAME = "use requires the name of a task list!";
+    private static final String ERROR_MESSAGE_USE_INVALID_NAME =
+        "Task list names can only have letters, digits, - and _!";
+
+    private static final String ERROR_MESSAGE_SYNC_NO_PATH = "sync requires the path of another save file!";
+
+    private static final String ERROR_MESSAGE_EXPORT_NO_PATH = "export requires the path of the file to write!";
+    private static final String ERROR_MESSAGE_IMPORT_NO_PATH = "import requires the path of the file to read!";
+    private static final String ERROR_MESSAGE_UNKNOWN_FORMAT =
+        "I can only export and import .csv, .jsonl and .ics files!";
+
+    private static final String ERROR_MESSAGE_CONFLICTS_NO_DATE = "conflicts requires a date!";
+    private static final String ERROR_MESSAGE_CONFLICTS_INVALID_DATE =
+        "conflicts needs a date in the format yyyy-mm-dd!";
+
+    private static final String ERROR_MESSAGE_DUE_NO_DATE = "due requires a date!";
+    private static final String ERROR_MESSAGE_DUE_INVALID_DATE = "due needs a date in the format yyyy-mm-dd!";
+
+    private static final String ERROR_MESSAGE_BETWEEN_NO_DATES = "between requires a start date and an end date!";
+    private static final String ERROR_MESSAGE_BETWEEN_INVALID_DATE =
+        "between needs dates in the format yyyy-mm-dd!";
+    private static final String ERROR_MESSAGE_BETWEEN_START_AFTER_END =
+        "The start date cannot be later than the end date!";
+
+    private static final String ERROR_MESSAGE_UPCOMING_NO_NUMBER = "upcoming requires a number of tasks!";
+    private static final String ERROR_MESSAGE_UPCOMING_INVALID_NUMBER = "upcoming needs a positive number of tasks!";
+
+    private static final String ERROR_MESSAGE_AFTER_NO_NUMBERS =
+        "after needs a task number and the number of the task it comes after, like after 5 3!";
+    private static final String ERROR_MESSAGE_AFTER_INVALID_NUMBERS = "after needs two task numbers!";
 
-    private static final int INDEX_COMMAND_KEYWORD = 0;
+    private static final String ERROR_MESSAGE_ALIAS_WRONG_ARGUMENTS =
+        "alias needs a new name and the command it stands for, like alias dl deadline!";
+
+    private static final String ERROR_MESSAGE_EMPTY_USER_MESSAGE = "User message cannot be empty!";
 
     private static final int INDEX_TASK_NUMBER = 1;
     private static final int INDEX_TODO_DESCRIPTION = 1;
 
     private static final int INDEX_DEADLINE_DESCRIPTION = 0;
-    // to remove "deadline "
-    private static final int SUBSTRING_DEADLINE_MESSAGE_BY = 9;
     private static final int INDEX_DEADLINE_BY = 1;
 
     private static final int INDEX_EVENT_DESCRIPTION = 0;
-    private static final int SUBSTRING_EVENT_MESSAGE_BY = 6;
     private static final int INDEX_EVENT_FROM = 0;
     private static final int INDEX_EVENT_TO = 1;
     private static final int INDEX_EVENT_TEMP_SPLIT_TO = 1;
+    // index of what follows the keyword after splitting on the first space
+    private static final int INDEX_DETAILS = 1;
 
-    private static final int INDEX_FIND_KEYWORD = 1;
+    // index of what follows /every or /until after splitting on it
+    private static final int INDEX_RECURRENCE = 1;
 
-    private static final int INDEX_MARK_UNMARK_NUMBER = 1;
+    private static final int INDEX_FIND_KEYWORD = 1;
+    private static final int INDEX_SEARCH_QUERY = 1;
+    private static final int INDEX_SYNC_PATH = 1;
+    private static final int INDEX_EXCHANGE_PATH = 1;
+    private static final int INDEX_ARCHIVE_DAYS = 1;
+    private static final int INDEX_PROFILE_NAME = 1;
+    private static final int INDEX_DATE_ARGUMENT = 1;
+    private static final int INDEX_BETWEEN_FROM = 0;
+    private static final int INDEX_BETWEEN_TO = 1;
+    private static final int INDEX_UPCOMING_NUMBER = 1;
+    private static final int INDEX_AFTER_TASK = 0;
+    private static final int INDEX_AFTER_PREREQUISITE = 1;
+    private static final int INDEX_ALIAS_NAME = 1;
+    private static final int INDEX_ALIAS_TARGET = 2;
 
     private static final int ZERO = 0;
     private static final int TWO = 2;
+    private static final int THREE = 3;
 
     /**
-     * Parses the given command string and returns the corresponding Command enum.
+     * Parses the alias the user wants to define.
      *
-     * @param command the command string to parse
-     * @return the Command enum corresponding to the command
-     * @throws IllegalArgumentException if the command is unknown or unsupported
+     * @param userMessage String of raw user message, of the form "alias NAME COMMAND".
+     * @return ArrayList containing the new alias followed by the command it stands for.
+     * @throws ParsingException If the alias or the command is missing
      */
-    public Command parseCommand(String command) throws ParsingException {
-        // trim any trailing or leading spaces in user's command
-        String trimmedCommand = command.trim();
-
-        assert !(trimmedCommand.equals(InstructionParser.STRING_EMPTY));
-
-        // split into at most 2 elements
-        String[] parts = trimmedCommand.split(InstructionParser.STRING_SPACE, InstructionParser.TWO);
-        String keyword = this.getKeyword(parts);
-
-        switch (keyword) {
-        case InstructionParser.STRING_TODO:
-            validateTodo(parts);
-            return Command.TODO;
-        case InstructionParser.STRING_DEADLINE:
-            validateDeadline(parts);
-            return Command.DEADLINE;
-        case InstructionParser.STRING_LIST:
-            return Command.LIST;
-        case InstructionParser.STRING_EVENT:
-            validateEvent(parts);
-            return Command.EVENT;
-        case InstructionParser.STRING_MARK:
-            validateMark(parts);
-            return Command.MARK;
-        case InstructionParser.STRING_UNMARK:
-            validateUnmark(parts);
-            return Command.UNMARK;
-        case InstructionParser.STRING_DELETE:
-            validateDelete(parts);
-            return Command.DELETE;
-        case InstructionParser.STRING_BYE:
-            return Command.BYE;
-        case InstructionParser.STRING_FIND:
-            validateFind(parts);
-            return Command.FIND;
-        default:
-            // unknown command expected here
-            throw new ParsingException(InstructionParser.ERROR_MESSAGE_UNKNOWN_COMMAND.formatted(keyword));
+    public ArrayList<String> parseAliasArgs(String userMessage) throws ParsingException {
+        String[] aliasParts = userMessage.trim().split(InstructionParser.INPUT_WHITESPACE);
+        if (aliasParts.length != InstructionParser.THREE) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_ALIAS_WRONG_ARGUMENTS);
         }
+        return new ArrayList<>(Arrays.asList(aliasParts[InstructionParser.INDEX_ALIAS_NAME],
+            aliasParts[InstructionParser.INDEX_ALIAS_TARGET]));
     }
 
-    private String getKeyword(String[] parts) {
-        String keyword = parts[InstructionParser.INDEX_COMMAND_KEYWORD].toLowerCase();
-        return keyword;
+    /**
+     * Parses the user arguments for marking a Task
+     *
+     * @param userMessage String of raw user message
+     * @return int representing the Task number that user wants to mark
+     * @throws ParsingException If user did not specify a valid task number
+     */
+    public int parseMarkArgs(String userMessage) throws ParsingException {
+        return this.parseTaskNumber(userMessage, InstructionParser.ERROR_MESSAGE_MARK_NO_NUMBER,
+            InstructionParser.ERROR_MESSAGE_MARK_INVALID_NUMBER);
     }
 
     /**
-     * Parses the user arguments for unmarking or marking a Task
+     * Parses the user arguments for unmarking a Task
      *
      * @param userMessage String of raw user message
-     * @return int representing the Task number that user wants to unmark or mark
+     * @return int representing the Task number that user wants to unmark
+     * @throws ParsingException If user did not specify a valid task number
      */
-    public int parseMarkUnmarkArgs(String userMessage) {
-        String[] parts = userMessage.split(InstructionParser.INPUT_DELIMITER);
-        int taskNumber = Integer.parseInt(parts[InstructionParser.INDEX_TASK_NUMBER]);
-        return taskNumber;
+    public int parseUnmarkArgs(String userMessage) throws ParsingException {
+        return this.parseTaskNumber(userMessage, InstructionParser.ERROR_MESSAGE_UNMARK_NO_NUMBER,
+            InstructionParser.ERROR_MESSAGE_UNMARK_INVALID_NUMBER);
     }
 
     /**
@@ -158,13 +182,24 @@ public class InstructionParser {
      *
      * @param userMessage String of raw user message
      * @return int representing Task number that user wants to delete
+     * @throws ParsingException If user did not specify a valid task number
      */
-    public int parseDeleteArgs(String userMessage) {
-        assert userMessage.contains(InstructionParser.STRING_DELETE);
+    public int parseDeleteArgs(String userMessage) throws ParsingException {
+        return this.parseTaskNumber(userMessage, InstructionParser.ERROR_MESSAGE_DELETE_NO_NUMBER,
+            InstructionParser.ERROR_MESSAGE_DELETE_INVALID_NUMBER);
+    }
+
+    private int parseTaskNumber(String userMessage, String noNumberMessage,
+            String invalidNumberMessage) throws ParsingException {
+        String[] parts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(parts, noNumberMessage);
 
-        String[] deleteParts = userMessage.split(InstructionParser.INPUT_DELIMITER);
-        int deleteTaskNumber = Integer.parseInt(deleteParts[InstructionParser.INDEX_TASK_NUMBER]);
-        return deleteTaskNumber;
+        try {
+            // catch cases like "mark string" instead of "mark 1"
+            return Integer.parseInt(parts[InstructionParser.INDEX_TASK_NUMBER]);
+        } catch (NumberFormatException e) {
+            throw new ParsingException(invalidNumberMessage);
+        }
     }
 
     /**
@@ -180,9 +215,8 @@ public class InstructionParser {
             throw new ParsingException(InstructionParser.ERROR_MESSAGE_EMPTY_USER_MESSAGE);
         }
 
-        assert userMessage.contains(InstructionParser.STRING_TODO);
-
         String[] todoParts = userMessage.split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(todoParts, InstructionParser.ERROR_MESSAGE_TODO_MISSING_DESCRIPTION);
         String description = todoParts[InstructionParser.INDEX_TODO_DESCRIPTION];
 
         if (description.length() == InstructionParser.ZERO) {
@@ -199,9 +233,6 @@ public class InstructionParser {
      * @return Currently returns an empty ArrayList because Todo has no arguments
      */
     public ArrayList<String> parseTodoArgs(String userMessage) {
-        // assume we are calling this method exclusively for todo only
-        assert userMessage.contains(InstructionParser.STRING_TODO);
-
         return new ArrayList<>();
     }
 
@@ -218,9 +249,8 @@ public class InstructionParser {
             throw new ParsingException(InstructionParser.ERROR_MESSAGE_EMPTY_USER_MESSAGE);
         }
 
-        assert userMessage.contains(InstructionParser.STRING_DEADLINE);
-
-        String deadlineDetails = userMessage.substring(InstructionParser.SUBSTRING_DEADLINE_MESSAGE_BY);
+        String deadlineDetails = this.getDetails(userMessage,
+            InstructionParser.ERROR_MESSAGE_DEADLINE_MISSING_DESCRIPTION_AND_BY);
         String[] deadlineParts = deadlineDetails.split(InstructionParser.INPUT_DEADLINE_BY, InstructionParser.TWO);
         String deadlineDescription = deadlineParts[InstructionParser.INDEX_DEADLINE_DESCRIPTION].trim();
 
@@ -245,9 +275,8 @@ public class InstructionParser {
             throw new ParsingException(InstructionParser.ERROR_MESSAGE_EMPTY_USER_MESSAGE);
         }
 
-        assert userMessage.contains(InstructionParser.STRING_DEADLINE);
-
-        String deadlineDetails = userMessage.substring(InstructionParser.SUBSTRING_DEADLINE_MESSAGE_BY);
+        String deadlineDetails = this.getDetails(userMessage,
+            InstructionParser.ERROR_MESSAGE_DEADLINE_MISSING_DESCRIPTION_AND_BY);
         String[] deadlineParts = deadlineDetails.split(InstructionParser.INPUT_DEADLINE_BY, InstructionParser.TWO);
 
         if (deadlineParts.length < InstructionParser.TWO) {
@@ -258,7 +287,7 @@ public class InstructionParser {
             throw new ParsingException(InstructionParser.ERROR_MESSAGE_DEADLINE_MORE_THAN_ONE_BY);
         }
 
-        return new ArrayList<>(Arrays.asList(deadlineParts[InstructionParser.INDEX_DEADLINE_BY].trim()));
+        return this.splitRecurrence(deadlineParts[InstructionParser.INDEX_DEADLINE_BY].trim());
     }
 
     /**
@@ -274,9 +303,8 @@ public class InstructionParser {
             throw new ParsingException(InstructionParser.ERROR_MESSAGE_EMPTY_USER_MESSAGE);
         }
 
-        assert userMessage.contains(InstructionParser.STRING_EVENT);
-
-        String eventDetails = userMessage.substring(InstructionParser.SUBSTRING_EVENT_MESSAGE_BY).trim();
+        String eventDetails = this.getDetails(userMessage,
+            InstructionParser.ERROR_MESSAGE_EVENT_MISSING_DESCRIPTION).trim();
         String[] fromSplit = eventDetails.split(InstructionParser.INPUT_EVENT_FROM, InstructionParser.TWO);
         String eventDescription = fromSplit[InstructionParser.INDEX_EVENT_DESCRIPTION].trim();
 
@@ -295,8 +323,6 @@ public class InstructionParser {
      * @throws ParsingException If userMessage is an empty String, or does not contain /from or does not contain /to
      */
     public ArrayList<String> parseEventArgs(String userMessage) throws ParsingException {
-        assert userMessage.contains(InstructionParser.STRING_EVENT);
-
         if (userMessage.length() == InstructionParser.ZERO) {
             throw new ParsingException(InstructionParser.ERROR_MESSAGE_EMPTY_USER_MESSAGE);
         }
@@ -307,7 +333,8 @@ public class InstructionParser {
             throw new ParsingException(InstructionParser.ERROR_MESSAGE_EVENT_MISSING_TO);
         }
 
-        String eventDetails = userMessage.substring(InstructionParser.SUBSTRING_EVENT_MESSAGE_BY).trim();
+        String eventDetails = this.getDetails(userMessage,
+            InstructionParser.ERROR_MESSAGE_EVENT_MISSING_DESCRIPTION).trim();
 
         String[] fromSplit = eventDetails.split(InstructionParser.INPUT_EVENT_FROM, InstructionParser.TWO);
         String[] toSplit = fromSplit[InstructionParser.INDEX_EVENT_TEMP_SPLIT_TO]
@@ -316,20 +343,59 @@ public class InstructionParser {
         String from = toSplit[InstructionParser.INDEX_EVENT_FROM].trim();
         String to = toSplit[InstructionParser.INDEX_EVENT_TO].trim();
 
-        ArrayList<String> eventArgs = new ArrayList<>(Arrays.asList(from, to));
+        ArrayList<String> eventArgs = new ArrayList<>(Arrays.asList(from));
+        eventArgs.addAll(this.splitRecurrence(to));
         return eventArgs;
     }
 
+    /**
+     * Gets what follows the keyword of the command, e.g. the description and arguments of a task.
+     */
+    private String getDetails(String userMessage, String errorMessage) throws ParsingException {
+        String[] parts = userMessage.split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(parts, errorMessage);
+        return parts[InstructionParser.INDEX_DETAILS];
+    }
+
+    /**
+     * Splits the last date of a Deadline or Event from the optional /every and /until that follow it.
+     *
+     * @param dateAndRecurrence Rest of the user message after /by or /to
+     * @return The date, followed by what comes after /every and /until if the user typed them
+     * @throws ParsingException If /every is empty or /until is used without /every
+     */
+    private ArrayList<String> splitRecurrence(String dateAndRecurrence) throws ParsingException {
+        String[] everySplit = dateAndRecurrence.split(InstructionParser.INPUT_EVERY, InstructionParser.TWO);
+        ArrayList<String> args = new ArrayList<>(Arrays.asList(everySplit[InstructionParser.ZERO].trim()));
+        if (everySplit.length < InstructionParser.TWO) {
+            if (dateAndRecurrence.contains(InstructionParser.INPUT_UNTIL)) {
+                throw new ParsingException(InstructionParser.ERROR_MESSAGE_UNTIL_WITHOUT_EVERY);
+            }
+            return args;
+        }
+
+        String[] untilSplit = everySplit[InstructionParser.INDEX_RECURRENCE].split(InstructionParser.INPUT_UNTIL,
+            InstructionParser.TWO);
+        String every = untilSplit[InstructionParser.ZERO].trim();
+        if (every.length() == InstructionParser.ZERO) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_EVERY_MISSING_FREQUENCY);
+        }
+        args.add(every);
+        if (untilSplit.length == InstructionParser.TWO) {
+            args.add(untilSplit[InstructionParser.INDEX_RECURRENCE].trim());
+        }
+        return args;
+    }
+
     /**
      * Parses the keyword to search for in the user's message when user requests to find a keyword.
+     * The keyword follows the --all flag if there is one, e.g. "find --all book".
      *
      * @param userMessage String of raw user message.
      * @return String of keyword to search for in the tasks.
      * @throws ParsingException If userMessage did not specify a keyword
      */
     public String parseFindKeyword(String userMessage) throws ParsingException {
-        assert userMessage.contains(InstructionParser.STRING_FIND);
-
         String[] findParts = userMessage.split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
 
         if (findParts.length < InstructionParser.TWO) {
@@ -337,62 +403,267 @@ public class InstructionParser {
         }
 
         String keyword = findParts[InstructionParser.INDEX_FIND_KEYWORD];
+        if (this.isFindAll(userMessage)) {
+            keyword = keyword.substring(InstructionParser.INPUT_FIND_ALL.length()).trim();
+            if (keyword.isEmpty()) {
+                throw new ParsingException(InstructionParser.ERROR_MESSAGE_FIND_NO_KEYWORD);
+            }
+        }
         return keyword;
     }
 
-    private void checkValidNumber(String[] parts, String errorMessage) throws ParsingException {
+    /**
+     * Checks if the user wants to find tasks in the archive as well, e.g. "find --all book".
+     *
+     * @param userMessage String of raw user message.
+     * @return true if the keyword is preceded by the --all flag, else false.
+     */
+    public boolean isFindAll(String userMessage) {
+        String[] findParts = userMessage.split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        if (findParts.length < InstructionParser.TWO) {
+            return false;
+        }
+
+        String[] keywordParts = findParts[InstructionParser.INDEX_FIND_KEYWORD].trim()
+            .split(InstructionParser.INPUT_WHITESPACE, InstructionParser.TWO);
+        return keywordParts[InstructionParser.ZERO].equals(InstructionParser.INPUT_FIND_ALL);
+    }
+
+    /**
+     * Parses the words the user wants to search for, e.g. "search Project repot".
+     *
+     * @param userMessage String of raw user message.
+     * @return the words to search for, as typed.
+     * @throws ParsingException If userMessage did not specify any words
+     */
+    public String parseSearchQuery(String userMessage) throws ParsingException {
+        String[] searchParts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(searchParts, InstructionParser.ERROR_MESSAGE_SEARCH_NO_QUERY);
+
+        String query = searchParts[InstructionParser.INDEX_SEARCH_QUERY].trim();
+        if (query.isEmpty()) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_SEARCH_NO_QUERY);
+        }
+        return query;
+    }
+
+    /**
+     * Parses the name of the task list the user wants to switch to, e.g. "use work".
+     *
+     * @param userMessage String of raw user message.
+     * @return Name of the task list, in lower case.
+     * @throws ParsingException If userMessage did not specify a valid name
+     */
+    public String parseProfileName(String userMessage) throws ParsingException {
+        String[] useParts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(useParts, InstructionParser.ERROR_MESSAGE_USE_NO_NAME);
+
+        String name = useParts[InstructionParser.INDEX_PROFILE_NAME].trim();
+        if (!name.matches(InstructionParser.INPUT_PROFILE_NAME_PATTERN)) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_USE_INVALID_NAME);
+        }
+        // file names are case-insensitive on some systems, so Work and work must be the same list
+        return name.toLowerCase();
+    }
+
+    /**
+     * Parses the number of days after which done tasks should be archived, e.g. "archive 30".
+     *
+     * @param userMessage String of raw user message.
+     * @return Number of days, or empty if every done task should be archived.
+     * @throws ParsingException If the number of days is not a number that is 0 or more
+     */
+    public Optional<Integer> parseArchiveDays(String userMessage) throws ParsingException {
+        String[] archiveParts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        if (archiveParts.length < InstructionParser.TWO) {
+            return Optional.empty();
+        }
+
         try {
-            Integer.parseInt(parts[InstructionParser.INDEX_MARK_UNMARK_NUMBER]);
+            int days = Integer.parseInt(archiveParts[InstructionParser.INDEX_ARCHIVE_DAYS].trim());
+            if (days < InstructionParser.ZERO) {
+                throw new ParsingException(InstructionParser.ERROR_MESSAGE_ARCHIVE_INVALID_DAYS);
+            }
+            return Optional.of(days);
         } catch (NumberFormatException e) {
-            throw new ParsingException(errorMessage);
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_ARCHIVE_INVALID_DAYS);
         }
     }
 
-    private void checkLengthMoreThanEqualTwo(String[] parts, String errorMessage) throws ParsingException {
-        if (parts.length < InstructionParser.TWO) {
-            throw new ParsingException(errorMessage);
+    /**
+     * Parses the path of the save file the user wants to sync with.
+     *
+     * @param userMessage String of raw user message.
+     * @return String of the path, which may contain spaces.
+     * @throws ParsingException If userMessage did not specify a path
+     */
+    public String parseSyncPath(String userMessage) throws ParsingException {
+        String[] syncParts = userMessage.split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+
+        if (syncParts.length < InstructionParser.TWO || syncParts[InstructionParser.INDEX_SYNC_PATH].isBlank()) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_SYNC_NO_PATH);
         }
+
+        return syncParts[InstructionParser.INDEX_SYNC_PATH].trim();
     }
 
-    private void validateFind(String[] parts) throws ParsingException {
-        checkLengthMoreThanEqualTwo(parts, InstructionParser.ERROR_MESSAGE_FIND_NO_KEYWORD);
+    /**
+     * Parses the path of the file the user wants to export the tasks to.
+     *
+     * @param userMessage String of raw user message.
+     * @return String of the path, which may contain spaces and ends with the extension of a TaskFormat.
+     * @throws ParsingException If userMessage did not specify a path, or the path has an unknown extension
+     */
+    public String parseExportPath(String userMessage) throws ParsingException {
+        return this.parseExchangePath(userMessage, InstructionParser.ERROR_MESSAGE_EXPORT_NO_PATH);
     }
 
-    private void validateDelete(String[] parts) throws ParsingException {
-        checkLengthMoreThanEqualTwo(parts, InstructionParser.ERROR_MESSAGE_DELETE_NO_NUMBER);
-        // catch cases like "delete string" instead of "delete 1"
-        checkValidNumber(parts, InstructionParser.ERROR_MESSAGE_DELETE_INVALID_NUMBER);
+    /**
+     * Parses the path of the file the user wants to import tasks from.
+     *
+     * @param userMessage String of raw user message.
+     * @return String of the path, which may contain spaces and ends with the extension of a TaskFormat.
+     * @throws ParsingException If userMessage did not specify a path, or the path has an unknown extension
+     */
+    public String parseImportPath(String userMessage) throws ParsingException {
+        return this.parseExchangePath(userMessage, InstructionParser.ERROR_MESSAGE_IMPORT_NO_PATH);
     }
 
-    private void validateUnmark(String[] parts) throws ParsingException {
-        checkLengthMoreThanEqualTwo(parts, InstructionParser.ERROR_MESSAGE_UNMARK_NO_NUMBER);
-        // catch cases like "unmark string" instead of "unmark 1"
-        checkValidNumber(parts, InstructionParser.ERROR_MESSAGE_UNMARK_INVALID_NUMBER);
+    private String parseExchangePath(String userMessage, String errorMessageNoPath) throws ParsingException {
+        String[] exchangeParts = userMessage.split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+
+        if (exchangeParts.length < InstructionParser.TWO
+                || exchangeParts[InstructionParser.INDEX_EXCHANGE_PATH].isBlank()) {
+            throw new ParsingException(errorMessageNoPath);
+        }
+
+        String path = exchangeParts[InstructionParser.INDEX_EXCHANGE_PATH].trim();
+        if (TaskFormat.fromPath(path) == null) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_UNKNOWN_FORMAT);
+        }
+        return path;
     }
 
-    private void validateMark(String[] parts) throws ParsingException {
-        checkLengthMoreThanEqualTwo(parts, InstructionParser.ERRROR_MESSAGE_MARK_NO_NUMBER);
-        // catch cases like "mark string" instead of "mark 1"
-        checkValidNumber(parts, InstructionParser.ERROR_MESSAGE_MARK_INVALID_NUMBER);
+    /**
+     * Parses the day the user wants to see the scheduled tasks of.
+     *
+     * @param userMessage String of raw user message.
+     * @return Day to look for tasks on.
+     * @throws ParsingException If userMessage did not specify a date in the format yyyy-mm-dd
+     */
+    public LocalDate parseConflictsDate(String userMessage) throws ParsingException {
+        return this.parseDateArgument(userMessage, InstructionParser.ERROR_MESSAGE_CONFLICTS_NO_DATE,
+            InstructionParser.ERROR_MESSAGE_CONFLICTS_INVALID_DATE);
     }
 
-    private void validateEvent(String[] parts) throws ParsingException {
-        checkLengthMoreThanEqualTwo(parts, InstructionParser.ERROR_MESSAGE_EVENT_MISSING_DESCRIPTION);
+    /**
+     * Parses the day the user wants to see the due Deadlines of.
+     *
+     * @param userMessage String of raw user message.
+     * @return Day the Deadlines are due on.
+     * @throws ParsingException If userMessage did not specify a date in the format yyyy-mm-dd
+     */
+    public LocalDate parseDueDate(String userMessage) throws ParsingException {
+        return this.parseDateArgument(userMessage, InstructionParser.ERROR_MESSAGE_DUE_NO_DATE,
+            InstructionParser.ERROR_MESSAGE_DUE_INVALID_DATE);
     }
 
-    private void validateDeadline(String[] parts) throws ParsingException {
-        checkLengthMoreThanEqualTwo(parts, InstructionParser.ERROR_MESSAGE_DEADLINE_MISSING_DESCRIPTION_AND_BY);
-        // catch no description of deadline
-        if (parts[InstructionParser.INDEX_DEADLINE_BY].startsWith(InstructionParser.INPUT_DEADLINE_BY)) {
-            throw new ParsingException(InstructionParser.ERROR_MESSAGE_DEADLINE_MISSING_DESCRIPTION);
+    /**
+     * Parses the first and last day of the range the user wants to see the tasks of.
+     *
+     * @param userMessage String of raw user message.
+     * @return ArrayList containing the first day followed by the last day of the range.
+     * @throws ParsingException If userMessage did not specify two dates in the format yyyy-mm-dd,
+     *     or the first date is later than the last date
+     */
+    public ArrayList<LocalDate> parseBetweenDates(String userMessage) throws ParsingException {
+        String[] betweenParts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(betweenParts, InstructionParser.ERROR_MESSAGE_BETWEEN_NO_DATES);
+
+        String[] dates = betweenParts[InstructionParser.INDEX_DATE_ARGUMENT].trim()
+            .split(InstructionParser.INPUT_WHITESPACE);
+        if (dates.length != InstructionParser.TWO) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_BETWEEN_NO_DATES);
+        }
+
+        LocalDate from = this.parseDate(dates[InstructionParser.INDEX_BETWEEN_FROM],
+            InstructionParser.ERROR_MESSAGE_BETWEEN_INVALID_DATE);
+        LocalDate to = this.parseDate(dates[InstructionParser.INDEX_BETWEEN_TO],
+            InstructionParser.ERROR_MESSAGE_BETWEEN_INVALID_DATE);
+        if (from.isAfter(to)) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_BETWEEN_START_AFTER_END);
         }
-        // catch no /by ... for deadline
-        String[] deadlineParts = parts[InstructionParser.INDEX_DEADLINE_BY].split(InstructionParser.INPUT_DEADLINE_BY);
-        checkLengthMoreThanEqualTwo(deadlineParts, InstructionParser.ERROR_MESSAGE_DEADLINE_MISSING_BY);
+
+        return new ArrayList<>(Arrays.asList(from, to));
     }
 
-    private void validateTodo(String[] parts) throws ParsingException {
-        checkLengthMoreThanEqualTwo(parts, InstructionParser.ERROR_MESSAGE_TODO_MISSING_DESCRIPTION);
+    /**
+     * Parses the number of upcoming tasks the user wants to see.
+     *
+     * @param userMessage String of raw user message.
+     * @return Number of upcoming tasks to show, always positive.
+     * @throws ParsingException If userMessage did not specify a positive number
+     */
+    public int parseUpcomingCount(String userMessage) throws ParsingException {
+        String[] upcomingParts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(upcomingParts, InstructionParser.ERROR_MESSAGE_UPCOMING_NO_NUMBER);
+
+        try {
+            int count = Integer.parseInt(upcomingParts[InstructionParser.INDEX_UPCOMING_NUMBER].trim());
+            if (count <= InstructionParser.ZERO) {
+                throw new ParsingException(InstructionParser.ERROR_MESSAGE_UPCOMING_INVALID_NUMBER);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_UPCOMING_INVALID_NUMBER);
+        }
+    }
+
+    /**
+     * Parses the number of the task the user wants to do after another task, and the number of that other task.
+     *
+     * @param userMessage String of raw user message.
+     * @return ArrayList containing the number of the task followed by the number of the task it comes after.
+     * @throws ParsingException If userMessage did not specify two task numbers
+     */
+    public ArrayList<Integer> parseAfterTaskNumbers(String userMessage) throws ParsingException {
+        String[] afterParts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(afterParts, InstructionParser.ERROR_MESSAGE_AFTER_NO_NUMBERS);
+
+        String[] numbers = afterParts[InstructionParser.INDEX_TASK_NUMBER].trim()
+            .split(InstructionParser.INPUT_WHITESPACE);
+        if (numbers.length != InstructionParser.TWO) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_AFTER_NO_NUMBERS);
+        }
+
+        try {
+            int taskNumber = Integer.parseInt(numbers[InstructionParser.INDEX_AFTER_TASK]);
+            int prerequisiteNumber = Integer.parseInt(numbers[InstructionParser.INDEX_AFTER_PREREQUISITE]);
+            return new ArrayList<>(Arrays.asList(taskNumber, prerequisiteNumber));
+        } catch (NumberFormatException e) {
+            throw new ParsingException(InstructionParser.ERROR_MESSAGE_AFTER_INVALID_NUMBERS);
+        }
+    }
+
+    private LocalDate parseDateArgument(String userMessage, String noDateMessage,
+            String invalidDateMessage) throws ParsingException {
+        String[] parts = userMessage.trim().split(InstructionParser.INPUT_DELIMITER, InstructionParser.TWO);
+        this.checkLengthMoreThanEqualTwo(parts, noDateMessage);
+
+        return this.parseDate(parts[InstructionParser.INDEX_DATE_ARGUMENT].trim(), invalidDateMessage);
+    }
+
+    private LocalDate parseDate(String date, String errorMessage) throws ParsingException {
+        try {
+            return LocalDate.parse(date, InstructionParser.INPUT_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new ParsingException(errorMessage);
+        }
+    }
+
+    private void checkLengthMoreThanEqualTwo(String[] parts, String errorMessage) throws ParsingException {
+        if (parts.length < InstructionParser.TWO) {
+            throw new ParsingException(errorMessage);
+        }
     }
 }
-// NOTE: Exceptions are checked twice, once in parseCommand and once in parse___Args()
@@ -0,0 +1,569 @@
+package echo.profile;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.storage.Archive;
+import echo.storage.SaveFileChanges;
+import echo.storage.SaveFileLock;
+import echo.storage.Storage;
+import echo.storage.TaskStore;
+import echo.task.Agenda;
+import echo.task.Dependency;
+import echo.task.DescriptionPool;
+import echo.task.Task;
+import echo.task.TaskChangeListener;
+import echo.task.TaskManager;
+import echo.task.TimedTask;
+
+/**
+ * Represents a named task list, with its own save file, archive and TaskManager.
+ * The task list named NAME is saved to NAME.txt in the data directory, and archived into NAME.archive.
+ *
+ * Each Profile has its own DescriptionPool, so the descriptions of a task list can be garbage collected
+ * once the Profile is evicted.
+ *
+ * A paged Profile keeps its tasks in a TaskStore in NAME.pages instead, and saving only writes the tasks
+ * that were added, removed or marked since the last save, which the Profile hears about from its TaskManager.
+ * Its agenda queries are answered from the start time indexes of the TaskStore, after writing the changes
+ * to it, instead of from an index of every task kept in memory.
+ * The first time a paged Profile is loaded, the tasks in NAME.txt are copied into the TaskStore,
+ * which records that they were, so that tasks deleted later are not copied in again.
+ *
+ * The dependencies between the tasks are saved next to the save file, so a paged Profile cannot keep them.
+ *
+ * Changes other programs make to the save file of a Profile that is not paged can be merged into its tasks,
+ * together with the dependencies another Echo saved next to it.
+ * Saving merges them in first if there are any, so several Echo instances can share a save file.
+ */
+public class Profile {
+    private static final String EXTENSION_SAVE_FILE = ".txt";
+    private static final String EXTENSION_ARCHIVE = ".archive";
+    private static final String EXTENSION_PAGE_FILE = ".pages";
+    private static final String ERROR_MESSAGE_NO_SAVE_FILE =
+        "The task list %s is kept in a page file, which has no save file to sync!";
+    private static final String ERROR_MESSAGE_ARCHIVE_NOT_SAVED =
+        "The done tasks were put back, as the tasks left after archiving them could not be saved: %s";
+    private static final String ERROR_MESSAGE_NO_DEPENDENCIES =
+        "The task list %s is kept in a page file, which cannot remember which tasks come after others!";
+    // times to try saving without holding the lock of the save file while merging in changes made to it
+    private static final int MAX_OPTIMISTIC_SAVE_ATTEMPTS = 2;
+
+    // 1 MB of pages, enough for the inner nodes of the trees of a few million tasks
+    private static final int CACHE_PAGES = 256;
+
+    // rough heap used by a loaded task with a short description, including its share of the indexes
+    private static final long ESTIMATED_BYTES_PER_TASK = 160;
+
+    private final String name;
+    private final DescriptionPool descriptionPool;
+    private final Storage storage;
+    private final Archive archive;
+    private TaskManager taskManager;
+    private long savedModificationCount;
+
+    // only set for a paged Profile
+    private final TaskStore taskStore;
+    private final IdentityHashMap<Task, Long> taskIds = new IdentityHashMap<>();
+    private final HashMap<Long, Task> tasksById = new HashMap<>();
+    private final ArrayList<Task> addedTasks = new ArrayList<>();
+    private final Set<Task> changedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ArrayList<Long> removedIds = new ArrayList<>();
+
+    /**
+     * Creates a Profile with no tasks. The saved tasks are only read when load is called.
+     *
+     * @param name Name of the task list.
+     * @param dataDirectory Directory holding the save files of every task list.
+     */
+    public Profile(String name, String dataDirectory) {
+        this(name, dataDirectory, false);
+    }
+
+    /**
+     * Creates a Profile with no tasks, which keeps its tasks in a page file if it is paged.
+     * The saved tasks are only read when load is called.
+     *
+     * @param name Name of the task list.
+     * @param dataDirectory Directory holding the save files of every task list.
+     * @param isPaged Whether to keep the tasks in a TaskStore instead of a save file.
+     */
+    public Profile(String name, String dataDirectory, boolean isPaged) {
+        this.name = name;
+        this.descriptionPool = new DescriptionPool();
+        this.storage = new Storage(new File(dataDirectory, name + Profile.EXTENSION_SAVE_FILE).getPath(),
+            this.descriptionPool);
+        this.archive = new Archive(new File(dataDirectory, name + Profile.EXTENSION_ARCHIVE).getPath());
+        this.taskManager = new TaskManager(new ArrayList<>(), this.descriptionPool);
+        this.taskStore = isPaged
+            ? new TaskStore(new File(dataDirectory, name + Profile.EXTENSION_PAGE_FILE).getPath(),
+                this.descriptionPool, Profile.CACHE_PAGES)
+            : null;
+    }
+
+    /**
+     * Loads the saved tasks of the task list, if it has been saved before.
+     *
+     * @throws FileNotFoundException If the save file exists but could not be opened.
+     * @throws StorageException If the save file is formatted incorrectly.
+     * @throws TaskException If a saved task is invalid.
+     */
+    public void load() throws FileNotFoundException, StorageException, TaskException {
+        if (this.taskStore == null) {
+            this.taskManager = new TaskManager(this.storage.loadTasks(), this.descriptionPool);
+            this.taskManager.addDependencies(this.storage.loadDependencies());
+        } else {
+            this.taskManager = new TaskManager(this.loadFromTaskStore(), this.descriptionPool, new PagedAgenda());
+            this.taskManager.addChangeListener(new PendingChanges());
+        }
+        this.savedModificationCount = this.taskManager.getModificationCount();
+    }
+
+    /**
+     * Opens the TaskStore and reads its tasks, first copying the tasks of the save file into it
+     * if they have never been copied.
+     */
+    private ArrayList<Task> loadFromTaskStore() throws FileNotFoundException, StorageException, TaskException {
+        this.taskStore.open();
+        if (!this.taskStore.hasImportedSaveFile()) {
+            if (new File(this.storage.getPath()).isFile()) {
+                for (Task task : this.storage.loadTasks()) {
+                    this.taskStore.insert(task);
+                }
+            }
+            this.taskStore.markSaveFileImported();
+            this.taskStore.flush();
+        }
+
+        LinkedHashMap<Long, Task> storedTasks = this.taskStore.loadTasks();
+        ArrayList<Task> tasks = new ArrayList<>(storedTasks.size());
+        for (Map.Entry<Long, Task> entry : storedTasks.entrySet()) {
+            this.taskIds.put(entry.getValue(), entry.getKey());
+            this.tasksById.put(entry.getKey(), entry.getValue());
+            tasks.add(entry.getValue());
+        }
+        return tasks;
+    }
+
+    /**
+     * Saves the tasks of the task list to its save file, or the changes to them since the last save
+     * to its TaskStore if it is paged.
+     *
+     * @throws IOException If the save file could not be written.
+     * @throws StorageException If the TaskStore could not be written.
+     */
+    public void save() throws IOException, StorageException {
+        this.save(false);
+    }
+
+    /**
+     * Saves the tasks of the task list, optionally waiting for them to be on disk.
+     *
+     * @param isForced Whether to force the saved tasks onto the disk before returning.
+     * @throws IOException If the save file could not be written.
+     * @throws StorageException If the TaskStore could not be written.
+     */
+    public void save(boolean isForced) throws IOException, StorageException {
+        if (this.taskStore == null) {
+            this.saveToSaveFile(isForced);
+        } else {
+            this.applyChangesToTaskStore();
+            this.taskStore.flush(isForced);
+        }
+        this.savedModificationCount = this.taskManager.getModificationCount();
+    }
+
+    /**
+     * Saves the tasks into the save file, unless another Echo or program wrote the save file since it was last
+     * loaded or saved. Its changes are then merged into the tasks and saving is tried again, so they are not
+     * overwritten. Other Echo instances can read and write the save file while the changes are merged in,
+     * unless it keeps changing, in which case it is locked until the merged tasks are saved.
+     */
+    private void saveToSaveFile(boolean isForced) throws IOException, StorageException {
+        for (int attempt = 0; attempt < Profile.MAX_OPTIMISTIC_SAVE_ATTEMPTS; attempt++) {
+            if (this.storage.saveTasksIfUnchanged(this.taskManager.getTasks(), this.taskManager.getDependencies(),
+                    isForced)) {
+                return;
+            }
+            if (!this.tryMergeChangesOnDisk()) {
+                this.storage.saveTasks(this.taskManager.getTasks(), this.taskManager.getDependencies(), isForced);
+                return;
+            }
+        }
+
+        SaveFileLock lock = SaveFileLock.lockForWriting(new File(this.storage.getPath()));
+        try {
+            if (this.storage.hasChangedOnDisk()) {
+                this.tryMergeChangesOnDisk();
+            }
+            this.storage.saveTasks(this.taskManager.getTasks(), this.taskManager.getDependencies(), isForced);
+        } finally {
+            lock.close();
+        }
+    }
+
+    /**
+     * Merges the changes made to the save file since it was last loaded or saved into the tasks.
+     *
+     * @return true if the changes were read, or false if the save file cannot be read, in which case it can only
+     *     be overwritten.
+     */
+    private boolean tryMergeChangesOnDisk() throws IOException {
+        try {
+            this.mergeExternalChanges(this.storage.readChanges());
+            return true;
+        } catch (StorageException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the tasks that changed since the last save into the TaskStore, without flushing it.
+     * Each change is forgotten once written, so a save that fails part way can be retried.
+     */
+    private void applyChangesToTaskStore() throws StorageException {
+        while (!this.removedIds.isEmpty()) {
+            long id = this.removedIds.get(this.removedIds.size() - 1);
+            this.taskStore.delete(id);
+            this.tasksById.remove(id);
+            this.removedIds.remove(this.removedIds.size() - 1);
+        }
+
+        // in order, so ids stay in the order of the task list
+        int numInserted = 0;
+        try {
+            for (Task task : this.addedTasks) {
+                long id = this.taskStore.insert(task);
+                this.taskIds.put(task, id);
+                this.tasksById.put(id, task);
+                // the inserted task is already up to date
+                this.changedTasks.remove(task);
+                numInserted++;
+            }
+        } finally {
+            this.addedTasks.subList(0, numInserted).clear();
+        }
+
+        for (Iterator<Task> iterator = this.changedTasks.iterator(); iterator.hasNext();) {
+            Task task = iterator.next();
+            this.taskStore.update(this.taskIds.get(task), task);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Gets the name of the task list a file in the data directory is the save file of.
+     *
+     * @param fileName Name of the file, without its directory.
+     * @return the name of the task list, or null if the file is not a save file.
+     */
+    public static String getNameOfSaveFile(String fileName) {
+        if (fileName == null || !fileName.endsWith(Profile.EXTENSION_SAVE_FILE)
+                || fileName.length() == Profile.EXTENSION_SAVE_FILE.length()) {
+            return null;
+        }
+        return fileName.substring(0, fileName.length() - Profile.EXTENSION_SAVE_FILE.length());
+    }
+
+    /**
+     * Checks if another program may have changed the save file since it was last loaded or saved.
+     * A paged Profile does not keep its save file up to date, so it is never checked.
+     *
+     * @return true if the save file looks changed, else false.
+     */
+    public boolean hasChangedOnDisk() {
+        return this.taskStore == null && this.storage.hasChangedOnDisk();
+    }
+
+    /**
+     * Reads the changes another program made to the save file, without holding any lock.
+     *
+     * @return the changes.
+     * @throws IOException If the save file could not be read.
+     * @throws StorageException If the save file is formatted incorrectly or is still being written.
+     */
+    public SaveFileChanges readExternalChanges() throws IOException, StorageException {
+        return this.storage.readChanges();
+    }
+
+    /**
+     * Merges changes another program made to the save file into the tasks.
+     * Tasks removed, marked or unmarked there are removed, marked or unmarked here, and tasks inserted there
+     * are inserted after the same task here, so changes made here that are not saved yet are kept as well.
+     * Must be called while holding the lock the tasks are changed under.
+     *
+     * Dependencies saved next to the save file are added to the dependencies here, so those added by another Echo
+     * are kept too.
+     *
+     * @param changes Changes read by readExternalChanges.
+     * @return true if the changes were merged, or false if the save file was saved since they were read.
+     * @throws StorageException If a task inserted into the save file is invalid, in which case nothing is merged,
+     *     or the dependencies saved next to it could not be read, in which case only the tasks are merged.
+     */
+    public boolean mergeExternalChanges(SaveFileChanges changes) throws StorageException {
+        boolean hadUnsavedChanges = this.hasUnsavedChanges();
+        if (!this.storage.acceptChanges(changes)) {
+            return false;
+        }
+
+        if (!changes.getRemovedTasks().isEmpty()) {
+            this.taskManager.removeTasks(changes.getRemovedTasks());
+        }
+        if (!changes.getTasksToMarkDone().isEmpty()) {
+            this.taskManager.markTasks(changes.getTasksToMarkDone(), true);
+        }
+        if (!changes.getTasksToMarkUndone().isEmpty()) {
+            this.taskManager.markTasks(changes.getTasksToMarkUndone(), false);
+        }
+        for (int i = 0; i < changes.getInsertionAnchors().size(); i++) {
+            this.taskManager.insertTasks(changes.getInsertionAnchors().get(i), changes.getInsertedTasks().get(i));
+        }
+        this.mergeSavedDependencies();
+
+        // the tasks now match the save file, unless they had changes of their own to save,
+        // or dependencies, which are only kept for the version of the save file they were saved with
+        if (!hadUnsavedChanges && !this.taskManager.hasDependencies()) {
+            this.savedModificationCount = this.taskManager.getModificationCount();
+        }
+        return true;
+    }
+
+    /**
+     * Adds the dependencies saved next to the save file, as it was when its changes were accepted,
+     * between tasks still in the task list.
+     */
+    private void mergeSavedDependencies() throws StorageException {
+        ArrayList<Dependency> savedDependencies = this.storage.loadDependencies();
+        if (savedDependencies.isEmpty()) {
+            return;
+        }
+
+        // tasks removed here but not saved yet are still in the save file
+        Set<Task> tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        tasks.addAll(this.taskManager.getTasks());
+        ArrayList<Dependency> dependencies = new ArrayList<>();
+        for (Dependency dependency : savedDependencies) {
+            if (tasks.contains(dependency.getTask()) && tasks.contains(dependency.getPrerequisite())) {
+                dependencies.add(dependency);
+            }
+        }
+        this.taskManager.addDependencies(dependencies);
+    }
+
+    /**
+     * Checks that dependencies between the tasks can be saved, before one is added.
+     *
+     * @throws StorageException If the Profile is paged, as a TaskStore does not keep dependencies.
+     */
+    public void checkCanSaveDependencies() throws StorageException {
+        if (this.taskStore != null) {
+            throw new StorageException(Profile.ERROR_MESSAGE_NO_DEPENDENCIES.formatted(this.name));
+        }
+    }
+
+    /**
+     * Closes the TaskStore of a paged Profile, once it has been saved and is being unloaded.
+     *
+     * @throws StorageException If the TaskStore could not be closed.
+     */
+    public void close() throws StorageException {
+        if (this.taskStore != null) {
+            this.taskStore.close();
+        }
+    }
+
+    /**
+     * Checks if the tasks have changed since they were last loaded or saved.
+     *
+     * @return true if the tasks need to be saved before the Profile can be evicted, else false.
+     */
+    public boolean hasUnsavedChanges() {
+        return this.taskManager.getModificationCount() != this.savedModificationCount;
+    }
+
+    /**
+     * Estimates the heap used by the tasks of the task list, without walking through them.
+     *
+     * @return Estimated number of bytes.
+     */
+    public long estimateMemoryBytes() {
+        return this.taskManager.getNumTasks() * Profile.ESTIMATED_BYTES_PER_TASK;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the Storage of the save file, e.g. to sync it with another save file.
+     *
+     * @return the Storage of the save file.
+     * @throws StorageException If the Profile is paged, and so does not keep its save file up to date.
+     */
+    public Storage getStorage() throws StorageException {
+        if (this.taskStore != null) {
+            throw new StorageException(Profile.ERROR_MESSAGE_NO_SAVE_FILE.formatted(this.name));
+        }
+        return this.storage;
+    }
+
+    public Archive getArchive() {
+        return this.archive;
+    }
+
+    /**
+     * Moves the done tasks into the archive and saves the remaining tasks straight away, forced onto the disk.
+     * If saving fails, the archive is cut back to what it held before and the done tasks are put back where
+     * they were, with their dependencies, so they are not archived a second time by the next archive run.
+     *
+     * @param endedBefore Only archive tasks that ended before this time, or null to archive every done task.
+     * @return the tasks that were archived, in order.
+     * @throws StorageException If the archive file could not be written, or the remaining tasks could not be saved.
+     */
+    public ArrayList<Task> archiveDoneTasks(LocalDateTime endedBefore) throws StorageException {
+        long archiveLength = this.archive.getLength();
+        ArrayList<Task> tasksBefore = new ArrayList<>(this.taskManager.getTasks());
+        ArrayList<Dependency> dependenciesBefore = this.taskManager.getDependencies();
+        ArrayList<Task> archivedTasks = this.archive.archiveDoneTasks(this.taskManager, endedBefore);
+        if (archivedTasks.isEmpty()) {
+            return archivedTasks;
+        }
+
+        try {
+            this.save(true);
+        } catch (IOException e) {
+            this.undoArchive(archiveLength, tasksBefore, dependenciesBefore, archivedTasks);
+            throw new StorageException(Profile.ERROR_MESSAGE_ARCHIVE_NOT_SAVED.formatted(e.getMessage()));
+        } catch (StorageException e) {
+            this.undoArchive(archiveLength, tasksBefore, dependenciesBefore, archivedTasks);
+            throw new StorageException(Profile.ERROR_MESSAGE_ARCHIVE_NOT_SAVED.formatted(e.getMessage()));
+        }
+        return archivedTasks;
+    }
+
+    /**
+     * Cuts the archive back to its length before archiving, and puts the archived tasks back into the task list,
+     * each run of them right after the task it followed before.
+     */
+    private void undoArchive(long archiveLength, ArrayList<Task> tasksBefore, ArrayList<Dependency> dependenciesBefore,
+            ArrayList<Task> archivedTasks) throws StorageException {
+        this.archive.cutBack(archiveLength);
+
+        Set<Task> archived = Collections.newSetFromMap(new IdentityHashMap<>());
+        archived.addAll(archivedTasks);
+        Task previousTask = null;
+        ArrayList<Task> run = new ArrayList<>();
+        for (Task task : tasksBefore) {
+            if (archived.contains(task)) {
+                run.add(task);
+                continue;
+            }
+            if (!run.isEmpty()) {
+                this.taskManager.insertTasks(previousTask, run);
+                run = new ArrayList<>();
+            }
+            previousTask = task;
+        }
+        if (!run.isEmpty()) {
+            this.taskManager.insertTasks(previousTask, run);
+        }
+
+        ArrayList<Dependency> archivedDependencies = new ArrayList<>();
+        for (Dependency dependency : dependenciesBefore) {
+            if (archived.contains(dependency.getTask()) || archived.contains(dependency.getPrerequisite())) {
+                archivedDependencies.add(dependency);
+            }
+        }
+        this.taskManager.addDependencies(archivedDependencies);
+    }
+
+    public TaskManager getTaskManager() {
+        return this.taskManager;
+    }
+
+    /**
+     * Remembers the changes to the tasks of a paged Profile until they are saved.
+     */
+    private class PendingChanges implements TaskChangeListener {
+
+        @Override
+        public void onTaskAdded(Task task) {
+            Profile.this.addedTasks.add(task);
+        }
+
+        @Override
+        public void onTaskRemoved(Task task) {
+            Long id = Profile.this.taskIds.remove(task);
+            if (id == null) {
+                // never saved, so there is nothing to remove from the TaskStore
+                Profile.this.addedTasks.removeIf(addedTask -> addedTask == task);
+            } else {
+                Profile.this.removedIds.add(id);
+            }
+            Profile.this.changedTasks.remove(task);
+        }
+
+        @Override
+        public void onTaskChanged(Task task) {
+            Profile.this.changedTasks.add(task);
+        }
+    }
+
+    /**
+     * Finds the Deadlines and Events of a paged Profile through the start time indexes of its TaskStore,
+     * which only read the index pages covering the query. The changes not saved yet are written into
+     * the TaskStore first, without flushing it, so the indexes are up to date.
+     */
+    private class PagedAgenda implements Agenda {
+
+        @Override
+        public void add(TimedTask task) {
+            // written into the TaskStore by applyChangesToTaskStore
+        }
+
+        @Override
+        public void remove(TimedTask task) {
+            // written into the TaskStore by applyChangesToTaskStore
+        }
+
+        @Override
+        public void update(TimedTask task) {
+            // written into the TaskStore by applyChangesToTaskStore
+        }
+
+        @Override
+        public ArrayList<TimedTask> findStartingBetween(LocalDate firstDay, LocalDate lastDay)
+                throws StorageException {
+            Profile.this.applyChangesToTaskStore();
+            return this.toTasks(Profile.this.taskStore.findIdsStartingBetween(firstDay.atStartOfDay(),
+                lastDay.plusDays(1).atStartOfDay()));
+        }
+
+        @Override
+        public ArrayList<TimedTask> findUpcoming(LocalDateTime from, int limit) throws StorageException {
+            Profile.this.applyChangesToTaskStore();
+            return this.toTasks(Profile.this.taskStore.findUndoneIdsStartingFrom(from, limit));
+        }
+
+        private ArrayList<TimedTask> toTasks(ArrayList<Long> ids) {
+            ArrayList<TimedTask> tasks = new ArrayList<>(ids.size());
+            for (long id : ids) {
+                tasks.add((TimedTask) Profile.this.tasksById.get(id));
+            }
+            return tasks;
+        }
+    }
+}
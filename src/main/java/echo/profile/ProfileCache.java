@@ -0,0 +1,145 @@
+package echo.profile;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+
+/**
+ * Keeps the recently used task lists loaded, up to a memory budget.
+ *
+ * Task lists are kept in order of use. When the estimated memory used by all loaded task lists goes over
+ * the budget, the least recently used ones are saved if they have unsaved changes and unloaded,
+ * until the loaded task lists fit again. The task list in use is never unloaded, even if it alone
+ * is over the budget.
+ */
+public class ProfileCache {
+    private static final String ERROR_MESSAGE_LOAD_FAILED = "Could not load the task list %s: %s";
+    private static final String ERROR_MESSAGE_FLUSH_FAILED = "Could not save the task list %s before unloading it: %s";
+
+    private final String dataDirectory;
+    private final long memoryBudget;
+    private final boolean isPaged;
+    // in order of use, least recently used first
+    private final LinkedHashMap<String, Profile> profiles;
+
+    /**
+     * Creates an empty ProfileCache.
+     *
+     * @param dataDirectory Directory holding the save files of every task list.
+     * @param memoryBudget Estimated number of bytes the loaded task lists may use together.
+     */
+    public ProfileCache(String dataDirectory, long memoryBudget) {
+        this(dataDirectory, memoryBudget, false);
+    }
+
+    /**
+     * Creates an empty ProfileCache whose task lists are kept in page files if they are paged.
+     *
+     * @param dataDirectory Directory holding the save files of every task list.
+     * @param memoryBudget Estimated number of bytes the loaded task lists may use together.
+     * @param isPaged Whether the task lists keep their tasks in TaskStores instead of save files.
+     */
+    public ProfileCache(String dataDirectory, long memoryBudget, boolean isPaged) {
+        this.dataDirectory = dataDirectory;
+        this.memoryBudget = memoryBudget;
+        this.isPaged = isPaged;
+        this.profiles = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Adds a task list that has been loaded elsewhere, as the most recently used one.
+     *
+     * @param profile Task list to add.
+     */
+    public void add(Profile profile) {
+        this.profiles.put(profile.getName(), profile);
+    }
+
+    /**
+     * Gets a task list, loading it from its save file if it is not loaded,
+     * and unloads the least recently used task lists if the loaded task lists are over the memory budget.
+     *
+     * @param name Name of the task list.
+     * @return the task list, which becomes the most recently used one.
+     * @throws StorageException If the task list could not be loaded, or another task list could not be saved
+     *     before unloading it.
+     * @throws TaskException If a saved task of the task list is invalid.
+     */
+    public Profile get(String name) throws StorageException, TaskException {
+        Profile profile = this.profiles.get(name);
+        if (profile == null) {
+            profile = new Profile(name, this.dataDirectory, this.isPaged);
+            try {
+                profile.load();
+            } catch (FileNotFoundException e) {
+                throw new StorageException(ProfileCache.ERROR_MESSAGE_LOAD_FAILED.formatted(name, e.getMessage()));
+            }
+            this.profiles.put(name, profile);
+        }
+
+        this.evictLeastRecentlyUsed(profile);
+        return profile;
+    }
+
+    /**
+     * Checks if a task list is loaded, without counting it as used.
+     *
+     * @param name Name of the task list.
+     * @return true if the task list is loaded, else false.
+     */
+    public boolean isLoaded(String name) {
+        return this.profiles.containsKey(name);
+    }
+
+    /**
+     * Gets a task list if it is loaded, without counting it as used or unloading other task lists,
+     * e.g. to merge changes made to its save file by another program.
+     *
+     * @param name Name of the task list.
+     * @return the task list, or null if it is not loaded.
+     */
+    public Profile getIfLoaded(String name) {
+        return this.profiles.get(name);
+    }
+
+    /**
+     * Gets the names of the loaded task lists.
+     *
+     * @return Names of the loaded task lists, least recently used first.
+     */
+    public ArrayList<String> getLoadedNames() {
+        return new ArrayList<>(this.profiles.keySet());
+    }
+
+    private void evictLeastRecentlyUsed(Profile profileInUse) throws StorageException {
+        long memoryUsed = this.profiles.values().stream().mapToLong(Profile::estimateMemoryBytes).sum();
+        Iterator<Profile> iterator = this.profiles.values().iterator();
+        while (memoryUsed > this.memoryBudget && iterator.hasNext()) {
+            Profile profile = iterator.next();
+            if (profile == profileInUse) {
+                continue;
+            }
+
+            // forced, since an unloaded task list is not saved again
+            if (profile.hasUnsavedChanges()) {
+                try {
+                    profile.save(true);
+                } catch (IOException e) {
+                    throw new StorageException(
+                        ProfileCache.ERROR_MESSAGE_FLUSH_FAILED.formatted(profile.getName(), e.getMessage()));
+                } catch (StorageException e) {
+                    throw new StorageException(
+                        ProfileCache.ERROR_MESSAGE_FLUSH_FAILED.formatted(profile.getName(), e.getMessage()));
+                }
+            }
+            profile.close();
+            memoryUsed -= profile.estimateMemoryBytes();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package echo.profile;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import echo.exception.StorageException;
+import echo.storage.Durability;
+
+/**
+ * Saves task lists after they change, as durably as its Durability asks for.
+ *
+ * With Durability.NONE and Durability.EVERY_WRITE, every save is written straight away, and only forced
+ * onto the disk with EVERY_WRITE. With Durability.BATCHED, the first save within a window only marks the
+ * task list as pending and schedules a flush at the end of the window on a background thread, and later saves
+ * within the window join it, so a burst of changes is written and forced once.
+ *
+ * A task list that fails to save stays pending. A failed background flush is retried a window later,
+ * and the failure listener is told about the first failure of a run of failures.
+ *
+ * A paged task list is saved by overwriting its changed pages in place, so even with EVERY_WRITE a crash
+ * in the middle of a save can leave its page file with only some of the pages written.
+ *
+ * The background flush changes the task lists, so it runs while holding the lock given to the constructor,
+ * which the caller must also hold while changing the task lists.
+ */
+public class SaveBatcher {
+    private static final String ERROR_MESSAGE_FLUSH_FAILED = "Saving the task list %s failed due to: %s";
+    private static final String ERROR_MESSAGE_PROFILE_NULL = "Profile to save is null";
+    private static final String THREAD_NAME = "echo-save-batcher";
+
+    private final Durability durability;
+    private final long windowMillis;
+    private final Object lock;
+    // task lists saved since the last flush, in the order they were first saved
+    private final LinkedHashSet<Profile> pendingProfiles = new LinkedHashSet<>();
+    private ScheduledExecutorService executor;
+    private boolean isFlushScheduled;
+    // whether the last background flush failed, so that retries failing again are not reported again
+    private boolean isFailing;
+    private long numForcedSaves;
+    // told about failed background flushes, on the background thread
+    private volatile Consumer<String> failureListener;
+
+    /**
+     * Creates a SaveBatcher. The background thread of Durability.BATCHED is only started by the first save.
+     *
+     * @param durability How durably to save.
+     * @param windowMillis Time in milliseconds that Durability.BATCHED waits for more saves to join a flush.
+     * @param lock Lock held by whoever changes the task lists.
+     */
+    public SaveBatcher(Durability durability, long windowMillis, Object lock) {
+        this.durability = durability;
+        this.windowMillis = windowMillis;
+        this.lock = lock;
+    }
+
+    public Durability getDurability() {
+        return this.durability;
+    }
+
+    /**
+     * Sets the listener told when a background flush fails. It is called on the background thread,
+     * without holding the lock.
+     *
+     * @param listener Listener given the message of the failure, or null to stop telling anyone.
+     */
+    public void setFailureListener(Consumer<String> listener) {
+        this.failureListener = listener;
+    }
+
+    /**
+     * Saves a task list, or with Durability.BATCHED, schedules it to be saved at the end of the window.
+     * Must be called while holding the lock.
+     *
+     * @param profile Task list to save.
+     * @throws IOException If the save file could not be written.
+     * @throws StorageException If the page file could not be written.
+     */
+    public void save(Profile profile) throws IOException, StorageException {
+        assert profile != null : SaveBatcher.ERROR_MESSAGE_PROFILE_NULL;
+
+        if (this.durability == Durability.BATCHED) {
+            this.schedule(profile);
+        } else if (this.durability == Durability.EVERY_WRITE) {
+            profile.save(true);
+            this.numForcedSaves++;
+        } else {
+            profile.save(false);
+        }
+    }
+
+    /**
+     * Saves and forces onto the disk every task list with changes pending.
+     *
+     * @throws StorageException If a task list could not be saved. The other task lists are still saved,
+     *     and the ones that failed stay pending.
+     */
+    public void flush() throws StorageException {
+        synchronized (this.lock) {
+            StorageException firstFailure = null;
+            Iterator<Profile> iterator = this.pendingProfiles.iterator();
+            while (iterator.hasNext()) {
+                Profile profile = iterator.next();
+                // a task list unloaded since it was scheduled has been saved on its way out
+                if (!profile.hasUnsavedChanges()) {
+                    iterator.remove();
+                    continue;
+                }
+                try {
+                    profile.save(true);
+                    this.numForcedSaves++;
+                    iterator.remove();
+                } catch (IOException | StorageException e) {
+                    if (firstFailure == null) {
+                        firstFailure = new StorageException(
+                            SaveBatcher.ERROR_MESSAGE_FLUSH_FAILED.formatted(profile.getName(), e.getMessage()));
+                    }
+                }
+            }
+            if (firstFailure != null) {
+                throw firstFailure;
+            }
+        }
+    }
+
+    /**
+     * Flushes the pending saves and stops the background thread, e.g. when Echo exits.
+     *
+     * @throws StorageException If a task list could not be saved.
+     */
+    public void close() throws StorageException {
+        synchronized (this.lock) {
+            if (this.executor != null) {
+                this.executor.shutdownNow();
+                this.executor = null;
+                this.isFlushScheduled = false;
+            }
+        }
+        this.flush();
+    }
+
+    /**
+     * Gets the number of saves forced onto the disk so far, e.g. to compare the Durability modes.
+     *
+     * @return Number of forced saves.
+     */
+    public long getNumForcedSaves() {
+        synchronized (this.lock) {
+            return this.numForcedSaves;
+        }
+    }
+
+    private void schedule(Profile profile) {
+        this.pendingProfiles.add(profile);
+        this.scheduleFlush();
+    }
+
+    /**
+     * Schedules a flush at the end of a window from now, unless one is already scheduled.
+     * Must be called while holding the lock.
+     */
+    private void scheduleFlush() {
+        if (this.isFlushScheduled) {
+            return;
+        }
+
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, SaveBatcher.THREAD_NAME);
+                // close flushes what is pending, so exiting does not wait for the window to end
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.executor.schedule(this::flushInBackground, this.windowMillis, TimeUnit.MILLISECONDS);
+        this.isFlushScheduled = true;
+    }
+
+    private void flushInBackground() {
+        String failureMessage = null;
+        synchronized (this.lock) {
+            this.isFlushScheduled = false;
+            try {
+                this.flush();
+                this.isFailing = false;
+            } catch (StorageException e) {
+                if (!this.isFailing) {
+                    failureMessage = e.getMessage();
+                }
+                this.isFailing = true;
+                // retried in the next window, unless close has stopped the background thread
+                if (this.executor != null) {
+                    this.scheduleFlush();
+                }
+            }
+        }
+
+        Consumer<String> listener = this.failureListener;
+        if (failureMessage != null && listener != null) {
+            listener.accept(failureMessage);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package echo.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.function.Consumer;
+
+import echo.task.RecurringTask;
+import echo.task.Task;
+import echo.task.TaskChangeListener;
+import echo.task.TaskManager;
+import echo.task.TimedTask;
+
+/**
+ * Reminds the user of deadlines and events a while before they start.
+ *
+ * Every task of the watched TaskManager that is not done and starts in the future waits in a TimerWheel
+ * until its reminder is due, so that adding, marking and deleting a task only schedules or cancels
+ * that one task instead of going through the whole task list. A RecurringTask waits for its next occurrence,
+ * and once reminded of it, for the occurrence after that.
+ *
+ * The wheel ticks once a minute on a background thread, which passes each due reminder to the listener.
+ * Reminders of tasks that already started by the time the wheel gets to them are dropped.
+ */
+public class ReminderScheduler implements TaskChangeListener {
+    private static final String THREAD_NAME = "echo-reminders";
+    private static final long SECONDS_PER_MINUTE = 60;
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private static final String ERROR_MESSAGE_LISTENER_NULL = "Reminder listener is null";
+    private static final String ERROR_MESSAGE_TASK_MANAGER_NULL = "TaskManager is null";
+
+    private final Duration leadTime;
+    private final Consumer<TimedTask> listener;
+    private final TimerWheel<Reminder> wheel;
+    private final IdentityHashMap<Task, TimerWheel.Timeout<Reminder>> timeouts = new IdentityHashMap<>();
+    private TaskManager taskManager;
+    private Thread ticker;
+
+    /**
+     * Represents a reminder of an occurrence of a task.
+     */
+    private static class Reminder {
+        private final Task task;
+        private final TimedTask occurrence;
+
+        private Reminder(Task task, TimedTask occurrence) {
+            this.task = task;
+            this.occurrence = occurrence;
+        }
+    }
+
+    /**
+     * Creates a ReminderScheduler that watches no tasks yet.
+     *
+     * @param leadTime How long before a task starts to remind the user of it.
+     * @param now The current time.
+     * @param listener Called with the task, or the occurrence of a RecurringTask, that a reminder is due for.
+     */
+    public ReminderScheduler(Duration leadTime, LocalDateTime now, Consumer<TimedTask> listener) {
+        assert listener != null : ReminderScheduler.ERROR_MESSAGE_LISTENER_NULL;
+
+        this.leadTime = leadTime;
+        this.listener = listener;
+        this.wheel = new TimerWheel<>(ReminderScheduler.toTick(now));
+    }
+
+    /**
+     * Starts ticking once a minute on a background thread, unless it already has.
+     */
+    public synchronized void start() {
+        if (this.ticker != null) {
+            return;
+        }
+        this.ticker = new Thread(this::tick, ReminderScheduler.THREAD_NAME);
+        // do not keep the application alive just for reminders
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Stops ticking.
+     */
+    public synchronized void close() {
+        if (this.ticker != null) {
+            this.ticker.interrupt();
+        }
+    }
+
+    /**
+     * Reminds the user of the tasks of a TaskManager instead of those of the one watched before,
+     * e.g. when switching to another task list. The tasks are only gone through once, after which the
+     * reminders are kept up to date by the changes the TaskManager reports.
+     * Must be called while no one else is changing the tasks of the TaskManager.
+     *
+     * @param taskManager The TaskManager.
+     */
+    public synchronized void watch(TaskManager taskManager) {
+        assert taskManager != null : ReminderScheduler.ERROR_MESSAGE_TASK_MANAGER_NULL;
+
+        if (this.taskManager == taskManager) {
+            return;
+        }
+        if (this.taskManager != null) {
+            this.taskManager.removeChangeListener(this);
+        }
+        this.wheel.clear();
+        this.timeouts.clear();
+
+        this.taskManager = taskManager;
+        taskManager.addChangeListener(this);
+        for (Task task : taskManager.getTasks()) {
+            this.schedule(task);
+        }
+    }
+
+    /**
+     * Moves the scheduler forward to a time, passing every reminder that became due to the listener.
+     * The listener is called without holding the lock of the scheduler.
+     *
+     * @param now The current time.
+     */
+    public void advanceTo(LocalDateTime now) {
+        ArrayList<TimedTask> dueOccurrences = new ArrayList<>();
+        synchronized (this) {
+            long tick = ReminderScheduler.toTick(now);
+            if (tick <= this.wheel.getCurrentTick()) {
+                // e.g. the clock was turned back
+                return;
+            }
+            LocalDateTime current = ReminderScheduler.fromTick(tick);
+            for (Reminder reminder : this.wheel.advanceTo(tick)) {
+                this.timeouts.remove(reminder.task);
+                LocalDateTime start = reminder.occurrence.getStart();
+                // skip occurrences that already started, e.g. while the computer was asleep
+                if (!start.isBefore(current)) {
+                    dueOccurrences.add(reminder.occurrence);
+                }
+                if (reminder.task instanceof RecurringTask) {
+                    LocalDateTime nextFrom = start.plusMinutes(1);
+                    this.scheduleFrom(reminder.task, nextFrom.isBefore(current) ? current : nextFrom);
+                }
+            }
+        }
+
+        for (TimedTask occurrence : dueOccurrences) {
+            this.listener.accept(occurrence);
+        }
+    }
+
+    /**
+     * Gets the number of tasks waiting for a reminder.
+     */
+    public synchronized int getNumScheduled() {
+        return this.wheel.size();
+    }
+
+    @Override
+    public synchronized void onTaskAdded(Task task) {
+        this.schedule(task);
+    }
+
+    @Override
+    public synchronized void onTaskRemoved(Task task) {
+        this.cancel(task);
+    }
+
+    @Override
+    public synchronized void onTaskChanged(Task task) {
+        this.schedule(task);
+    }
+
+    private void schedule(Task task) {
+        this.cancel(task);
+        if (!task.isDone()) {
+            this.scheduleFrom(task, ReminderScheduler.fromTick(this.wheel.getCurrentTick()));
+        }
+    }
+
+    /**
+     * Schedules a reminder of the first occurrence of a task starting at or after a time, if there is one.
+     * A task starting within the lead time is reminded of at the next tick.
+     */
+    private void scheduleFrom(Task task, LocalDateTime from) {
+        TimedTask occurrence = ReminderScheduler.findNextOccurrence(task, from);
+        if (occurrence == null) {
+            return;
+        }
+        long tick = ReminderScheduler.toTick(occurrence.getStart().minus(this.leadTime));
+        this.timeouts.put(task, this.wheel.schedule(new Reminder(task, occurrence), tick));
+    }
+
+    private void cancel(Task task) {
+        TimerWheel.Timeout<Reminder> timeout = this.timeouts.remove(task);
+        if (timeout != null) {
+            this.wheel.cancel(timeout);
+        }
+    }
+
+    /**
+     * Finds the first occurrence of a task that starts at or after a time.
+     *
+     * @return the task itself or an occurrence of it, or null if it has no such occurrence.
+     */
+    private static TimedTask findNextOccurrence(Task task, LocalDateTime from) {
+        if (task instanceof TimedTask) {
+            TimedTask timedTask = (TimedTask) task;
+            return timedTask.getStart().isBefore(from) ? null : timedTask;
+        } else if (task instanceof RecurringTask) {
+            ArrayList<TimedTask> occurrences = ((RecurringTask) task).findNextOccurrences(from, 1);
+            return occurrences.isEmpty() ? null : occurrences.get(0);
+        }
+        return null;
+    }
+
+    private void tick() {
+        try {
+            while (true) {
+                // wake up just after each minute starts
+                Thread.sleep(ReminderScheduler.MILLIS_PER_MINUTE
+                    - System.currentTimeMillis() % ReminderScheduler.MILLIS_PER_MINUTE);
+                this.advanceTo(LocalDateTime.now());
+            }
+        } catch (InterruptedException e) {
+            // closed, so stop ticking
+        }
+    }
+
+    private static long toTick(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), ReminderScheduler.SECONDS_PER_MINUTE);
+    }
+
+    private static LocalDateTime fromTick(long tick) {
+        return LocalDateTime.ofEpochSecond(tick * ReminderScheduler.SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,251 @@
+package echo.reminder;
+
+import java.util.ArrayList;
+
+/**
+ * Holds items that expire at a given tick, in a hierarchical timer wheel, so that scheduling and cancelling
+ * an item take constant time however many items are waiting.
+ *
+ * Each level of the wheel has 64 slots. Level 0 has a slot per tick, and each slot of a higher level covers
+ * all the slots of the level below it. An item goes into the lowest level at which its expiry tick and
+ * the current tick agree on every higher slot, so it never sits in a slot the wheel has already passed.
+ * Whenever the current tick enters a new slot of a higher level, the items of that slot are moved down,
+ * and the items of the level-0 slot of the current tick expire.
+ *
+ * Not thread-safe, callers hold their own lock.
+ *
+ * @param <T> Type of the items.
+ */
+public class TimerWheel<T> {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << TimerWheel.BITS_PER_LEVEL;
+    private static final int SLOT_MASK = TimerWheel.SLOTS_PER_LEVEL - 1;
+    // 64^5 ticks is about 2000 years of minutes, items further away than that wait in the top level
+    private static final int NUM_LEVELS = 5;
+
+    private static final String ERROR_MESSAGE_ITEM_NULL = "Item is null";
+    private static final String ERROR_MESSAGE_BACKWARDS = "Cannot advance from tick %d back to tick %d";
+
+    private final Slot<T>[][] levels;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Represents an item waiting in the wheel, which can be used to cancel it.
+     *
+     * @param <T> Type of the item.
+     */
+    public static class Timeout<T> {
+        private final T item;
+        private final long tick;
+        private Slot<T> slot;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+
+        public T getItem() {
+            return this.item;
+        }
+
+        /**
+         * Gets the tick the item expires at.
+         */
+        public long getTick() {
+            return this.tick;
+        }
+
+        /**
+         * Checks if the item is still waiting, i.e. it has neither expired nor been cancelled.
+         *
+         * @return true if the item is in the wheel, else false.
+         */
+        public boolean isWaiting() {
+            return this.slot != null;
+        }
+    }
+
+    /**
+     * Represents a slot of the wheel, as a circular doubly linked list of Timeouts around a sentinel.
+     */
+    private static class Slot<T> {
+        private final Timeout<T> sentinel = new Timeout<>(null, 0);
+
+        private Slot() {
+            this.setEmpty();
+        }
+
+        private void setEmpty() {
+            this.sentinel.previous = this.sentinel;
+            this.sentinel.next = this.sentinel;
+        }
+
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.previous = this.sentinel.previous;
+            timeout.next = this.sentinel;
+            this.sentinel.previous.next = timeout;
+            this.sentinel.previous = timeout;
+        }
+
+        /**
+         * Removes every Timeout from the slot.
+         *
+         * @return the first Timeout, linked to the others by next and ending with the sentinel.
+         */
+        private Timeout<T> removeAll() {
+            Timeout<T> first = this.sentinel.next;
+            this.setEmpty();
+            return first;
+        }
+    }
+
+    /**
+     * Creates an empty TimerWheel.
+     *
+     * @param currentTick The tick the wheel starts at.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimerWheel(long currentTick) {
+        this.currentTick = currentTick;
+        this.levels = new Slot[TimerWheel.NUM_LEVELS][TimerWheel.SLOTS_PER_LEVEL];
+        for (Slot<T>[] level : this.levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules an item to expire at a tick.
+     * An item scheduled at or before the current tick expires at the next tick.
+     *
+     * @param item The item.
+     * @param tick Tick to expire at.
+     * @return a Timeout to cancel the item with.
+     */
+    public Timeout<T> schedule(T item, long tick) {
+        assert item != null : TimerWheel.ERROR_MESSAGE_ITEM_NULL;
+
+        Timeout<T> timeout = new Timeout<>(item, Math.max(tick, this.currentTick + 1));
+        this.place(timeout);
+        this.size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels an item so that it never expires.
+     *
+     * @param timeout Timeout of the item.
+     * @return true if the item was waiting, else false.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isWaiting()) {
+            return false;
+        }
+        timeout.previous.next = timeout.next;
+        timeout.next.previous = timeout.previous;
+        timeout.slot = null;
+        timeout.previous = null;
+        timeout.next = null;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to a tick, expiring every item whose tick has been reached.
+     *
+     * @param tick Tick to advance to, not before the current tick.
+     * @return the expired items, in order of their ticks.
+     */
+    public ArrayList<T> advanceTo(long tick) {
+        assert tick >= this.currentTick : TimerWheel.ERROR_MESSAGE_BACKWARDS.formatted(this.currentTick, tick);
+
+        ArrayList<T> expiredItems = new ArrayList<>();
+        while (this.currentTick < tick) {
+            if (this.size == 0) {
+                this.currentTick = tick;
+                break;
+            }
+            this.currentTick++;
+            this.cascade();
+            Slot<T> slot = this.levels[0][(int) (this.currentTick & TimerWheel.SLOT_MASK)];
+            for (Timeout<T> timeout = slot.removeAll(); timeout != slot.sentinel; ) {
+                Timeout<T> next = timeout.next;
+                timeout.slot = null;
+                timeout.previous = null;
+                timeout.next = null;
+                expiredItems.add(timeout.item);
+                this.size--;
+                timeout = next;
+            }
+        }
+        return expiredItems;
+    }
+
+    /**
+     * Removes every item from the wheel.
+     */
+    public void clear() {
+        for (Slot<T>[] level : this.levels) {
+            for (Slot<T> slot : level) {
+                for (Timeout<T> timeout = slot.removeAll(); timeout != slot.sentinel; ) {
+                    Timeout<T> next = timeout.next;
+                    timeout.slot = null;
+                    timeout.previous = null;
+                    timeout.next = null;
+                    timeout = next;
+                }
+            }
+        }
+        this.size = 0;
+    }
+
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    /**
+     * Gets the number of items waiting in the wheel.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Moves the items of every higher-level slot the current tick has just entered down the wheel.
+     * Higher levels go first, so their items pass through the lower slots that are moved down next.
+     */
+    private void cascade() {
+        int topLevel = 0;
+        while (topLevel + 1 < TimerWheel.NUM_LEVELS
+                && (this.currentTick & ((1L << (TimerWheel.BITS_PER_LEVEL * (topLevel + 1))) - 1)) == 0) {
+            topLevel++;
+        }
+
+        for (int level = topLevel; level > 0; level--) {
+            Slot<T> slot = this.levels[level][this.getSlotIndex(this.currentTick, level)];
+            for (Timeout<T> timeout = slot.removeAll(); timeout != slot.sentinel; ) {
+                Timeout<T> next = timeout.next;
+                this.place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        int level = 0;
+        while (level + 1 < TimerWheel.NUM_LEVELS && (timeout.tick >> (TimerWheel.BITS_PER_LEVEL * (level + 1)))
+                != (this.currentTick >> (TimerWheel.BITS_PER_LEVEL * (level + 1)))) {
+            level++;
+        }
+        this.levels[level][this.getSlotIndex(timeout.tick, level)].add(timeout);
+    }
+
+    private int getSlotIndex(long tick, int level) {
+        return (int) ((tick >> (TimerWheel.BITS_PER_LEVEL * level)) & TimerWheel.SLOT_MASK);
+    }
+}
@@ -0,0 +1,315 @@
+package echo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import echo.exception.StorageException;
+import echo.task.DescriptionPool;
+import echo.task.Task;
+import echo.task.TaskManager;
+
+/**
+ * Keeps completed tasks that have been moved out of the save file, so they no longer slow down
+ * loading, saving and querying the current tasks.
+ *
+ * The archive file starts with a short header, followed by blocks of up to BLOCK_TASKS tasks.
+ * Each block is a header with its number of tasks and its lengths, followed by the task lines
+ * in the save format without a dictionary, compressed with deflate.
+ * Blocks are only ever appended, and the index of blocks is built by skipping from one block header
+ * to the next, so searching the archive decompresses one block at a time.
+ */
+public class Archive {
+    private static final String ERROR_MESSAGE_ARCHIVE_FAILED = "Archiving failed due to: %s";
+    private static final String ERROR_MESSAGE_CORRUPTED = "Your archive file %s is corrupted!";
+
+    private static final int MAGIC = 0x45434841;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_LENGTH = 8;
+    private static final int BLOCK_HEADER_LENGTH = 12;
+    private static final int BLOCK_TASKS = 1024;
+    private static final String LINE_SEPARATOR = "\n";
+    // deflate may make incompressible input slightly longer
+    private static final int COMPRESSION_SLACK = 64;
+
+    private final String path;
+    // index of the blocks in the archive file, read on first use
+    private ArrayList<ArchiveBlock> blocks;
+
+    /**
+     * Creates an Archive.
+     *
+     * @param path Path of the archive file, which is created when tasks are first archived.
+     */
+    public Archive(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * Moves the done tasks of a task manager into the archive.
+     * The tasks are only removed from the task manager once they have been written into the archive,
+     * and the caller still has to save the remaining tasks, cutting the archive back with cutBack if that fails,
+     * see Profile.archiveDoneTasks.
+     *
+     * @param taskManager Task manager to move the done tasks out of.
+     * @param endedBefore Only archive tasks that ended before this time, or null to archive every done task.
+     * @return the tasks that were archived, in order.
+     * @throws StorageException If the archive file could not be written.
+     */
+    public ArrayList<Task> archiveDoneTasks(TaskManager taskManager, LocalDateTime endedBefore)
+            throws StorageException {
+        ArrayList<Task> doneTasks = taskManager.findDoneTasks(endedBefore);
+        if (doneTasks.isEmpty()) {
+            return doneTasks;
+        }
+
+        try {
+            this.appendTasks(doneTasks);
+        } catch (IOException e) {
+            throw new StorageException(Archive.ERROR_MESSAGE_ARCHIVE_FAILED.formatted(e.getMessage()));
+        }
+        taskManager.removeTasks(doneTasks);
+        return doneTasks;
+    }
+
+    /**
+     * Appends tasks to the end of the archive file, creating it if needed.
+     * If appending fails, the archive file is cut back to its previous length.
+     *
+     * @param tasks Tasks to archive.
+     * @throws IOException If the archive file could not be written.
+     * @throws StorageException If the existing archive file is corrupted.
+     */
+    public void appendTasks(List<Task> tasks) throws IOException, StorageException {
+        ArrayList<ArchiveBlock> blockIndex = this.getBlocks();
+        File file = new File(this.path);
+        File parentDir = file.getAbsoluteFile().getParentFile();
+        if (!parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+
+        RandomAccessFile archiveFile = new RandomAccessFile(file, "rw");
+        // cut off whatever part of the blocks was written if appending fails, so no partial block is left
+        long originalLength = archiveFile.length();
+        boolean isAppended = false;
+        Deflater deflater = new Deflater();
+        try {
+            long offset = originalLength;
+            archiveFile.seek(offset);
+            if (offset == 0) {
+                archiveFile.writeInt(Archive.MAGIC);
+                archiveFile.writeInt(Archive.VERSION);
+                offset = Archive.FILE_HEADER_LENGTH;
+            }
+
+            ArrayList<ArchiveBlock> appendedBlocks = new ArrayList<>();
+            for (int start = 0; start < tasks.size(); start += Archive.BLOCK_TASKS) {
+                List<Task> blockTasks = tasks.subList(start, Math.min(start + Archive.BLOCK_TASKS, tasks.size()));
+                StringBuilder lines = new StringBuilder();
+                for (Task task : blockTasks) {
+                    task.appendSaveRepresentation(lines).append(Archive.LINE_SEPARATOR);
+                }
+                byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+                byte[] compressedBytes = Archive.compress(deflater, bytes);
+
+                archiveFile.writeInt(blockTasks.size());
+                archiveFile.writeInt(bytes.length);
+                archiveFile.writeInt(compressedBytes.length);
+                archiveFile.write(compressedBytes);
+                offset += Archive.BLOCK_HEADER_LENGTH;
+                appendedBlocks.add(new ArchiveBlock(offset, blockTasks.size(), bytes.length, compressedBytes.length));
+                offset += compressedBytes.length;
+            }
+            blockIndex.addAll(appendedBlocks);
+            isAppended = true;
+        } finally {
+            deflater.end();
+            try {
+                if (!isAppended) {
+                    archiveFile.setLength(originalLength);
+                }
+            } finally {
+                archiveFile.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the length of the archive file, e.g. to cut the archive back to it later.
+     *
+     * @return the length in bytes, or 0 if nothing has been archived yet.
+     */
+    public long getLength() {
+        return new File(this.path).length();
+    }
+
+    /**
+     * Removes the tasks appended since the archive file had a given length, e.g. because the tasks
+     * could not be removed from the save file, so they are not archived twice.
+     *
+     * @param length Length of the archive file to cut back to, from getLength.
+     * @throws StorageException If the archive file could not be written.
+     */
+    public void cutBack(long length) throws StorageException {
+        File file = new File(this.path);
+        if (file.length() <= length) {
+            return;
+        }
+        try {
+            RandomAccessFile archiveFile = new RandomAccessFile(file, "rw");
+            try {
+                archiveFile.setLength(length);
+            } finally {
+                archiveFile.close();
+            }
+        } catch (IOException e) {
+            throw new StorageException(Archive.ERROR_MESSAGE_ARCHIVE_FAILED.formatted(e.getMessage()));
+        }
+        // read again on next use, without the blocks cut off
+        this.blocks = null;
+    }
+
+    /**
+     * Searches the archived tasks for tasks whose descriptions contain a keyword.
+     *
+     * @param keyword Keyword to search for in the Task descriptions.
+     * @return ArrayList of archived Task whose descriptions contain keyword, in the order they were archived.
+     * @throws StorageException If the archive file could not be read or is corrupted.
+     */
+    public ArrayList<Task> findTasksByKeyword(String keyword) throws StorageException {
+        ArrayList<Task> matchingTasks = new ArrayList<>();
+        try {
+            ArrayList<ArchiveBlock> blockIndex = this.getBlocks();
+            if (blockIndex.isEmpty()) {
+                return matchingTasks;
+            }
+
+            // archived tasks are only shown once, so keep their descriptions out of the pool of the current tasks
+            DescriptionPool descriptionPool = new DescriptionPool();
+            Inflater inflater = new Inflater();
+            RandomAccessFile archiveFile = new RandomAccessFile(this.path, "r");
+            try {
+                for (ArchiveBlock block : blockIndex) {
+                    String lines = this.readBlock(archiveFile, inflater, block);
+                    for (String line : lines.split(Archive.LINE_SEPARATOR)) {
+                        // most lines cannot match, so skip parsing them
+                        if (!line.contains(keyword)) {
+                            continue;
+                        }
+                        Task task = Storage.parseSavedTask(line, null, descriptionPool);
+                        if (task.descriptionContains(keyword)) {
+                            matchingTasks.add(task);
+                        }
+                    }
+                }
+            } finally {
+                archiveFile.close();
+                inflater.end();
+            }
+        } catch (IOException e) {
+            throw new StorageException(Archive.ERROR_MESSAGE_ARCHIVE_FAILED.formatted(e.getMessage()));
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Gets the number of tasks in the archive.
+     *
+     * @return Number of archived tasks.
+     * @throws StorageException If the archive file could not be read or is corrupted.
+     */
+    public int getNumTasks() throws StorageException {
+        try {
+            return this.getBlocks().stream().mapToInt(ArchiveBlock::getNumTasks).sum();
+        } catch (IOException e) {
+            throw new StorageException(Archive.ERROR_MESSAGE_ARCHIVE_FAILED.formatted(e.getMessage()));
+        }
+    }
+
+    private String readBlock(RandomAccessFile archiveFile, Inflater inflater, ArchiveBlock block)
+            throws IOException, StorageException {
+        byte[] compressedBytes = new byte[block.getCompressedLength()];
+        archiveFile.seek(block.getOffset());
+        archiveFile.readFully(compressedBytes);
+
+        byte[] bytes = new byte[block.getUncompressedLength()];
+        inflater.reset();
+        inflater.setInput(compressedBytes);
+        try {
+            int length = inflater.inflate(bytes);
+            if (length != bytes.length || !inflater.finished()) {
+                throw new StorageException(Archive.ERROR_MESSAGE_CORRUPTED.formatted(this.path));
+            }
+        } catch (DataFormatException e) {
+            throw new StorageException(Archive.ERROR_MESSAGE_CORRUPTED.formatted(this.path));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the index of blocks, reading it from the block headers of the archive file the first time.
+     */
+    private ArrayList<ArchiveBlock> getBlocks() throws IOException, StorageException {
+        if (this.blocks != null) {
+            return this.blocks;
+        }
+
+        ArrayList<ArchiveBlock> blockIndex = new ArrayList<>();
+        File file = new File(this.path);
+        if (file.length() > 0) {
+            RandomAccessFile archiveFile = new RandomAccessFile(file, "r");
+            try {
+                long length = archiveFile.length();
+                if (length < Archive.FILE_HEADER_LENGTH || archiveFile.readInt() != Archive.MAGIC
+                        || archiveFile.readInt() != Archive.VERSION) {
+                    throw new StorageException(Archive.ERROR_MESSAGE_CORRUPTED.formatted(this.path));
+                }
+                long offset = Archive.FILE_HEADER_LENGTH;
+                while (offset + Archive.BLOCK_HEADER_LENGTH <= length) {
+                    archiveFile.seek(offset);
+                    int numTasks = archiveFile.readInt();
+                    int uncompressedLength = archiveFile.readInt();
+                    int compressedLength = archiveFile.readInt();
+                    offset += Archive.BLOCK_HEADER_LENGTH;
+                    if (numTasks < 0 || uncompressedLength < 0 || compressedLength < 0
+                            || offset + compressedLength > length) {
+                        throw new StorageException(Archive.ERROR_MESSAGE_CORRUPTED.formatted(this.path));
+                    }
+                    blockIndex.add(new ArchiveBlock(offset, numTasks, uncompressedLength, compressedLength));
+                    offset += compressedLength;
+                }
+            } finally {
+                archiveFile.close();
+            }
+        }
+        this.blocks = blockIndex;
+        return blockIndex;
+    }
+
+    private static byte[] compress(Deflater deflater, byte[] bytes) {
+        deflater.reset();
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] buffer = new byte[bytes.length + Archive.COMPRESSION_SLACK];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+}
@@ -0,0 +1,42 @@
+package echo.storage;
+
+/**
+ * Represents the position of one compressed block of tasks in the archive file.
+ */
+public class ArchiveBlock {
+    private final long offset;
+    private final int numTasks;
+    private final int uncompressedLength;
+    private final int compressedLength;
+
+    /**
+     * Creates an ArchiveBlock.
+     *
+     * @param offset Position of the compressed bytes of the block in the archive file.
+     * @param numTasks Number of tasks in the block.
+     * @param uncompressedLength Number of bytes of the task lines of the block.
+     * @param compressedLength Number of bytes of the block in the archive file.
+     */
+    public ArchiveBlock(long offset, int numTasks, int uncompressedLength, int compressedLength) {
+        this.offset = offset;
+        this.numTasks = numTasks;
+        this.uncompressedLength = uncompressedLength;
+        this.compressedLength = compressedLength;
+    }
+
+    public long getOffset() {
+        return this.offset;
+    }
+
+    public int getNumTasks() {
+        return this.numTasks;
+    }
+
+    public int getUncompressedLength() {
+        return this.uncompressedLength;
+    }
+
+    public int getCompressedLength() {
+        return this.compressedLength;
+    }
+}
@@ -0,0 +1,725 @@
+package echo.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A B+-tree in the pages of a BufferPool, mapping keys of two longs to values of bytes.
+ * Keys are ordered by their first long, then their second, so the second long can tell apart
+ * entries sharing the first, e.g. tasks due at the same time.
+ *
+ * Every node is one page. A leaf holds its entries in key order, each with its value inline, or with
+ * its length and first overflow page if the value is longer than MAX_INLINE_VALUE bytes.
+ * An internal node holds the pages of its children, and before every child but the first,
+ * the smallest key under that child. Nodes split when they no longer fit in their page.
+ * Removing entries does not merge nodes, but a node left empty is freed and unlinked from its parent,
+ * so the tree never holds more pages than its entries need once they have been removed.
+ * Range scans walk down every child whose keys overlap the range, so leaves need no sibling links.
+ */
+class BPlusTree {
+    private static final String ERROR_MESSAGE_VALUE_NULL = "Value is null";
+
+    private static final byte TYPE_LEAF = 1;
+    private static final byte TYPE_INTERNAL = 2;
+    private static final int NODE_HEADER_LENGTH = 3;
+    private static final int KEY_LENGTH = 2 * Long.BYTES;
+    // key, then the length of the inline value, or OVERFLOW_LENGTH followed by the total length and first page
+    private static final int LEAF_ENTRY_HEADER_LENGTH = BPlusTree.KEY_LENGTH + Short.BYTES;
+    private static final short OVERFLOW_LENGTH = -1;
+    private static final int OVERFLOW_REFERENCE_LENGTH = 2 * Integer.BYTES;
+    // a quarter of a page, so that a leaf always holds a few entries
+    static final int MAX_INLINE_VALUE = BufferPool.PAGE_SIZE / 4;
+    private static final int INTERNAL_ENTRY_LENGTH = BPlusTree.KEY_LENGTH + Integer.BYTES;
+    private static final int MAX_INTERNAL_KEYS =
+        (BufferPool.PAGE_SIZE - BPlusTree.NODE_HEADER_LENGTH - Integer.BYTES) / BPlusTree.INTERNAL_ENTRY_LENGTH;
+    // an overflow page starts with the number of the next overflow page and the number of bytes it holds
+    private static final int OVERFLOW_HEADER_LENGTH = Integer.BYTES + Short.BYTES;
+    private static final int OVERFLOW_CAPACITY = BufferPool.PAGE_SIZE - BPlusTree.OVERFLOW_HEADER_LENGTH;
+
+    private final BufferPool pool;
+    private int rootPage;
+
+    /**
+     * Opens a tree in a BufferPool.
+     *
+     * @param pool BufferPool holding the pages of the tree.
+     * @param rootPage Root page of the tree, or BufferPool.NO_PAGE for a new empty tree.
+     */
+    BPlusTree(BufferPool pool, int rootPage) {
+        this.pool = pool;
+        this.rootPage = rootPage;
+    }
+
+    /**
+     * Gets the root page of the tree, which changes as the tree grows or shrinks,
+     * for the owner to keep in the header of the page file.
+     */
+    int getRootPage() {
+        return this.rootPage;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @return the value, or null if the tree does not have the key.
+     * @throws IOException If a page could not be read.
+     */
+    byte[] get(long first, long second) throws IOException {
+        if (this.rootPage == BufferPool.NO_PAGE) {
+            return null;
+        }
+        int page = this.rootPage;
+        byte[] bytes = this.pool.read(page);
+        while (bytes[0] == BPlusTree.TYPE_INTERNAL) {
+            page = BPlusTree.getChild(bytes, BPlusTree.findChild(bytes, first, second));
+            bytes = this.pool.read(page);
+        }
+
+        int offset = BPlusTree.seekLeaf(bytes, first, second);
+        if (offset == BPlusTree.getLeafEnd(bytes) || BPlusTree.compareKeyAt(bytes, offset, first, second) != 0) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        short length = buffer.getShort(offset + BPlusTree.KEY_LENGTH);
+        boolean isOverflow = length == BPlusTree.OVERFLOW_LENGTH;
+        byte[] storedValue = new byte[isOverflow ? BPlusTree.OVERFLOW_REFERENCE_LENGTH : length];
+        buffer.get(offset + BPlusTree.LEAF_ENTRY_HEADER_LENGTH, storedValue);
+        return this.loadValue(storedValue, isOverflow);
+    }
+
+    /**
+     * Sets the value of a key, adding the key if the tree does not have it.
+     *
+     * @throws IOException If a page could not be read.
+     */
+    void put(long first, long second, byte[] value) throws IOException {
+        assert value != null : BPlusTree.ERROR_MESSAGE_VALUE_NULL;
+
+        if (this.rootPage == BufferPool.NO_PAGE) {
+            this.rootPage = this.pool.allocate();
+            this.writeNode(this.rootPage, Node.createLeaf());
+        }
+        boolean isOverflow = value.length > BPlusTree.MAX_INLINE_VALUE;
+        Split split = this.put(this.rootPage, first, second, this.storeValue(value), isOverflow);
+        if (split != null) {
+            // the root split, so a new root holds both halves
+            Node root = Node.createInternal(this.rootPage);
+            root.insertChild(0, split.first, split.second, split.rightPage);
+            this.rootPage = this.pool.allocate();
+            this.writeNode(this.rootPage, root);
+        }
+    }
+
+    /**
+     * Removes a key and its value.
+     *
+     * @return true if the tree had the key, else false.
+     * @throws IOException If a page could not be read.
+     */
+    boolean remove(long first, long second) throws IOException {
+        if (this.rootPage == BufferPool.NO_PAGE) {
+            return false;
+        }
+        Removal removal = this.remove(this.rootPage, first, second);
+        if (removal == Removal.EMPTIED) {
+            this.pool.free(this.rootPage);
+            this.rootPage = BufferPool.NO_PAGE;
+            return true;
+        }
+
+        // a root left with a single child is replaced by that child
+        Node root = this.readNode(this.rootPage);
+        while (!root.isLeaf && root.numKeys == 0) {
+            int oldRoot = this.rootPage;
+            this.rootPage = root.children[0];
+            this.pool.free(oldRoot);
+            root = this.readNode(this.rootPage);
+        }
+        return removal != Removal.NOT_FOUND;
+    }
+
+    /**
+     * Finds the entries with a first long within a range.
+     *
+     * @param from Smallest first long to find.
+     * @param to Largest first long to find.
+     * @param entries List to add the entries found to, in key order.
+     * @throws IOException If a page could not be read.
+     */
+    void scan(long from, long to, ArrayList<Entry> entries) throws IOException {
+        this.scan(from, to, Integer.MAX_VALUE, entries);
+    }
+
+    /**
+     * Finds the first few entries with a first long within a range, reading no pages past the last one found.
+     *
+     * @param from Smallest first long to find.
+     * @param to Largest first long to find.
+     * @param limit Number of entries to stop at.
+     * @param entries List to add the entries found to, in key order.
+     * @throws IOException If a page could not be read.
+     */
+    void scan(long from, long to, int limit, ArrayList<Entry> entries) throws IOException {
+        if (this.rootPage != BufferPool.NO_PAGE && from <= to) {
+            int maxEntries = (int) Math.min(Integer.MAX_VALUE, (long) entries.size() + limit);
+            this.scan(this.rootPage, from, to, maxEntries, entries);
+        }
+    }
+
+    /**
+     * Removes every entry, freeing every page of the tree.
+     *
+     * @throws IOException If a page could not be read.
+     */
+    void clear() throws IOException {
+        if (this.rootPage != BufferPool.NO_PAGE) {
+            this.free(this.rootPage);
+            this.rootPage = BufferPool.NO_PAGE;
+        }
+    }
+
+    private void free(int page) throws IOException {
+        Node node = this.readNode(page);
+        if (node.isLeaf) {
+            for (int i = 0; i < node.numKeys; i++) {
+                this.freeValue(node.values[i], node.overflows[i]);
+            }
+        } else {
+            for (int i = 0; i <= node.numKeys; i++) {
+                this.free(node.children[i]);
+            }
+        }
+        this.pool.free(page);
+    }
+
+    private void scan(int page, long from, long to, int maxEntries, ArrayList<Entry> entries) throws IOException {
+        Node node = this.readNode(page);
+        if (node.isLeaf) {
+            for (int i = 0; i < node.numKeys && entries.size() < maxEntries; i++) {
+                if (node.firsts[i] >= from && node.firsts[i] <= to) {
+                    byte[] value = this.loadValue(node.values[i], node.overflows[i]);
+                    entries.add(new Entry(node.firsts[i], node.seconds[i], value));
+                }
+            }
+            return;
+        }
+
+        // child i holds the keys from key i - 1 up to but not including key i
+        for (int i = 0; i <= node.numKeys && entries.size() < maxEntries; i++) {
+            boolean startsAfterRange = i > 0 && node.firsts[i - 1] > to;
+            boolean endsBeforeRange = i < node.numKeys && node.firsts[i] < from;
+            if (startsAfterRange) {
+                break;
+            }
+            if (!endsBeforeRange) {
+                this.scan(node.children[i], from, to, maxEntries, entries);
+            }
+        }
+    }
+
+    private Split put(int page, long first, long second, byte[] storedValue, boolean isOverflow)
+            throws IOException {
+        byte[] bytes = this.pool.read(page);
+        if (bytes[0] == BPlusTree.TYPE_LEAF) {
+            if (this.insertInPlace(page, first, second, storedValue, isOverflow)) {
+                return null;
+            }
+
+            // the key is already there, or the leaf is full
+            Node node = this.readNode(page);
+            int index = node.find(first, second);
+            if (index >= 0) {
+                this.freeValue(node.values[index], node.overflows[index]);
+                node.values[index] = storedValue;
+                node.overflows[index] = isOverflow;
+            } else {
+                index = -index - 1;
+                node.insertEntry(index, first, second, storedValue, isOverflow);
+            }
+            if (node.getLength() <= BufferPool.PAGE_SIZE) {
+                return this.writeNode(page, node);
+            }
+            return this.split(page, node, index == node.numKeys - 1);
+        }
+
+        int childIndex = BPlusTree.findChild(bytes, first, second);
+        Split childSplit = this.put(BPlusTree.getChild(bytes, childIndex), first, second, storedValue, isOverflow);
+        if (childSplit == null) {
+            return null;
+        }
+        Node node = this.readNode(page);
+        node.insertChild(childIndex, childSplit.first, childSplit.second, childSplit.rightPage);
+        if (node.numKeys <= BPlusTree.MAX_INTERNAL_KEYS) {
+            return this.writeNode(page, node);
+        }
+        return this.split(page, node, childIndex == node.numKeys - 1);
+    }
+
+    /**
+     * Inserts a new key into a leaf without decoding it, if the leaf does not have the key and has room for it.
+     *
+     * @return true if the key was inserted, else false.
+     */
+    private boolean insertInPlace(int page, long first, long second, byte[] storedValue, boolean isOverflow)
+            throws IOException {
+        byte[] bytes = this.pool.read(page);
+        int offset = BPlusTree.seekLeaf(bytes, first, second);
+        int end = BPlusTree.getLeafEnd(bytes);
+        int entryLength = BPlusTree.LEAF_ENTRY_HEADER_LENGTH + storedValue.length;
+        boolean hasKey = offset < end && BPlusTree.compareKeyAt(bytes, offset, first, second) == 0;
+        if (hasKey || end + entryLength > BufferPool.PAGE_SIZE) {
+            return false;
+        }
+
+        bytes = this.pool.write(page);
+        System.arraycopy(bytes, offset, bytes, offset + entryLength, end - offset);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putLong(offset, first).putLong(offset + Long.BYTES, second);
+        short length = isOverflow ? BPlusTree.OVERFLOW_LENGTH : (short) storedValue.length;
+        buffer.putShort(offset + BPlusTree.KEY_LENGTH, length);
+        buffer.put(offset + BPlusTree.LEAF_ENTRY_HEADER_LENGTH, storedValue);
+        buffer.putShort(1, (short) (buffer.getShort(1) + 1));
+        return true;
+    }
+
+    /**
+     * Moves the upper half of a node into a new page.
+     * If the node filled up by adding a key after all the others, only that key is moved,
+     * so that keys added in order, like ids, leave full pages behind them rather than half full ones.
+     *
+     * @return the smallest key now in the new page, and the new page.
+     */
+    private Split split(int page, Node node, boolean isAppended) throws IOException {
+        int rightPage = this.pool.allocate();
+        Split split;
+        if (node.isLeaf) {
+            int middle = node.numKeys - 1;
+            if (!isAppended) {
+                // split by bytes rather than entries, since values differ in length
+                int leftLength = BPlusTree.NODE_HEADER_LENGTH;
+                middle = 0;
+                while (middle < node.numKeys - 1 && leftLength < node.getLength() / 2) {
+                    leftLength += node.getEntryLength(middle);
+                    middle++;
+                }
+            }
+            Node right = node.splitLeaf(middle);
+            split = new Split(right.firsts[0], right.seconds[0], rightPage);
+            this.writeNode(rightPage, right);
+        } else {
+            // the middle key moves up into the parent rather than into either half
+            int middle = isAppended ? node.numKeys - 1 : node.numKeys / 2;
+            split = new Split(node.firsts[middle], node.seconds[middle], rightPage);
+            this.writeNode(rightPage, node.splitInternal(middle));
+        }
+        this.writeNode(page, node);
+        return split;
+    }
+
+    private Removal remove(int page, long first, long second) throws IOException {
+        byte[] bytes = this.pool.read(page);
+        if (bytes[0] == BPlusTree.TYPE_LEAF) {
+            Node node = this.readNode(page);
+            int index = node.find(first, second);
+            if (index < 0) {
+                return Removal.NOT_FOUND;
+            }
+            this.freeValue(node.values[index], node.overflows[index]);
+            node.removeEntry(index);
+            this.writeNode(page, node);
+            return node.numKeys == 0 ? Removal.EMPTIED : Removal.REMOVED;
+        }
+
+        int childIndex = BPlusTree.findChild(bytes, first, second);
+        int child = BPlusTree.getChild(bytes, childIndex);
+        Removal childRemoval = this.remove(child, first, second);
+        if (childRemoval != Removal.EMPTIED) {
+            return childRemoval;
+        }
+        this.pool.free(child);
+        Node node = this.readNode(page);
+        if (node.numKeys == 0) {
+            // the emptied child was the only one
+            return Removal.EMPTIED;
+        }
+        node.removeChild(childIndex);
+        this.writeNode(page, node);
+        return Removal.REMOVED;
+    }
+
+    /**
+     * Gets the form of a value kept in a leaf: the value itself if it is short enough,
+     * else a reference to the overflow pages it has been written to.
+     */
+    private byte[] storeValue(byte[] value) throws IOException {
+        if (value.length <= BPlusTree.MAX_INLINE_VALUE) {
+            return value;
+        }
+
+        // written from the end, so each page can point to the next one
+        int nextPage = BufferPool.NO_PAGE;
+        int lastStart = (value.length - 1) / BPlusTree.OVERFLOW_CAPACITY * BPlusTree.OVERFLOW_CAPACITY;
+        for (int start = lastStart; start >= 0; start -= BPlusTree.OVERFLOW_CAPACITY) {
+            int length = Math.min(BPlusTree.OVERFLOW_CAPACITY, value.length - start);
+            int page = this.pool.allocate();
+            ByteBuffer buffer = ByteBuffer.wrap(this.pool.write(page));
+            buffer.putInt(nextPage).putShort((short) length).put(value, start, length);
+            nextPage = page;
+        }
+        return ByteBuffer.allocate(BPlusTree.OVERFLOW_REFERENCE_LENGTH).putInt(value.length).putInt(nextPage).array();
+    }
+
+    private byte[] loadValue(byte[] storedValue, boolean isOverflow) throws IOException {
+        if (!isOverflow) {
+            return storedValue;
+        }
+
+        ByteBuffer reference = ByteBuffer.wrap(storedValue);
+        byte[] value = new byte[reference.getInt()];
+        int offset = 0;
+        for (int page = reference.getInt(); page != BufferPool.NO_PAGE;) {
+            ByteBuffer buffer = ByteBuffer.wrap(this.pool.read(page));
+            page = buffer.getInt();
+            int length = buffer.getShort();
+            buffer.get(value, offset, length);
+            offset += length;
+        }
+        return value;
+    }
+
+    private void freeValue(byte[] storedValue, boolean isOverflow) throws IOException {
+        if (!isOverflow) {
+            return;
+        }
+
+        int page = ByteBuffer.wrap(storedValue).getInt(Integer.BYTES);
+        while (page != BufferPool.NO_PAGE) {
+            int nextPage = ByteBuffer.wrap(this.pool.read(page)).getInt(0);
+            this.pool.free(page);
+            page = nextPage;
+        }
+    }
+
+    /**
+     * Walks the entries of a leaf page up to the first one whose key is not below a key.
+     *
+     * @return the offset of that entry, or the end of the entries if every key is below the key.
+     */
+    private static int seekLeaf(byte[] page, long first, long second) {
+        int numKeys = ByteBuffer.wrap(page).getShort(1);
+        int offset = BPlusTree.NODE_HEADER_LENGTH;
+        for (int i = 0; i < numKeys && BPlusTree.compareKeyAt(page, offset, first, second) < 0; i++) {
+            offset += BPlusTree.getEntryLengthAt(page, offset);
+        }
+        return offset;
+    }
+
+    private static int getLeafEnd(byte[] page) {
+        int numKeys = ByteBuffer.wrap(page).getShort(1);
+        int offset = BPlusTree.NODE_HEADER_LENGTH;
+        for (int i = 0; i < numKeys; i++) {
+            offset += BPlusTree.getEntryLengthAt(page, offset);
+        }
+        return offset;
+    }
+
+    private static int getEntryLengthAt(byte[] page, int offset) {
+        short length = ByteBuffer.wrap(page).getShort(offset + BPlusTree.KEY_LENGTH);
+        int valueLength = length == BPlusTree.OVERFLOW_LENGTH ? BPlusTree.OVERFLOW_REFERENCE_LENGTH : length;
+        return BPlusTree.LEAF_ENTRY_HEADER_LENGTH + valueLength;
+    }
+
+    private static int compareKeyAt(byte[] page, int offset, long first, long second) {
+        ByteBuffer buffer = ByteBuffer.wrap(page);
+        int comparison = Long.compare(buffer.getLong(offset), first);
+        return comparison != 0 ? comparison : Long.compare(buffer.getLong(offset + Long.BYTES), second);
+    }
+
+    /**
+     * Finds the child of an internal page that a key belongs under, by binary search over the page itself,
+     * since its entries all have the same length.
+     */
+    private static int findChild(byte[] page, long first, long second) {
+        int low = 0;
+        int high = ByteBuffer.wrap(page).getShort(1);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int offset = BPlusTree.NODE_HEADER_LENGTH + Integer.BYTES + middle * BPlusTree.INTERNAL_ENTRY_LENGTH;
+            if (BPlusTree.compareKeyAt(page, offset, first, second) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int getChild(byte[] page, int childIndex) {
+        if (childIndex == 0) {
+            return ByteBuffer.wrap(page).getInt(BPlusTree.NODE_HEADER_LENGTH);
+        }
+        int offset = BPlusTree.NODE_HEADER_LENGTH + Integer.BYTES + (childIndex - 1) * BPlusTree.INTERNAL_ENTRY_LENGTH;
+        return ByteBuffer.wrap(page).getInt(offset + BPlusTree.KEY_LENGTH);
+    }
+
+    private Node readNode(int page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(this.pool.read(page));
+        byte type = buffer.get();
+        int numKeys = buffer.getShort();
+        if (type == BPlusTree.TYPE_LEAF) {
+            Node leaf = Node.createLeaf();
+            for (int i = 0; i < numKeys; i++) {
+                long first = buffer.getLong();
+                long second = buffer.getLong();
+                short length = buffer.getShort();
+                boolean isOverflow = length == BPlusTree.OVERFLOW_LENGTH;
+                byte[] storedValue = new byte[isOverflow ? BPlusTree.OVERFLOW_REFERENCE_LENGTH : length];
+                buffer.get(storedValue);
+                leaf.insertEntry(i, first, second, storedValue, isOverflow);
+            }
+            return leaf;
+        }
+
+        Node internal = Node.createInternal(buffer.getInt());
+        for (int i = 0; i < numKeys; i++) {
+            long first = buffer.getLong();
+            long second = buffer.getLong();
+            internal.insertChild(i, first, second, buffer.getInt());
+        }
+        return internal;
+    }
+
+    /**
+     * Writes a node into its page.
+     *
+     * @return null, for put to return when the node did not split.
+     */
+    private Split writeNode(int page, Node node) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(this.pool.write(page));
+        buffer.put(node.isLeaf ? BPlusTree.TYPE_LEAF : BPlusTree.TYPE_INTERNAL).putShort((short) node.numKeys);
+        if (node.isLeaf) {
+            for (int i = 0; i < node.numKeys; i++) {
+                buffer.putLong(node.firsts[i]).putLong(node.seconds[i]);
+                short length = node.overflows[i] ? BPlusTree.OVERFLOW_LENGTH : (short) node.values[i].length;
+                buffer.putShort(length).put(node.values[i]);
+            }
+        } else {
+            buffer.putInt(node.children[0]);
+            for (int i = 0; i < node.numKeys; i++) {
+                buffer.putLong(node.firsts[i]).putLong(node.seconds[i]).putInt(node.children[i + 1]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * An entry found by a scan.
+     */
+    static class Entry {
+        private final long first;
+        private final long second;
+        private final byte[] value;
+
+        Entry(long first, long second, byte[] value) {
+            this.first = first;
+            this.second = second;
+            this.value = value;
+        }
+
+        long getFirst() {
+            return this.first;
+        }
+
+        long getSecond() {
+            return this.second;
+        }
+
+        byte[] getValue() {
+            return this.value;
+        }
+    }
+
+    private enum Removal {
+        NOT_FOUND, REMOVED, EMPTIED
+    }
+
+    /**
+     * The new right half of a node that split, and the smallest key in it.
+     */
+    private static class Split {
+        private final long first;
+        private final long second;
+        private final int rightPage;
+
+        Split(long first, long second, int rightPage) {
+            this.first = first;
+            this.second = second;
+            this.rightPage = rightPage;
+        }
+    }
+
+    /**
+     * A node decoded from its page. Leaves use values, which are references to overflow pages
+     * where overflows is set, and internal nodes use children, which has one more element than there are keys.
+     */
+    private static class Node {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final boolean isLeaf;
+        private int numKeys;
+        private long[] firsts = new long[Node.INITIAL_CAPACITY];
+        private long[] seconds = new long[Node.INITIAL_CAPACITY];
+        private byte[][] values;
+        private boolean[] overflows;
+        private int[] children;
+
+        private Node(boolean isLeaf) {
+            this.isLeaf = isLeaf;
+        }
+
+        static Node createLeaf() {
+            Node leaf = new Node(true);
+            leaf.values = new byte[Node.INITIAL_CAPACITY][];
+            leaf.overflows = new boolean[Node.INITIAL_CAPACITY];
+            return leaf;
+        }
+
+        static Node createInternal(int firstChild) {
+            Node internal = new Node(false);
+            internal.children = new int[Node.INITIAL_CAPACITY + 1];
+            internal.children[0] = firstChild;
+            return internal;
+        }
+
+        /**
+         * Finds a key in a leaf.
+         *
+         * @return the index of the key, or -(insertion point) - 1 if the leaf does not have it.
+         */
+        int find(long first, long second) {
+            int low = 0;
+            int high = this.numKeys - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int comparison = this.compareKey(middle, first, second);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+
+        int getLength() {
+            int length = BPlusTree.NODE_HEADER_LENGTH;
+            for (int i = 0; i < this.numKeys; i++) {
+                length += this.getEntryLength(i);
+            }
+            return length;
+        }
+
+        int getEntryLength(int index) {
+            return BPlusTree.LEAF_ENTRY_HEADER_LENGTH + this.values[index].length;
+        }
+
+        void insertEntry(int index, long first, long second, byte[] value, boolean isOverflow) {
+            this.ensureCapacity();
+            this.shiftKeys(index, 1);
+            System.arraycopy(this.values, index, this.values, index + 1, this.numKeys - index);
+            System.arraycopy(this.overflows, index, this.overflows, index + 1, this.numKeys - index);
+            this.firsts[index] = first;
+            this.seconds[index] = second;
+            this.values[index] = value;
+            this.overflows[index] = isOverflow;
+            this.numKeys++;
+        }
+
+        void removeEntry(int index) {
+            this.shiftKeys(index + 1, -1);
+            System.arraycopy(this.values, index + 1, this.values, index, this.numKeys - index - 1);
+            System.arraycopy(this.overflows, index + 1, this.overflows, index, this.numKeys - index - 1);
+            this.numKeys--;
+            this.values[this.numKeys] = null;
+        }
+
+        /**
+         * Inserts a key and the child after it, just after the child at childIndex.
+         */
+        void insertChild(int childIndex, long first, long second, int child) {
+            this.ensureCapacity();
+            this.shiftKeys(childIndex, 1);
+            System.arraycopy(this.children, childIndex + 1, this.children, childIndex + 2,
+                this.numKeys - childIndex);
+            this.firsts[childIndex] = first;
+            this.seconds[childIndex] = second;
+            this.children[childIndex + 1] = child;
+            this.numKeys++;
+        }
+
+        /**
+         * Removes a child and the key next to it, the one before it unless it is the first child.
+         */
+        void removeChild(int childIndex) {
+            int keyIndex = Math.max(childIndex - 1, 0);
+            this.shiftKeys(keyIndex + 1, -1);
+            System.arraycopy(this.children, childIndex + 1, this.children, childIndex, this.numKeys - childIndex);
+            this.numKeys--;
+        }
+
+        /**
+         * Moves the entries from index on into a new leaf.
+         */
+        Node splitLeaf(int index) {
+            Node right = Node.createLeaf();
+            for (int i = index; i < this.numKeys; i++) {
+                right.insertEntry(i - index, this.firsts[i], this.seconds[i], this.values[i], this.overflows[i]);
+                this.values[i] = null;
+            }
+            this.numKeys = index;
+            return right;
+        }
+
+        /**
+         * Moves the keys after index and the children after them into a new internal node.
+         * The key at index is dropped, the caller moves it up into the parent.
+         */
+        Node splitInternal(int index) {
+            Node right = Node.createInternal(this.children[index + 1]);
+            for (int i = index + 1; i < this.numKeys; i++) {
+                right.insertChild(i - index - 1, this.firsts[i], this.seconds[i], this.children[i + 1]);
+            }
+            this.numKeys = index;
+            return right;
+        }
+
+        private int compareKey(int index, long first, long second) {
+            int comparison = Long.compare(this.firsts[index], first);
+            return comparison != 0 ? comparison : Long.compare(this.seconds[index], second);
+        }
+
+        private void shiftKeys(int from, int distance) {
+            System.arraycopy(this.firsts, from, this.firsts, from + distance, this.numKeys - from);
+            System.arraycopy(this.seconds, from, this.seconds, from + distance, this.numKeys - from);
+        }
+
+        private void ensureCapacity() {
+            if (this.numKeys < this.firsts.length) {
+                return;
+            }
+            int capacity = this.firsts.length * 2;
+            this.firsts = Arrays.copyOf(this.firsts, capacity);
+            this.seconds = Arrays.copyOf(this.seconds, capacity);
+            if (this.isLeaf) {
+                this.values = Arrays.copyOf(this.values, capacity);
+                this.overflows = Arrays.copyOf(this.overflows, capacity);
+            } else {
+                this.children = Arrays.copyOf(this.children, capacity + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package echo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import echo.exception.StorageException;
+
+/**
+ * Reads and writes a file in pages of PAGE_SIZE bytes, keeping the recently used pages in memory.
+ *
+ * Pages are only read from the file when first used, and changed pages are only written back when flushed
+ * or when they are the least recently used page and the pool is over its capacity.
+ * Pages that are no longer used are kept in a free list, linked through their first bytes,
+ * and handed out again before the file grows.
+ *
+ * Page 0 is the header of the file: its format and version, its number of pages, the head of the free list,
+ * and a few numbers the owner of the pool keeps there, e.g. the root pages of its trees.
+ * Callers must not hold on to a page across calls to the pool, since it may be evicted in between.
+ */
+class BufferPool {
+    static final int PAGE_SIZE = 4096;
+    // page number that no page has, e.g. for the end of the free list
+    static final int NO_PAGE = 0;
+
+    private static final String ERROR_MESSAGE_CORRUPTED = "Your page file %s is corrupted!";
+    private static final String ERROR_MESSAGE_CAPACITY_TOO_SMALL = "Buffer pool needs room for a few pages";
+    private static final String ERROR_MESSAGE_NO_SUCH_PAGE = "No page %d in a file of %d pages";
+
+    private static final int MAGIC = 0x45435047;
+    private static final int VERSION = 1;
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 4;
+    private static final int OFFSET_PAGE_SIZE = 8;
+    private static final int OFFSET_NUM_PAGES = 12;
+    private static final int OFFSET_FREE_LIST = 16;
+    private static final int OFFSET_METADATA = 24;
+    static final int NUM_METADATA = 32;
+    // a tree operation uses a handful of pages at a time
+    private static final int MIN_CAPACITY = 8;
+
+    private final String path;
+    private final int capacity;
+    private FileChannel channel;
+    // cached pages by page number, least recently used first
+    private final LinkedHashMap<Integer, byte[]> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private final HashSet<Integer> dirtyPages = new HashSet<>();
+    private int numPages;
+    private int freeListHead;
+    private final long[] metadata = new long[BufferPool.NUM_METADATA];
+    private long pagesRead;
+    private long pagesWritten;
+
+    /**
+     * Creates a BufferPool over a page file, which is only opened by open.
+     *
+     * @param path Path of the page file, which is created if it does not exist.
+     * @param capacity Number of pages to keep in memory.
+     */
+    BufferPool(String path, int capacity) {
+        assert capacity >= BufferPool.MIN_CAPACITY : BufferPool.ERROR_MESSAGE_CAPACITY_TOO_SMALL;
+
+        this.path = path;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the page file, creating it with only a header page if it does not exist or is empty.
+     *
+     * @throws IOException If the file could not be opened or read.
+     * @throws StorageException If the file is not a page file of this version.
+     */
+    void open() throws IOException, StorageException {
+        File file = new File(this.path);
+        File parentDir = file.getAbsoluteFile().getParentFile();
+        if (!parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+        if (this.channel.size() == 0) {
+            this.numPages = 1;
+            this.freeListHead = BufferPool.NO_PAGE;
+            this.writeHeader();
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(this.readFromFile(0));
+        if (this.channel.size() % BufferPool.PAGE_SIZE != 0
+                || header.getInt(BufferPool.OFFSET_MAGIC) != BufferPool.MAGIC
+                || header.getInt(BufferPool.OFFSET_VERSION) != BufferPool.VERSION
+                || header.getInt(BufferPool.OFFSET_PAGE_SIZE) != BufferPool.PAGE_SIZE) {
+            throw new StorageException(BufferPool.ERROR_MESSAGE_CORRUPTED.formatted(this.path));
+        }
+        this.numPages = header.getInt(BufferPool.OFFSET_NUM_PAGES);
+        this.freeListHead = header.getInt(BufferPool.OFFSET_FREE_LIST);
+        for (int i = 0; i < BufferPool.NUM_METADATA; i++) {
+            this.metadata[i] = header.getLong(BufferPool.OFFSET_METADATA + i * Long.BYTES);
+        }
+        if (this.numPages < 1 || (long) this.numPages * BufferPool.PAGE_SIZE > this.channel.size()) {
+            throw new StorageException(BufferPool.ERROR_MESSAGE_CORRUPTED.formatted(this.path));
+        }
+    }
+
+    /**
+     * Gets a page to read from. The page must not be changed.
+     *
+     * @param pageNumber Number of the page, other than the header.
+     * @return the bytes of the page.
+     * @throws IOException If the page could not be read from the file.
+     */
+    byte[] read(int pageNumber) throws IOException {
+        assert pageNumber > 0 && pageNumber < this.numPages
+            : BufferPool.ERROR_MESSAGE_NO_SUCH_PAGE.formatted(pageNumber, this.numPages);
+
+        byte[] page = this.pages.get(pageNumber);
+        if (page == null) {
+            page = this.readFromFile(pageNumber);
+            this.cache(pageNumber, page);
+        }
+        return page;
+    }
+
+    /**
+     * Gets a page to change, which is written back to the file when flushed or evicted.
+     *
+     * @param pageNumber Number of the page, other than the header.
+     * @return the bytes of the page.
+     * @throws IOException If the page could not be read from the file.
+     */
+    byte[] write(int pageNumber) throws IOException {
+        byte[] page = this.read(pageNumber);
+        this.dirtyPages.add(pageNumber);
+        return page;
+    }
+
+    /**
+     * Allocates a page, reusing a free page if there is one, else growing the file by a page.
+     *
+     * @return the number of the page, whose bytes are all zero and to be filled in through write.
+     * @throws IOException If the free page could not be read from the file.
+     */
+    int allocate() throws IOException {
+        int pageNumber;
+        if (this.freeListHead != BufferPool.NO_PAGE) {
+            pageNumber = this.freeListHead;
+            this.freeListHead = ByteBuffer.wrap(this.read(pageNumber)).getInt(0);
+        } else {
+            // the page is only written to the file when flushed or evicted
+            pageNumber = this.numPages;
+            this.numPages++;
+        }
+        this.cache(pageNumber, new byte[BufferPool.PAGE_SIZE]);
+        this.dirtyPages.add(pageNumber);
+        return pageNumber;
+    }
+
+    /**
+     * Puts a page on the free list, to be handed out again by allocate.
+     *
+     * @param pageNumber Number of the page, which must no longer be used.
+     * @throws IOException If the page could not be read from the file.
+     */
+    void free(int pageNumber) throws IOException {
+        byte[] page = this.write(pageNumber);
+        ByteBuffer.wrap(page).putInt(0, this.freeListHead);
+        this.freeListHead = pageNumber;
+    }
+
+    long getMetadata(int index) {
+        return this.metadata[index];
+    }
+
+    void setMetadata(int index, long value) {
+        this.metadata[index] = value;
+    }
+
+    /**
+     * Writes every changed page and then the header back to the file.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    void flush() throws IOException {
+        this.flush(false);
+    }
+
+    /**
+     * Writes every changed page and then the header back to the file, optionally forcing them onto the disk.
+     * When forced, the pages are on disk before the header is written, so the header never points to
+     * pages that were lost.
+     *
+     * @param isForced Whether to force the file onto the disk before returning.
+     * @throws IOException If the file could not be written.
+     */
+    void flush(boolean isForced) throws IOException {
+        // in page order, so the writes move through the file in one direction
+        ArrayList<Integer> pageNumbers = new ArrayList<>(this.dirtyPages);
+        Collections.sort(pageNumbers);
+        for (int pageNumber : pageNumbers) {
+            this.writeToFile(pageNumber, this.pages.get(pageNumber));
+        }
+        this.dirtyPages.clear();
+        if (isForced) {
+            this.channel.force(false);
+        }
+        this.writeHeader();
+        if (isForced) {
+            this.channel.force(true);
+        }
+    }
+
+    /**
+     * Flushes the pool and closes the page file.
+     *
+     * @throws IOException If the file could not be written or closed.
+     */
+    void close() throws IOException {
+        if (this.channel == null) {
+            return;
+        }
+        this.flush();
+        this.channel.close();
+        this.channel = null;
+        this.pages.clear();
+    }
+
+    int getNumPages() {
+        return this.numPages;
+    }
+
+    int getNumFreePages() throws IOException {
+        int numFreePages = 0;
+        for (int page = this.freeListHead; page != BufferPool.NO_PAGE;
+                page = ByteBuffer.wrap(this.read(page)).getInt(0)) {
+            numFreePages++;
+        }
+        return numFreePages;
+    }
+
+    long getPagesRead() {
+        return this.pagesRead;
+    }
+
+    long getPagesWritten() {
+        return this.pagesWritten;
+    }
+
+    private void cache(int pageNumber, byte[] page) throws IOException {
+        this.pages.put(pageNumber, page);
+        Iterator<Map.Entry<Integer, byte[]>> iterator = this.pages.entrySet().iterator();
+        while (this.pages.size() > this.capacity) {
+            Map.Entry<Integer, byte[]> leastRecentlyUsed = iterator.next();
+            if (this.dirtyPages.remove(leastRecentlyUsed.getKey())) {
+                this.writeToFile(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+            }
+            iterator.remove();
+        }
+    }
+
+    private byte[] readFromFile(int pageNumber) throws IOException {
+        byte[] page = new byte[BufferPool.PAGE_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(page);
+        long position = (long) pageNumber * BufferPool.PAGE_SIZE;
+        // a page allocated but evicted before the file grew to it reads as zeros
+        while (buffer.hasRemaining() && this.channel.read(buffer, position + buffer.position()) >= 0) {
+            continue;
+        }
+        this.pagesRead++;
+        return page;
+    }
+
+    private void writeToFile(int pageNumber, byte[] page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(page);
+        long position = (long) pageNumber * BufferPool.PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer, position + buffer.position());
+        }
+        this.pagesWritten++;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BufferPool.PAGE_SIZE);
+        header.putInt(BufferPool.OFFSET_MAGIC, BufferPool.MAGIC);
+        header.putInt(BufferPool.OFFSET_VERSION, BufferPool.VERSION);
+        header.putInt(BufferPool.OFFSET_PAGE_SIZE, BufferPool.PAGE_SIZE);
+        header.putInt(BufferPool.OFFSET_NUM_PAGES, this.numPages);
+        header.putInt(BufferPool.OFFSET_FREE_LIST, this.freeListHead);
+        for (int i = 0; i < BufferPool.NUM_METADATA; i++) {
+            header.putLong(BufferPool.OFFSET_METADATA + i * Long.BYTES, this.metadata[i]);
+        }
+        this.writeToFile(0, header.array());
+        // pages past the end of the file that were allocated but never written are zeros
+        long size = (long) this.numPages * BufferPool.PAGE_SIZE;
+        if (this.channel.size() < size) {
+            this.channel.write(ByteBuffer.allocate(1), size - 1);
+        }
+    }
+}
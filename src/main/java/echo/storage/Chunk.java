@@ -0,0 +1,61 @@
+package echo.storage;
+
+/**
+ * Represents a run of consecutive task lines in a save file, and the hash of their contents.
+ *
+ * The hash is taken over the lines as they would be written without a description dictionary,
+ * so two files holding the same tasks have the same chunk hashes however their dictionaries are numbered.
+ */
+public class Chunk {
+    private final long offset;
+    private final int length;
+    private final int firstTaskIndex;
+    private final int taskCount;
+    private byte[] hash;
+
+    /**
+     * Creates a Chunk.
+     *
+     * @param offset Byte offset of the first line of the chunk in the save file.
+     * @param length Number of bytes of the chunk, including line separators.
+     * @param firstTaskIndex Index of the first task of the chunk in the task list, starting from 0.
+     * @param taskCount Number of tasks in the chunk.
+     * @param hash Hash of the contents of the chunk.
+     */
+    public Chunk(long offset, int length, int firstTaskIndex, int taskCount, byte[] hash) {
+        this.offset = offset;
+        this.length = length;
+        this.firstTaskIndex = firstTaskIndex;
+        this.taskCount = taskCount;
+        this.hash = hash;
+    }
+
+    public long getOffset() {
+        return this.offset;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public int getFirstTaskIndex() {
+        return this.firstTaskIndex;
+    }
+
+    public int getTaskCount() {
+        return this.taskCount;
+    }
+
+    public byte[] getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Replaces the hash of the chunk after its lines have been changed in place.
+     *
+     * @param hash Hash of the new contents of the chunk.
+     */
+    public void setHash(byte[] hash) {
+        this.hash = hash;
+    }
+}
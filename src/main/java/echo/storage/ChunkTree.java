@@ -0,0 +1,218 @@
+package echo.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Describes a save file as content-defined chunks of task lines, each with a hash, so that two save files
+ * can be compared by reading their chunk trees instead of their tasks.
+ *
+ * Chunk boundaries depend only on the lines around them, so adding or removing a task only changes
+ * the chunks next to it. The hashes of the chunks are combined pairwise into a single root hash,
+ * Merkle-style, which tells whether two files hold the same tasks in the same order.
+ *
+ * The tree is kept in a sidecar file next to the save file, together with the length and
+ * modification time of the save file it describes, so that a stale tree is never used.
+ */
+public class ChunkTree {
+    private static final String SIDECAR_SUFFIX = ".chunks";
+    // "ECHK"
+    private static final int SIDECAR_MAGIC = 0x4543484B;
+    private static final int SIDECAR_VERSION = 1;
+
+    private final boolean hasDictionary;
+    private final ArrayList<DictionaryBlock> dictionaryBlocks;
+    private final ArrayList<Chunk> chunks;
+    private int dictionarySize;
+    private int numTasks;
+    private long dataLength;
+    private long dataModified;
+
+    ChunkTree(boolean hasDictionary, ArrayList<DictionaryBlock> dictionaryBlocks, int dictionarySize,
+            ArrayList<Chunk> chunks, int numTasks) {
+        this.hasDictionary = hasDictionary;
+        this.dictionaryBlocks = dictionaryBlocks;
+        this.dictionarySize = dictionarySize;
+        this.chunks = chunks;
+        this.numTasks = numTasks;
+    }
+
+    /**
+     * Gets the path of the sidecar file holding the chunk tree of a save file.
+     *
+     * @param dataPath Path of the save file.
+     * @return Path of its sidecar file.
+     */
+    public static String getSidecarPath(String dataPath) {
+        return dataPath + ChunkTree.SIDECAR_SUFFIX;
+    }
+
+    public boolean hasDictionary() {
+        return this.hasDictionary;
+    }
+
+    public ArrayList<DictionaryBlock> getDictionaryBlocks() {
+        return this.dictionaryBlocks;
+    }
+
+    public int getDictionarySize() {
+        return this.dictionarySize;
+    }
+
+    public ArrayList<Chunk> getChunks() {
+        return this.chunks;
+    }
+
+    public int getNumTasks() {
+        return this.numTasks;
+    }
+
+    /**
+     * Computes the root hash, by hashing the chunk hashes together in pairs until one is left.
+     *
+     * @return the root hash, or an empty array if there are no chunks.
+     */
+    public byte[] getRootHash() {
+        ArrayList<byte[]> level = new ArrayList<>();
+        for (Chunk chunk : this.chunks) {
+            level.add(chunk.getHash());
+        }
+        while (level.size() > 1) {
+            ArrayList<byte[]> parents = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += 2) {
+                byte[] right = i + 1 < level.size() ? level.get(i + 1) : new byte[0];
+                parents.add(ChunkTreeBuilder.hash(level.get(i), right));
+            }
+            level = parents;
+        }
+        return level.isEmpty() ? new byte[0] : level.get(0);
+    }
+
+    /**
+     * Checks if two trees describe the same tasks in the same order.
+     *
+     * @param other Tree to compare with.
+     * @return true if both trees have the same root hash, else false.
+     */
+    public boolean hasSameRootHash(ChunkTree other) {
+        return Arrays.equals(this.getRootHash(), other.getRootHash());
+    }
+
+    /**
+     * Appends the dictionary blocks and chunks describing lines appended to the save file.
+     *
+     * @param tail Tree built for the appended lines only, continuing the numbering of this tree.
+     */
+    public void append(ChunkTree tail) {
+        this.dictionaryBlocks.addAll(tail.dictionaryBlocks);
+        this.dictionarySize = tail.dictionarySize;
+        this.chunks.addAll(tail.chunks);
+        this.numTasks = tail.numTasks;
+    }
+
+    /**
+     * Checks if this tree still describes a save file, going by its length and modification time.
+     *
+     * @param dataFile The save file.
+     * @return true if the save file has not changed since the tree was written, else false.
+     */
+    public boolean isUpToDate(File dataFile) {
+        return dataFile.length() == this.dataLength && dataFile.lastModified() == this.dataModified;
+    }
+
+    /**
+     * Writes this tree into the sidecar file of a save file, marking it as describing the save file as it is now.
+     *
+     * @param dataFile The save file this tree describes.
+     * @return Number of bytes written.
+     * @throws IOException If the sidecar file could not be written.
+     */
+    public long write(File dataFile) throws IOException {
+        this.dataLength = dataFile.length();
+        this.dataModified = dataFile.lastModified();
+
+        File sidecar = new File(ChunkTree.getSidecarPath(dataFile.getPath()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(sidecar)));
+        out.writeInt(ChunkTree.SIDECAR_MAGIC);
+        out.writeInt(ChunkTree.SIDECAR_VERSION);
+        out.writeLong(this.dataLength);
+        out.writeLong(this.dataModified);
+        out.writeBoolean(this.hasDictionary);
+        out.writeInt(this.dictionarySize);
+        out.writeInt(this.numTasks);
+        out.writeInt(this.dictionaryBlocks.size());
+        for (DictionaryBlock block : this.dictionaryBlocks) {
+            out.writeInt(block.getFirstEntryIndex());
+            out.writeInt(block.getEntryCount());
+            out.writeLong(block.getOffset());
+            out.writeInt(block.getLength());
+        }
+        out.writeInt(this.chunks.size());
+        for (Chunk chunk : this.chunks) {
+            out.writeLong(chunk.getOffset());
+            out.writeInt(chunk.getLength());
+            out.writeInt(chunk.getFirstTaskIndex());
+            out.writeInt(chunk.getTaskCount());
+            out.write(chunk.getHash());
+        }
+        out.close();
+        return sidecar.length();
+    }
+
+    /**
+     * Reads the tree in the sidecar file of a save file.
+     *
+     * @param dataFile The save file.
+     * @return the tree, or null if there is no sidecar file or it is not one this version can read.
+     * @throws IOException If the sidecar file could not be read.
+     */
+    public static ChunkTree read(File dataFile) throws IOException {
+        File sidecar = new File(ChunkTree.getSidecarPath(dataFile.getPath()));
+        if (!sidecar.canRead()) {
+            return null;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(sidecar)));
+        try {
+            if (in.readInt() != ChunkTree.SIDECAR_MAGIC || in.readInt() != ChunkTree.SIDECAR_VERSION) {
+                return null;
+            }
+            long dataLength = in.readLong();
+            long dataModified = in.readLong();
+            boolean hasDictionary = in.readBoolean();
+            int dictionarySize = in.readInt();
+            int numTasks = in.readInt();
+
+            int numBlocks = in.readInt();
+            ArrayList<DictionaryBlock> blocks = new ArrayList<>(numBlocks);
+            for (int i = 0; i < numBlocks; i++) {
+                blocks.add(new DictionaryBlock(in.readInt(), in.readInt(), in.readLong(), in.readInt()));
+            }
+            int numChunks = in.readInt();
+            ArrayList<Chunk> chunks = new ArrayList<>(numChunks);
+            for (int i = 0; i < numChunks; i++) {
+                long offset = in.readLong();
+                int length = in.readInt();
+                int firstTaskIndex = in.readInt();
+                int taskCount = in.readInt();
+                byte[] hash = in.readNBytes(ChunkTreeBuilder.HASH_LENGTH);
+                chunks.add(new Chunk(offset, length, firstTaskIndex, taskCount, hash));
+            }
+
+            ChunkTree tree = new ChunkTree(hasDictionary, blocks, dictionarySize, chunks, numTasks);
+            tree.dataLength = dataLength;
+            tree.dataModified = dataModified;
+            return tree;
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package echo.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds a ChunkTree line by line while a save file is being written or scanned.
+ *
+ * A chunk ends after a task line whose hash has its lowest bits all zero, once the chunk has at least
+ * a minimum number of lines, or when it reaches a maximum number of lines.
+ * On average a chunk holds about 80 tasks, a few KB of a save file.
+ */
+public class ChunkTreeBuilder {
+    static final int HASH_LENGTH = 16;
+
+    private static final int MIN_CHUNK_TASKS = 16;
+    private static final int MAX_CHUNK_TASKS = 256;
+    // one in 64 lines ends a chunk once the minimum is reached
+    private static final int BOUNDARY_MASK = 63;
+    private static final int DICTIONARY_BLOCK_ENTRIES = 64;
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final byte[] LINE_END = {'\n'};
+
+    private final boolean hasDictionary;
+    private final ArrayList<DictionaryBlock> dictionaryBlocks = new ArrayList<>();
+    private final ArrayList<Chunk> chunks = new ArrayList<>();
+    private int dictionarySize;
+    private int numTasks;
+
+    private final MessageDigest chunkDigest;
+    private final LineEncoder encoder = new LineEncoder();
+    private long chunkOffset;
+    private int chunkLength;
+    private int chunkTasks;
+
+    private long blockOffset;
+    private int blockLength;
+    private int blockEntries;
+
+    /**
+     * Creates a builder for a save file, or for lines appended to a save file described by an existing tree.
+     *
+     * @param hasDictionary Whether the save file has a description dictionary.
+     * @param dictionarySize Number of descriptions already in the dictionary.
+     * @param numTasks Number of tasks already in the save file.
+     */
+    public ChunkTreeBuilder(boolean hasDictionary, int dictionarySize, int numTasks) {
+        this.hasDictionary = hasDictionary;
+        this.dictionarySize = dictionarySize;
+        this.numTasks = numTasks;
+        this.chunkDigest = ChunkTreeBuilder.createDigest();
+    }
+
+    /**
+     * Adds a line of the description dictionary.
+     *
+     * @param offset Byte offset of the line in the save file.
+     * @param length Number of bytes of the line, including its line separator.
+     */
+    public void addDictionaryEntry(long offset, int length) {
+        if (this.blockEntries == 0) {
+            this.blockOffset = offset;
+        }
+        this.blockLength += length;
+        this.blockEntries++;
+        this.dictionarySize++;
+        if (this.blockEntries == ChunkTreeBuilder.DICTIONARY_BLOCK_ENTRIES) {
+            this.endDictionaryBlock();
+        }
+    }
+
+    /**
+     * Adds a task line.
+     *
+     * @param canonicalLine The line as it would be written without a description dictionary.
+     * @param offset Byte offset of the line in the save file.
+     * @param length Number of bytes of the line as written, including its line separator.
+     */
+    public void addTaskLine(CharSequence canonicalLine, long offset, int length) {
+        if (this.chunkTasks == 0) {
+            this.chunkOffset = offset;
+        }
+        this.chunkDigest.update(this.encoder.encode(canonicalLine));
+        this.chunkDigest.update(ChunkTreeBuilder.LINE_END);
+        this.chunkLength += length;
+        this.chunkTasks++;
+        this.numTasks++;
+
+        boolean isBoundary = this.chunkTasks >= ChunkTreeBuilder.MIN_CHUNK_TASKS
+            && (ChunkTreeBuilder.hashLine(canonicalLine) & ChunkTreeBuilder.BOUNDARY_MASK) == 0;
+        if (isBoundary || this.chunkTasks == ChunkTreeBuilder.MAX_CHUNK_TASKS) {
+            this.endChunk();
+        }
+    }
+
+    /**
+     * Finishes the tree.
+     *
+     * @return the ChunkTree of every line added.
+     */
+    public ChunkTree build() {
+        this.endDictionaryBlock();
+        this.endChunk();
+        return new ChunkTree(this.hasDictionary, this.dictionaryBlocks, this.dictionarySize,
+            this.chunks, this.numTasks);
+    }
+
+    /**
+     * Hashes the lines of a chunk, e.g. after they have been changed in place.
+     *
+     * @param canonicalLines Lines of the chunk as they would be written without a description dictionary.
+     * @return Hash of the chunk.
+     */
+    public static byte[] hashChunk(List<String> canonicalLines) {
+        MessageDigest digest = ChunkTreeBuilder.createDigest();
+        for (String line : canonicalLines) {
+            ChunkTreeBuilder.updateDigest(digest, line);
+        }
+        return Arrays.copyOf(digest.digest(), ChunkTreeBuilder.HASH_LENGTH);
+    }
+
+    static byte[] hash(byte[] left, byte[] right) {
+        MessageDigest digest = ChunkTreeBuilder.createDigest();
+        digest.update(left);
+        digest.update(right);
+        return Arrays.copyOf(digest.digest(), ChunkTreeBuilder.HASH_LENGTH);
+    }
+
+    private void endChunk() {
+        if (this.chunkTasks == 0) {
+            return;
+        }
+        byte[] hash = Arrays.copyOf(this.chunkDigest.digest(), ChunkTreeBuilder.HASH_LENGTH);
+        this.chunks.add(new Chunk(this.chunkOffset, this.chunkLength, this.numTasks - this.chunkTasks,
+            this.chunkTasks, hash));
+        this.chunkLength = 0;
+        this.chunkTasks = 0;
+    }
+
+    private void endDictionaryBlock() {
+        if (this.blockEntries == 0) {
+            return;
+        }
+        this.dictionaryBlocks.add(new DictionaryBlock(this.dictionarySize - this.blockEntries, this.blockEntries,
+            this.blockOffset, this.blockLength));
+        this.blockLength = 0;
+        this.blockEntries = 0;
+    }
+
+    /**
+     * Computes the same hash as String.hashCode, without creating a String of the line.
+     * Chunk boundaries depend on it, so it must not change, or trees of existing save files would no longer match.
+     */
+    private static int hashLine(CharSequence line) {
+        int hash = 0;
+        for (int i = 0; i < line.length(); i++) {
+            hash = 31 * hash + line.charAt(i);
+        }
+        return hash;
+    }
+
+    private static void updateDigest(MessageDigest digest, String line) {
+        digest.update(line.getBytes(StandardCharsets.UTF_8));
+        digest.update(ChunkTreeBuilder.LINE_END);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(ChunkTreeBuilder.HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
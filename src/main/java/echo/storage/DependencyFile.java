@@ -0,0 +1,165 @@
+package echo.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import echo.task.Dependency;
+import echo.task.Task;
+
+/**
+ * Keeps the dependencies between the tasks of a save file in a sidecar file next to it,
+ * each as the positions of the task and its prerequisite in the save file.
+ *
+ * The sidecar file holds the version of the save file it was written with, and is only read if the save file
+ * still has that version, as positions mean nothing once another program rewrote the save file.
+ * Changes made to the save file in place keep every task where it was, so they carry the sidecar file over
+ * to the new version, see updateVersion.
+ */
+final class DependencyFile {
+    private static final String SIDECAR_SUFFIX = ".after";
+    // "ECHD"
+    private static final int SIDECAR_MAGIC = 0x45434844;
+    private static final int SIDECAR_VERSION = 1;
+    // where the version of the save file is written, after the magic number and the version of the sidecar file
+    private static final int OFFSET_DATA_VERSION = 8;
+
+    private DependencyFile() {
+    }
+
+    /**
+     * Gets the path of the sidecar file holding the dependencies of a save file.
+     *
+     * @param dataPath Path of the save file.
+     * @return Path of its sidecar file.
+     */
+    static String getSidecarPath(String dataPath) {
+        return dataPath + DependencyFile.SIDECAR_SUFFIX;
+    }
+
+    /**
+     * Writes the dependencies between the tasks of a save file, or deletes the sidecar file if there are none.
+     * Dependencies on tasks that are not in the save file are left out.
+     *
+     * @param dataFile The save file.
+     * @param version Version the save file was written with.
+     * @param tasks Tasks of the save file, in order.
+     * @param dependencies Dependencies between the tasks.
+     * @throws IOException If the sidecar file could not be written.
+     */
+    static void write(File dataFile, long version, List<Task> tasks, List<Dependency> dependencies)
+            throws IOException {
+        File sidecar = new File(DependencyFile.getSidecarPath(dataFile.getPath()));
+        if (dependencies.isEmpty()) {
+            sidecar.delete();
+            return;
+        }
+
+        IdentityHashMap<Task, Integer> positions = new IdentityHashMap<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            positions.put(tasks.get(i), i);
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(sidecar)));
+        try {
+            out.writeInt(DependencyFile.SIDECAR_MAGIC);
+            out.writeInt(DependencyFile.SIDECAR_VERSION);
+            out.writeLong(version);
+            for (Dependency dependency : dependencies) {
+                Integer taskPosition = positions.get(dependency.getTask());
+                Integer prerequisitePosition = positions.get(dependency.getPrerequisite());
+                if (taskPosition != null && prerequisitePosition != null) {
+                    out.writeInt(taskPosition);
+                    out.writeInt(prerequisitePosition);
+                }
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the dependencies between the tasks of a save file.
+     *
+     * @param dataFile The save file.
+     * @param version Version of the save file the tasks were read from.
+     * @param tasks Tasks of the save file, in order.
+     * @return the dependencies, which are empty if there is no sidecar file, or it was written with another version
+     *     of the save file or by another version of Echo. Dependencies on positions past the tasks are left out.
+     * @throws IOException If the sidecar file could not be read.
+     */
+    static ArrayList<Dependency> read(File dataFile, long version, List<Task> tasks) throws IOException {
+        ArrayList<Dependency> dependencies = new ArrayList<>();
+        File sidecar = new File(DependencyFile.getSidecarPath(dataFile.getPath()));
+        if (version == Storage.NO_VERSION || !sidecar.canRead()) {
+            return dependencies;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(sidecar)));
+        try {
+            if (in.readInt() != DependencyFile.SIDECAR_MAGIC || in.readInt() != DependencyFile.SIDECAR_VERSION
+                    || in.readLong() != version) {
+                return dependencies;
+            }
+            while (true) {
+                int taskPosition;
+                try {
+                    taskPosition = in.readInt();
+                } catch (EOFException e) {
+                    // no more dependencies
+                    return dependencies;
+                }
+                int prerequisitePosition = in.readInt();
+                if (DependencyFile.isPosition(taskPosition, tasks) && DependencyFile.isPosition(prerequisitePosition,
+                        tasks)) {
+                    dependencies.add(new Dependency(tasks.get(taskPosition), tasks.get(prerequisitePosition)));
+                }
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Moves the sidecar file of a save file over to a new version of the save file, if it was written with
+     * the old version. Only to be used when the save file was changed in place, keeping every task where it was.
+     *
+     * @param dataFile The save file.
+     * @param oldVersion Version of the save file before it was changed.
+     * @param newVersion Version of the save file after it was changed.
+     * @throws IOException If the sidecar file could not be read or written.
+     */
+    static void updateVersion(File dataFile, long oldVersion, long newVersion) throws IOException {
+        File sidecar = new File(DependencyFile.getSidecarPath(dataFile.getPath()));
+        if (!sidecar.isFile()) {
+            return;
+        }
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(sidecar, "rw");
+        try {
+            if (randomAccessFile.length() < DependencyFile.OFFSET_DATA_VERSION + Long.BYTES
+                    || randomAccessFile.readInt() != DependencyFile.SIDECAR_MAGIC
+                    || randomAccessFile.readInt() != DependencyFile.SIDECAR_VERSION
+                    || randomAccessFile.readLong() != oldVersion) {
+                return;
+            }
+            randomAccessFile.seek(DependencyFile.OFFSET_DATA_VERSION);
+            randomAccessFile.writeLong(newVersion);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private static boolean isPosition(int position, List<Task> tasks) {
+        return position >= 0 && position < tasks.size();
+    }
+}
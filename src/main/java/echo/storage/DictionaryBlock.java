@@ -0,0 +1,43 @@
+package echo.storage;
+
+/**
+ * Represents a run of consecutive description dictionary lines in a save file,
+ * so that a description can be looked up by reading only the block it is in.
+ */
+public class DictionaryBlock {
+    private final int firstEntryIndex;
+    private final int entryCount;
+    private final long offset;
+    private final int length;
+
+    /**
+     * Creates a DictionaryBlock.
+     *
+     * @param firstEntryIndex Index of the first description of the block in the dictionary.
+     * @param entryCount Number of descriptions in the block.
+     * @param offset Byte offset of the first line of the block in the save file.
+     * @param length Number of bytes of the block, including line separators.
+     */
+    public DictionaryBlock(int firstEntryIndex, int entryCount, long offset, int length) {
+        this.firstEntryIndex = firstEntryIndex;
+        this.entryCount = entryCount;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public int getFirstEntryIndex() {
+        return this.firstEntryIndex;
+    }
+
+    public int getEntryCount() {
+        return this.entryCount;
+    }
+
+    public long getOffset() {
+        return this.offset;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+}
@@ -0,0 +1,23 @@
+package echo.storage;
+
+/**
+ * How sure Echo makes that a save has reached the disk before carrying on, traded against how much a save costs.
+ */
+public enum Durability {
+    /**
+     * Saves are written after every change but left to the operating system to put on disk,
+     * so a crash or power loss can lose the last few seconds of changes.
+     */
+    NONE,
+    /**
+     * Changes within a short window are saved together once the window is over and forced onto the disk
+     * with a single FileChannel.force, so a crash can lose at most the changes of the last window.
+     */
+    BATCHED,
+    /**
+     * Every change is saved and forced onto the disk before Echo replies, so no reply is ever lost.
+     * A page file is saved by overwriting its pages in place, so a crash in the middle of a save can still
+     * leave a paged task list with only some of its pages written.
+     */
+    EVERY_WRITE
+}
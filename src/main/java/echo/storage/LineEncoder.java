@@ -0,0 +1,68 @@
+package echo.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes lines of text to UTF-8 into a buffer that is reused from line to line,
+ * so writing or hashing a save file does not create a byte array for every line.
+ *
+ * The bytes are the same as String.getBytes(StandardCharsets.UTF_8) gives, including the replacement
+ * of characters that cannot be encoded.
+ */
+class LineEncoder {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer buffer = ByteBuffer.allocate(LineEncoder.INITIAL_CAPACITY);
+
+    /**
+     * Encodes text, overwriting the text encoded before.
+     *
+     * @param text Text to encode.
+     * @return the reused buffer, ready to be read from position 0 to its limit.
+     */
+    ByteBuffer encode(CharSequence text) {
+        CharBuffer chars = CharBuffer.wrap(text);
+        this.encoder.reset();
+        this.buffer.clear();
+        CoderResult result = this.encoder.encode(chars, this.buffer, true);
+        while (result.isOverflow()) {
+            this.grow();
+            result = this.encoder.encode(chars, this.buffer, true);
+        }
+        while (this.encoder.flush(this.buffer).isOverflow()) {
+            this.grow();
+        }
+        this.buffer.flip();
+        return this.buffer;
+    }
+
+    /**
+     * Writes a line followed by a line separator.
+     *
+     * @return Number of bytes written.
+     */
+    int writeLine(OutputStream out, CharSequence line) throws IOException {
+        ByteBuffer bytes = this.encode(line);
+        out.write(bytes.array(), 0, bytes.limit());
+        out.write(LineEncoder.LINE_SEPARATOR);
+        return bytes.limit() + LineEncoder.LINE_SEPARATOR.length;
+    }
+
+    private void grow() {
+        ByteBuffer grown = ByteBuffer.allocate(this.buffer.capacity() * 2);
+        this.buffer.flip();
+        grown.put(this.buffer);
+        this.buffer = grown;
+    }
+}
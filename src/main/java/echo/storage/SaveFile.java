@@ -0,0 +1,415 @@
+package echo.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import echo.exception.StorageException;
+import echo.task.Task;
+
+/**
+ * Gives access to a save file one chunk at a time through its ChunkTree, for comparing and merging save files
+ * without loading them.
+ *
+ * Tasks can be marked as done in place and new tasks appended, so changing a few tasks only writes a few
+ * lines of the file. Keeps count of the bytes of the save file it reads and writes.
+ */
+public class SaveFile {
+    private static final byte LINE_FEED = '\n';
+    private static final String CARRIAGE_RETURN = "\r";
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    private final File file;
+    // descriptions of the dictionary blocks read so far
+    private final HashMap<DictionaryBlock, ArrayList<String>> dictionaryCache = new HashMap<>();
+    private long bytesRead;
+    private long bytesWritten;
+    private long bytesScanned;
+    private long treeBytes;
+
+    /**
+     * Creates a SaveFile.
+     *
+     * @param path Path of the save file.
+     */
+    public SaveFile(String path) {
+        this.file = new File(path);
+    }
+
+    /**
+     * Gets the ChunkTree of the save file from its sidecar file,
+     * or by scanning the whole save file once if the sidecar file is missing or out of date.
+     *
+     * @return the ChunkTree of the save file.
+     * @throws IOException If the save file or its sidecar file could not be read or written.
+     * @throws StorageException If the save file is formatted incorrectly.
+     */
+    public ChunkTree loadTree() throws IOException, StorageException {
+        ChunkTree tree = ChunkTree.read(this.file);
+        if (tree != null && tree.isUpToDate(this.file)) {
+            this.treeBytes += new File(ChunkTree.getSidecarPath(this.file.getPath())).length();
+            return tree;
+        }
+
+        tree = this.scanTree();
+        this.treeBytes += tree.write(this.file);
+        return tree;
+    }
+
+    /**
+     * Reads the task lines of a chunk, with their descriptions looked up in the dictionary if there is one.
+     *
+     * @param tree ChunkTree of the save file.
+     * @param chunk Chunk to read.
+     * @return the task lines of the chunk, in order.
+     * @throws IOException If the save file could not be read.
+     * @throws StorageException If a description reference is invalid.
+     */
+    public ArrayList<SavedLine> readChunk(ChunkTree tree, Chunk chunk) throws IOException, StorageException {
+        byte[] bytes = this.readRange(chunk.getOffset(), chunk.getLength());
+
+        ArrayList<SavedLine> lines = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != SaveFile.LINE_FEED && i != bytes.length - 1) {
+                continue;
+            }
+            int lineEnd = bytes[i] == SaveFile.LINE_FEED ? i : i + 1;
+            String line = SaveFile.decodeLine(bytes, lineStart, lineEnd);
+            String canonicalLine = tree.hasDictionary() ? this.resolveLine(tree, line) : line;
+            long doneFlagOffset = chunk.getOffset() + lineStart + line.indexOf(Task.getSeparator())
+                + Task.getSeparator().length();
+            lines.add(new SavedLine(canonicalLine, doneFlagOffset, chunk.getFirstTaskIndex() + lines.size(), chunk));
+            lineStart = i + 1;
+        }
+        return lines;
+    }
+
+    /**
+     * Marks the task of a line as done or not done, by overwriting its completion status in place.
+     * The hash of its chunk has to be updated separately.
+     *
+     * @param line Line of the task.
+     * @param isDone Whether the task should be marked as done.
+     * @throws IOException If the save file could not be written.
+     */
+    public void setDone(SavedLine line, boolean isDone) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "rw");
+        try {
+            randomAccessFile.seek(line.getDoneFlagOffset());
+            randomAccessFile.write(Task.getDoneMarker(isDone).getBytes(StandardCharsets.US_ASCII));
+            this.bytesWritten++;
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Appends tasks to the end of the save file, in the format of the file, and adds them to its ChunkTree.
+     * In a file with a dictionary, each task gets a new dictionary entry appended before the tasks.
+     *
+     * @param tree ChunkTree of the save file.
+     * @param canonicalLines Task lines with their descriptions written out.
+     * @throws IOException If the save file could not be written.
+     */
+    public void append(ChunkTree tree, List<String> canonicalLines) throws IOException {
+        if (canonicalLines.isEmpty()) {
+            return;
+        }
+
+        long offset = this.file.length();
+        long startOffset = offset;
+        ChunkTreeBuilder treeBuilder = new ChunkTreeBuilder(tree.hasDictionary(), tree.getDictionarySize(),
+            tree.getNumTasks());
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(this.file, true));
+        try {
+            if (offset > 0 && this.readRange(offset - 1, 1)[0] != SaveFile.LINE_FEED) {
+                // a hand-edited file may not end with a line separator
+                offset += Storage.writeLine(out, "");
+            }
+            if (tree.hasDictionary()) {
+                for (String canonicalLine : canonicalLines) {
+                    String description = SaveFile.getDescription(canonicalLine);
+                    int length = Storage.writeLine(out, Storage.MARKER_DICTIONARY_ENTRY + description);
+                    treeBuilder.addDictionaryEntry(offset, length);
+                    offset += length;
+                }
+            }
+            int entryIndex = tree.getDictionarySize();
+            for (String canonicalLine : canonicalLines) {
+                String line = tree.hasDictionary()
+                    ? SaveFile.replaceDescription(canonicalLine, Storage.MARKER_DESCRIPTION_REFERENCE + entryIndex++)
+                    : canonicalLine;
+                int length = Storage.writeLine(out, line);
+                treeBuilder.addTaskLine(canonicalLine, offset, length);
+                offset += length;
+            }
+        } finally {
+            out.close();
+        }
+
+        this.bytesWritten += offset - startOffset;
+        tree.append(treeBuilder.build());
+    }
+
+    /**
+     * Gets the version in the header of the save file, which counts up every time the save file is written.
+     *
+     * @return the version, or -1 if the header has none, e.g. in a save file written by an older Echo.
+     * @throws IOException If the save file could not be read.
+     */
+    public long getVersion() throws IOException {
+        return Storage.readVersion(this.file);
+    }
+
+    /**
+     * Counts up the version in the header of the save file, after the save file has been changed in place.
+     * Must be called before saveTree, as it changes the modification time of the save file.
+     *
+     * @return the new version, or -1 if the header has none.
+     * @throws IOException If the save file could not be written.
+     */
+    public long incrementVersion() throws IOException {
+        long version = Storage.incrementVersion(this.file);
+        if (version != Storage.NO_VERSION) {
+            this.bytesWritten += Storage.formatHeader(version).length() - Storage.HEADER_DICTIONARY.length();
+        }
+        return version;
+    }
+
+    /**
+     * Writes the ChunkTree of the save file into its sidecar file, after the save file has been changed.
+     *
+     * @param tree ChunkTree describing the save file as it is now.
+     * @throws IOException If the sidecar file could not be written.
+     */
+    public void saveTree(ChunkTree tree) throws IOException {
+        this.treeBytes += tree.write(this.file);
+    }
+
+    /**
+     * Gets the number of bytes of task and dictionary lines read, not counting chunk trees or full scans.
+     */
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    /**
+     * Gets the number of bytes written into the save file.
+     */
+    public long getBytesWritten() {
+        return this.bytesWritten;
+    }
+
+    /**
+     * Gets the number of bytes read to rebuild a missing or out of date ChunkTree.
+     */
+    public long getBytesScanned() {
+        return this.bytesScanned;
+    }
+
+    /**
+     * Gets the number of bytes of ChunkTree sidecar files read and written.
+     */
+    public long getTreeBytes() {
+        return this.treeBytes;
+    }
+
+    private byte[] readRange(long offset, int length) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r");
+        try {
+            byte[] bytes = new byte[length];
+            randomAccessFile.seek(offset);
+            randomAccessFile.readFully(bytes);
+            this.bytesRead += length;
+            return bytes;
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Replaces the description reference of a task line by the description it refers to.
+     */
+    private String resolveLine(ChunkTree tree, String line) throws IOException, StorageException {
+        String reference = SaveFile.getDescription(line);
+        int entryIndex = -1;
+        try {
+            if (reference.startsWith(Storage.MARKER_DESCRIPTION_REFERENCE)) {
+                entryIndex = Integer.parseInt(reference.substring(Storage.MARKER_DESCRIPTION_REFERENCE.length()));
+            }
+        } catch (NumberFormatException e) {
+            entryIndex = -1;
+        }
+        DictionaryBlock block = SaveFile.findBlock(tree.getDictionaryBlocks(), entryIndex);
+        if (block == null) {
+            // let Storage report the invalid reference
+            return SaveFile.replaceDescription(line, Storage.resolveDescription(reference, List.of()));
+        }
+
+        ArrayList<String> descriptions = this.dictionaryCache.get(block);
+        if (descriptions == null) {
+            descriptions = this.readBlock(block);
+            this.dictionaryCache.put(block, descriptions);
+        }
+        return SaveFile.replaceDescription(line, descriptions.get(entryIndex - block.getFirstEntryIndex()));
+    }
+
+    private ArrayList<String> readBlock(DictionaryBlock block) throws IOException {
+        byte[] bytes = this.readRange(block.getOffset(), block.getLength());
+        String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\n");
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (String line : lines) {
+            String entry = line.endsWith(SaveFile.CARRIAGE_RETURN) ? line.substring(0, line.length() - 1) : line;
+            descriptions.add(entry.substring(Storage.MARKER_DICTIONARY_ENTRY.length()));
+        }
+        return descriptions;
+    }
+
+    private static DictionaryBlock findBlock(ArrayList<DictionaryBlock> blocks, int entryIndex) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            DictionaryBlock block = blocks.get(mid);
+            if (entryIndex < block.getFirstEntryIndex()) {
+                high = mid - 1;
+            } else if (entryIndex >= block.getFirstEntryIndex() + block.getEntryCount()) {
+                low = mid + 1;
+            } else {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the ChunkTree of the save file by reading it from start to end, without writing it into
+     * the sidecar file, e.g. to check whether the save file changed.
+     *
+     * @return the ChunkTree of the save file.
+     * @throws IOException If the save file could not be read.
+     * @throws StorageException If the save file is formatted incorrectly.
+     */
+    public ChunkTree scanTree() throws IOException, StorageException {
+        ChunkTreeBuilder treeBuilder = null;
+        ArrayList<String> dictionary = null;
+        // read in blocks, as the whole save file is scanned each time another program changes it
+        byte[] block = new byte[SaveFile.SCAN_BUFFER_SIZE];
+        // the start of a line that goes on in the next block
+        ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+        long blockStart = 0;
+        long lineStart = 0;
+        try (InputStream in = new FileInputStream(this.file)) {
+            int numRead = in.read(block);
+            while (numRead != -1) {
+                int nextNumRead = -1;
+                int lineBegin = 0;
+                for (int i = 0; i <= numRead; i++) {
+                    if (i == numRead) {
+                        lineBytes.write(block, lineBegin, numRead - lineBegin);
+                        nextNumRead = in.read(block);
+                        if (nextNumRead != -1 || lineBytes.size() == 0) {
+                            break;
+                        }
+                    } else if (block[i] != SaveFile.LINE_FEED) {
+                        continue;
+                    }
+
+                    String line;
+                    if (lineBytes.size() == 0) {
+                        line = SaveFile.decodeLine(block, lineBegin, i);
+                    } else {
+                        if (i < numRead) {
+                            lineBytes.write(block, lineBegin, i - lineBegin);
+                        }
+                        byte[] bytes = lineBytes.toByteArray();
+                        line = SaveFile.decodeLine(bytes, 0, bytes.length);
+                        lineBytes.reset();
+                    }
+                    long lineEnd = blockStart + Math.min(i + 1, numRead);
+                    int length = (int) (lineEnd - lineStart);
+
+                    if (treeBuilder == null) {
+                        // the first line tells whether there is a dictionary
+                        boolean hasDictionary = Storage.isHeader(line);
+                        dictionary = hasDictionary ? new ArrayList<>() : null;
+                        treeBuilder = new ChunkTreeBuilder(hasDictionary, 0, 0);
+                        if (!hasDictionary) {
+                            treeBuilder.addTaskLine(line, lineStart, length);
+                        }
+                    } else if (dictionary != null && line.startsWith(Storage.MARKER_DICTIONARY_ENTRY)) {
+                        dictionary.add(line.substring(Storage.MARKER_DICTIONARY_ENTRY.length()));
+                        treeBuilder.addDictionaryEntry(lineStart, length);
+                    } else {
+                        String canonicalLine = line;
+                        if (dictionary != null) {
+                            String reference = SaveFile.getDescription(line);
+                            canonicalLine = SaveFile.replaceDescription(line,
+                                Storage.resolveDescription(reference, dictionary));
+                        }
+                        treeBuilder.addTaskLine(canonicalLine, lineStart, length);
+                    }
+                    lineStart = lineEnd;
+                    lineBegin = i + 1;
+                }
+                blockStart += numRead;
+                numRead = nextNumRead;
+            }
+        }
+
+        this.bytesScanned += blockStart;
+        return treeBuilder == null ? new ChunkTreeBuilder(false, 0, 0).build() : treeBuilder.build();
+    }
+
+    private static String decodeLine(byte[] bytes, int start, int end) {
+        String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        return line.endsWith(SaveFile.CARRIAGE_RETURN) ? line.substring(0, line.length() - 1) : line;
+    }
+
+    /**
+     * Finds where the description of a task line starts, e.g. at 8 in T | 1 | read book
+     * The fields are found without splitting the line, as every line is looked at when the file is scanned.
+     *
+     * @return the index of the description, or -1 if the line has no description.
+     */
+    private static int findDescriptionStart(String line) {
+        int start = 0;
+        for (int i = 0; i < Task.getDescriptionIndex(); i++) {
+            int separatorIndex = line.indexOf(Task.getSeparator(), start);
+            if (separatorIndex < 0) {
+                return -1;
+            }
+            start = separatorIndex + Task.getSeparator().length();
+        }
+        return start;
+    }
+
+    private static int findDescriptionEnd(String line, int start) {
+        int end = line.indexOf(Task.getSeparator(), start);
+        return end < 0 ? line.length() : end;
+    }
+
+    private static String getDescription(String line) {
+        int start = SaveFile.findDescriptionStart(line);
+        return start < 0 ? "" : line.substring(start, SaveFile.findDescriptionEnd(line, start));
+    }
+
+    private static String replaceDescription(String line, String description) {
+        int start = SaveFile.findDescriptionStart(line);
+        if (start < 0) {
+            return line;
+        }
+        return line.substring(0, start) + description + line.substring(SaveFile.findDescriptionEnd(line, start));
+    }
+}
@@ -0,0 +1,194 @@
+package echo.storage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import echo.task.Task;
+
+/**
+ * Represents the changes made to a save file outside Echo since Echo last loaded or saved it,
+ * as tasks to remove, mark, unmark and insert, so they can be merged into the tasks in memory.
+ *
+ * Inserted tasks are kept as lines until Storage accepts the changes, and are only parsed then,
+ * while the caller holds the lock the tasks in memory are changed under.
+ */
+public class SaveFileChanges {
+    private final ArrayList<Task> removedTasks = new ArrayList<>();
+    private final ArrayList<Task> tasksToMarkDone = new ArrayList<>();
+    private final ArrayList<Task> tasksToMarkUndone = new ArrayList<>();
+    // each run of inserted tasks goes right after its anchor, or at the start for a null anchor
+    private final ArrayList<Task> insertionAnchors = new ArrayList<>();
+    private final ArrayList<ArrayList<String>> insertedLines = new ArrayList<>();
+    private final ArrayList<ArrayList<Task>> insertedTasks = new ArrayList<>();
+
+    // the save file as it is now, with a null for each inserted task until it is parsed
+    private final ArrayList<Task> baseTasks;
+    private final ChunkTree tree;
+    private final ArrayList<Task> tasks = new ArrayList<>();
+    private final BitSet doneFlags = new BitSet();
+    private final ArrayList<Integer> insertedIndexes = new ArrayList<>();
+    private final long length;
+    private final long modified;
+    private final long version;
+    private int numChunksRead;
+
+    /**
+     * Creates SaveFileChanges with no changes yet.
+     *
+     * @param baseTasks Tasks the save file held when Echo last loaded or saved it, which the changes are from.
+     * @param tree ChunkTree of the save file as it is now.
+     * @param length Length of the save file as it is now.
+     * @param modified Modification time of the save file as it is now.
+     * @param version Version in the header of the save file as it is now.
+     */
+    SaveFileChanges(ArrayList<Task> baseTasks, ChunkTree tree, long length, long modified, long version) {
+        this.baseTasks = baseTasks;
+        this.tree = tree;
+        this.length = length;
+        this.modified = modified;
+        this.version = version;
+    }
+
+    /**
+     * Adds a task of the save file that is still in it, with its completion status in the save file now.
+     */
+    void addKeptTask(Task task, boolean isDone) {
+        this.doneFlags.set(this.tasks.size(), isDone);
+        this.tasks.add(task);
+    }
+
+    /**
+     * Adds a task of the save file that is still in it but was marked or unmarked.
+     */
+    void addChangedTask(Task task, boolean isDone) {
+        (isDone ? this.tasksToMarkDone : this.tasksToMarkUndone).add(task);
+        this.addKeptTask(task, isDone);
+    }
+
+    void addRemovedTask(Task task) {
+        this.removedTasks.add(task);
+    }
+
+    /**
+     * Adds a task line that is new in the save file, right after the task before it.
+     *
+     * @param anchor Task before the line in the save file, or null if the line is the first one.
+     * @param canonicalLine The line with its description written out.
+     * @param isDone Whether the task of the line is done.
+     */
+    void addInsertedLine(Task anchor, String canonicalLine, boolean isDone) {
+        int lastRun = this.insertionAnchors.size() - 1;
+        boolean isSameRun = lastRun >= 0 && this.insertionAnchors.get(lastRun) == anchor
+            && this.insertedIndexes.get(this.insertedIndexes.size() - 1) == this.tasks.size() - 1;
+        if (!isSameRun) {
+            this.insertionAnchors.add(anchor);
+            this.insertedLines.add(new ArrayList<>());
+        }
+        this.insertedLines.get(this.insertedLines.size() - 1).add(canonicalLine);
+        this.insertedIndexes.add(this.tasks.size());
+        this.doneFlags.set(this.tasks.size(), isDone);
+        this.tasks.add(null);
+    }
+
+    void addChunkRead() {
+        this.numChunksRead++;
+    }
+
+    /**
+     * Replaces the inserted lines by the tasks parsed from them, in order.
+     */
+    void setInsertedTasks(ArrayList<Task> parsedTasks) {
+        int next = 0;
+        for (ArrayList<String> lines : this.insertedLines) {
+            ArrayList<Task> run = new ArrayList<>(parsedTasks.subList(next, next + lines.size()));
+            this.insertedTasks.add(run);
+            next += lines.size();
+        }
+        for (int i = 0; i < parsedTasks.size(); i++) {
+            this.tasks.set(this.insertedIndexes.get(i), parsedTasks.get(i));
+        }
+    }
+
+    ArrayList<ArrayList<String>> getInsertedLines() {
+        return this.insertedLines;
+    }
+
+    ArrayList<Task> getBaseTasks() {
+        return this.baseTasks;
+    }
+
+    ChunkTree getTree() {
+        return this.tree;
+    }
+
+    ArrayList<Task> getTasks() {
+        return this.tasks;
+    }
+
+    BitSet getDoneFlags() {
+        return this.doneFlags;
+    }
+
+    long getLength() {
+        return this.length;
+    }
+
+    long getModified() {
+        return this.modified;
+    }
+
+    long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Checks if the save file holds the same tasks it held when Echo last loaded or saved it.
+     *
+     * @return true if there is nothing to merge, else false.
+     */
+    public boolean isEmpty() {
+        return this.removedTasks.isEmpty() && this.tasksToMarkDone.isEmpty() && this.tasksToMarkUndone.isEmpty()
+            && this.insertionAnchors.isEmpty();
+    }
+
+    public ArrayList<Task> getRemovedTasks() {
+        return this.removedTasks;
+    }
+
+    public ArrayList<Task> getTasksToMarkDone() {
+        return this.tasksToMarkDone;
+    }
+
+    public ArrayList<Task> getTasksToMarkUndone() {
+        return this.tasksToMarkUndone;
+    }
+
+    public ArrayList<Task> getInsertionAnchors() {
+        return this.insertionAnchors;
+    }
+
+    /**
+     * Gets the runs of inserted tasks, each to be inserted after the anchor at the same index.
+     * Only available once Storage has accepted the changes.
+     *
+     * @return the runs of inserted tasks, in the order of the save file.
+     */
+    public ArrayList<ArrayList<Task>> getInsertedTasks() {
+        return this.insertedTasks;
+    }
+
+    public int getNumInsertedTasks() {
+        return this.insertedIndexes.size();
+    }
+
+    /**
+     * Gets the number of chunks of the save file whose tasks were read, out of getNumChunks.
+     */
+    public int getNumChunksRead() {
+        return this.numChunksRead;
+    }
+
+    public int getNumChunks() {
+        return this.tree.getChunks().size();
+    }
+}
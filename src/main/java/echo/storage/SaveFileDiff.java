@@ -0,0 +1,165 @@
+package echo.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import echo.exception.StorageException;
+import echo.task.Task;
+
+/**
+ * Works out how a save file changed since Echo last loaded or saved it, reading as little of it as it can.
+ *
+ * The ChunkTree of the save file as it was is lined up with the ChunkTree of the save file as it is now:
+ * chunks with the same hash in both hold the same tasks, so only the chunks in between are read.
+ * Within such a stretch, lines are matched to the old tasks by their contents without the completion status,
+ * in order, and whatever is left over was removed or inserted.
+ * Without the old ChunkTree, the whole save file is one such stretch.
+ */
+class SaveFileDiff {
+    private final ArrayList<Task> oldTasks;
+    private final BitSet oldDoneFlags;
+    private final SaveFile saveFile;
+    private final ChunkTree newTree;
+    private final SaveFileChanges changes;
+
+    /**
+     * Creates a SaveFileDiff.
+     *
+     * @param oldTasks Tasks the save file held when Echo last loaded or saved it.
+     * @param oldDoneFlags Completion status of each of oldTasks in the save file then.
+     * @param saveFile The save file.
+     * @param newTree ChunkTree of the save file as it is now.
+     * @param changes Changes to add the differences to.
+     */
+    SaveFileDiff(ArrayList<Task> oldTasks, BitSet oldDoneFlags, SaveFile saveFile, ChunkTree newTree,
+            SaveFileChanges changes) {
+        this.oldTasks = oldTasks;
+        this.oldDoneFlags = oldDoneFlags;
+        this.saveFile = saveFile;
+        this.newTree = newTree;
+        this.changes = changes;
+    }
+
+    /**
+     * Compares the save file as it is now with the old ChunkTree, stretch by stretch.
+     *
+     * @param oldTree ChunkTree of the save file when Echo last loaded or saved it, or null if there is none.
+     * @throws IOException If the save file could not be read.
+     * @throws StorageException If a description reference in the save file is invalid.
+     */
+    void compare(ChunkTree oldTree) throws IOException, StorageException {
+        ArrayList<Chunk> newChunks = this.newTree.getChunks();
+        if (oldTree == null) {
+            this.compareStretch(0, this.oldTasks.size(), 0, newChunks.size());
+            return;
+        }
+
+        ArrayList<Chunk> oldChunks = oldTree.getChunks();
+        // positions of each hash among the new chunks, in order
+        HashMap<ByteBuffer, ArrayDeque<Integer>> newPositions = new HashMap<>();
+        for (int i = 0; i < newChunks.size(); i++) {
+            newPositions.computeIfAbsent(ByteBuffer.wrap(newChunks.get(i).getHash()), hash -> new ArrayDeque<>())
+                .add(i);
+        }
+
+        int oldIndex = 0;
+        int newIndex = 0;
+        while (oldIndex < oldChunks.size() || newIndex < newChunks.size()) {
+            if (oldIndex < oldChunks.size() && newIndex < newChunks.size()
+                    && ByteBuffer.wrap(oldChunks.get(oldIndex).getHash())
+                        .equals(ByteBuffer.wrap(newChunks.get(newIndex).getHash()))) {
+                this.keepChunk(oldChunks.get(oldIndex));
+                oldIndex++;
+                newIndex++;
+                continue;
+            }
+
+            // the stretch of differing chunks ends at the next old chunk found further on among the new chunks
+            int nextOldIndex = oldIndex;
+            int nextNewIndex = newChunks.size();
+            for (; nextOldIndex < oldChunks.size(); nextOldIndex++) {
+                ArrayDeque<Integer> positions = newPositions.get(ByteBuffer.wrap(oldChunks.get(nextOldIndex)
+                    .getHash()));
+                while (positions != null && !positions.isEmpty() && positions.peek() < newIndex) {
+                    positions.poll();
+                }
+                if (positions != null && !positions.isEmpty()) {
+                    nextNewIndex = positions.peek();
+                    break;
+                }
+            }
+            this.compareStretch(SaveFileDiff.getFirstTaskIndex(oldChunks, oldIndex, this.oldTasks.size()),
+                SaveFileDiff.getFirstTaskIndex(oldChunks, nextOldIndex, this.oldTasks.size()),
+                newIndex, nextNewIndex);
+            oldIndex = nextOldIndex;
+            newIndex = nextNewIndex;
+        }
+    }
+
+    private static int getFirstTaskIndex(ArrayList<Chunk> chunks, int chunkIndex, int numTasks) {
+        return chunkIndex < chunks.size() ? chunks.get(chunkIndex).getFirstTaskIndex() : numTasks;
+    }
+
+    private void keepChunk(Chunk oldChunk) {
+        int end = oldChunk.getFirstTaskIndex() + oldChunk.getTaskCount();
+        for (int i = oldChunk.getFirstTaskIndex(); i < end; i++) {
+            this.changes.addKeptTask(this.oldTasks.get(i), this.oldDoneFlags.get(i));
+        }
+    }
+
+    /**
+     * Compares the old tasks in a range with the lines of a range of new chunks.
+     *
+     * @param oldStart Index of the first old task.
+     * @param oldEnd Index after the last old task.
+     * @param newStart Index of the first new chunk.
+     * @param newEnd Index after the last new chunk.
+     */
+    private void compareStretch(int oldStart, int oldEnd, int newStart, int newEnd)
+            throws IOException, StorageException {
+        // old tasks by their line without the completion status, in order
+        HashMap<String, ArrayDeque<Integer>> oldPositions = new HashMap<>();
+        for (int i = oldStart; i < oldEnd; i++) {
+            String identity = new SavedLine(this.oldTasks.get(i).saveRepresentation(), 0, i, null).getIdentity();
+            oldPositions.computeIfAbsent(identity, line -> new ArrayDeque<>()).add(i);
+        }
+
+        BitSet isMatched = new BitSet();
+        // the task the next inserted line goes after, which is in the save file before and after the change
+        Task anchor = oldStart > 0 ? this.oldTasks.get(oldStart - 1) : null;
+        int lastMatch = oldStart - 1;
+        for (int chunkIndex = newStart; chunkIndex < newEnd; chunkIndex++) {
+            this.changes.addChunkRead();
+            for (SavedLine line : this.saveFile.readChunk(this.newTree, this.newTree.getChunks().get(chunkIndex))) {
+                // only match forwards, so the old tasks that stay keep their order
+                ArrayDeque<Integer> positions = oldPositions.get(line.getIdentity());
+                while (positions != null && !positions.isEmpty() && positions.peek() <= lastMatch) {
+                    positions.poll();
+                }
+                if (positions == null || positions.isEmpty()) {
+                    this.changes.addInsertedLine(anchor, line.getCanonicalLine(), line.isDone());
+                    continue;
+                }
+
+                lastMatch = positions.poll();
+                isMatched.set(lastMatch);
+                anchor = this.oldTasks.get(lastMatch);
+                if (line.isDone() == this.oldDoneFlags.get(lastMatch)) {
+                    this.changes.addKeptTask(anchor, line.isDone());
+                } else {
+                    this.changes.addChangedTask(anchor, line.isDone());
+                }
+            }
+        }
+
+        for (int i = oldStart; i < oldEnd; i++) {
+            if (!isMatched.get(i)) {
+                this.changes.addRemovedTask(this.oldTasks.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package echo.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps other Echo instances, including those in other processes, from writing a save file while it is read
+ * or written. Shared locks can be held by many readers at once, while an exclusive lock is held by one writer.
+ *
+ * The lock is taken on a lock file next to the save file rather than on the save file itself, since saving
+ * replaces the save file with a new one, and some systems do not let other processes read a locked file.
+ * File locks are held on behalf of the whole process, so threads of this process take turns through an
+ * in-process lock per save file first. A thread already holding the lock of a save file can lock it again,
+ * e.g. to read it while writing it, except for writing while it only holds the lock for reading.
+ */
+public class SaveFileLock implements AutoCloseable {
+    private static final String SUFFIX_LOCK_FILE = ".lock";
+    private static final String ERROR_MESSAGE_UPGRADE = "Cannot lock %s for writing while only reading it!";
+    // one per save file, by canonical path
+    private static final ConcurrentHashMap<String, ThreadLock> THREAD_LOCKS = new ConcurrentHashMap<>();
+
+    private final ThreadLock threadLock;
+    // null if the thread already held the lock
+    private final FileChannel channel;
+    private final FileLock fileLock;
+
+    /**
+     * Represents the in-process lock of a save file, and whether its outermost holder only reads.
+     */
+    private static class ThreadLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean isShared;
+
+        void lock() {
+            this.lock.lock();
+        }
+
+        void unlock() {
+            this.lock.unlock();
+        }
+
+        boolean isHeldByCurrentThread() {
+            return this.lock.isHeldByCurrentThread();
+        }
+    }
+
+    private SaveFileLock(ThreadLock threadLock, FileChannel channel, FileLock fileLock) {
+        this.threadLock = threadLock;
+        this.channel = channel;
+        this.fileLock = fileLock;
+    }
+
+    /**
+     * Waits until no one is writing the save file, then locks it for reading.
+     *
+     * @param saveFile The save file.
+     * @return the lock, to be closed once the save file has been read.
+     * @throws IOException If the lock file could not be created or locked.
+     */
+    public static SaveFileLock lockForReading(File saveFile) throws IOException {
+        return SaveFileLock.lock(saveFile, true);
+    }
+
+    /**
+     * Waits until no one is reading or writing the save file, then locks it for writing.
+     *
+     * @param saveFile The save file.
+     * @return the lock, to be closed once the save file has been written.
+     * @throws IOException If the lock file could not be created or locked.
+     */
+    public static SaveFileLock lockForWriting(File saveFile) throws IOException {
+        return SaveFileLock.lock(saveFile, false);
+    }
+
+    public static String getLockFilePath(String saveFilePath) {
+        return saveFilePath + SaveFileLock.SUFFIX_LOCK_FILE;
+    }
+
+    private static SaveFileLock lock(File saveFile, boolean isShared) throws IOException {
+        File canonicalFile = saveFile.getCanonicalFile();
+        ThreadLock threadLock = SaveFileLock.THREAD_LOCKS.computeIfAbsent(canonicalFile.getPath(),
+            path -> new ThreadLock());
+        if (threadLock.isHeldByCurrentThread()) {
+            if (threadLock.isShared && !isShared) {
+                throw new IllegalStateException(SaveFileLock.ERROR_MESSAGE_UPGRADE.formatted(saveFile));
+            }
+            threadLock.lock();
+            return new SaveFileLock(threadLock, null, null);
+        }
+        threadLock.lock();
+
+        FileChannel channel = null;
+        try {
+            File lockFile = new File(SaveFileLock.getLockFilePath(canonicalFile.getPath()));
+            lockFile.getParentFile().mkdirs();
+            channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            FileLock fileLock = channel.lock(0, Long.MAX_VALUE, isShared);
+            threadLock.isShared = isShared;
+            return new SaveFileLock(threadLock, channel, fileLock);
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            threadLock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the lock.
+     *
+     * @throws IOException If the lock file could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (this.fileLock != null) {
+                this.fileLock.release();
+                this.channel.close();
+            }
+        } finally {
+            this.threadLock.unlock();
+        }
+    }
+}
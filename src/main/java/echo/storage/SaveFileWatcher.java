@@ -0,0 +1,106 @@
+package echo.storage;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the data directory for files created or changed by other programs, on a background thread.
+ *
+ * Writing a file usually causes a burst of events, so events are gathered until the directory has been quiet
+ * for a moment, and each changed file is then reported once. If events were lost because too many came
+ * at once, a null file name is reported, meaning that any file may have changed.
+ *
+ * A callback that throws does not stop the watching, the exception is printed and the next file is reported.
+ */
+public class SaveFileWatcher {
+    private static final String THREAD_NAME = "echo-file-watcher";
+    private static final long QUIET_MILLIS = 50;
+    // report changes even if the directory never goes quiet, e.g. while a large file is copied in
+    private static final long MAX_WAIT_MILLIS = 1000;
+    private static final String ERROR_MESSAGE_CALLBACK_FAILED = "The change to %s could not be handled: %s";
+
+    private final Path directory;
+    private final Consumer<String> onChange;
+    private WatchService watchService;
+
+    /**
+     * Creates a SaveFileWatcher. Nothing is watched until start is called.
+     *
+     * @param directory Directory to watch.
+     * @param onChange Called on the background thread with the name of each changed file, or null if unknown.
+     */
+    public SaveFileWatcher(String directory, Consumer<String> onChange) {
+        this.directory = Path.of(directory);
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts watching the directory, creating it if it does not exist.
+     *
+     * @throws IOException If the directory could not be created or watched.
+     */
+    public void start() throws IOException {
+        Files.createDirectories(this.directory);
+        this.watchService = this.directory.getFileSystem().newWatchService();
+        this.directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread watcher = new Thread(this::watch, SaveFileWatcher.THREAD_NAME);
+        // do not keep the application alive just to watch files
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    public void close() {
+        if (this.watchService == null) {
+            return;
+        }
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            // the background thread stops either way
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = this.watchService.take();
+                LinkedHashSet<String> changedFiles = new LinkedHashSet<>();
+                long deadline = System.currentTimeMillis() + SaveFileWatcher.MAX_WAIT_MILLIS;
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        boolean isOverflow = event.kind() == StandardWatchEventKinds.OVERFLOW;
+                        changedFiles.add(isOverflow ? null : event.context().toString());
+                    }
+                    key.reset();
+                    key = System.currentTimeMillis() < deadline
+                        ? this.watchService.poll(SaveFileWatcher.QUIET_MILLIS, TimeUnit.MILLISECONDS)
+                        : null;
+                }
+
+                for (String fileName : changedFiles) {
+                    try {
+                        this.onChange.accept(fileName);
+                    } catch (RuntimeException e) {
+                        System.out.println(SaveFileWatcher.ERROR_MESSAGE_CALLBACK_FAILED.formatted(fileName, e));
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed, so stop watching
+        }
+    }
+}
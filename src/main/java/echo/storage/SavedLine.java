@@ -0,0 +1,78 @@
+package echo.storage;
+
+import echo.task.Task;
+
+/**
+ * Represents a task line read from a chunk of a save file.
+ */
+public class SavedLine {
+    private final String canonicalLine;
+    private final long doneFlagOffset;
+    private final int taskIndex;
+    private final Chunk chunk;
+    // index of the completion status in the canonical line, right after the task type
+    private final int doneFlagIndex;
+
+    /**
+     * Creates a SavedLine.
+     *
+     * @param canonicalLine The line with its description written out, e.g. T | 1 | read book
+     * @param doneFlagOffset Byte offset of the completion status of the task in the save file.
+     * @param taskIndex Index of the task in the task list, starting from 0.
+     * @param chunk Chunk the line was read from.
+     */
+    public SavedLine(String canonicalLine, long doneFlagOffset, int taskIndex, Chunk chunk) {
+        this.canonicalLine = canonicalLine;
+        this.doneFlagOffset = doneFlagOffset;
+        this.taskIndex = taskIndex;
+        this.chunk = chunk;
+        this.doneFlagIndex = canonicalLine.indexOf(Task.getSeparator()) + Task.getSeparator().length();
+    }
+
+    /**
+     * Checks if the task of this line is done.
+     *
+     * @return true if the task is marked as done, else false.
+     */
+    public boolean isDone() {
+        return this.canonicalLine.startsWith(Task.getDoneMarker(true), this.doneFlagIndex);
+    }
+
+    /**
+     * Gets the line without its completion status, which is the same for a task in any save file
+     * whether or not it has been marked as done there.
+     *
+     * @return the line without its completion status.
+     */
+    public String getIdentity() {
+        return this.canonicalLine.substring(0, this.doneFlagIndex)
+            + this.canonicalLine.substring(this.doneFlagIndex + 1);
+    }
+
+    /**
+     * Gets the line with the completion status replaced.
+     *
+     * @param isDone Whether the task should be marked as done.
+     * @return the line with the given completion status.
+     */
+    public String getCanonicalLine(boolean isDone) {
+        return this.canonicalLine.substring(0, this.doneFlagIndex) + Task.getDoneMarker(isDone)
+            + this.canonicalLine.substring(this.doneFlagIndex + 1);
+    }
+
+    public String getCanonicalLine() {
+        return this.canonicalLine;
+    }
+
+    public long getDoneFlagOffset() {
+        return this.doneFlagOffset;
+    }
+
+    public int getTaskIndex() {
+        return this.taskIndex;
+    }
+
+    public Chunk getChunk() {
+        return this.chunk;
+    }
+}
@@ -1,16 +1,30 @@
 package echo.storage;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Scanner;
 
 import echo.exception.StorageException;
 import echo.exception.TaskException;
+import echo.monitoring.StorageLoadEvent;
+import echo.monitoring.StorageSaveEvent;
 import echo.task.Deadline;
+import echo.task.Dependency;
+import echo.task.DescriptionPool;
 import echo.task.Event;
+import echo.task.RecurringTask;
 import echo.task.Task;
 import echo.task.ToDo;
 
@@ -22,14 +36,64 @@ import echo.task.ToDo;
  *
  * The storage format uses a pipe-delimited text format where each line represents
  * a task with its type, completion status, description, and any date/time information.
+ *
+ * Descriptions are dictionary-encoded: the file starts with a header line, followed by one line per
+ * distinct description, and each task line refers to its description by its position in that dictionary.
+ * Files without the header are read as the older format with the description written out in every line.
+ *
+ * Every save also writes the ChunkTree of the file into a sidecar file, for comparing it with other save files,
+ * and the dependencies between the tasks into another, see DependencyFile.
+ *
+ * Storage remembers the tasks and ChunkTree of the file as it last loaded or saved it, so that when another
+ * program changes the file, e.g. a sync tool, the changes can be read chunk by chunk and merged into the tasks
+ * in memory instead of being overwritten by the next save. This state is guarded by the Storage itself,
+ * as changes are read on a background thread.
+ *
+ * Several Echo instances, even in different processes, can share a file. It is read under a shared SaveFileLock
+ * and written under an exclusive one, and its header holds a version that every write counts up, so a writer
+ * can tell if the file was written since it last loaded or saved it, see saveTasksIfUnchanged.
+ *
+ * The tasks are written into a temporary file next to the file, which then replaces the file in one atomic
+ * rename, so a crash or a failed write while saving leaves the file as it was.
  */
 public class Storage {
     private static final String ERROR_MESSAGE_INCORRECT_FORMAT =
         "Your data file is formatted incorrectly! Starting with an empty history...";
     private static final String ERROR_MESSAGE_INVALID_TASK_TYPE =
         "Invalid task type when parsing!";
+    private static final String ERROR_MESSAGE_INVALID_DESCRIPTION_REFERENCE =
+        "Invalid description reference %s when parsing!";
+    private static final String ERROR_MESSAGE_CHANGED_WHILE_READING =
+        "The data file %s changed again while its changes were being read!";
+    private static final String ERROR_MESSAGE_LOCK_FAIL = "The data file %s could not be locked: %s";
+    private static final String ERROR_MESSAGE_DEPENDENCIES_FAIL = "The dependencies of %s could not be read: %s";
+    // suffix of the temporary file a save is written into, which does not end in the suffix of a save file
+    private static final String SUFFIX_TEMP_FILE = ".tmp";
+
+    // first line of a file with a description dictionary, followed by its version in newer files,
+    // e.g. "#ECHO dict version 0000000000000000042", which has a fixed width so it can be changed in place
+    static final String HEADER_DICTIONARY = "#ECHO dict";
+    private static final String MARKER_VERSION = " version ";
+    private static final String FORMAT_VERSION = "%019d";
+    private static final int LENGTH_VERSION = 19;
+    // version of a file that does not exist or has no version in its header
+    static final long NO_VERSION = -1;
+    // marks a line of the description dictionary, e.g. "#DICT read book"
+    static final String MARKER_DICTIONARY_ENTRY = "#DICT ";
+    // marks a description field that refers to a dictionary entry, e.g. "T | 0 | @0"
+    static final String MARKER_DESCRIPTION_REFERENCE = "@";
 
     private final String path;
+    private final DescriptionPool descriptionPool;
+
+    // the file as it was last loaded or saved, null until then
+    private ArrayList<Task> savedTasks;
+    private BitSet savedDoneFlags;
+    // null if the sidecar file did not describe the file when it was loaded
+    private ChunkTree savedTree;
+    private long savedLength;
+    private long savedModified;
+    private long savedVersion = Storage.NO_VERSION;
 
     /**
      * Constructs a new Storage class
@@ -37,7 +101,18 @@ public class Storage {
      * @param path String file path to save and load tasks from
      */
     public Storage(String path) {
+        this(path, new DescriptionPool());
+    }
+
+    /**
+     * Constructs a new Storage class that interns the descriptions of loaded tasks into a pool.
+     *
+     * @param path String file path to save and load tasks from
+     * @param descriptionPool Pool to intern the descriptions of loaded tasks into
+     */
+    public Storage(String path, DescriptionPool descriptionPool) {
         this.path = path;
+        this.descriptionPool = descriptionPool;
     }
 
     /**
@@ -48,26 +123,243 @@ public class Storage {
      *     does not exist but cannot be created, or cannot be opened for any other reason
      */
     public void saveTasks(ArrayList<Task> tasks) throws IOException {
+        this.saveTasks(tasks, false);
+    }
+
+    /**
+     * Saves the tasks currently present in the tasks ArrayList into a file with this.path,
+     * and optionally waits for the file to be on disk.
+     * The sidecar file is not forced, since it is rebuilt if it does not match the save file.
+     *
+     * @param tasks ArrayList of Task for the to save
+     * @param isForced Whether to force the save file onto the disk before returning
+     * @throws IOException If the file exists but is a directory rather than a regular file,
+     *     does not exist but cannot be created, or cannot be opened for any other reason
+     */
+    public void saveTasks(ArrayList<Task> tasks, boolean isForced) throws IOException {
+        this.saveTasks(tasks, new ArrayList<>(), isForced);
+    }
+
+    /**
+     * Saves the tasks and the dependencies between them, optionally waiting for the save file to be on disk.
+     *
+     * @param tasks ArrayList of Task to save
+     * @param dependencies Dependencies between the tasks
+     * @param isForced Whether to force the save file onto the disk before returning
+     * @throws IOException If the file exists but is a directory rather than a regular file,
+     *     does not exist but cannot be created, or cannot be opened for any other reason
+     */
+    public void saveTasks(ArrayList<Task> tasks, List<Dependency> dependencies, boolean isForced)
+            throws IOException {
         File file = new File(this.path);
+        SaveFileLock lock = SaveFileLock.lockForWriting(file);
+        try {
+            long version;
+            synchronized (this) {
+                // versions start from 1, after the file did not exist or had no version
+                version = Math.max(Math.max(Storage.readVersion(file), this.savedVersion), 0) + 1;
+            }
+            this.writeTasks(tasks, dependencies, isForced, file, version);
+        } finally {
+            lock.close();
+        }
+    }
+
+    /**
+     * Saves the tasks like saveTasks, unless the file was written by someone else since it was last loaded
+     * or saved, in which case nothing is written. The changes made to the file can then be read with readChanges
+     * and merged into the tasks before trying again, so no one's changes are overwritten.
+     *
+     * @param tasks Tasks to save.
+     * @param isForced Whether to force the save file onto the disk before returning.
+     * @return true if the tasks were saved, or false if the file has changed.
+     * @throws IOException If the file could not be written.
+     */
+    public boolean saveTasksIfUnchanged(ArrayList<Task> tasks, boolean isForced) throws IOException {
+        return this.saveTasksIfUnchanged(tasks, new ArrayList<>(), isForced);
+    }
+
+    /**
+     * Saves the tasks and the dependencies between them like saveTasks, unless the file was written by someone else
+     * since it was last loaded or saved, see saveTasksIfUnchanged.
+     *
+     * @param tasks Tasks to save.
+     * @param dependencies Dependencies between the tasks.
+     * @param isForced Whether to force the save file onto the disk before returning.
+     * @return true if the tasks were saved, or false if the file has changed.
+     * @throws IOException If the file could not be written.
+     */
+    public boolean saveTasksIfUnchanged(ArrayList<Task> tasks, List<Dependency> dependencies, boolean isForced)
+            throws IOException {
+        File file = new File(this.path);
+        SaveFileLock lock = SaveFileLock.lockForWriting(file);
+        try {
+            long version;
+            synchronized (this) {
+                if (this.hasChangedOnDisk()) {
+                    return false;
+                }
+                version = Math.max(this.savedVersion, 0) + 1;
+            }
+            this.writeTasks(tasks, dependencies, isForced, file, version);
+            return true;
+        } finally {
+            lock.close();
+        }
+    }
+
+    /**
+     * Writes the tasks into a temporary file, forced onto the disk if asked to, then renames it over the file,
+     * while holding the exclusive SaveFileLock of the file. The temporary file is deleted if writing it fails.
+     */
+    private void writeTasks(ArrayList<Task> tasks, List<Dependency> dependencies, boolean isForced, File file,
+            long version) throws IOException {
+        StorageSaveEvent event = new StorageSaveEvent();
+        event.begin();
+
         // make parent directory if not exists
         File parentDir = file.getParentFile();
         if (!parentDir.exists()) {
             parentDir.mkdirs();
         }
 
-        // clear contents of file first
-        FileWriter clearWriter = new FileWriter(file, false);
-        clearWriter.close();
-
-        // append to the empty file
-        FileWriter writer = new FileWriter(file, true);
+        // number the distinct descriptions in order of first appearance, keeping the reference to each
+        LinkedHashMap<String, String> references = new LinkedHashMap<>();
         for (Task task : tasks) {
-            String saveString = task.saveRepresentation();
-            // save line with newline
-            writer.write(saveString + System.lineSeparator());
+            if (!references.containsKey(task.getDescription())) {
+                references.put(task.getDescription(), Storage.MARKER_DESCRIPTION_REFERENCE + references.size());
+            }
+        }
+
+        // write the new file, keeping track of where each line starts for the chunk tree
+        // every line is appended into the same builders and encoded into the same buffer
+        ChunkTreeBuilder treeBuilder = new ChunkTreeBuilder(true, 0, 0);
+        LineEncoder encoder = new LineEncoder();
+        StringBuilder line = new StringBuilder();
+        StringBuilder canonicalLine = new StringBuilder();
+        File tempFile = File.createTempFile(file.getName(), Storage.SUFFIX_TEMP_FILE, parentDir);
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(tempFile);
+                    OutputStream out = new BufferedOutputStream(fileOut)) {
+                long offset = encoder.writeLine(out, Storage.formatHeader(version));
+                for (String description : references.keySet()) {
+                    line.setLength(0);
+                    int length = encoder.writeLine(out,
+                        line.append(Storage.MARKER_DICTIONARY_ENTRY).append(description));
+                    treeBuilder.addDictionaryEntry(offset, length);
+                    offset += length;
+                }
+                for (Task task : tasks) {
+                    line.setLength(0);
+                    canonicalLine.setLength(0);
+                    String reference = references.get(task.getDescription());
+                    int length = encoder.writeLine(out, task.appendSaveRepresentation(line, reference));
+                    treeBuilder.addTaskLine(task.appendSaveRepresentation(canonicalLine), offset, length);
+                    offset += length;
+                }
+                out.flush();
+                if (isForced) {
+                    fileOut.getChannel().force(true);
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            // only still there if writing or renaming it failed
+            Files.deleteIfExists(tempFile.toPath());
+        }
+        ChunkTree tree = treeBuilder.build();
+        tree.write(file);
+        DependencyFile.write(file, version, tasks, dependencies);
+        this.rememberSavedState(tasks, tree, file, version);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = this.path;
+            event.taskCount = tasks.size();
+            event.bytesWritten = file.length();
+            event.commit();
+        }
+    }
+
+    static String formatHeader(long version) {
+        return Storage.HEADER_DICTIONARY + Storage.MARKER_VERSION + Storage.FORMAT_VERSION.formatted(version);
+    }
+
+    static boolean isHeader(String line) {
+        return line.equals(Storage.HEADER_DICTIONARY)
+            || line.startsWith(Storage.HEADER_DICTIONARY + Storage.MARKER_VERSION);
+    }
+
+    /**
+     * Gets the version in the header of a file.
+     *
+     * @param firstLine First line of the file.
+     * @return the version, or NO_VERSION if the header has none.
+     */
+    static long parseVersion(String firstLine) {
+        String prefix = Storage.HEADER_DICTIONARY + Storage.MARKER_VERSION;
+        if (firstLine.length() != prefix.length() + Storage.LENGTH_VERSION || !firstLine.startsWith(prefix)) {
+            return Storage.NO_VERSION;
+        }
+        try {
+            return Long.parseLong(firstLine.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return Storage.NO_VERSION;
+        }
+    }
+
+    /**
+     * Reads the version in the header of a file, without reading the rest of it.
+     *
+     * @return the version, or NO_VERSION if the file does not exist or its header has none.
+     */
+    static long readVersion(File file) throws IOException {
+        if (!file.isFile()) {
+            return Storage.NO_VERSION;
+        }
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            byte[] bytes = new byte[(int) Math.min(randomAccessFile.length(),
+                Storage.formatHeader(0).length())];
+            randomAccessFile.readFully(bytes);
+            return Storage.parseVersion(new String(bytes, StandardCharsets.UTF_8));
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Counts up the version in the header of a file in place, after the file was changed in place.
+     * A file without a version in its header is left as it is.
+     *
+     * @return the new version, or NO_VERSION if the header has none.
+     */
+    static long incrementVersion(File file) throws IOException {
+        long version = Storage.readVersion(file);
+        if (version == Storage.NO_VERSION) {
+            return Storage.NO_VERSION;
+        }
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.seek(Storage.HEADER_DICTIONARY.length() + Storage.MARKER_VERSION.length());
+            randomAccessFile.write(Storage.FORMAT_VERSION.formatted(version + 1).getBytes(StandardCharsets.US_ASCII));
+        } finally {
+            randomAccessFile.close();
         }
-        writer.close();
-        return;
+        DependencyFile.updateVersion(file, version, version + 1);
+        return version + 1;
+    }
+
+    /**
+     * Writes a line followed by a line separator.
+     *
+     * @return Number of bytes written.
+     */
+    static int writeLine(OutputStream out, String line) throws IOException {
+        byte[] bytes = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        out.write(bytes);
+        return bytes.length;
     }
 
     /**
@@ -78,6 +370,9 @@ public class Storage {
      * @throws TaskException if there was an error while creating a new Task after parsing.
      */
     public ArrayList<Task> loadTasks() throws FileNotFoundException, StorageException, TaskException {
+        StorageLoadEvent event = new StorageLoadEvent();
+        event.begin();
+
         File file = new File(this.path);
         File parentDir = file.getParentFile();
         if (!parentDir.exists()) {
@@ -86,42 +381,267 @@ public class Storage {
 
         boolean canRead = file.canRead();
         ArrayList<Task> tasks = new ArrayList<>();
-        if (canRead) {
-            Scanner scanner = new Scanner(file);
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                // parse the line
-                Task task = this.parseSavedTask(line);
-                tasks.add(task);
+        try {
+            SaveFileLock lock = SaveFileLock.lockForReading(file);
+            try {
+                long version = Storage.NO_VERSION;
+                if (canRead) {
+                    Scanner scanner = new Scanner(file, StandardCharsets.UTF_8.name());
+                    // older files have no dictionary and write the description out in every line
+                    ArrayList<String> dictionary = null;
+                    boolean isFirstLine = true;
+                    while (scanner.hasNextLine()) {
+                        String line = scanner.nextLine();
+                        if (isFirstLine && Storage.isHeader(line)) {
+                            dictionary = new ArrayList<>();
+                            version = Storage.parseVersion(line);
+                        } else if (dictionary != null && line.startsWith(Storage.MARKER_DICTIONARY_ENTRY)) {
+                            String description = line.substring(Storage.MARKER_DICTIONARY_ENTRY.length());
+                            dictionary.add(this.descriptionPool.intern(description));
+                        } else {
+                            // parse the line
+                            Task task = Storage.parseSavedTask(line, dictionary, this.descriptionPool);
+                            tasks.add(task);
+                        }
+                        isFirstLine = false;
+                    }
+                    scanner.close();
+                }
+                this.trackSavedTasks(tasks, version);
+            } finally {
+                lock.close();
             }
-            scanner.close();
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new StorageException(Storage.ERROR_MESSAGE_LOCK_FAIL.formatted(this.path, e.getMessage()));
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = this.path;
+            event.taskCount = tasks.size();
+            event.bytesRead = canRead ? file.length() : 0;
+            event.commit();
         }
         return tasks;
     }
 
+    /**
+     * Loads the dependencies between the tasks as they were last loaded or saved.
+     * Dependencies saved with an older version of the file are not loaded, as the file was rewritten since.
+     *
+     * @return the dependencies, which are empty if the tasks were never loaded or saved.
+     * @throws StorageException If the dependencies could not be read.
+     */
+    public ArrayList<Dependency> loadDependencies() throws StorageException {
+        ArrayList<Task> tasks;
+        long version;
+        synchronized (this) {
+            tasks = this.savedTasks;
+            version = this.savedVersion;
+        }
+        if (tasks == null) {
+            return new ArrayList<>();
+        }
+
+        File file = new File(this.path);
+        try {
+            SaveFileLock lock = SaveFileLock.lockForReading(file);
+            try {
+                return DependencyFile.read(file, version, tasks);
+            } finally {
+                lock.close();
+            }
+        } catch (IOException e) {
+            throw new StorageException(Storage.ERROR_MESSAGE_DEPENDENCIES_FAIL.formatted(this.path, e.getMessage()));
+        }
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * Remembers the tasks the file holds, e.g. after it was changed in place by syncing,
+     * so that only later changes by other programs are taken as changes.
+     * The ChunkTree in the sidecar file is used if it describes the file, else changes are read in full.
+     *
+     * @param tasks Tasks the file holds, in order.
+     * @param version Version of the file with those tasks, so that if the file was written by another Echo since,
+     *     that is taken as a change too.
+     */
+    public synchronized void trackSavedTasks(List<Task> tasks, long version) {
+        File file = new File(this.path);
+        ChunkTree tree;
+        try {
+            tree = ChunkTree.read(file);
+        } catch (IOException e) {
+            tree = null;
+        }
+        boolean isTreeUsable = tree != null && tree.isUpToDate(file) && tree.getNumTasks() == tasks.size();
+        this.rememberSavedState(tasks, isTreeUsable ? tree : null, file, version);
+    }
+
+    private synchronized void rememberSavedState(List<Task> tasks, ChunkTree tree, File file, long version) {
+        this.savedTasks = new ArrayList<>(tasks);
+        this.savedDoneFlags = new BitSet(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            this.savedDoneFlags.set(i, tasks.get(i).isDone());
+        }
+        this.savedTree = tree;
+        this.savedLength = file.length();
+        this.savedModified = file.lastModified();
+        this.savedVersion = version;
+    }
+
+    /**
+     * Checks if another program changed the file since it was last loaded or saved, going by its length,
+     * modification time and version. Whether its contents changed is only known once the changes are read.
+     *
+     * @return true if the file exists and its length, modification time or version changed, else false.
+     */
+    public synchronized boolean hasChangedOnDisk() {
+        File file = new File(this.path);
+        if (this.savedTasks == null || !file.isFile()) {
+            return false;
+        }
+        if (file.length() != this.savedLength || file.lastModified() != this.savedModified) {
+            return true;
+        }
+
+        // the modification time may be too coarse to tell apart two writes of the same length
+        try {
+            return Storage.readVersion(file) != this.savedVersion;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Reads how the file changed since it was last loaded or saved. Only the chunks of the file whose
+     * hashes differ from those in the remembered ChunkTree are read, and the tasks in them are not parsed
+     * until the changes are accepted, so this can run without holding the lock the tasks are changed under.
+     * Other Echo instances are kept from writing the file while it is read.
+     *
+     * @return the changes, which are empty if the file holds the same tasks, e.g. if it was only touched.
+     * @throws IOException If the file could not be read.
+     * @throws StorageException If the file is formatted incorrectly, or changed again while it was read,
+     *     e.g. as it is still being written.
+     */
+    public SaveFileChanges readChanges() throws IOException, StorageException {
+        ArrayList<Task> baseTasks;
+        BitSet baseDoneFlags;
+        ChunkTree baseTree;
+        synchronized (this) {
+            baseTasks = this.savedTasks == null ? new ArrayList<>() : this.savedTasks;
+            baseDoneFlags = this.savedDoneFlags == null ? new BitSet() : this.savedDoneFlags;
+            baseTree = this.savedTree;
+        }
+
+        File file = new File(this.path);
+        SaveFileLock lock = SaveFileLock.lockForReading(file);
+        try {
+            long length = file.length();
+            long modified = file.lastModified();
+            long version = Storage.readVersion(file);
+            SaveFile saveFile = new SaveFile(this.path);
+            ChunkTree tree = saveFile.scanTree();
+            SaveFileChanges changes = new SaveFileChanges(baseTasks, tree, length, modified, version);
+            if (baseTree != null && baseTree.hasSameRootHash(tree)) {
+                for (int i = 0; i < baseTasks.size(); i++) {
+                    changes.addKeptTask(baseTasks.get(i), baseDoneFlags.get(i));
+                }
+            } else {
+                new SaveFileDiff(baseTasks, baseDoneFlags, saveFile, tree, changes).compare(baseTree);
+            }
+
+            // programs other than Echo do not take the lock
+            if (file.length() != length || file.lastModified() != modified) {
+                throw new StorageException(Storage.ERROR_MESSAGE_CHANGED_WHILE_READING.formatted(this.path));
+            }
+            return changes;
+        } finally {
+            lock.close();
+        }
+    }
+
+    /**
+     * Parses the tasks inserted into the file and remembers the file as it is after the changes, unless the file
+     * was saved since the changes were read, in which case the changes are stale and nothing is done.
+     * Must be called while holding the lock the tasks are changed under, as it interns their descriptions.
+     *
+     * @param changes Changes read by readChanges.
+     * @return true if the changes can be merged into the tasks in memory, else false.
+     * @throws StorageException If an inserted task line is invalid, in which case nothing is changed.
+     */
+    public synchronized boolean acceptChanges(SaveFileChanges changes) throws StorageException {
+        if (changes.getBaseTasks() != this.savedTasks) {
+            return false;
+        }
+
+        ArrayList<Task> insertedTasks = new ArrayList<>(changes.getNumInsertedTasks());
+        for (ArrayList<String> lines : changes.getInsertedLines()) {
+            for (String line : lines) {
+                insertedTasks.add(this.parseTaskLine(line));
+            }
+        }
+        changes.setInsertedTasks(insertedTasks);
+        this.savedTasks = changes.getTasks();
+        this.savedDoneFlags = changes.getDoneFlags();
+        this.savedTree = changes.getTree();
+        this.savedLength = changes.getLength();
+        this.savedModified = changes.getModified();
+        this.savedVersion = changes.getVersion();
+        return true;
+    }
+
+    /**
+     * Parses a task line written without a description dictionary, e.g. one received from another save file.
+     *
+     * @param line Task line with its description written out, e.g. T | 1 | read book
+     * @return a new Task that has been created after successful parsing and creation
+     * @throws StorageException when the line is not a valid task
+     */
+    public Task parseTaskLine(String line) throws StorageException {
+        return Storage.parseSavedTask(line, null, this.descriptionPool);
+    }
+
     /**
      * Read each line in String and parses it to return a new Task
      * Lines that are expected from the file:
      * ToDo: T | 1 | read book
      * Deadline: D | 0 | return book | 2026-01-25 1000
      * Event: E | 1 | project meeting | 2026-01-27 1200 | 2026-01-27 1500
+     * RecurringTask: RE | 0 | standup | 2026-01-05 0900 | 2026-01-05 0915 | DAILY | 2026-03-31
+     * With a dictionary, the description is a reference to a dictionary entry instead, e.g. T | 1 | @0
      *
      * @param line String of a task that is currently in the File
+     * @param dictionary Descriptions of the file in order, or null if the file has no dictionary
+     * @param descriptionPool Pool to intern descriptions written out in the line into
      * @return a new Task that has been created after successful parsing and creation
-     * @throws StorageException when an invalid task type is detected
-     * @throws TaskException if there was an error constructing the new Task after parsing
+     * @throws StorageException when an invalid task type or description reference is detected
      */
-    private Task parseSavedTask(String line) throws StorageException {
+    static Task parseSavedTask(String line, ArrayList<String> dictionary, DescriptionPool descriptionPool)
+            throws StorageException {
         String[] args = line.split(Task.getSplitPattern());
         String taskMarker = args[Task.getTaskTypeIndex()];
+        int descriptionIndex = Task.getDescriptionIndex();
+        if (args.length > descriptionIndex) {
+            args[descriptionIndex] = dictionary == null
+                ? descriptionPool.intern(args[descriptionIndex])
+                : Storage.resolveDescription(args[descriptionIndex], dictionary);
+        }
 
         try {
             if (taskMarker.equals(ToDo.getMarker())) {
-                return ToDo.fromSaveFormat(line);
+                return ToDo.fromSaveArgs(args);
             } else if (taskMarker.equals(Deadline.getMarker())) {
-                return Deadline.fromSaveFormat(line);
+                return Deadline.fromSaveArgs(args);
             } else if (taskMarker.equals(Event.getMarker())) {
-                return Event.fromSaveFormat(line);
+                return Event.fromSaveArgs(args);
+            } else if (RecurringTask.isMarker(taskMarker)) {
+                return RecurringTask.fromSaveArgs(args);
             } else {
                 throw new StorageException(Storage.ERROR_MESSAGE_INVALID_TASK_TYPE);
             }
@@ -130,4 +650,27 @@ public class Storage {
         }
     }
 
+    /**
+     * Looks up the description a saved task refers to in the dictionary of the file.
+     *
+     * @param reference Description field of the saved task, e.g. @0
+     * @param dictionary Descriptions of the file in order
+     * @return the pooled description the reference points to
+     * @throws StorageException if the reference is malformed or points outside the dictionary
+     */
+    static String resolveDescription(String reference, List<String> dictionary) throws StorageException {
+        String errorMessage = Storage.ERROR_MESSAGE_INVALID_DESCRIPTION_REFERENCE.formatted(reference)
+            + "\n" + Storage.ERROR_MESSAGE_INCORRECT_FORMAT;
+        if (!reference.startsWith(Storage.MARKER_DESCRIPTION_REFERENCE)) {
+            throw new StorageException(errorMessage);
+        }
+
+        try {
+            int index = Integer.parseInt(reference.substring(Storage.MARKER_DESCRIPTION_REFERENCE.length()));
+            return dictionary.get(index);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new StorageException(errorMessage);
+        }
+    }
+
 }
@@ -0,0 +1,422 @@
+package echo.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import echo.exception.StorageException;
+import echo.task.DescriptionPool;
+import echo.task.Task;
+import echo.task.TimedTask;
+
+/**
+ * Keeps tasks in a page file, so that one task can be read or changed without reading or writing the others.
+ *
+ * Every task gets an id when it is inserted, one more than the last id given out, so tasks in id order are
+ * in the order they were inserted. A BPlusTree maps each id to the task in the save format without
+ * a dictionary, e.g. T | 1 | read book. Pages are only read when a lookup reaches them, through a BufferPool.
+ *
+ * Two more BPlusTrees index the ids of the Deadlines and Events by the minute they are due or start,
+ * one of them only those not done yet, like the AgendaIndex of a TaskManager. Range and upcoming queries
+ * then only read the index pages covering what they find, and give ids rather than tasks.
+ * RecurringTasks are not indexed, as their occurrences are worked out from the task.
+ *
+ * The header also records whether the tasks of a save file have been imported, so that they are only
+ * imported once even if every imported task is deleted later.
+ *
+ * Changes are kept in the BufferPool until flush, which writes the changed pages in place.
+ * A crash during flush can leave the file with only some of the pages written.
+ */
+public class TaskStore {
+    private static final String ERROR_MESSAGE_STORE_FAILED = "Saving to the page file failed due to: %s";
+    private static final String ERROR_MESSAGE_LOAD_FAILED = "Reading the page file failed due to: %s";
+    private static final String ERROR_MESSAGE_NOT_OPEN = "Task store is not open";
+    private static final String ERROR_MESSAGE_NO_SUCH_ID = "There is no task %d in the page file!";
+
+    // numbers kept in the header of the page file
+    private static final int METADATA_ID_ROOT = 0;
+    // root of the due time index of older page files, which also held RecurringTasks and is freed on open
+    private static final int METADATA_OLD_DUE_ROOT = 1;
+    private static final int METADATA_NEXT_ID = 2;
+    private static final int METADATA_NUM_TASKS = 3;
+    private static final int METADATA_SAVE_FILE_IMPORTED = 4;
+    private static final int METADATA_START_ROOT = 5;
+    private static final int METADATA_UNDONE_START_ROOT = 6;
+    // whether the two trees above hold every Deadline and Event, as page files before them do not
+    private static final int METADATA_AGENDA_BUILT = 7;
+    private static final long FIRST_ID = 1;
+    private static final long SECONDS_PER_MINUTE = 60;
+    private static final byte[] NO_VALUE = new byte[0];
+    // the id tree only uses the first long of its keys
+    private static final long NO_SECOND_KEY = 0;
+
+    private final String path;
+    private final DescriptionPool descriptionPool;
+    private final BufferPool pool;
+    private BPlusTree tasksById;
+    private BPlusTree idsByStart;
+    private BPlusTree undoneIdsByStart;
+
+    /**
+     * Creates a TaskStore over a page file, which is only opened by open.
+     *
+     * @param path Path of the page file, which is created if it does not exist.
+     * @param descriptionPool Pool to intern the descriptions of read tasks into.
+     * @param cachePages Number of pages to keep in memory.
+     */
+    public TaskStore(String path, DescriptionPool descriptionPool, int cachePages) {
+        this.path = path;
+        this.descriptionPool = descriptionPool;
+        this.pool = new BufferPool(path, cachePages);
+    }
+
+    /**
+     * Opens the page file, reading only its header page.
+     * A page file written before the agenda indexes were kept has them built once, reading every task.
+     *
+     * @throws StorageException If the page file could not be opened or is corrupted.
+     */
+    public void open() throws StorageException {
+        try {
+            this.pool.open();
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_LOAD_FAILED.formatted(e.getMessage()));
+        }
+        if (this.pool.getMetadata(TaskStore.METADATA_NEXT_ID) < TaskStore.FIRST_ID) {
+            this.pool.setMetadata(TaskStore.METADATA_NEXT_ID, TaskStore.FIRST_ID);
+        }
+        this.tasksById = new BPlusTree(this.pool, (int) this.pool.getMetadata(TaskStore.METADATA_ID_ROOT));
+        this.idsByStart = new BPlusTree(this.pool, (int) this.pool.getMetadata(TaskStore.METADATA_START_ROOT));
+        this.undoneIdsByStart = new BPlusTree(this.pool,
+            (int) this.pool.getMetadata(TaskStore.METADATA_UNDONE_START_ROOT));
+        try {
+            this.freeOldDueIndex();
+            if (this.pool.getMetadata(TaskStore.METADATA_AGENDA_BUILT) == 0) {
+                this.buildAgendaIndexes();
+            }
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_LOAD_FAILED.formatted(e.getMessage()));
+        }
+    }
+
+    /**
+     * Frees the pages of the due time index older page files kept, which nothing reads any more.
+     */
+    private void freeOldDueIndex() throws IOException {
+        int oldDueRoot = (int) this.pool.getMetadata(TaskStore.METADATA_OLD_DUE_ROOT);
+        if (oldDueRoot == BufferPool.NO_PAGE) {
+            return;
+        }
+        new BPlusTree(this.pool, oldDueRoot).clear();
+        this.pool.setMetadata(TaskStore.METADATA_OLD_DUE_ROOT, BufferPool.NO_PAGE);
+    }
+
+    private void buildAgendaIndexes() throws IOException, StorageException {
+        this.idsByStart.clear();
+        this.undoneIdsByStart.clear();
+        ArrayList<BPlusTree.Entry> entries = new ArrayList<>();
+        this.tasksById.scan(TaskStore.FIRST_ID, Long.MAX_VALUE, entries);
+        for (BPlusTree.Entry entry : entries) {
+            this.indexStart(entry.getFirst(), this.decode(entry.getValue()));
+        }
+        this.pool.setMetadata(TaskStore.METADATA_AGENDA_BUILT, 1);
+        this.updateRoots();
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * Gets the number of tasks in the store, without reading them.
+     *
+     * @return Number of tasks.
+     */
+    public long getNumTasks() {
+        return this.pool.getMetadata(TaskStore.METADATA_NUM_TASKS);
+    }
+
+    /**
+     * Checks whether the tasks of a save file have been imported into the store.
+     * Page files written before this was recorded count as imported once they have had a task.
+     *
+     * @return true if markSaveFileImported was called, or a task was ever inserted.
+     */
+    public boolean hasImportedSaveFile() {
+        return this.pool.getMetadata(TaskStore.METADATA_SAVE_FILE_IMPORTED) != 0
+            || this.pool.getMetadata(TaskStore.METADATA_NEXT_ID) > TaskStore.FIRST_ID;
+    }
+
+    /**
+     * Records in the header that the tasks of a save file have been imported, from the next flush.
+     */
+    public void markSaveFileImported() {
+        this.pool.setMetadata(TaskStore.METADATA_SAVE_FILE_IMPORTED, 1);
+    }
+
+    /**
+     * Adds a task with a new id.
+     *
+     * @param task Task to add.
+     * @return the id of the task.
+     * @throws StorageException If a page could not be read or written.
+     */
+    public long insert(Task task) throws StorageException {
+        assert this.tasksById != null : TaskStore.ERROR_MESSAGE_NOT_OPEN;
+
+        long id = this.pool.getMetadata(TaskStore.METADATA_NEXT_ID);
+        try {
+            this.tasksById.put(id, TaskStore.NO_SECOND_KEY, TaskStore.encode(task));
+            this.indexStart(id, task);
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_STORE_FAILED.formatted(e.getMessage()));
+        }
+        this.pool.setMetadata(TaskStore.METADATA_NEXT_ID, id + 1);
+        this.pool.setMetadata(TaskStore.METADATA_NUM_TASKS, this.getNumTasks() + 1);
+        this.updateRoots();
+        return id;
+    }
+
+    /**
+     * Replaces a task, e.g. after marking it as done. Only the leaf page holding the task is changed,
+     * and for a Deadline or Event, the leaf of the index of tasks not done yet holding its start.
+     * The dates of a task never change, so its entry in the index of every task stays as it is.
+     *
+     * @param id Id of the task.
+     * @param task Task to keep under the id.
+     * @throws StorageException If there is no task with the id, or a page could not be read or written.
+     */
+    public void update(long id, Task task) throws StorageException {
+        assert this.tasksById != null : TaskStore.ERROR_MESSAGE_NOT_OPEN;
+
+        try {
+            if (this.tasksById.get(id, TaskStore.NO_SECOND_KEY) == null) {
+                throw new StorageException(TaskStore.ERROR_MESSAGE_NO_SUCH_ID.formatted(id));
+            }
+            this.tasksById.put(id, TaskStore.NO_SECOND_KEY, TaskStore.encode(task));
+            if (task instanceof TimedTask) {
+                long key = TaskStore.toKey(((TimedTask) task).getStart());
+                this.undoneIdsByStart.remove(key, id);
+                if (!task.isDone()) {
+                    this.undoneIdsByStart.put(key, id, TaskStore.NO_VALUE);
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_STORE_FAILED.formatted(e.getMessage()));
+        }
+        this.updateRoots();
+    }
+
+    /**
+     * Removes a task.
+     *
+     * @param id Id of the task.
+     * @throws StorageException If there is no task with the id, a page could not be read or written,
+     *     or the saved task is corrupted.
+     */
+    public void delete(long id) throws StorageException {
+        assert this.tasksById != null : TaskStore.ERROR_MESSAGE_NOT_OPEN;
+
+        // the saved task tells which entries of the agenda indexes to remove
+        Task task = this.get(id);
+        try {
+            this.tasksById.remove(id, TaskStore.NO_SECOND_KEY);
+            if (task instanceof TimedTask) {
+                long key = TaskStore.toKey(((TimedTask) task).getStart());
+                this.idsByStart.remove(key, id);
+                this.undoneIdsByStart.remove(key, id);
+            }
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_STORE_FAILED.formatted(e.getMessage()));
+        }
+        this.pool.setMetadata(TaskStore.METADATA_NUM_TASKS, this.getNumTasks() - 1);
+        this.updateRoots();
+    }
+
+    /**
+     * Reads one task, reading only the pages on the way down to it.
+     *
+     * @param id Id of the task.
+     * @return the task.
+     * @throws StorageException If there is no task with the id, a page could not be read,
+     *     or the saved task is corrupted.
+     */
+    Task get(long id) throws StorageException {
+        assert this.tasksById != null : TaskStore.ERROR_MESSAGE_NOT_OPEN;
+
+        byte[] value;
+        try {
+            value = this.tasksById.get(id, TaskStore.NO_SECOND_KEY);
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_LOAD_FAILED.formatted(e.getMessage()));
+        }
+        if (value == null) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_NO_SUCH_ID.formatted(id));
+        }
+        return this.decode(value);
+    }
+
+    /**
+     * Reads every task.
+     *
+     * @return every task by id, in id order.
+     * @throws StorageException If a page could not be read, or a saved task is corrupted.
+     */
+    public LinkedHashMap<Long, Task> loadTasks() throws StorageException {
+        assert this.tasksById != null : TaskStore.ERROR_MESSAGE_NOT_OPEN;
+
+        ArrayList<BPlusTree.Entry> entries = new ArrayList<>();
+        try {
+            this.tasksById.scan(TaskStore.FIRST_ID, Long.MAX_VALUE, entries);
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_LOAD_FAILED.formatted(e.getMessage()));
+        }
+        LinkedHashMap<Long, Task> tasks = new LinkedHashMap<>();
+        for (BPlusTree.Entry entry : entries) {
+            tasks.put(entry.getFirst(), this.decode(entry.getValue()));
+        }
+        return tasks;
+    }
+
+    /**
+     * Finds the Deadlines and Events starting within a range of times, reading only the pages of the index
+     * covering the range.
+     *
+     * @param from Earliest start, inclusive.
+     * @param to Latest start, exclusive.
+     * @return the ids of the tasks found, in order of start time, and of id for tasks starting together.
+     * @throws StorageException If a page could not be read.
+     */
+    public ArrayList<Long> findIdsStartingBetween(LocalDateTime from, LocalDateTime to) throws StorageException {
+        assert this.tasksById != null : TaskStore.ERROR_MESSAGE_NOT_OPEN;
+
+        ArrayList<BPlusTree.Entry> entries = new ArrayList<>();
+        try {
+            this.idsByStart.scan(TaskStore.toFirstKeyFrom(from), TaskStore.toFirstKeyFrom(to) - 1, entries);
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_LOAD_FAILED.formatted(e.getMessage()));
+        }
+        return TaskStore.toIds(entries);
+    }
+
+    /**
+     * Finds the first few Deadlines and Events not done yet starting at or after a time, reading only
+     * the pages of the index of tasks not done yet up to the last one found.
+     *
+     * @param from Earliest start, inclusive.
+     * @param limit Maximum number of tasks to find.
+     * @return the ids of the tasks found, in order of start time, and of id for tasks starting together.
+     * @throws StorageException If a page could not be read.
+     */
+    public ArrayList<Long> findUndoneIdsStartingFrom(LocalDateTime from, int limit) throws StorageException {
+        assert this.tasksById != null : TaskStore.ERROR_MESSAGE_NOT_OPEN;
+
+        ArrayList<BPlusTree.Entry> entries = new ArrayList<>();
+        try {
+            this.undoneIdsByStart.scan(TaskStore.toFirstKeyFrom(from), Long.MAX_VALUE, limit, entries);
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_LOAD_FAILED.formatted(e.getMessage()));
+        }
+        return TaskStore.toIds(entries);
+    }
+
+    /**
+     * Writes the changed pages to the page file.
+     *
+     * @throws StorageException If the page file could not be written.
+     */
+    public void flush() throws StorageException {
+        this.flush(false);
+    }
+
+    /**
+     * Writes the changed pages to the page file, optionally forcing them onto the disk.
+     *
+     * @param isForced Whether to force the page file onto the disk before returning.
+     * @throws StorageException If the page file could not be written.
+     */
+    public void flush(boolean isForced) throws StorageException {
+        try {
+            this.pool.flush(isForced);
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_STORE_FAILED.formatted(e.getMessage()));
+        }
+    }
+
+    /**
+     * Flushes and closes the page file.
+     *
+     * @throws StorageException If the page file could not be written or closed.
+     */
+    public void close() throws StorageException {
+        try {
+            this.pool.close();
+        } catch (IOException e) {
+            throw new StorageException(TaskStore.ERROR_MESSAGE_STORE_FAILED.formatted(e.getMessage()));
+        }
+        this.tasksById = null;
+        this.idsByStart = null;
+        this.undoneIdsByStart = null;
+    }
+
+    public int getNumPages() {
+        return this.pool.getNumPages();
+    }
+
+    public long getPagesRead() {
+        return this.pool.getPagesRead();
+    }
+
+    public long getPagesWritten() {
+        return this.pool.getPagesWritten();
+    }
+
+    private void updateRoots() {
+        this.pool.setMetadata(TaskStore.METADATA_ID_ROOT, this.tasksById.getRootPage());
+        this.pool.setMetadata(TaskStore.METADATA_START_ROOT, this.idsByStart.getRootPage());
+        this.pool.setMetadata(TaskStore.METADATA_UNDONE_START_ROOT, this.undoneIdsByStart.getRootPage());
+    }
+
+    /**
+     * Adds a Deadline or Event to the agenda indexes, and to the index of tasks not done yet if it is not done.
+     */
+    private void indexStart(long id, Task task) throws IOException {
+        if (!(task instanceof TimedTask)) {
+            return;
+        }
+        long key = TaskStore.toKey(((TimedTask) task).getStart());
+        this.idsByStart.put(key, id, TaskStore.NO_VALUE);
+        if (!task.isDone()) {
+            this.undoneIdsByStart.put(key, id, TaskStore.NO_VALUE);
+        }
+    }
+
+    private static ArrayList<Long> toIds(ArrayList<BPlusTree.Entry> entries) {
+        ArrayList<Long> ids = new ArrayList<>(entries.size());
+        for (BPlusTree.Entry entry : entries) {
+            ids.add(entry.getSecond());
+        }
+        return ids;
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), TaskStore.SECONDS_PER_MINUTE);
+    }
+
+    // tasks start on a whole minute, so those starting at or after a time start from the next whole minute
+    private static long toFirstKeyFrom(LocalDateTime time) {
+        return -Math.floorDiv(-time.toEpochSecond(ZoneOffset.UTC), TaskStore.SECONDS_PER_MINUTE);
+    }
+
+    private Task decode(byte[] value) throws StorageException {
+        String line = new String(value, StandardCharsets.UTF_8);
+        return Storage.parseSavedTask(line, null, this.descriptionPool);
+    }
+
+    private static byte[] encode(Task task) {
+        return task.appendSaveRepresentation(new StringBuilder()).toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
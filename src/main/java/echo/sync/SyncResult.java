@@ -0,0 +1,83 @@
+package echo.sync;
+
+import java.util.ArrayList;
+
+import echo.task.Task;
+
+/**
+ * Represents the outcome of synchronizing the save file of Echo with another save file.
+ */
+public class SyncResult {
+    private final boolean isInSync;
+    private final ArrayList<Task> tasksAddedHere;
+    private final ArrayList<Integer> taskNumbersDoneHere;
+    private final int numTasksAddedThere;
+    private final int numTasksDoneThere;
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final long treeBytes;
+    private final long localVersion;
+
+    /**
+     * Creates a SyncResult.
+     *
+     * @param isInSync Whether both save files already had the same tasks.
+     * @param tasksAddedHere Tasks copied from the other save file, to be added to the current tasks.
+     * @param taskNumbersDoneHere Numbers of the current tasks marked as done in the other save file.
+     * @param numTasksAddedThere Number of tasks copied to the other save file.
+     * @param numTasksDoneThere Number of tasks marked as done in the other save file.
+     * @param bytesRead Number of bytes of task lines read from both save files.
+     * @param bytesWritten Number of bytes written into both save files.
+     * @param treeBytes Number of bytes of chunk trees read and written.
+     * @param localVersion Version of the save file of Echo after synchronizing.
+     */
+    public SyncResult(boolean isInSync, ArrayList<Task> tasksAddedHere, ArrayList<Integer> taskNumbersDoneHere,
+            int numTasksAddedThere, int numTasksDoneThere, long bytesRead, long bytesWritten, long treeBytes,
+            long localVersion) {
+        this.isInSync = isInSync;
+        this.tasksAddedHere = tasksAddedHere;
+        this.taskNumbersDoneHere = taskNumbersDoneHere;
+        this.numTasksAddedThere = numTasksAddedThere;
+        this.numTasksDoneThere = numTasksDoneThere;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.treeBytes = treeBytes;
+        this.localVersion = localVersion;
+    }
+
+    public boolean isInSync() {
+        return this.isInSync;
+    }
+
+    public ArrayList<Task> getTasksAddedHere() {
+        return this.tasksAddedHere;
+    }
+
+    public ArrayList<Integer> getTaskNumbersDoneHere() {
+        return this.taskNumbersDoneHere;
+    }
+
+    public int getNumTasksAddedThere() {
+        return this.numTasksAddedThere;
+    }
+
+    public int getNumTasksDoneThere() {
+        return this.numTasksDoneThere;
+    }
+
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return this.bytesWritten;
+    }
+
+    public long getTreeBytes() {
+        return this.treeBytes;
+    }
+
+    public long getLocalVersion() {
+        return this.localVersion;
+    }
+}
@@ -0,0 +1,210 @@
+package echo.sync;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import echo.exception.StorageException;
+import echo.storage.Chunk;
+import echo.storage.ChunkTree;
+import echo.storage.ChunkTreeBuilder;
+import echo.storage.SaveFile;
+import echo.storage.SaveFileLock;
+import echo.storage.SavedLine;
+import echo.storage.Storage;
+import echo.task.Task;
+
+/**
+ * Synchronizes the save file of Echo with another save file, e.g. one on a shared or removable drive.
+ *
+ * Both files are compared chunk by chunk through the hashes in their ChunkTrees, and only the chunks
+ * that differ are read. Tasks are matched by their save line without the completion status:
+ * a task in only one file is appended to the other, and a task done in one file is marked as done in the other.
+ * Merging is a union, so both files end up with the same tasks whichever file is synchronized with which,
+ * though not always in the same order, and tasks deleted from one file are copied back from the other.
+ *
+ * Both files are locked for writing while they are synchronized, and the version in the header of each file
+ * that changed is counted up, so other Echo instances using either file notice the changes.
+ */
+public class Synchronizer {
+    private static final String ERROR_MESSAGE_NO_SUCH_FILE = "There is no save file at %s to sync with!";
+    private static final String ERROR_MESSAGE_SAME_FILE = "Cannot sync the save file with itself!";
+    private static final String ERROR_MESSAGE_SYNC_FAILED = "Syncing failed due to: %s";
+    private static final String ERROR_MESSAGE_CHANGED_ELSEWHERE =
+        "The save file was just changed by another program! Try again once its changes are merged in.";
+
+    /**
+     * Synchronizes the save file of a Storage with another save file, changing both files.
+     * The save file of the Storage must hold the current tasks, in order.
+     *
+     * @param localStorage Storage of the current tasks.
+     * @param remotePath Path of the other save file.
+     * @return the changes to make to the current tasks, and how much of both files was read and written.
+     * @throws StorageException If the other save file does not exist, either file is formatted incorrectly,
+     *     the save file of the Storage was changed by another program since it was saved,
+     *     or either file could not be read or written.
+     */
+    public SyncResult sync(Storage localStorage, String remotePath) throws StorageException {
+        File localFile = new File(localStorage.getPath());
+        File remoteFile = new File(remotePath);
+        if (!remoteFile.isFile()) {
+            throw new StorageException(Synchronizer.ERROR_MESSAGE_NO_SUCH_FILE.formatted(remotePath));
+        }
+
+        try {
+            if (localFile.getCanonicalFile().equals(remoteFile.getCanonicalFile())) {
+                throw new StorageException(Synchronizer.ERROR_MESSAGE_SAME_FILE);
+            }
+            // always lock the files in the same order, so two syncs of the same files in opposite ways cannot
+            // wait for each other forever
+            boolean isLocalFirst = localFile.getCanonicalPath().compareTo(remoteFile.getCanonicalPath()) < 0;
+            SaveFileLock firstLock = SaveFileLock.lockForWriting(isLocalFirst ? localFile : remoteFile);
+            try {
+                SaveFileLock secondLock = SaveFileLock.lockForWriting(isLocalFirst ? remoteFile : localFile);
+                try {
+                    if (localStorage.hasChangedOnDisk()) {
+                        throw new StorageException(Synchronizer.ERROR_MESSAGE_CHANGED_ELSEWHERE);
+                    }
+                    return this.syncFiles(localStorage, new SaveFile(localFile.getPath()), new SaveFile(remotePath));
+                } finally {
+                    secondLock.close();
+                }
+            } finally {
+                firstLock.close();
+            }
+        } catch (IOException e) {
+            throw new StorageException(Synchronizer.ERROR_MESSAGE_SYNC_FAILED.formatted(e.getMessage()));
+        }
+    }
+
+    private SyncResult syncFiles(Storage localStorage, SaveFile here, SaveFile there)
+            throws IOException, StorageException {
+        ChunkTree hereTree = here.loadTree();
+        ChunkTree thereTree = there.loadTree();
+        if (hereTree.hasSameRootHash(thereTree)) {
+            return new SyncResult(true, new ArrayList<>(), new ArrayList<>(), 0, 0, 0, 0,
+                here.getTreeBytes() + there.getTreeBytes(), here.getVersion());
+        }
+
+        // only chunks without an identical chunk in the other file can hold differences
+        LinkedHashMap<Chunk, ArrayList<SavedLine>> hereChunks = new LinkedHashMap<>();
+        LinkedHashMap<Chunk, ArrayList<SavedLine>> thereChunks = new LinkedHashMap<>();
+        this.findDifferingChunks(hereTree, thereTree, hereChunks);
+        this.findDifferingChunks(thereTree, hereTree, thereChunks);
+        for (Chunk chunk : hereChunks.keySet()) {
+            hereChunks.put(chunk, here.readChunk(hereTree, chunk));
+        }
+        for (Chunk chunk : thereChunks.keySet()) {
+            thereChunks.put(chunk, there.readChunk(thereTree, chunk));
+        }
+
+        // pair up the lines of the same task, in file order so that duplicates pair up in order
+        HashMap<String, ArrayDeque<SavedLine>> unmatchedThere = new HashMap<>();
+        for (ArrayList<SavedLine> lines : thereChunks.values()) {
+            for (SavedLine line : lines) {
+                unmatchedThere.computeIfAbsent(line.getIdentity(), identity -> new ArrayDeque<>()).add(line);
+            }
+        }
+        ArrayList<SavedLine> toMarkHere = new ArrayList<>();
+        ArrayList<SavedLine> toMarkThere = new ArrayList<>();
+        ArrayList<String> toAppendThere = new ArrayList<>();
+        for (ArrayList<SavedLine> lines : hereChunks.values()) {
+            for (SavedLine line : lines) {
+                ArrayDeque<SavedLine> matches = unmatchedThere.get(line.getIdentity());
+                SavedLine match = matches == null ? null : matches.poll();
+                if (match == null) {
+                    toAppendThere.add(line.getCanonicalLine());
+                } else if (line.isDone() && !match.isDone()) {
+                    toMarkThere.add(match);
+                } else if (!line.isDone() && match.isDone()) {
+                    toMarkHere.add(line);
+                }
+            }
+        }
+        ArrayList<String> toAppendHere = new ArrayList<>();
+        for (ArrayList<SavedLine> lines : thereChunks.values()) {
+            for (SavedLine line : lines) {
+                ArrayDeque<SavedLine> matches = unmatchedThere.get(line.getIdentity());
+                if (matches.remove(line)) {
+                    toAppendHere.add(line.getCanonicalLine());
+                }
+            }
+        }
+
+        // check the tasks copied here before changing either file
+        ArrayList<Task> tasksAddedHere = new ArrayList<>();
+        for (String line : toAppendHere) {
+            tasksAddedHere.add(localStorage.parseTaskLine(line));
+        }
+        ArrayList<Integer> taskNumbersDoneHere = new ArrayList<>();
+        for (SavedLine line : toMarkHere) {
+            taskNumbersDoneHere.add(line.getTaskIndex() + 1);
+        }
+
+        this.markAsDone(here, hereChunks, toMarkHere);
+        this.markAsDone(there, thereChunks, toMarkThere);
+        here.append(hereTree, toAppendHere);
+        there.append(thereTree, toAppendThere);
+        boolean isChangedHere = !toMarkHere.isEmpty() || !toAppendHere.isEmpty();
+        long localVersion = isChangedHere ? here.incrementVersion() : here.getVersion();
+        if (!toMarkThere.isEmpty() || !toAppendThere.isEmpty()) {
+            there.incrementVersion();
+        }
+        here.saveTree(hereTree);
+        there.saveTree(thereTree);
+
+        // the same tasks may be in a different order, which needs no changes either
+        boolean isInSync = toMarkHere.isEmpty() && toMarkThere.isEmpty() && toAppendHere.isEmpty()
+            && toAppendThere.isEmpty();
+        return new SyncResult(isInSync, tasksAddedHere, taskNumbersDoneHere, toAppendThere.size(), toMarkThere.size(),
+            here.getBytesRead() + there.getBytesRead(), here.getBytesWritten() + there.getBytesWritten(),
+            here.getTreeBytes() + there.getTreeBytes(), localVersion);
+    }
+
+    /**
+     * Finds the chunks of a tree that do not have an identical chunk in the other tree,
+     * matching each chunk of the other tree at most once.
+     */
+    private void findDifferingChunks(ChunkTree tree, ChunkTree otherTree,
+            LinkedHashMap<Chunk, ArrayList<SavedLine>> differingChunks) {
+        HashMap<ByteBuffer, Integer> otherHashCounts = new HashMap<>();
+        for (Chunk chunk : otherTree.getChunks()) {
+            otherHashCounts.merge(ByteBuffer.wrap(chunk.getHash()), 1, Integer::sum);
+        }
+        for (Chunk chunk : tree.getChunks()) {
+            ByteBuffer hash = ByteBuffer.wrap(chunk.getHash());
+            int count = otherHashCounts.getOrDefault(hash, 0);
+            if (count > 0) {
+                otherHashCounts.put(hash, count - 1);
+            } else {
+                differingChunks.put(chunk, null);
+            }
+        }
+    }
+
+    /**
+     * Marks lines as done in place and updates the hashes of their chunks.
+     */
+    private void markAsDone(SaveFile saveFile, LinkedHashMap<Chunk, ArrayList<SavedLine>> chunks,
+            List<SavedLine> lines) throws IOException {
+        HashSet<SavedLine> linesToMark = new HashSet<>(lines);
+        HashSet<Chunk> changedChunks = new HashSet<>();
+        for (SavedLine line : lines) {
+            saveFile.setDone(line, true);
+            changedChunks.add(line.getChunk());
+        }
+        for (Chunk chunk : changedChunks) {
+            ArrayList<String> canonicalLines = new ArrayList<>();
+            for (SavedLine line : chunks.get(chunk)) {
+                canonicalLines.add(linesToMark.contains(line) ? line.getCanonicalLine(true) : line.getCanonicalLine());
+            }
+            chunk.setHash(ChunkTreeBuilder.hashChunk(canonicalLines));
+        }
+    }
+}
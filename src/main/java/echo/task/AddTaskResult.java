@@ -9,17 +9,21 @@ public class AddTaskResult {
     private final Task task;
     private final boolean hasConflict;
     private final ArrayList<Task> conflictingTasks;
+    private final int numTasks;
 
     /**
      * Constructs a TaskResult with the given task and conflict status.
      *
      * @param task the task associated with this result
      * @param hasConflict whether this task result has a conflict
+     * @param conflictingTasks tasks that conflict with the added task
+     * @param numTasks number of tasks after adding the task
      */
-    public AddTaskResult(Task task, boolean hasConflict, ArrayList<Task> conflictingTasks) {
+    public AddTaskResult(Task task, boolean hasConflict, ArrayList<Task> conflictingTasks, int numTasks) {
         this.task = task;
         this.hasConflict = hasConflict;
         this.conflictingTasks = conflictingTasks;
+        this.numTasks = numTasks;
     }
 
     public Task getTask() {
@@ -33,4 +37,8 @@ public class AddTaskResult {
     public ArrayList<Task> getConflictingTasks() {
         return this.conflictingTasks;
     }
+
+    public int getNumTasks() {
+        return this.numTasks;
+    }
 }
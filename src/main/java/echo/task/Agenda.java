@@ -0,0 +1,59 @@
+package echo.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import echo.exception.StorageException;
+
+/**
+ * Finds the TimedTasks of a TaskManager by the time they start, which is the due date of a Deadline
+ * and the start of an Event, for the agenda queries of the TaskManager.
+ *
+ * The TaskManager calls add, remove and update as its TimedTasks change. An Agenda can keep the tasks
+ * in memory, like AgendaIndex, or look them up somewhere the tasks are already kept up to date,
+ * in which case those calls can do nothing.
+ */
+public interface Agenda {
+
+    /**
+     * Called after a TimedTask has been added to the TaskManager.
+     *
+     * @param task TimedTask that was added.
+     */
+    void add(TimedTask task);
+
+    /**
+     * Called after a TimedTask has been removed from the TaskManager.
+     *
+     * @param task TimedTask that was removed.
+     */
+    void remove(TimedTask task);
+
+    /**
+     * Called after a TimedTask has been marked or unmarked.
+     *
+     * @param task TimedTask that was marked or unmarked.
+     */
+    void update(TimedTask task);
+
+    /**
+     * Gets the TimedTasks starting on any day from the first day to the last day, inclusive.
+     *
+     * @param firstDay First day of the range.
+     * @param lastDay Last day of the range.
+     * @return TimedTasks starting within the range, sorted by start time.
+     * @throws StorageException If the tasks are looked up in a file that could not be read.
+     */
+    ArrayList<TimedTask> findStartingBetween(LocalDate firstDay, LocalDate lastDay) throws StorageException;
+
+    /**
+     * Gets the first few undone TimedTasks that start at or after a given time.
+     *
+     * @param from Time to look for upcoming tasks from, usually the current time.
+     * @param limit Maximum number of tasks to return.
+     * @return Up to limit undone TimedTasks, sorted by start time.
+     * @throws StorageException If the tasks are looked up in a file that could not be read.
+     */
+    ArrayList<TimedTask> findUpcoming(LocalDateTime from, int limit) throws StorageException;
+}
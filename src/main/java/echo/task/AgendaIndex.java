@@ -0,0 +1,125 @@
+package echo.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.TreeMap;
+
+/**
+ * Keeps TimedTasks sorted by the time they start, which is the due date of a Deadline
+ * and the start of an Event.
+ *
+ * Range queries only visit the tasks inside the range, so they take O(log n + k) time
+ * for k tasks found, and the next few upcoming tasks are found without sorting the task list.
+ * The tasks not done yet are also kept in a tree of their own, so finding the next k upcoming tasks
+ * takes O(log n + k) time however many done tasks lie ahead. It is kept up to date through update,
+ * which must be called whenever a task is marked or unmarked.
+ */
+class AgendaIndex implements Agenda {
+    private static final String ERROR_MESSAGE_TASK_NULL = "Timed task is null";
+    private static final String ERROR_MESSAGE_LIMIT_NEGATIVE = "Limit is negative";
+
+    // tasks starting at the same time are kept in the order they were added
+    private final TreeMap<LocalDateTime, ArrayList<TimedTask>> tasksByStart = new TreeMap<>();
+    // tasks not done yet, those starting at the same time in the order they were added or unmarked
+    private final TreeMap<LocalDateTime, ArrayList<TimedTask>> undoneTasksByStart = new TreeMap<>();
+
+    /**
+     * Adds a TimedTask into the index.
+     *
+     * @param task TimedTask to be indexed.
+     */
+    @Override
+    public void add(TimedTask task) {
+        assert task != null : AgendaIndex.ERROR_MESSAGE_TASK_NULL;
+
+        this.tasksByStart.computeIfAbsent(task.getStart(), key -> new ArrayList<>()).add(task);
+        if (!task.isDone()) {
+            this.undoneTasksByStart.computeIfAbsent(task.getStart(), key -> new ArrayList<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes a TimedTask from the index.
+     *
+     * @param task TimedTask to be removed.
+     */
+    @Override
+    public void remove(TimedTask task) {
+        assert task != null : AgendaIndex.ERROR_MESSAGE_TASK_NULL;
+
+        AgendaIndex.removeFrom(this.tasksByStart, task);
+        AgendaIndex.removeFrom(this.undoneTasksByStart, task);
+    }
+
+    /**
+     * Moves a TimedTask that was marked or unmarked into or out of the tasks not done yet.
+     *
+     * @param task TimedTask that was marked or unmarked.
+     */
+    @Override
+    public void update(TimedTask task) {
+        assert task != null : AgendaIndex.ERROR_MESSAGE_TASK_NULL;
+
+        AgendaIndex.removeFrom(this.undoneTasksByStart, task);
+        if (!task.isDone()) {
+            this.undoneTasksByStart.computeIfAbsent(task.getStart(), key -> new ArrayList<>()).add(task);
+        }
+    }
+
+    /**
+     * Gets the TimedTasks starting on any day from the first day to the last day, inclusive.
+     *
+     * @param firstDay First day of the range.
+     * @param lastDay Last day of the range.
+     * @return TimedTasks starting within the range, sorted by start time.
+     */
+    @Override
+    public ArrayList<TimedTask> findStartingBetween(LocalDate firstDay, LocalDate lastDay) {
+        LocalDateTime from = firstDay.atStartOfDay();
+        LocalDateTime to = lastDay.plusDays(1).atStartOfDay();
+
+        ArrayList<TimedTask> found = new ArrayList<>();
+        for (ArrayList<TimedTask> tasksAtStart : this.tasksByStart.subMap(from, true, to, false).values()) {
+            found.addAll(tasksAtStart);
+        }
+        return found;
+    }
+
+    /**
+     * Gets the first few undone TimedTasks that start at or after a given time.
+     *
+     * @param from Time to look for upcoming tasks from, usually the current time.
+     * @param limit Maximum number of tasks to return.
+     * @return Up to limit undone TimedTasks, sorted by start time.
+     */
+    @Override
+    public ArrayList<TimedTask> findUpcoming(LocalDateTime from, int limit) {
+        assert limit >= 0 : AgendaIndex.ERROR_MESSAGE_LIMIT_NEGATIVE;
+
+        ArrayList<TimedTask> found = new ArrayList<>();
+        Collection<ArrayList<TimedTask>> laterTasks = this.undoneTasksByStart.tailMap(from, true).values();
+        for (ArrayList<TimedTask> tasksAtStart : laterTasks) {
+            for (TimedTask task : tasksAtStart) {
+                if (found.size() >= limit) {
+                    return found;
+                }
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    private static void removeFrom(TreeMap<LocalDateTime, ArrayList<TimedTask>> tasksByStart, TimedTask task) {
+        ArrayList<TimedTask> tasksAtStart = tasksByStart.get(task.getStart());
+        if (tasksAtStart == null) {
+            return;
+        }
+        // remove by identity, two tasks with the same details are still different tasks
+        tasksAtStart.removeIf(indexedTask -> indexedTask == task);
+        if (tasksAtStart.isEmpty()) {
+            tasksByStart.remove(task.getStart());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package echo.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Keeps a set of terms so that the terms within a few edits of a word can be found without
+ * comparing the word with every term.
+ *
+ * Every child of a node is filed under its edit distance from the node. By the triangle inequality,
+ * a term within k edits of the word can only be under a child whose distance is within k of the
+ * distance between the word and the node, so the other children are skipped.
+ * Terms cannot be removed, the owner skips terms it no longer has and rebuilds the tree now and then.
+ */
+class BkTree {
+    private static final String ERROR_MESSAGE_TERM_NULL = "Term is null";
+
+    private Node root;
+    private int size;
+    // rows of the edit distance table, reused by every comparison
+    private int[] previousRow = new int[0];
+    private int[] currentRow = new int[0];
+
+    /**
+     * Adds a term, unless the tree has it already.
+     *
+     * @param term Term to add.
+     * @return true if the term was added, false if the tree already had it.
+     */
+    boolean add(String term) {
+        assert term != null : BkTree.ERROR_MESSAGE_TERM_NULL;
+
+        if (this.root == null) {
+            this.root = new Node(term);
+            this.size++;
+            return true;
+        }
+
+        Node node = this.root;
+        while (true) {
+            int distance = this.getEditDistance(term, node.term);
+            if (distance == 0) {
+                return false;
+            }
+            Node child = node.getChild(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(term));
+                this.size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds the terms within a number of edits of a word.
+     *
+     * @param word Word to look for.
+     * @param maxDistance Largest number of insertions, deletions and substitutions allowed.
+     * @return each term found with its distance from the word, in no particular order.
+     */
+    ArrayList<Match> findWithin(String word, int maxDistance) {
+        ArrayList<Match> matches = new ArrayList<>();
+        if (this.root == null) {
+            return matches;
+        }
+
+        ArrayList<Node> pending = new ArrayList<>();
+        pending.add(this.root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int distance = this.getEditDistance(word, node.term);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.term, distance));
+            }
+            int lastChildDistance = Math.min(distance + maxDistance, node.children.length - 1);
+            for (int childDistance = Math.max(1, distance - maxDistance); childDistance <= lastChildDistance;
+                    childDistance++) {
+                Node child = node.children[childDistance];
+                if (child != null) {
+                    pending.add(child);
+                }
+            }
+        }
+        return matches;
+    }
+
+    int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two terms, keeping only two rows of the table.
+     */
+    private int getEditDistance(String first, String second) {
+        if (this.previousRow.length <= second.length()) {
+            this.previousRow = new int[second.length() + 1];
+            this.currentRow = new int[second.length() + 1];
+        }
+        int[] previous = this.previousRow;
+        int[] current = this.currentRow;
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            char firstChar = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (firstChar == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    /**
+     * A term found near a word, and how many edits away from it the term is.
+     */
+    static class Match {
+        private final String term;
+        private final int distance;
+
+        Match(String term, int distance) {
+            this.term = term;
+            this.distance = distance;
+        }
+
+        String getTerm() {
+            return this.term;
+        }
+
+        int getDistance() {
+            return this.distance;
+        }
+    }
+
+    private static class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final String term;
+        // children indexed by their distance from this term, which is never more than the longer term's length
+        private Node[] children = Node.NO_CHILDREN;
+
+        Node(String term) {
+            this.term = term;
+        }
+
+        Node getChild(int distance) {
+            return distance < this.children.length ? this.children[distance] : null;
+        }
+
+        void setChild(int distance, Node child) {
+            if (distance >= this.children.length) {
+                this.children = Arrays.copyOf(this.children, distance + 1);
+            }
+            this.children[distance] = child;
+        }
+    }
+}
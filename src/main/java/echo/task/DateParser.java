@@ -0,0 +1,281 @@
+package echo.task;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import echo.exception.TaskException;
+
+/**
+ * Parses the dates users type, e.g. "2026-01-25 1800", "tomorrow 6pm", "next mon", "in 3 days" or "2026-01-25",
+ * into the times they stand for.
+ *
+ * Phrases are matched against a grammar compiled once, into an expression that can be resolved against
+ * any current time, so the most recently parsed phrases are kept with their expressions and typing them again
+ * only resolves the expression. Phrases without a day fall on a default day and phrases without a time
+ * at a default time, both given by the caller, e.g. the end of the day for a deadline.
+ *
+ * Thread-safe.
+ */
+public class DateParser {
+    private static final String DAY = "(?:(?<relativeDay>today|tomorrow|tmr)"
+        + "|(?:(?<modifier>next|this)\\s+)?(?<weekday>mon(?:day)?|tue(?:s|sday)?|wed(?:nesday)?"
+        + "|thu(?:r|rs|rsday)?|fri(?:day)?|sat(?:urday)?|sun(?:day)?)"
+        + "|in\\s+(?<amount>\\d{1,4})\\s+(?<unit>day|week|month|year)s?"
+        + "|(?<date>\\d{4}-\\d{2}-\\d{2}))";
+    private static final String TIME = "(?:(?<hour24>\\d{2})(?<minute24>\\d{2})"
+        + "|(?<hour12>\\d{1,2})(?::(?<minute12>\\d{2}))?\\s*(?<meridiem>am|pm)"
+        + "|(?<hourColon>\\d{1,2}):(?<minuteColon>\\d{2})"
+        + "|(?<namedTime>noon|midnight))";
+    // the same groups appear in several alternatives, so each alternative gives its groups a prefix
+    private static final String PREFIX_TIME_FIRST = "timeFirst";
+    private static final String PREFIX_TIME_ONLY = "timeOnly";
+    private static final Pattern PATTERN_PHRASE = Pattern.compile("in\\s+(?<amountSoon>\\d{1,4})\\s+"
+            + "(?<unitSoon>min|minute|hour)s?"
+            + "|" + DateParser.DAY + "(?:\\s+(?:at\\s+)?" + DateParser.TIME + ")?"
+            + "|" + DateParser.withPrefix(DateParser.TIME + "\\s+" + DateParser.DAY, DateParser.PREFIX_TIME_FIRST)
+            + "|" + DateParser.withPrefix(DateParser.TIME, DateParser.PREFIX_TIME_ONLY),
+        Pattern.CASE_INSENSITIVE);
+
+    // parses days the way TimedTask.FORMATTER_TO_SAVE does, so typing a full date and time works as it used to
+    private static final DateTimeFormatter FORMATTER_DATE = DateTimeFormatter.ofPattern("uuuu-MM-dd")
+        .withResolverStyle(ResolverStyle.STRICT);
+
+    private static final String MODIFIER_NEXT = "next";
+    private static final String DAY_TODAY = "today";
+    private static final String UNIT_MINUTE = "min";
+    private static final String UNIT_WEEK = "week";
+    private static final String UNIT_MONTH = "month";
+    private static final String UNIT_YEAR = "year";
+    private static final String TIME_NOON = "noon";
+    private static final String MERIDIEM_PM = "pm";
+    private static final int NUM_WEEKDAY_LETTERS = 3;
+    private static final int HOURS_PER_HALF_DAY = 12;
+    private static final String[] WEEKDAYS = {"mon", "tue", "wed", "thu", "fri", "sat", "sun"};
+
+    private static final String ERROR_MESSAGE_PHRASE_NULL = "Date phrase is null";
+
+    private final int capacity;
+    private final LinkedHashMap<String, DateExpression> expressions;
+
+    /**
+     * Represents a parsed phrase, which gives a time once the current time and the defaults are known.
+     */
+    private interface DateExpression {
+        LocalDateTime resolve(LocalDateTime now, LocalDate defaultDate, LocalTime defaultTime);
+    }
+
+    /**
+     * Creates a DateParser.
+     *
+     * @param capacity Maximum number of recently parsed phrases to keep, or 0 to keep none.
+     */
+    public DateParser(int capacity) {
+        this.capacity = capacity;
+        // in access order, so the least recently used phrase comes first
+        this.expressions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Parses a date typed by the user.
+     *
+     * @param phrase The date, e.g. "tomorrow 6pm".
+     * @param now The current time, which relative dates such as "tomorrow" are counted from.
+     * @param defaultDate Day of a phrase that only gives a time, e.g. "6pm".
+     * @param defaultTime Time of a phrase that only gives a day, e.g. "next mon".
+     * @return the time the phrase stands for.
+     * @throws TaskException If the phrase is not a date.
+     */
+    public LocalDateTime parse(String phrase, LocalDateTime now, LocalDate defaultDate, LocalTime defaultTime)
+            throws TaskException {
+        assert phrase != null : DateParser.ERROR_MESSAGE_PHRASE_NULL;
+
+        String key = phrase.strip();
+        DateExpression expression;
+        synchronized (this) {
+            expression = this.expressions.get(key);
+        }
+        if (expression == null) {
+            expression = DateParser.compile(key);
+            this.remember(key, expression);
+        }
+        return expression.resolve(now, defaultDate, defaultTime);
+    }
+
+    /**
+     * Writes a time as it is saved, e.g. 2026-01-25 1800, which is also how it can be typed.
+     *
+     * @param dateTime The time.
+     * @return the time in its saved form.
+     */
+    public static String toSaveFormat(LocalDateTime dateTime) {
+        return DateTimeWriter.appendSave(new StringBuilder(), dateTime).toString();
+    }
+
+    /**
+     * Gets the number of phrases kept.
+     */
+    public synchronized int size() {
+        return this.expressions.size();
+    }
+
+    private synchronized void remember(String key, DateExpression expression) {
+        if (this.capacity == 0) {
+            return;
+        }
+        this.expressions.put(key, expression);
+        if (this.expressions.size() > this.capacity) {
+            Iterator<String> keys = this.expressions.keySet().iterator();
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static DateExpression compile(String phrase) throws TaskException {
+        Matcher matcher = DateParser.PATTERN_PHRASE.matcher(phrase);
+        if (!matcher.matches()) {
+            throw new TaskException(TimedTask.ERROR_MESSAGE_DATE_WRONG_FORMAT);
+        }
+
+        try {
+            String amountSoon = matcher.group("amountSoon");
+            if (amountSoon != null) {
+                long minutes = Long.parseLong(amountSoon);
+                if (!matcher.group("unitSoon").toLowerCase(Locale.ROOT).startsWith(DateParser.UNIT_MINUTE)) {
+                    minutes *= ChronoUnit.HOURS.getDuration().toMinutes();
+                }
+                long minutesFromNow = minutes;
+                return (now, defaultDate, defaultTime) -> now.truncatedTo(ChronoUnit.MINUTES)
+                    .plusMinutes(minutesFromNow);
+            }
+
+            String prefix = "";
+            if (matcher.group(DateParser.PREFIX_TIME_ONLY) != null) {
+                prefix = DateParser.PREFIX_TIME_ONLY;
+            } else if (matcher.group(DateParser.PREFIX_TIME_FIRST) != null) {
+                prefix = DateParser.PREFIX_TIME_FIRST;
+            }
+            UnaryOperator<LocalDate> day = DateParser.compileDay(matcher, prefix);
+            LocalTime time = DateParser.compileTime(matcher, prefix);
+            return (now, defaultDate, defaultTime) -> (day == null ? defaultDate : day.apply(now.toLocalDate()))
+                .atTime(time == null ? defaultTime : time);
+        } catch (DateTimeException | NumberFormatException e) {
+            throw new TaskException(TimedTask.ERROR_MESSAGE_DATE_WRONG_FORMAT);
+        }
+    }
+
+    /**
+     * Gets the day a phrase gives, from the groups whose names start with a prefix.
+     *
+     * @return a function from today to the day, or null if the phrase has no day.
+     */
+    private static UnaryOperator<LocalDate> compileDay(Matcher matcher, String prefix) {
+        if (prefix.equals(DateParser.PREFIX_TIME_ONLY)) {
+            return null;
+        }
+
+        String relativeDay = matcher.group(prefix + "relativeDay");
+        if (relativeDay != null) {
+            long days = relativeDay.equalsIgnoreCase(DateParser.DAY_TODAY) ? 0 : 1;
+            return today -> today.plusDays(days);
+        }
+
+        String weekday = matcher.group(prefix + "weekday");
+        if (weekday != null) {
+            String modifier = matcher.group(prefix + "modifier");
+            DayOfWeek dayOfWeek = DateParser.toDayOfWeek(weekday);
+            // "next mon" is never today, but "mon" and "this mon" are if today is a Monday
+            TemporalAdjuster adjuster = modifier != null && modifier.equalsIgnoreCase(DateParser.MODIFIER_NEXT)
+                ? TemporalAdjusters.next(dayOfWeek) : TemporalAdjusters.nextOrSame(dayOfWeek);
+            return today -> today.with(adjuster);
+        }
+
+        String amount = matcher.group(prefix + "amount");
+        if (amount != null) {
+            long numUnits = Long.parseLong(amount);
+            ChronoUnit unit = DateParser.toUnit(matcher.group(prefix + "unit"));
+            return today -> today.plus(numUnits, unit);
+        }
+
+        LocalDate date = LocalDate.parse(matcher.group(prefix + "date"), DateParser.FORMATTER_DATE);
+        return today -> date;
+    }
+
+    /**
+     * Gets the time a phrase gives, from the groups whose names start with a prefix.
+     *
+     * @return the time, or null if the phrase has none.
+     */
+    private static LocalTime compileTime(Matcher matcher, String prefix) {
+        String hour24 = matcher.group(prefix + "hour24");
+        if (hour24 != null) {
+            return LocalTime.of(Integer.parseInt(hour24), Integer.parseInt(matcher.group(prefix + "minute24")));
+        }
+
+        String hour12 = matcher.group(prefix + "hour12");
+        if (hour12 != null) {
+            int hour = Integer.parseInt(hour12);
+            if (hour == 0 || hour > DateParser.HOURS_PER_HALF_DAY) {
+                throw new DateTimeException(hour12);
+            }
+            String minute = matcher.group(prefix + "minute12");
+            boolean isPm = matcher.group(prefix + "meridiem").equalsIgnoreCase(DateParser.MERIDIEM_PM);
+            return LocalTime.of(hour % DateParser.HOURS_PER_HALF_DAY + (isPm ? DateParser.HOURS_PER_HALF_DAY : 0),
+                minute == null ? 0 : Integer.parseInt(minute));
+        }
+
+        String hourColon = matcher.group(prefix + "hourColon");
+        if (hourColon != null) {
+            return LocalTime.of(Integer.parseInt(hourColon), Integer.parseInt(matcher.group(prefix + "minuteColon")));
+        }
+
+        String namedTime = matcher.group(prefix + "namedTime");
+        if (namedTime != null) {
+            return namedTime.equalsIgnoreCase(DateParser.TIME_NOON) ? LocalTime.NOON : LocalTime.MIDNIGHT;
+        }
+        return null;
+    }
+
+    private static DayOfWeek toDayOfWeek(String weekday) {
+        String abbreviation = weekday.substring(0, DateParser.NUM_WEEKDAY_LETTERS).toLowerCase(Locale.ROOT);
+        for (int i = 0; i < DateParser.WEEKDAYS.length; i++) {
+            if (DateParser.WEEKDAYS[i].equals(abbreviation)) {
+                return DayOfWeek.of(i + 1);
+            }
+        }
+        throw new DateTimeException(weekday);
+    }
+
+    /**
+     * Renames the groups of part of the grammar so that it can appear more than once in a pattern,
+     * and wraps it in a group named by the prefix to tell if it matched.
+     */
+    private static String withPrefix(String grammar, String prefix) {
+        return "(?<" + prefix + ">" + grammar.replace("(?<", "(?<" + prefix) + ")";
+    }
+
+    private static ChronoUnit toUnit(String unit) {
+        String lowerCaseUnit = unit.toLowerCase(Locale.ROOT);
+        if (lowerCaseUnit.equals(DateParser.UNIT_WEEK)) {
+            return ChronoUnit.WEEKS;
+        } else if (lowerCaseUnit.equals(DateParser.UNIT_MONTH)) {
+            return ChronoUnit.MONTHS;
+        } else if (lowerCaseUnit.equals(DateParser.UNIT_YEAR)) {
+            return ChronoUnit.YEARS;
+        }
+        return ChronoUnit.DAYS;
+    }
+}
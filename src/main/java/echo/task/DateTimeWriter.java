@@ -0,0 +1,104 @@
+package echo.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes dates in the two fixed patterns Echo uses, straight into a StringBuilder.
+ *
+ * Rendering and saving a task happens once per task for every list and every save, so the dates are
+ * written digit by digit instead of through a DateTimeFormatter, which creates several objects per call.
+ * The output is the same as the patterns "d MMM yyyy HHmm" for display and "yyyy-MM-dd HHmm" for saving,
+ * with English month names.
+ */
+public final class DateTimeWriter {
+    private static final String[] MONTH_NAMES = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+    private static final int MIN_PADDED_YEAR = 1;
+    private static final int MAX_PADDED_YEAR = 9999;
+    // years outside 1 to 9999 are signed or counted by era by DateTimeFormatter, which is rare enough to leave to it
+    private static final DateTimeFormatter FORMATTER_WIDE_YEAR = DateTimeFormatter.ofPattern("yyyy");
+
+    private DateTimeWriter() {
+    }
+
+    /**
+     * Appends a date and time for display, e.g. 5 Jan 2026 0900.
+     *
+     * @param builder StringBuilder to append to.
+     * @param dateTime Date and time to append.
+     * @return the same StringBuilder.
+     */
+    public static StringBuilder appendDisplay(StringBuilder builder, LocalDateTime dateTime) {
+        DateTimeWriter.appendDisplay(builder, dateTime.toLocalDate()).append(' ');
+        return DateTimeWriter.appendTime(builder, dateTime);
+    }
+
+    /**
+     * Appends a date for display, e.g. 5 Jan 2026.
+     *
+     * @param builder StringBuilder to append to.
+     * @param date Date to append.
+     * @return the same StringBuilder.
+     */
+    public static StringBuilder appendDisplay(StringBuilder builder, LocalDate date) {
+        builder.append(date.getDayOfMonth()).append(' ')
+            .append(DateTimeWriter.MONTH_NAMES[date.getMonthValue() - 1]).append(' ');
+        return DateTimeWriter.appendYear(builder, date);
+    }
+
+    /**
+     * Appends a date and time as it is saved and typed by the user, e.g. 2026-01-05 0900.
+     *
+     * @param builder StringBuilder to append to.
+     * @param dateTime Date and time to append.
+     * @return the same StringBuilder.
+     */
+    public static StringBuilder appendSave(StringBuilder builder, LocalDateTime dateTime) {
+        DateTimeWriter.appendSave(builder, dateTime.toLocalDate()).append(' ');
+        return DateTimeWriter.appendTime(builder, dateTime);
+    }
+
+    /**
+     * Appends a date as it is saved and typed by the user, e.g. 2026-01-05.
+     *
+     * @param builder StringBuilder to append to.
+     * @param date Date to append.
+     * @return the same StringBuilder.
+     */
+    public static StringBuilder appendSave(StringBuilder builder, LocalDate date) {
+        DateTimeWriter.appendYear(builder, date).append('-');
+        DateTimeWriter.appendTwoDigits(builder, date.getMonthValue()).append('-');
+        return DateTimeWriter.appendTwoDigits(builder, date.getDayOfMonth());
+    }
+
+    /**
+     * Formats a date for display, e.g. 5 Jan 2026.
+     *
+     * @param date Date to format.
+     * @return the formatted date.
+     */
+    public static String toDisplayString(LocalDate date) {
+        return DateTimeWriter.appendDisplay(new StringBuilder(), date).toString();
+    }
+
+    private static StringBuilder appendTime(StringBuilder builder, LocalDateTime dateTime) {
+        DateTimeWriter.appendTwoDigits(builder, dateTime.getHour());
+        return DateTimeWriter.appendTwoDigits(builder, dateTime.getMinute());
+    }
+
+    private static StringBuilder appendYear(StringBuilder builder, LocalDate date) {
+        int year = date.getYear();
+        if (year < DateTimeWriter.MIN_PADDED_YEAR || year > DateTimeWriter.MAX_PADDED_YEAR) {
+            return builder.append(date.format(DateTimeWriter.FORMATTER_WIDE_YEAR));
+        }
+        DateTimeWriter.appendTwoDigits(builder, year / 100);
+        return DateTimeWriter.appendTwoDigits(builder, year % 100);
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder builder, int value) {
+        return builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
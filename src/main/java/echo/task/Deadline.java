@@ -21,7 +21,7 @@ public class Deadline extends TimedTask {
         "Failed to parse Deadline! Contains lesser arguments than expected!";
     private static final String ERROR_MESSAGE_BY_NULL = "/by date is null";
 
-    private static final int EXPECTED_ARGS_LENGTH = 4;
+    static final int EXPECTED_ARGS_LENGTH = 4;
 
     private LocalDateTime by;
 
@@ -39,30 +39,38 @@ public class Deadline extends TimedTask {
         this.by = super.parseDate(by);
     }
 
+    private Deadline(Deadline other, LocalDateTime by) {
+        super(other);
+        this.by = by;
+    }
+
     /**
-     * Displays Deadline class in String form
+     * Appends Deadline class in String form, e.g. [D][ ] return book (by: 25 Jan 2026 1000)
      *
-     * @return String representation of Deadline when displayed on the terminal
+     * @param builder StringBuilder to append to.
+     * @return the same StringBuilder.
      */
     @Override
-    public String toString() {
-        String dateString = this.by.format(TimedTask.FORMATTER_TO_STRING);
-        return "[" + Deadline.MARKER_DEADLINE + "]" + super.toString() + " (by: " + dateString + ")";
+    public StringBuilder appendTo(StringBuilder builder) {
+        builder.append('[').append(Deadline.MARKER_DEADLINE).append(']');
+        super.appendTo(builder).append(" (by: ");
+        return DateTimeWriter.appendDisplay(builder, this.by).append(')');
     }
 
     /**
-     * Create String representation of Deadline task for saving.
-     * Return String is of the form: D | 0 | return book | June 6th
+     * Appends String representation of Deadline task for saving.
+     * Appended String is of the form: D | 0 | return book | 2026-01-25 1000
      *
-     * @return String representation of the Deadline task ready to be saved into a .txt file.
+     * @param builder StringBuilder to append to.
+     * @param savedDescription What to save in place of the description.
+     * @return the same StringBuilder.
      */
     @Override
-    public String saveRepresentation() {
-        String isDone = super.isDone ? Task.MARKER_IS_DONE : Task.MARKER_IS_NOT_DONE;
-        // format the date into a string format that the formatter expects
-        String dateString = this.by.format(TimedTask.FORMATTER_TO_SAVE);
-        return Deadline.MARKER_DEADLINE + Task.SEPARATOR + isDone
-            + Task.SEPARATOR + super.description + Task.SEPARATOR + dateString;
+    public StringBuilder appendSaveRepresentation(StringBuilder builder, String savedDescription) {
+        super.appendSaveFields(builder, Deadline.MARKER_DEADLINE)
+            .append(Task.SEPARATOR).append(savedDescription).append(Task.SEPARATOR);
+        // write the date in the format that the parser expects
+        return DateTimeWriter.appendSave(builder, this.by);
     }
 
 
@@ -78,7 +86,17 @@ public class Deadline extends TimedTask {
      * @throws TaskException If the line is wrongly formatted to what Deadline expects
      */
     public static Deadline fromSaveFormat(String line) throws TaskException {
-        String[] args = line.split(Task.LOADING_SPLIT_PATTERN);
+        return Deadline.fromSaveArgs(line.split(Task.LOADING_SPLIT_PATTERN));
+    }
+
+    /**
+     * Creates a new Deadline object from a saved line that has already been split into its fields.
+     *
+     * @param args Fields of the saved line, with the description already resolved
+     * @return A Deadline object after parsing the fields
+     * @throws TaskException If the fields are wrongly formatted to what Deadline expects
+     */
+    public static Deadline fromSaveArgs(String[] args) throws TaskException {
         Deadline.checkDeadlineValid(args);
         // create new Deadline
         Deadline deadline = new Deadline(args[Task.INDEX_DESCRIPTION], args[Deadline.INDEX_DEADLINE_BY]);
@@ -97,6 +115,31 @@ public class Deadline extends TimedTask {
         return Deadline.MARKER_DEADLINE;
     }
 
+    /**
+     * Gets the due date of this Deadline, a Deadline occupies a single instant in the schedule.
+     *
+     * @return the date and time the Deadline is due by.
+     */
+    @Override
+    public LocalDateTime getStart() {
+        return this.by;
+    }
+
+    /**
+     * Gets the due date of this Deadline, a Deadline occupies a single instant in the schedule.
+     *
+     * @return the date and time the Deadline is due by.
+     */
+    @Override
+    public LocalDateTime getEnd() {
+        return this.by;
+    }
+
+    @Override
+    Deadline createOccurrence(LocalDateTime start) {
+        return new Deadline(this, start);
+    }
+
     @Override
     public boolean hasSchedulingConflict(Task other) {
         return other.hasSchedulingConflictWithDeadline(this);
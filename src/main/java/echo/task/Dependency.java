@@ -0,0 +1,28 @@
+package echo.task;
+
+/**
+ * Represents a task that can only be done after another task, its prerequisite, is done.
+ */
+public class Dependency {
+    private final Task task;
+    private final Task prerequisite;
+
+    /**
+     * Constructs a Dependency.
+     *
+     * @param task the task that comes after the prerequisite
+     * @param prerequisite the task that has to be done first
+     */
+    public Dependency(Task task, Task prerequisite) {
+        this.task = task;
+        this.prerequisite = prerequisite;
+    }
+
+    public Task getTask() {
+        return this.task;
+    }
+
+    public Task getPrerequisite() {
+        return this.prerequisite;
+    }
+}
@@ -0,0 +1,218 @@
+package echo.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Keeps track of which tasks come after which, and splits the tasks not done yet into those that are ready,
+ * whose prerequisites are all done, and those that are blocked by a prerequisite not done yet.
+ *
+ * Each task with dependencies counts its prerequisites that are not done, so marking, unmarking or removing a task
+ * only updates the tasks right after it, and the ready and blocked sets are kept up to date as the tasks change
+ * instead of being worked out again from the whole graph. Only tasks with dependencies get a node in the graph.
+ * The graph never has a cycle, as a dependency that would close one is refused.
+ *
+ * Tasks are compared by identity, two tasks with the same details are still different tasks.
+ */
+class DependencyGraph {
+    private static final String ERROR_MESSAGE_TASK_NULL = "Task is null";
+
+    private final LinkedHashMap<Task, Node> nodes = new LinkedHashMap<>();
+    // tasks not done, in the order they became ready
+    private final LinkedHashSet<Task> readyTasks = new LinkedHashSet<>();
+    private final LinkedHashSet<Task> blockedTasks = new LinkedHashSet<>();
+
+    /**
+     * Represents the dependencies of a task.
+     */
+    private static class Node {
+        private final LinkedHashSet<Task> prerequisites = new LinkedHashSet<>();
+        private final LinkedHashSet<Task> dependents = new LinkedHashSet<>();
+        private int numUndonePrerequisites;
+
+        private boolean isEmpty() {
+            return this.prerequisites.isEmpty() && this.dependents.isEmpty();
+        }
+    }
+
+    /**
+     * Adds a task, which has no dependencies yet.
+     *
+     * @param task Task to add.
+     */
+    void add(Task task) {
+        assert task != null : DependencyGraph.ERROR_MESSAGE_TASK_NULL;
+
+        if (!task.isDone()) {
+            this.readyTasks.add(task);
+        }
+    }
+
+    /**
+     * Removes a task and its dependencies. The tasks that came after it no longer wait for it.
+     *
+     * @param task Task to remove.
+     */
+    void remove(Task task) {
+        boolean wasUndone = this.readyTasks.remove(task) | this.blockedTasks.remove(task);
+        Node node = this.nodes.remove(task);
+        if (node == null) {
+            return;
+        }
+
+        for (Task prerequisite : node.prerequisites) {
+            Node prerequisiteNode = this.nodes.get(prerequisite);
+            prerequisiteNode.dependents.remove(task);
+            this.removeIfEmpty(prerequisite, prerequisiteNode);
+        }
+        for (Task dependent : node.dependents) {
+            Node dependentNode = this.nodes.get(dependent);
+            dependentNode.prerequisites.remove(task);
+            if (wasUndone) {
+                this.countUndonePrerequisite(dependent, dependentNode, -1);
+            }
+            this.removeIfEmpty(dependent, dependentNode);
+        }
+    }
+
+    /**
+     * Moves a task that was marked or unmarked into the right set, and updates the tasks that come after it.
+     * Does nothing if the task was already in the right set.
+     *
+     * @param task Task that was marked or unmarked.
+     */
+    void update(Task task) {
+        boolean wasDone = !this.readyTasks.contains(task) && !this.blockedTasks.contains(task);
+        if (wasDone == task.isDone()) {
+            return;
+        }
+
+        Node node = this.nodes.get(task);
+        if (task.isDone()) {
+            this.readyTasks.remove(task);
+            this.blockedTasks.remove(task);
+        } else if (node != null && node.numUndonePrerequisites > 0) {
+            this.blockedTasks.add(task);
+        } else {
+            this.readyTasks.add(task);
+        }
+
+        if (node != null) {
+            for (Task dependent : node.dependents) {
+                this.countUndonePrerequisite(dependent, this.nodes.get(dependent), task.isDone() ? -1 : 1);
+            }
+        }
+    }
+
+    /**
+     * Checks if making a task come after a prerequisite would close a cycle, i.e. the prerequisite already
+     * comes after the task, directly or through other tasks. Only the tasks the prerequisite comes after are visited.
+     *
+     * @param task Task to come after the prerequisite.
+     * @param prerequisite Task to be done first.
+     * @return true if the dependency would close a cycle, including a task coming after itself, else false.
+     */
+    boolean wouldCreateCycle(Task task, Task prerequisite) {
+        if (task == prerequisite) {
+            return true;
+        }
+        if (!this.nodes.containsKey(task) || !this.nodes.containsKey(prerequisite)) {
+            return false;
+        }
+
+        HashSet<Task> visited = new HashSet<>();
+        ArrayDeque<Task> stack = new ArrayDeque<>();
+        stack.push(prerequisite);
+        visited.add(prerequisite);
+        while (!stack.isEmpty()) {
+            for (Task next : this.nodes.get(stack.pop()).prerequisites) {
+                if (next == task) {
+                    return true;
+                }
+                if (visited.add(next)) {
+                    stack.push(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes a task come after a prerequisite. Both must have been added, and the dependency must not
+     * close a cycle, see wouldCreateCycle.
+     *
+     * @param task Task to come after the prerequisite.
+     * @param prerequisite Task to be done first.
+     * @return true if the dependency was added, or false if the task already came after the prerequisite.
+     */
+    boolean addDependency(Task task, Task prerequisite) {
+        Node node = this.nodes.computeIfAbsent(task, key -> new Node());
+        if (!node.prerequisites.add(prerequisite)) {
+            return false;
+        }
+        this.nodes.computeIfAbsent(prerequisite, key -> new Node()).dependents.add(task);
+        if (!prerequisite.isDone()) {
+            this.countUndonePrerequisite(task, node, 1);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the tasks not done whose prerequisites are all done, in the order they became ready.
+     * Takes time in the number of ready tasks, not the number of tasks.
+     *
+     * @return ArrayList of the ready tasks.
+     */
+    ArrayList<Task> getReadyTasks() {
+        return new ArrayList<>(this.readyTasks);
+    }
+
+    /**
+     * Gets every dependency between the tasks.
+     *
+     * @return ArrayList of Dependency, grouped by the task that comes after.
+     */
+    ArrayList<Dependency> getDependencies() {
+        ArrayList<Dependency> dependencies = new ArrayList<>();
+        for (Task task : this.nodes.keySet()) {
+            for (Task prerequisite : this.nodes.get(task).prerequisites) {
+                dependencies.add(new Dependency(task, prerequisite));
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Checks if any task comes after another.
+     */
+    boolean isEmpty() {
+        return this.nodes.isEmpty();
+    }
+
+    /**
+     * Counts a prerequisite of a task becoming not done, or done if change is -1,
+     * moving the task between the ready and blocked sets if it is not done itself.
+     */
+    private void countUndonePrerequisite(Task task, Node node, int change) {
+        node.numUndonePrerequisites += change;
+        if (task.isDone()) {
+            return;
+        }
+        if (change > 0 && node.numUndonePrerequisites == 1) {
+            this.readyTasks.remove(task);
+            this.blockedTasks.add(task);
+        } else if (change < 0 && node.numUndonePrerequisites == 0) {
+            this.blockedTasks.remove(task);
+            this.readyTasks.add(task);
+        }
+    }
+
+    private void removeIfEmpty(Task task, Node node) {
+        if (node.isEmpty()) {
+            this.nodes.remove(task);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package echo.task;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Pools Task descriptions so that tasks with equal descriptions share a single String.
+ * Histories repeat the same few descriptions ("standup", "pay rent") over and over,
+ * so descriptions are interned when tasks are loaded and when they are added.
+ *
+ * Unlike {@link String#intern()}, the pool is owned by the application and is dropped together with it.
+ * It only holds its descriptions weakly, so a description is released once the last task using it
+ * has been removed and garbage collected, and a long-running task list does not keep every description
+ * it has ever seen.
+ */
+public class DescriptionPool {
+    private static final String ERROR_MESSAGE_DESCRIPTION_NULL = "Description is null";
+
+    // the value must not hold the key strongly, or no entry would ever be released
+    private final WeakHashMap<String, WeakReference<String>> descriptions = new WeakHashMap<>();
+
+    /**
+     * Gets the pooled instance of a description, pooling it if it has not been seen before.
+     *
+     * @param description Description to intern.
+     * @return A String equal to description, shared with every other task with the same description.
+     */
+    public String intern(String description) {
+        assert description != null : DescriptionPool.ERROR_MESSAGE_DESCRIPTION_NULL;
+
+        WeakReference<String> reference = this.descriptions.get(description);
+        String pooled = reference == null ? null : reference.get();
+        if (pooled != null) {
+            return pooled;
+        }
+        this.descriptions.put(description, new WeakReference<>(description));
+        return description;
+    }
+
+    /**
+     * Gets the number of distinct descriptions in the pool.
+     * Descriptions no task uses any more are only left out once they have been garbage collected.
+     *
+     * @return Number of distinct descriptions.
+     */
+    public int size() {
+        return this.descriptions.size();
+    }
+}
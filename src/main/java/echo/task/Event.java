@@ -1,5 +1,6 @@
 package echo.task;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import echo.exception.TaskException;
@@ -27,7 +28,7 @@ public class Event extends TimedTask {
     private static final String ERROR_MESSAGE_START_NULL = "Event start is null";
     private static final String ERROR_MESSAGE_END_NULL = "Event end is null";
 
-    private static final int EXPECTED_ARGS_LENGTH = 5;
+    static final int EXPECTED_ARGS_LENGTH = 5;
 
     private LocalDateTime start;
     private LocalDateTime end;
@@ -55,33 +56,40 @@ public class Event extends TimedTask {
         this.end = endDate;
     }
 
+    private Event(Event other, LocalDateTime start) {
+        super(other);
+        this.start = start;
+        this.end = start.plus(Duration.between(other.start, other.end));
+    }
+
     /**
-     * Displays Event class in String form
+     * Appends Event class in String form, e.g. [E][ ] project meeting (from: 27 Jan 2026 1200 to: 27 Jan 2026 1500)
      *
-     * @return String representation of Event when displayed on the terminal
+     * @param builder StringBuilder to append to.
+     * @return the same StringBuilder.
      */
     @Override
-    public String toString() {
-        String startString = this.start.format(TimedTask.FORMATTER_TO_STRING);
-        String endString = this.end.format(TimedTask.FORMATTER_TO_STRING);
-        return "[" + Event.MARKER_EVENT + "]" + super.toString() + " (from: " + startString + " to: " + endString + ")";
+    public StringBuilder appendTo(StringBuilder builder) {
+        builder.append('[').append(Event.MARKER_EVENT).append(']');
+        super.appendTo(builder).append(" (from: ");
+        DateTimeWriter.appendDisplay(builder, this.start).append(" to: ");
+        return DateTimeWriter.appendDisplay(builder, this.end).append(')');
     }
 
     /**
-     * Creates String representation of Event task to be saved.
-     * Return String is of the form: E | 1 | project meeting | Aug 6th 2pm | 4pm
+     * Appends String representation of Event task to be saved.
+     * Appended String is of the form: E | 1 | project meeting | 2026-01-27 1200 | 2026-01-27 1500
      *
-     * @return String representation of the Event task ready to be saved into a .txt file.
+     * @param builder StringBuilder to append to.
+     * @param savedDescription What to save in place of the description.
+     * @return the same StringBuilder.
      */
     @Override
-    public String saveRepresentation() {
-        String isDone = super.isDone ? Task.MARKER_IS_DONE : Task.MARKER_IS_NOT_DONE;
-
-        String startString = this.start.format(TimedTask.FORMATTER_TO_SAVE);
-        String endString = this.end.format(TimedTask.FORMATTER_TO_SAVE);
-
-        return Event.MARKER_EVENT + Task.SEPARATOR + isDone + Task.SEPARATOR
-            + super.description + Task.SEPARATOR + startString + Task.SEPARATOR + endString;
+    public StringBuilder appendSaveRepresentation(StringBuilder builder, String savedDescription) {
+        super.appendSaveFields(builder, Event.MARKER_EVENT)
+            .append(Task.SEPARATOR).append(savedDescription).append(Task.SEPARATOR);
+        DateTimeWriter.appendSave(builder, this.start).append(Task.SEPARATOR);
+        return DateTimeWriter.appendSave(builder, this.end);
     }
 
     /**
@@ -109,9 +117,17 @@ public class Event extends TimedTask {
      * @throws TaskException If the line is wrongly formatted to what Event expects
      */
     public static Event fromSaveFormat(String line) throws TaskException {
-        // get arguments to parse
-        String[] args = line.split(Task.LOADING_SPLIT_PATTERN);
+        return Event.fromSaveArgs(line.split(Task.LOADING_SPLIT_PATTERN));
+    }
 
+    /**
+     * Creates a new Event object from a saved line that has already been split into its fields.
+     *
+     * @param args Fields of the saved line, with the description already resolved
+     * @return An Event object after parsing the fields
+     * @throws TaskException If the fields are wrongly formatted to what Event expects
+     */
+    public static Event fromSaveArgs(String[] args) throws TaskException {
         Event.checkEventValid(args);
 
         // create new Event
@@ -140,6 +156,21 @@ public class Event extends TimedTask {
         return isAfterStart && isBeforeEnd;
     }
 
+    @Override
+    public LocalDateTime getStart() {
+        return this.start;
+    }
+
+    @Override
+    public LocalDateTime getEnd() {
+        return this.end;
+    }
+
+    @Override
+    Event createOccurrence(LocalDateTime start) {
+        return new Event(this, start);
+    }
+
     @Override
     public boolean hasSchedulingConflict(Task task) {
         return task.hasSchedulingConflictWithEvent(this);
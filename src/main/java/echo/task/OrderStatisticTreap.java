@@ -0,0 +1,171 @@
+package echo.task;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a multiset of times in a treap, a binary search tree kept balanced by random priorities,
+ * in which every node also knows how many times its subtree holds.
+ *
+ * Adding and removing a time and counting the times before a given time all take O(log n) expected time,
+ * so e.g. the number of overdue deadlines can be found at any moment without going through them.
+ */
+class OrderStatisticTreap {
+    private static final String ERROR_MESSAGE_TIME_NULL = "Time is null";
+
+    private Node root;
+
+    /**
+     * Represents a distinct time in the treap and how many times it was added.
+     */
+    private static class Node {
+        private final LocalDateTime time;
+        private final int priority;
+        private int count;
+        // number of times held by this node and its descendants
+        private int size;
+        private Node left;
+        private Node right;
+
+        private Node(LocalDateTime time) {
+            this.time = time;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.count = 1;
+            this.size = 1;
+        }
+
+        private void updateSize() {
+            this.size = this.count + OrderStatisticTreap.getSize(this.left) + OrderStatisticTreap.getSize(this.right);
+        }
+    }
+
+    /**
+     * Adds a time, which may already be in the treap.
+     *
+     * @param time Time to add.
+     */
+    void add(LocalDateTime time) {
+        assert time != null : OrderStatisticTreap.ERROR_MESSAGE_TIME_NULL;
+
+        this.root = OrderStatisticTreap.add(this.root, time);
+    }
+
+    /**
+     * Removes a time once, if it is in the treap.
+     *
+     * @param time Time to remove.
+     */
+    void remove(LocalDateTime time) {
+        assert time != null : OrderStatisticTreap.ERROR_MESSAGE_TIME_NULL;
+
+        this.root = OrderStatisticTreap.remove(this.root, time);
+    }
+
+    /**
+     * Counts the times strictly before a given time.
+     *
+     * @param time Time to count up to.
+     * @return Number of times before it, counting repeated times once for each time they were added.
+     */
+    int countBefore(LocalDateTime time) {
+        int count = 0;
+        Node node = this.root;
+        while (node != null) {
+            if (node.time.isBefore(time)) {
+                count += OrderStatisticTreap.getSize(node.left) + node.count;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of times in the treap, counting repeated times once for each time they were added.
+     */
+    int size() {
+        return OrderStatisticTreap.getSize(this.root);
+    }
+
+    private static int getSize(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node add(Node node, LocalDateTime time) {
+        if (node == null) {
+            return new Node(time);
+        }
+
+        int comparison = time.compareTo(node.time);
+        if (comparison == 0) {
+            node.count++;
+        } else if (comparison < 0) {
+            node.left = OrderStatisticTreap.add(node.left, time);
+            if (node.left.priority > node.priority) {
+                node = OrderStatisticTreap.rotateRight(node);
+            }
+        } else {
+            node.right = OrderStatisticTreap.add(node.right, time);
+            if (node.right.priority > node.priority) {
+                node = OrderStatisticTreap.rotateLeft(node);
+            }
+        }
+        node.updateSize();
+        return node;
+    }
+
+    private static Node remove(Node node, LocalDateTime time) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = time.compareTo(node.time);
+        if (comparison < 0) {
+            node.left = OrderStatisticTreap.remove(node.left, time);
+        } else if (comparison > 0) {
+            node.right = OrderStatisticTreap.remove(node.right, time);
+        } else if (node.count > 1) {
+            node.count--;
+        } else {
+            return OrderStatisticTreap.merge(node.left, node.right);
+        }
+        node.updateSize();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every time of the left one comes before every time of the right one.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        } else if (left.priority > right.priority) {
+            left.right = OrderStatisticTreap.merge(left.right, right);
+            left.updateSize();
+            return left;
+        } else {
+            right.left = OrderStatisticTreap.merge(left, right.left);
+            right.updateSize();
+            return right;
+        }
+    }
+
+    private static Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        node.updateSize();
+        return newRoot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        node.updateSize();
+        return newRoot;
+    }
+}
@@ -0,0 +1,196 @@
+package echo.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+import echo.exception.TaskException;
+
+/**
+ * Represents how often a RecurringTask repeats, and optionally the last day it can repeat on.
+ *
+ * Occurrences are numbered from 0, the first occurrence, and the start of any occurrence is worked out
+ * directly from the start of the first one, so no occurrence ever has to be stored.
+ */
+public class Recurrence {
+    private static final DateTimeFormatter FORMATTER_UNTIL = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final String ERROR_MESSAGE_UNKNOWN_FREQUENCY =
+        "I can only repeat tasks every day, week or month, not every %s!";
+    private static final String ERROR_MESSAGE_UNTIL_WRONG_FORMAT = "/until must be a date in the format yyyy-mm-dd!";
+    private static final String ERROR_MESSAGE_FREQUENCY_NULL = "Frequency is null";
+
+    private final Frequency frequency;
+    // null if the task repeats forever
+    private final LocalDate until;
+
+    private Recurrence(Frequency frequency, LocalDate until) {
+        this.frequency = frequency;
+        this.until = until;
+    }
+
+    /**
+     * Creates a Recurrence from what the user typed after /every and /until.
+     *
+     * @param frequency day, week or month, or daily, weekly or monthly, in any case.
+     * @param until Last day the task can repeat on in the format yyyy-MM-dd, or null to repeat forever.
+     * @return the Recurrence.
+     * @throws TaskException If the frequency is unknown or until is in the wrong format.
+     */
+    public static Recurrence of(String frequency, String until) throws TaskException {
+        assert frequency != null : Recurrence.ERROR_MESSAGE_FREQUENCY_NULL;
+
+        Frequency parsedFrequency = Frequency.parse(frequency.trim());
+        if (until == null) {
+            return new Recurrence(parsedFrequency, null);
+        }
+
+        try {
+            return new Recurrence(parsedFrequency, LocalDate.parse(until.trim(), Recurrence.FORMATTER_UNTIL));
+        } catch (DateTimeParseException e) {
+            throw new TaskException(Recurrence.ERROR_MESSAGE_UNTIL_WRONG_FORMAT);
+        }
+    }
+
+    /**
+     * Gets the start of an occurrence.
+     *
+     * @param firstStart Start of the first occurrence.
+     * @param index Index of the occurrence, 0 for the first occurrence.
+     * @return Start of the occurrence, which may be after the last day the task repeats on.
+     */
+    LocalDateTime getOccurrenceStart(LocalDateTime firstStart, long index) {
+        // always step from the first occurrence, so monthly tasks on the 31st come back to the 31st
+        return firstStart.plus(index, this.frequency.unit);
+    }
+
+    /**
+     * Gets the index of the first occurrence that has not ended before a given time.
+     * Takes constant time for daily and weekly tasks, however far from the first occurrence the time is.
+     *
+     * @param firstStart Start of the first occurrence.
+     * @param length How long each occurrence lasts.
+     * @param from Time the occurrence must not end before.
+     * @return Index of the first occurrence ending at or after from.
+     */
+    long getFirstIndexEndingFrom(LocalDateTime firstStart, Duration length, LocalDateTime from) {
+        // an occurrence ends at or after from exactly when it starts at or after this
+        LocalDateTime earliestStart = from.minus(length);
+        if (!earliestStart.isAfter(firstStart)) {
+            return 0;
+        }
+
+        long index = this.frequency.unit.between(firstStart, earliestStart);
+        // months differ in length, so the estimate can be off by one either way
+        while (index > 0 && !this.getOccurrenceStart(firstStart, index - 1).isBefore(earliestStart)) {
+            index--;
+        }
+        while (this.getOccurrenceStart(firstStart, index).isBefore(earliestStart)) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Checks if an occurrence starting at a given time is still within the last day the task repeats on.
+     *
+     * @param occurrenceStart Start of the occurrence.
+     * @return true if the task repeats forever or the occurrence starts on or before its last day, else false.
+     */
+    boolean isOnOrBeforeUntil(LocalDateTime occurrenceStart) {
+        return this.until == null || !occurrenceStart.toLocalDate().isAfter(this.until);
+    }
+
+    /**
+     * Checks if this Recurrence repeats less often than another one.
+     *
+     * @param other Recurrence to compare with.
+     * @return true if occurrences of this Recurrence are further apart than occurrences of other.
+     */
+    boolean isSparserThan(Recurrence other) {
+        return this.frequency.unit.getDuration().compareTo(other.frequency.unit.getDuration()) > 0;
+    }
+
+    /**
+     * Gets the name of how often the task repeats, as in the save file and in iCalendar, e.g. WEEKLY.
+     *
+     * @return DAILY, WEEKLY or MONTHLY.
+     */
+    public String getFrequencyName() {
+        return this.frequency.name();
+    }
+
+    /**
+     * Gets the last day the task can repeat on.
+     *
+     * @return the last day, or null if the task repeats forever.
+     */
+    public LocalDate getUntil() {
+        return this.until;
+    }
+
+    /**
+     * Appends the fields of this Recurrence in the save file, e.g. "WEEKLY | 2026-03-31" or just "WEEKLY".
+     *
+     * @param builder StringBuilder to append to, separating the fields by the separator of the save file.
+     * @return the same StringBuilder.
+     */
+    StringBuilder appendSaveRepresentation(StringBuilder builder) {
+        builder.append(this.frequency.name());
+        if (this.until == null) {
+            return builder;
+        }
+        return DateTimeWriter.appendSave(builder.append(Task.SEPARATOR), this.until);
+    }
+
+    /**
+     * Appends how often the task repeats for display, e.g. "every week until 31 Mar 2026".
+     *
+     * @param builder StringBuilder to append to.
+     * @return the same StringBuilder.
+     */
+    StringBuilder appendTo(StringBuilder builder) {
+        builder.append("every ").append(this.frequency.keyword);
+        if (this.until == null) {
+            return builder;
+        }
+        return DateTimeWriter.appendDisplay(builder.append(" until "), this.until);
+    }
+
+    @Override
+    public String toString() {
+        return this.appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * How far apart the occurrences of a RecurringTask are.
+     */
+    private enum Frequency {
+        DAILY(ChronoUnit.DAYS, "day"),
+        WEEKLY(ChronoUnit.WEEKS, "week"),
+        MONTHLY(ChronoUnit.MONTHS, "month");
+
+        private final ChronoUnit unit;
+        private final String keyword;
+
+        Frequency(ChronoUnit unit, String keyword) {
+            this.unit = unit;
+            this.keyword = keyword;
+        }
+
+        /**
+         * Parses the keyword the user typed, or the name used in the save file.
+         */
+        private static Frequency parse(String frequency) throws TaskException {
+            for (Frequency value : Frequency.values()) {
+                if (value.keyword.equalsIgnoreCase(frequency) || value.name().equalsIgnoreCase(frequency)) {
+                    return value;
+                }
+            }
+            throw new TaskException(Recurrence.ERROR_MESSAGE_UNKNOWN_FREQUENCY.formatted(frequency));
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package echo.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import echo.exception.TaskException;
+
+/**
+ * Represents a Deadline or Event that repeats every day, week or month, optionally until a given day.
+ *
+ * Only the first occurrence and the Recurrence are stored, however long the task repeats for.
+ * Occurrences are created on demand, and only for the window a query or conflict check asks about.
+ * Marking a RecurringTask as done marks every occurrence as done.
+ */
+public class RecurringTask extends Task {
+    // prefixed to the marker of the first occurrence, e.g. RE for a recurring Event
+    private static final String MARKER_RECURRING = "R";
+
+    // conflicts between two RecurringTasks are looked for this far ahead of the later first occurrence,
+    // long enough for every combination of month lengths and leap years to come around
+    private static final int CONFLICT_HORIZON_YEARS = 4;
+
+    private static final String ERROR_MESSAGE_INCORRECT_FORMAT =
+        "Failed to parse recurring task! Contains lesser arguments than expected!";
+    private static final String ERROR_MESSAGE_UNKNOWN_TYPE = "Only Deadlines and Events can repeat, not %s!";
+    private static final String ERROR_MESSAGE_UNTIL_BEFORE_START =
+        "The task cannot stop repeating before its first occurrence!";
+    private static final String ERROR_MESSAGE_FIRST_OCCURRENCE_NULL = "First occurrence is null";
+    private static final String ERROR_MESSAGE_RECURRENCE_NULL = "Recurrence is null";
+    private static final String ERROR_MESSAGE_FROM_AFTER_TO = "Start of range is after end of range";
+
+    private final TimedTask firstOccurrence;
+    private final Recurrence recurrence;
+    private final Duration length;
+
+    /**
+     * Initializes a RecurringTask.
+     *
+     * @param firstOccurrence the first occurrence, which every other occurrence is a copy of.
+     * @param recurrence how often the task repeats.
+     * @throws TaskException if the task stops repeating before its first occurrence.
+     */
+    public RecurringTask(TimedTask firstOccurrence, Recurrence recurrence) throws TaskException {
+        super(firstOccurrence);
+
+        assert firstOccurrence != null : RecurringTask.ERROR_MESSAGE_FIRST_OCCURRENCE_NULL;
+        assert recurrence != null : RecurringTask.ERROR_MESSAGE_RECURRENCE_NULL;
+
+        if (!recurrence.isOnOrBeforeUntil(firstOccurrence.getStart())) {
+            throw new TaskException(RecurringTask.ERROR_MESSAGE_UNTIL_BEFORE_START);
+        }
+
+        this.firstOccurrence = firstOccurrence;
+        this.recurrence = recurrence;
+        this.length = Duration.between(firstOccurrence.getStart(), firstOccurrence.getEnd());
+    }
+
+    /**
+     * Creates a new RecurringTask from a saved line that has already been split into its fields.
+     *
+     * A line for a RecurringTask is the line of its first occurrence with the marker prefixed by R,
+     * followed by the fields of its Recurrence:
+     * RD | 0 | submit report | 2026-01-09 1700 | WEEKLY
+     * RE | 1 | standup | 2026-01-05 0900 | 2026-01-05 0915 | DAILY | 2026-03-31
+     *
+     * @param args Fields of the saved line, with the description already resolved
+     * @return A RecurringTask object after parsing the fields
+     * @throws TaskException If the fields are wrongly formatted to what RecurringTask expects
+     */
+    public static RecurringTask fromSaveArgs(String[] args) throws TaskException {
+        String firstOccurrenceMarker = args[Task.INDEX_TASK_TYPE].substring(RecurringTask.MARKER_RECURRING.length());
+        int firstOccurrenceLength;
+        if (firstOccurrenceMarker.equals(Deadline.getMarker())) {
+            firstOccurrenceLength = Deadline.EXPECTED_ARGS_LENGTH;
+        } else if (firstOccurrenceMarker.equals(Event.getMarker())) {
+            firstOccurrenceLength = Event.EXPECTED_ARGS_LENGTH;
+        } else {
+            throw new TaskException(RecurringTask.ERROR_MESSAGE_UNKNOWN_TYPE.formatted(firstOccurrenceMarker));
+        }
+        if (args.length <= firstOccurrenceLength) {
+            throw new TaskException(RecurringTask.ERROR_MESSAGE_INCORRECT_FORMAT);
+        }
+
+        String[] firstOccurrenceArgs = Arrays.copyOf(args, firstOccurrenceLength);
+        firstOccurrenceArgs[Task.INDEX_TASK_TYPE] = firstOccurrenceMarker;
+        TimedTask firstOccurrence = firstOccurrenceMarker.equals(Deadline.getMarker())
+            ? Deadline.fromSaveArgs(firstOccurrenceArgs)
+            : Event.fromSaveArgs(firstOccurrenceArgs);
+
+        String frequency = args[firstOccurrenceLength];
+        String until = args.length > firstOccurrenceLength + 1 ? args[firstOccurrenceLength + 1] : null;
+        // the first occurrence already carries the completion status
+        return new RecurringTask(firstOccurrence, Recurrence.of(frequency, until));
+    }
+
+    /**
+     * Checks if a marker in the save file belongs to a RecurringTask.
+     *
+     * @param marker Marker of a saved line.
+     * @return true if the line is a RecurringTask, else false.
+     */
+    public static boolean isMarker(String marker) {
+        return marker.startsWith(RecurringTask.MARKER_RECURRING);
+    }
+
+    public TimedTask getFirstOccurrence() {
+        return this.firstOccurrence;
+    }
+
+    public Recurrence getRecurrence() {
+        return this.recurrence;
+    }
+
+    @Override
+    public void markAsDone() {
+        super.markAsDone();
+        this.firstOccurrence.markAsDone();
+    }
+
+    @Override
+    public void markAsUndone() {
+        super.markAsUndone();
+        this.firstOccurrence.markAsUndone();
+    }
+
+    /**
+     * Finds the occurrences that overlap a range of time, including occurrences that only touch it.
+     * Takes time proportional to the number of occurrences found, not to how long ago the task started.
+     *
+     * @param from Start of the range.
+     * @param to End of the range.
+     * @return the occurrences overlapping the range, sorted by start time.
+     */
+    public ArrayList<TimedTask> findOccurrencesOverlapping(LocalDateTime from, LocalDateTime to) {
+        assert !from.isAfter(to) : RecurringTask.ERROR_MESSAGE_FROM_AFTER_TO;
+
+        LocalDateTime firstStart = this.firstOccurrence.getStart();
+        long index = this.recurrence.getFirstIndexEndingFrom(firstStart, this.length, from);
+        ArrayList<TimedTask> occurrences = new ArrayList<>();
+        for (LocalDateTime start = this.recurrence.getOccurrenceStart(firstStart, index);
+                !start.isAfter(to) && this.recurrence.isOnOrBeforeUntil(start);
+                start = this.recurrence.getOccurrenceStart(firstStart, ++index)) {
+            occurrences.add(this.firstOccurrence.createOccurrence(start));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Finds the occurrences that start within a range of time.
+     *
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return the occurrences starting within the range, sorted by start time.
+     */
+    public ArrayList<TimedTask> findOccurrencesStartingBetween(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime firstStart = this.firstOccurrence.getStart();
+        long index = this.recurrence.getFirstIndexEndingFrom(firstStart, Duration.ZERO, from);
+        ArrayList<TimedTask> occurrences = new ArrayList<>();
+        for (LocalDateTime start = this.recurrence.getOccurrenceStart(firstStart, index);
+                start.isBefore(to) && this.recurrence.isOnOrBeforeUntil(start);
+                start = this.recurrence.getOccurrenceStart(firstStart, ++index)) {
+            occurrences.add(this.firstOccurrence.createOccurrence(start));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Finds the next few occurrences that start at or after a given time.
+     *
+     * @param from Time to look for occurrences from.
+     * @param limit Maximum number of occurrences to find.
+     * @return Up to limit occurrences, sorted by start time.
+     */
+    public ArrayList<TimedTask> findNextOccurrences(LocalDateTime from, int limit) {
+        LocalDateTime firstStart = this.firstOccurrence.getStart();
+        long index = this.recurrence.getFirstIndexEndingFrom(firstStart, Duration.ZERO, from);
+        ArrayList<TimedTask> occurrences = new ArrayList<>();
+        for (LocalDateTime start = this.recurrence.getOccurrenceStart(firstStart, index);
+                occurrences.size() < limit && this.recurrence.isOnOrBeforeUntil(start);
+                start = this.recurrence.getOccurrenceStart(firstStart, ++index)) {
+            occurrences.add(this.firstOccurrence.createOccurrence(start));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Appends RecurringTask class in String form, as its first occurrence and how often it repeats.
+     *
+     * @param builder StringBuilder to append to.
+     * @return the same StringBuilder.
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder builder) {
+        this.firstOccurrence.appendTo(builder).append(" (");
+        return this.recurrence.appendTo(builder).append(')');
+    }
+
+    /**
+     * Appends String representation of RecurringTask for saving.
+     * Appended String is of the form: RE | 0 | standup | 2026-01-05 0900 | 2026-01-05 0915 | DAILY | 2026-03-31
+     *
+     * @param builder StringBuilder to append to.
+     * @param savedDescription What to save in place of the description.
+     * @return the same StringBuilder.
+     */
+    @Override
+    public StringBuilder appendSaveRepresentation(StringBuilder builder, String savedDescription) {
+        builder.append(RecurringTask.MARKER_RECURRING);
+        this.firstOccurrence.appendSaveRepresentation(builder, savedDescription).append(Task.SEPARATOR);
+        return this.recurrence.appendSaveRepresentation(builder);
+    }
+
+    /**
+     * Checks if any occurrence of this RecurringTask conflicts with a Task.
+     * Against a single Deadline or Event, only the occurrences overlapping it are created.
+     * Against another RecurringTask, the occurrences of the one repeating less often are stepped through
+     * one at a time within a bounded horizon, so memory use does not grow with the horizon.
+     *
+     * @param task Task to be checked for any conflicts
+     * @return true if there are scheduling conflicts, otherwise false
+     */
+    @Override
+    public boolean hasSchedulingConflict(Task task) {
+        if (task instanceof RecurringTask) {
+            return this.hasSchedulingConflictWithRecurringTask((RecurringTask) task);
+        } else if (task instanceof TimedTask) {
+            return this.hasSchedulingConflictWithTimedTask((TimedTask) task);
+        }
+        return false;
+    }
+
+    @Override
+    protected boolean hasSchedulingConflictWithDeadline(Deadline deadline) {
+        return this.hasSchedulingConflictWithTimedTask(deadline);
+    }
+
+    @Override
+    protected boolean hasSchedulingConflictWithEvent(Event event) {
+        return this.hasSchedulingConflictWithTimedTask(event);
+    }
+
+    private boolean hasSchedulingConflictWithTimedTask(TimedTask task) {
+        return this.findOccurrencesOverlapping(task.getStart(), task.getEnd()).stream()
+            .anyMatch(occurrence -> occurrence.hasSchedulingConflict(task));
+    }
+
+    private boolean hasSchedulingConflictWithRecurringTask(RecurringTask other) {
+        RecurringTask sparser = this.recurrence.isSparserThan(other.recurrence) ? this : other;
+        RecurringTask denser = sparser == this ? other : this;
+
+        LocalDateTime firstStart = sparser.firstOccurrence.getStart();
+        LocalDateTime horizonStart = firstStart.isAfter(denser.firstOccurrence.getStart())
+            ? firstStart
+            : denser.firstOccurrence.getStart();
+        LocalDateTime horizonEnd = horizonStart.plusYears(RecurringTask.CONFLICT_HORIZON_YEARS);
+
+        long index = sparser.recurrence.getFirstIndexEndingFrom(firstStart, sparser.length, horizonStart);
+        for (LocalDateTime start = sparser.recurrence.getOccurrenceStart(firstStart, index);
+                !start.isAfter(horizonEnd) && sparser.recurrence.isOnOrBeforeUntil(start);
+                start = sparser.recurrence.getOccurrenceStart(firstStart, ++index)) {
+            if (denser.hasSchedulingConflictWithTimedTask(sparser.firstOccurrence.createOccurrence(start))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package echo.task;
+
+/**
+ * Represents a result after removing a Task.
+ */
+public class RemoveTaskResult {
+    private final Task task;
+    private final int numTasks;
+
+    /**
+     * Constructs a RemoveTaskResult with the removed task and the number of tasks left.
+     *
+     * @param task the task that was removed
+     * @param numTasks number of tasks left after removing the task
+     */
+    public RemoveTaskResult(Task task, int numTasks) {
+        this.task = task;
+        this.numTasks = numTasks;
+    }
+
+    public Task getTask() {
+        return this.task;
+    }
+
+    public int getNumTasks() {
+        return this.numTasks;
+    }
+}
@@ -0,0 +1,361 @@
+package echo.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Indexes tasks by the words of their descriptions, for ranked search that ignores case and small typos.
+ *
+ * Descriptions are split into lower case terms at every character that is not a letter or digit.
+ * Each term maps to the tasks containing it and how often it occurs in each, so a search only visits
+ * the tasks sharing a term with the query. A query term that is in no task is taken to be a typo, and matches
+ * the indexed terms within a few edits of it instead, found through a BkTree over every term.
+ * Matching tasks are ranked by BM25, which favours rare terms, terms that occur often in a task
+ * and short descriptions.
+ *
+ * Every indexed task has a slot, a small number that is reused after the task is removed, and the term lists
+ * and scores are kept in int and double arrays by slot. A common term can be in hundreds of thousands of tasks,
+ * and this keeps scoring it to a pass over a few arrays. Removed tasks are dropped from the term lists lazily:
+ * each entry records the generation of its slot, and entries from an earlier generation are skipped.
+ */
+class SearchIndex {
+    private static final String ERROR_MESSAGE_TASK_NULL = "Task is null";
+    private static final String ERROR_MESSAGE_LIMIT_NOT_POSITIVE = "Limit is not positive";
+
+    // BM25 parameters, the usual defaults: how quickly repeated terms stop adding to the score,
+    // and how much longer descriptions are penalised
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // a term one edit away from a query term scores half as much as the query term itself, two edits a quarter
+    private static final double FUZZY_WEIGHT_PER_EDIT = 0.5;
+    // query terms of up to this many characters must match exactly, and up to the next limit within one edit,
+    // otherwise short words would match too many unrelated terms
+    private static final int MAX_LENGTH_FOR_NO_EDITS = 2;
+    private static final int MAX_LENGTH_FOR_ONE_EDIT = 5;
+    private static final int MAX_EDITS = 2;
+    // the term tree is rebuilt once more of its terms are in no task than in some task,
+    // and at least this many are in no task, so that removing a few tasks does not rebuild it every time
+    private static final int MIN_DEAD_TERMS_TO_REBUILD = 1024;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final HashMap<Task, Integer> slots = new HashMap<>();
+    private Task[] tasksBySlot = new Task[SearchIndex.INITIAL_CAPACITY];
+    private int[] lengthsBySlot = new int[SearchIndex.INITIAL_CAPACITY];
+    private int[] generationsBySlot = new int[SearchIndex.INITIAL_CAPACITY];
+    private int numSlots;
+    private final IntList freeSlots = new IntList();
+    private long totalLength;
+
+    private final HashMap<String, Postings> postings = new HashMap<>();
+    private BkTree terms = new BkTree();
+    private int numDeadTerms;
+
+    // scores by slot, reused by every search and left all zero after it
+    private double[] scores = new double[SearchIndex.INITIAL_CAPACITY];
+    private double[] queryTermScores = new double[SearchIndex.INITIAL_CAPACITY];
+    private final IntList scoredSlots = new IntList();
+    private final IntList queryTermScoredSlots = new IntList();
+
+    /**
+     * Adds a Task into the index.
+     *
+     * @param task Task to be indexed.
+     */
+    void add(Task task) {
+        assert task != null : SearchIndex.ERROR_MESSAGE_TASK_NULL;
+
+        int slot = this.allocateSlot();
+        this.slots.put(task, slot);
+        this.tasksBySlot[slot] = task;
+
+        ArrayList<String> taskTerms = SearchIndex.tokenize(task.getDescription());
+        this.lengthsBySlot[slot] = taskTerms.size();
+        this.totalLength += taskTerms.size();
+
+        // sorting puts repeats of a term next to each other, so each term is counted without a map
+        Collections.sort(taskTerms);
+        int start = 0;
+        while (start < taskTerms.size()) {
+            String term = taskTerms.get(start);
+            int end = start + 1;
+            while (end < taskTerms.size() && taskTerms.get(end).equals(term)) {
+                end++;
+            }
+
+            Postings tasksWithTerm = this.postings.get(term);
+            if (tasksWithTerm == null) {
+                tasksWithTerm = new Postings();
+                this.postings.put(term, tasksWithTerm);
+                if (!this.terms.add(term)) {
+                    // the term was in a removed task, and is back
+                    this.numDeadTerms--;
+                }
+            }
+            tasksWithTerm.add(slot, this.generationsBySlot[slot], end - start);
+            start = end;
+        }
+    }
+
+    /**
+     * Removes a Task from the index.
+     *
+     * @param task Task to be removed.
+     */
+    void remove(Task task) {
+        assert task != null : SearchIndex.ERROR_MESSAGE_TASK_NULL;
+
+        Integer slot = this.slots.remove(task);
+        if (slot == null) {
+            return;
+        }
+        this.totalLength -= this.lengthsBySlot[slot];
+        this.tasksBySlot[slot] = null;
+        // entries of the task in the term lists are skipped from now on
+        this.generationsBySlot[slot]++;
+        this.freeSlots.add(slot);
+
+        ArrayList<String> taskTerms = SearchIndex.tokenize(task.getDescription());
+        Collections.sort(taskTerms);
+        String previousTerm = null;
+        for (String term : taskTerms) {
+            if (term.equals(previousTerm)) {
+                continue;
+            }
+            previousTerm = term;
+            Postings tasksWithTerm = this.postings.get(term);
+            if (tasksWithTerm == null) {
+                continue;
+            }
+            tasksWithTerm.numLive--;
+            if (tasksWithTerm.numLive == 0) {
+                this.postings.remove(term);
+                this.numDeadTerms++;
+            } else if (tasksWithTerm.numLive < tasksWithTerm.size / 2) {
+                tasksWithTerm.compact(this.generationsBySlot);
+            }
+        }
+        if (this.numDeadTerms >= SearchIndex.MIN_DEAD_TERMS_TO_REBUILD && this.numDeadTerms > this.postings.size()) {
+            this.rebuildTerms();
+        }
+    }
+
+    /**
+     * Finds the tasks best matching a query.
+     *
+     * @param query Words to search for, in any case.
+     * @param limit Maximum number of tasks to find.
+     * @return Up to limit tasks sharing a term or a near miss with the query, best match first.
+     */
+    ArrayList<Task> search(String query, int limit) {
+        assert limit > 0 : SearchIndex.ERROR_MESSAGE_LIMIT_NOT_POSITIVE;
+
+        for (String queryTerm : SearchIndex.tokenize(query)) {
+            Postings tasksWithQueryTerm = this.postings.get(queryTerm);
+            if (tasksWithQueryTerm != null) {
+                // near misses of a word that is in some task are usually other words, not typos
+                this.scoreTerm(tasksWithQueryTerm, 1);
+            } else {
+                for (BkTree.Match match : this.terms.findWithin(queryTerm, SearchIndex.getMaxEdits(queryTerm))) {
+                    Postings tasksWithTerm = this.postings.get(match.getTerm());
+                    if (tasksWithTerm != null) {
+                        double weight = Math.pow(SearchIndex.FUZZY_WEIGHT_PER_EDIT, match.getDistance());
+                        this.scoreTerm(tasksWithTerm, weight);
+                    }
+                }
+            }
+            // a task matching a typo through several terms only counts its best match
+            for (int i = 0; i < this.queryTermScoredSlots.size; i++) {
+                int slot = this.queryTermScoredSlots.values[i];
+                if (this.scores[slot] == 0) {
+                    this.scoredSlots.add(slot);
+                }
+                this.scores[slot] += this.queryTermScores[slot];
+                this.queryTermScores[slot] = 0;
+            }
+            this.queryTermScoredSlots.size = 0;
+        }
+
+        ArrayList<Task> bestTasks = this.findBest(limit);
+        for (int i = 0; i < this.scoredSlots.size; i++) {
+            this.scores[this.scoredSlots.values[i]] = 0;
+        }
+        this.scoredSlots.size = 0;
+        return bestTasks;
+    }
+
+    /**
+     * Scores every task containing an indexed term by BM25, keeping the higher score if a task already
+     * has one for the same query term.
+     */
+    private void scoreTerm(Postings tasksWithTerm, double weight) {
+        int numTasks = this.slots.size();
+        double averageLength = Math.max(1, (double) this.totalLength / numTasks);
+        double idf = Math.log(1 + (numTasks - tasksWithTerm.numLive + 0.5) / (tasksWithTerm.numLive + 0.5));
+        // the BM25 length normalisation, K1 * (1 - B + B * length / averageLength), split into its two parts
+        double constantWeight = SearchIndex.K1 * (1 - SearchIndex.B);
+        double lengthWeight = SearchIndex.K1 * SearchIndex.B / averageLength;
+        for (int i = 0; i < tasksWithTerm.size; i++) {
+            int slot = tasksWithTerm.slots[i];
+            if (tasksWithTerm.generations[i] != this.generationsBySlot[slot]) {
+                continue;
+            }
+            int frequency = tasksWithTerm.frequencies[i];
+            double score = weight * idf * frequency * (SearchIndex.K1 + 1)
+                / (frequency + constantWeight + lengthWeight * this.lengthsBySlot[slot]);
+            if (this.queryTermScores[slot] == 0) {
+                this.queryTermScoredSlots.add(slot);
+            }
+            this.queryTermScores[slot] = Math.max(this.queryTermScores[slot], score);
+        }
+    }
+
+    /**
+     * Picks the highest scoring tasks with a heap of the best ones so far, instead of sorting every match.
+     * Tasks with the same score are ordered by slot, so the order does not change from search to search.
+     */
+    private ArrayList<Task> findBest(int limit) {
+        PriorityQueue<Integer> best = new PriorityQueue<>(this::compareSlots);
+        for (int i = 0; i < this.scoredSlots.size; i++) {
+            int slot = this.scoredSlots.values[i];
+            if (best.size() < limit) {
+                best.add(slot);
+            } else if (this.compareSlots(slot, best.peek()) > 0) {
+                best.poll();
+                best.add(slot);
+            }
+        }
+
+        ArrayList<Task> bestTasks = new ArrayList<>();
+        while (!best.isEmpty()) {
+            bestTasks.add(this.tasksBySlot[best.poll()]);
+        }
+        // the heap gives the worst match first
+        Collections.reverse(bestTasks);
+        return bestTasks;
+    }
+
+    /**
+     * Orders slots from worst to best match: lower score first, then higher slot first.
+     */
+    private int compareSlots(int first, int second) {
+        int byScore = Double.compare(this.scores[first], this.scores[second]);
+        return byScore != 0 ? byScore : Integer.compare(second, first);
+    }
+
+    private int allocateSlot() {
+        if (this.freeSlots.size > 0) {
+            return this.freeSlots.values[--this.freeSlots.size];
+        }
+        if (this.numSlots == this.tasksBySlot.length) {
+            int capacity = this.numSlots * 2;
+            this.tasksBySlot = Arrays.copyOf(this.tasksBySlot, capacity);
+            this.lengthsBySlot = Arrays.copyOf(this.lengthsBySlot, capacity);
+            this.generationsBySlot = Arrays.copyOf(this.generationsBySlot, capacity);
+            this.scores = Arrays.copyOf(this.scores, capacity);
+            this.queryTermScores = Arrays.copyOf(this.queryTermScores, capacity);
+        }
+        return this.numSlots++;
+    }
+
+    private void rebuildTerms() {
+        this.terms = new BkTree();
+        for (String term : this.postings.keySet()) {
+            this.terms.add(term);
+        }
+        this.numDeadTerms = 0;
+    }
+
+    private static int getMaxEdits(String queryTerm) {
+        if (queryTerm.length() <= SearchIndex.MAX_LENGTH_FOR_NO_EDITS) {
+            return 0;
+        } else if (queryTerm.length() <= SearchIndex.MAX_LENGTH_FOR_ONE_EDIT) {
+            return 1;
+        }
+        return SearchIndex.MAX_EDITS;
+    }
+
+    /**
+     * Splits text into lower case terms at every character that is not a letter or digit.
+     *
+     * @param text Text to split.
+     * @return the terms in order, including repeated terms.
+     */
+    static ArrayList<String> tokenize(String text) {
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        ArrayList<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= lowerCaseText.length(); i++) {
+            boolean isTermCharacter = i < lowerCaseText.length()
+                && Character.isLetterOrDigit(lowerCaseText.charAt(i));
+            if (isTermCharacter && start < 0) {
+                start = i;
+            } else if (!isTermCharacter && start >= 0) {
+                terms.add(lowerCaseText.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * The tasks containing a term, as the slot, slot generation and term frequency of each,
+     * including tasks removed since the term list was last compacted.
+     */
+    private static class Postings {
+        private int[] slots = new int[1];
+        private int[] generations = new int[1];
+        private int[] frequencies = new int[1];
+        private int size;
+        // entries of tasks that have not been removed
+        private int numLive;
+
+        void add(int slot, int generation, int frequency) {
+            if (this.size == this.slots.length) {
+                int capacity = this.size * 2;
+                this.slots = Arrays.copyOf(this.slots, capacity);
+                this.generations = Arrays.copyOf(this.generations, capacity);
+                this.frequencies = Arrays.copyOf(this.frequencies, capacity);
+            }
+            this.slots[this.size] = slot;
+            this.generations[this.size] = generation;
+            this.frequencies[this.size] = frequency;
+            this.size++;
+            this.numLive++;
+        }
+
+        /**
+         * Drops the entries of removed tasks, keeping the order of the others.
+         */
+        void compact(int[] generationsBySlot) {
+            int kept = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (this.generations[i] == generationsBySlot[this.slots[i]]) {
+                    this.slots[kept] = this.slots[i];
+                    this.generations[kept] = this.generations[i];
+                    this.frequencies[kept] = this.frequencies[i];
+                    kept++;
+                }
+            }
+            this.size = kept;
+        }
+    }
+
+    /**
+     * A growable list of ints, without boxing them.
+     */
+    private static class IntList {
+        private int[] values = new int[SearchIndex.INITIAL_CAPACITY];
+        private int size;
+
+        void add(int value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package echo.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counts the tasks of a task list by kind and completion status as they are added, removed and marked,
+ * so that statistics never need a pass over the task list.
+ *
+ * The due dates of the deadlines not done yet are kept in an OrderStatisticTreap,
+ * so the number of overdue deadlines at any moment takes O(log n) time to count.
+ * A task must be removed before it is marked or unmarked and added back afterwards.
+ */
+class StatisticsIndex {
+    private static final String ERROR_MESSAGE_TASK_NULL = "Task is null";
+
+    private int numTasks;
+    private int numDone;
+    private int numToDos;
+    private int numDeadlines;
+    private int numEvents;
+    private int numRecurring;
+    private final OrderStatisticTreap undoneDueDates = new OrderStatisticTreap();
+
+    /**
+     * Counts a task.
+     *
+     * @param task Task to be counted.
+     */
+    void add(Task task) {
+        this.update(task, 1);
+    }
+
+    /**
+     * Stops counting a task.
+     *
+     * @param task Task that was counted.
+     */
+    void remove(Task task) {
+        this.update(task, -1);
+    }
+
+    private void update(Task task, int change) {
+        assert task != null : StatisticsIndex.ERROR_MESSAGE_TASK_NULL;
+
+        this.numTasks += change;
+        if (task.isDone()) {
+            this.numDone += change;
+        }
+
+        if (task instanceof ToDo) {
+            this.numToDos += change;
+        } else if (task instanceof Deadline) {
+            this.numDeadlines += change;
+            if (!task.isDone()) {
+                LocalDateTime by = ((Deadline) task).getStart();
+                if (change > 0) {
+                    this.undoneDueDates.add(by);
+                } else {
+                    this.undoneDueDates.remove(by);
+                }
+            }
+        } else if (task instanceof Event) {
+            this.numEvents += change;
+        } else if (task instanceof RecurringTask) {
+            this.numRecurring += change;
+        }
+    }
+
+    /**
+     * Gets the statistics of the counted tasks.
+     *
+     * @param now Time before which deadlines not done are overdue.
+     * @return the statistics.
+     */
+    TaskStatistics getStatistics(LocalDateTime now) {
+        return new TaskStatistics(this.numTasks, this.numDone, this.numToDos, this.numDeadlines, this.numEvents,
+            this.numRecurring, this.undoneDueDates.countBefore(now));
+    }
+}
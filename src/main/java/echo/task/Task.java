@@ -46,6 +46,17 @@ public abstract class Task {
         this.isDone = false;
     }
 
+    /**
+     * Initializes a Task with the same description and completion status as another Task,
+     * which has already been validated.
+     *
+     * @param other the Task to copy
+     */
+    protected Task(Task other) {
+        this.description = other.description;
+        this.isDone = other.isDone;
+    }
+
     /**
      * Mark a task as done.
      */
@@ -60,6 +71,15 @@ public abstract class Task {
         this.isDone = false;
     }
 
+    /**
+     * Checks if the Task has been marked as done.
+     *
+     * @return true if the Task is done, else false.
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
     /**
      * Helper method to get status on whether Task is marked or unmarked
      *
@@ -75,8 +95,20 @@ public abstract class Task {
      * @return String of Task for display in the terminal
      */
     @Override
-    public String toString() {
-        return "[" + this.getStatusIcon() + "] " + this.description;
+    public final String toString() {
+        return this.appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the String representation of the Task, so that many tasks can be rendered into one
+     * StringBuilder without creating a String for each of them.
+     * Subclasses prefix their marker and suffix their dates.
+     *
+     * @param builder StringBuilder to append to.
+     * @return the same StringBuilder.
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return builder.append('[').append(this.getStatusIcon()).append("] ").append(this.description);
     }
 
     /**
@@ -97,7 +129,73 @@ public abstract class Task {
         return Task.INDEX_TASK_TYPE;
     }
 
-    public abstract String saveRepresentation();
+    public static String getSeparator() {
+        return Task.SEPARATOR;
+    }
+
+    /**
+     * Gets the marker of the completion status of a Task in the save file.
+     *
+     * @param isDone Whether the Task is done.
+     * @return the marker, "1" if done, else "0".
+     */
+    public static String getDoneMarker(boolean isDone) {
+        return isDone ? Task.MARKER_IS_DONE : Task.MARKER_IS_NOT_DONE;
+    }
+
+    public static int getDescriptionIndex() {
+        return Task.INDEX_DESCRIPTION;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Creates the String representation of the Task for saving.
+     *
+     * @return String representation of the Task ready to be saved into a .txt file.
+     */
+    public String saveRepresentation() {
+        return this.saveRepresentation(this.description);
+    }
+
+    /**
+     * Appends the String representation of the Task for saving.
+     *
+     * @param builder StringBuilder to append to.
+     * @return the same StringBuilder.
+     */
+    public StringBuilder appendSaveRepresentation(StringBuilder builder) {
+        return this.appendSaveRepresentation(builder, this.description);
+    }
+
+    /**
+     * Creates the String representation of the Task for saving, with the description field replaced,
+     * e.g. by a reference into the description dictionary of the save file.
+     *
+     * @param savedDescription What to save in place of the description.
+     * @return String representation of the Task ready to be saved into a .txt file.
+     */
+    public String saveRepresentation(String savedDescription) {
+        return this.appendSaveRepresentation(new StringBuilder(), savedDescription).toString();
+    }
+
+    /**
+     * Appends the String representation of the Task for saving, with the description field replaced.
+     *
+     * @param builder StringBuilder to append to.
+     * @param savedDescription What to save in place of the description.
+     * @return the same StringBuilder.
+     */
+    public abstract StringBuilder appendSaveRepresentation(StringBuilder builder, String savedDescription);
+
+    /**
+     * Appends the marker of the Task type and the completion status, the first two fields of every saved line.
+     */
+    protected StringBuilder appendSaveFields(StringBuilder builder, String marker) {
+        return builder.append(marker).append(Task.SEPARATOR).append(Task.getDoneMarker(this.isDone));
+    }
 
     /**
      * Checks if this Task has a scheduling conflict with another Task.
@@ -0,0 +1,29 @@
+package echo.task;
+
+/**
+ * Gets told about every change a TaskManager makes to its tasks, e.g. to save only the tasks that changed.
+ * Listeners are called after the change has been made.
+ */
+public interface TaskChangeListener {
+
+    /**
+     * Called after a task has been added.
+     *
+     * @param task Task that was added.
+     */
+    void onTaskAdded(Task task);
+
+    /**
+     * Called after a task has been removed.
+     *
+     * @param task Task that was removed.
+     */
+    void onTaskRemoved(Task task);
+
+    /**
+     * Called after a task has been marked as done or undone.
+     *
+     * @param task Task that changed.
+     */
+    void onTaskChanged(Task task);
+}
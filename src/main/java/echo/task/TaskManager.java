@@ -1,11 +1,21 @@
 package echo.task;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import echo.command.Command;
+import echo.exception.StorageException;
 import echo.exception.TaskException;
 import echo.exception.TaskManagerException;
+import echo.monitoring.ConflictCheckEvent;
 
 /**
  * Manages the collection of tasks in the Echo application.
@@ -15,6 +25,18 @@ import echo.exception.TaskManagerException;
  * The TaskManager maintains an ArrayList of tasks and provides methods to manipulate
  * and query this collection. It performs validation to ensure task operations are valid
  * (e.g., task numbers are within bounds).
+ *
+ * TimedTasks are also indexed by the days they occupy, so that conflict checks and
+ * per-day queries do not have to scan every task, and by their start time for agenda queries, in an Agenda
+ * that keeps them in memory unless another one is given.
+ * RecurringTasks can repeat forever, so they are kept in a separate list instead,
+ * and only their occurrences inside the window a query or conflict check asks about are created.
+ * Every task is also indexed by the words of its description for ranked search,
+ * and counted by kind and completion status so that statistics do not need to scan the tasks either.
+ * Tasks can come after other tasks, and the tasks not done yet are kept split into those that are ready
+ * and those blocked by a prerequisite, so the ready tasks can be listed without going through the others.
+ *
+ * Every change to the tasks is passed on to the TaskChangeListeners added to the TaskManager.
  */
 public class TaskManager {
 
@@ -27,12 +49,32 @@ public class TaskManager {
     private static final String ERROR_MESSAGE_TASK_NUMBER_MORE_THAN_SIZE = "You do not have %d tasks yet...";
     private static final String ERROR_MESSAGE_TASK_NUMBER_LESS_THAN_EQUAL_ZERO =
         "No such thing as task %d!";
+    private static final String ERROR_MESSAGE_DATE_NULL = "Date is null";
+    private static final String ERROR_MESSAGE_QUERY_NULL = "Search query is null";
+    private static final String ERROR_MESSAGE_LISTENER_NULL = "Change listener is null";
+    private static final String ERROR_MESSAGE_DEPENDENCY_ON_ITSELF = "Task %d cannot come after itself!";
+    private static final String ERROR_MESSAGE_DEPENDENCY_CYCLE =
+        "Task %d already comes after task %d, so it cannot also come before it!";
+
+    // index of the optional /every argument, followed by the optional /until argument
+    private static final int INDEX_DEADLINE_EVERY = 1;
+    private static final int INDEX_EVENT_EVERY = 2;
 
 
     private ArrayList<Task> tasks;
+    private TimeBucketIndex timeBucketIndex;
+    private Agenda agenda;
+    private ArrayList<RecurringTask> recurringTasks;
+    private SearchIndex searchIndex;
+    private StatisticsIndex statisticsIndex;
+    private DependencyGraph dependencyGraph;
+    private DescriptionPool descriptionPool;
+    private ArrayList<TaskChangeListener> changeListeners;
+    // incremented by every change to the tasks, so callers can tell if the tasks changed since they last looked
+    private long modificationCount;
 
     public TaskManager() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>(), new DescriptionPool());
     }
 
     /**
@@ -40,9 +82,43 @@ public class TaskManager {
      * @param tasks The tasks for the TaskManager to manage
      */
     public TaskManager(ArrayList<Task> tasks) {
+        this(tasks, new DescriptionPool());
+    }
+
+    /**
+     * Creates a new TaskManager that interns the descriptions of added tasks into a pool,
+     * usually the same pool the tasks were loaded with.
+     *
+     * @param tasks The tasks for the TaskManager to manage
+     * @param descriptionPool Pool to intern the descriptions of added tasks into
+     */
+    public TaskManager(ArrayList<Task> tasks, DescriptionPool descriptionPool) {
+        this(tasks, descriptionPool, new AgendaIndex());
+    }
+
+    /**
+     * Creates a new TaskManager that finds its TimedTasks by start time through an Agenda,
+     * e.g. one looking them up in the page file the tasks are kept in.
+     *
+     * @param tasks The tasks for the TaskManager to manage
+     * @param descriptionPool Pool to intern the descriptions of added tasks into
+     * @param agenda Agenda to find the TimedTasks by start time with
+     */
+    public TaskManager(ArrayList<Task> tasks, DescriptionPool descriptionPool, Agenda agenda) {
         assert tasks != null : TaskManager.ERROR_MESSAGE_TASK_LIST_NULL;
 
         this.tasks = tasks;
+        this.descriptionPool = descriptionPool;
+        this.timeBucketIndex = new TimeBucketIndex();
+        this.agenda = agenda;
+        this.recurringTasks = new ArrayList<>();
+        this.searchIndex = new SearchIndex();
+        this.statisticsIndex = new StatisticsIndex();
+        this.dependencyGraph = new DependencyGraph();
+        this.changeListeners = new ArrayList<>();
+        for (Task task : tasks) {
+            this.indexTask(task);
+        }
     }
 
     /**
@@ -63,32 +139,112 @@ public class TaskManager {
         assert type != null : TaskManager.ERROR_MESSAGE_COMMAND_TYPE_NULL;
         assert commandArgs != null : TaskManager.ERROR_MESSAGE_COMMAND_ARGUMENTS_NULL;
 
-        Task task = this.createTask(taskDescription, type, commandArgs);
-        boolean hasConflict = this.isConflicting(task);
-        ArrayList<Task> conflictingTasks = this.findConflictingTasks(task);
+        String description = this.descriptionPool.intern(taskDescription);
+        Task task = this.createTask(description, type, commandArgs);
+
+        ConflictCheckEvent event = new ConflictCheckEvent();
+        event.begin();
+        LinkedHashSet<Task> candidates = this.findConflictCandidates(task);
+        ArrayList<Task> conflictingTasks = this.findConflictingTasks(task, candidates);
+        boolean hasConflict = !conflictingTasks.isEmpty();
+        event.end();
+        if (event.shouldCommit()) {
+            event.taskType = type.toString();
+            event.tasksChecked = candidates.size();
+            event.conflictCount = conflictingTasks.size();
+            event.commit();
+        }
+
         this.tasks.add(task);
-        return new AddTaskResult(task, hasConflict, conflictingTasks);
+        this.indexTask(task);
+        this.modificationCount++;
+        for (TaskChangeListener listener : this.changeListeners) {
+            listener.onTaskAdded(task);
+        }
+        return new AddTaskResult(task, hasConflict, conflictingTasks, this.tasks.size());
     }
 
     private Task createTask(String taskDescription, Command type,
         ArrayList<String> commandArgs) throws TaskException, TaskManagerException {
         if (type.equals(Command.EVENT)) {
-            return new Event(taskDescription, commandArgs.get(0), commandArgs.get(1));
+            Event event = new Event(taskDescription, commandArgs.get(0), commandArgs.get(1));
+            return this.createRecurringTaskIfRepeated(event, commandArgs, TaskManager.INDEX_EVENT_EVERY);
         } else if (type.equals(Command.TODO)) {
             return new ToDo(taskDescription);
         } else if (type.equals(Command.DEADLINE)) {
-            return new Deadline(taskDescription, commandArgs.get(0));
+            Deadline deadline = new Deadline(taskDescription, commandArgs.get(0));
+            return this.createRecurringTaskIfRepeated(deadline, commandArgs, TaskManager.INDEX_DEADLINE_EVERY);
         } else {
             throw new TaskManagerException(
                 TaskManager.ERROR_MESSAGE_UNKNOWN_TASK_TYPE.formatted(type.toString()));
         }
     }
 
-    private boolean isConflicting(Task task) throws TaskManagerException {
-        boolean hasConflicts = this.tasks.stream()
-            .reduce(false, (currentlyHasConflicts, newTask)
-                -> currentlyHasConflicts || newTask.hasSchedulingConflict(task), (x, y) -> x || y);
-        return hasConflicts;
+    /**
+     * Wraps a Deadline or Event into a RecurringTask if the user asked for it to repeat.
+     *
+     * @param firstOccurrence Deadline or Event created from the command arguments.
+     * @param commandArgs Arguments of the command, optionally followed by /every and /until.
+     * @param everyIndex Index of the /every argument, if there is one.
+     * @return firstOccurrence itself if it does not repeat, else a RecurringTask starting with it.
+     * @throws TaskException If the /every or /until argument is invalid.
+     */
+    private Task createRecurringTaskIfRepeated(TimedTask firstOccurrence, ArrayList<String> commandArgs,
+            int everyIndex) throws TaskException {
+        if (commandArgs.size() <= everyIndex) {
+            return firstOccurrence;
+        }
+        String until = commandArgs.size() > everyIndex + 1 ? commandArgs.get(everyIndex + 1) : null;
+        return new RecurringTask(firstOccurrence, Recurrence.of(commandArgs.get(everyIndex), until));
+    }
+
+    private void indexTask(Task task) {
+        this.searchIndex.add(task);
+        this.statisticsIndex.add(task);
+        this.dependencyGraph.add(task);
+        if (task instanceof TimedTask) {
+            this.timeBucketIndex.add((TimedTask) task);
+            this.agenda.add((TimedTask) task);
+        } else if (task instanceof RecurringTask) {
+            this.recurringTasks.add((RecurringTask) task);
+        }
+    }
+
+    private void unindexTask(Task task) {
+        this.searchIndex.remove(task);
+        this.statisticsIndex.remove(task);
+        this.dependencyGraph.remove(task);
+        if (task instanceof TimedTask) {
+            this.timeBucketIndex.remove((TimedTask) task);
+            this.agenda.remove((TimedTask) task);
+        } else if (task instanceof RecurringTask) {
+            // remove by identity, two tasks with the same details are still different tasks
+            this.recurringTasks.removeIf(recurringTask -> recurringTask == task);
+        }
+    }
+
+    /**
+     * Gets the tasks that could conflict with a task.
+     * For a Deadline or Event, these are the TimedTasks sharing a day with it and every RecurringTask,
+     * each of which only checks its occurrences around the task.
+     * For a RecurringTask, these are all TimedTasks and RecurringTasks, since it may repeat forever.
+     *
+     * @param task Task to be checked for conflicts.
+     * @return Tasks that may conflict with task, empty if task is a ToDo.
+     */
+    private LinkedHashSet<Task> findConflictCandidates(Task task) {
+        LinkedHashSet<Task> candidates = new LinkedHashSet<>();
+        if (task instanceof TimedTask) {
+            TimedTask timedTask = (TimedTask) task;
+            candidates.addAll(this.timeBucketIndex.findCandidates(timedTask.getStart(), timedTask.getEnd()));
+            candidates.addAll(this.recurringTasks);
+        } else if (task instanceof RecurringTask) {
+            this.tasks.stream()
+                .filter(x -> x instanceof TimedTask || x instanceof RecurringTask)
+                .forEach(candidates::add);
+        }
+        // ToDos cannot conflict with anything
+        return candidates;
     }
 
     /**
@@ -117,9 +273,24 @@ public class TaskManager {
         this.checkNotOutOfBounds(taskNumber);
         // array is 0 indexed so need to translate it by 1
         Task removedTask = this.tasks.remove(taskNumber - 1);
+        this.unindexTask(removedTask);
+        this.modificationCount++;
+        for (TaskChangeListener listener : this.changeListeners) {
+            listener.onTaskRemoved(removedTask);
+        }
         return removedTask;
     }
 
+    /**
+     * Gets the pool the descriptions of tasks added to this task manager are interned into,
+     * e.g. to intern the descriptions of tasks read from a file before importing them.
+     *
+     * @return the DescriptionPool.
+     */
+    public DescriptionPool getDescriptionPool() {
+        return this.descriptionPool;
+    }
+
     /**
      * Get all tasks in the task manager as an ArrayList of Task.
      *
@@ -129,6 +300,145 @@ public class TaskManager {
         return this.tasks;
     }
 
+    /**
+     * Adds tasks that already exist elsewhere, e.g. copied from another save file,
+     * without checking them for conflicts.
+     *
+     * @param importedTasks Tasks to add, in order.
+     */
+    public void importTasks(List<Task> importedTasks) {
+        // imports can be large, so grow the list once
+        this.tasks.ensureCapacity(this.tasks.size() + importedTasks.size());
+        for (Task task : importedTasks) {
+            assert task != null : TaskManager.ERROR_MESSAGE_TASK_NULL;
+
+            this.tasks.add(task);
+            this.indexTask(task);
+        }
+        this.modificationCount++;
+        for (Task task : importedTasks) {
+            for (TaskChangeListener listener : this.changeListeners) {
+                listener.onTaskAdded(task);
+            }
+        }
+    }
+
+    /**
+     * Inserts tasks that already exist elsewhere right after another task, e.g. tasks another program
+     * added to the middle of the save file, without checking them for conflicts.
+     *
+     * @param after Task to insert after, compared by identity, or null to insert at the start.
+     *     If it is no longer in the task list, the tasks are added at the end instead.
+     * @param insertedTasks Tasks to insert, in order.
+     */
+    public void insertTasks(Task after, List<Task> insertedTasks) {
+        int index = 0;
+        if (after != null) {
+            index = this.tasks.size();
+            for (int i = 0; i < this.tasks.size(); i++) {
+                if (this.tasks.get(i) == after) {
+                    index = i + 1;
+                    break;
+                }
+            }
+        }
+
+        this.tasks.addAll(index, insertedTasks);
+        for (Task task : insertedTasks) {
+            assert task != null : TaskManager.ERROR_MESSAGE_TASK_NULL;
+
+            this.indexTask(task);
+        }
+        this.modificationCount++;
+        for (Task task : insertedTasks) {
+            for (TaskChangeListener listener : this.changeListeners) {
+                listener.onTaskAdded(task);
+            }
+        }
+    }
+
+    /**
+     * Marks tasks as done or not done in a single pass over the task list, e.g. tasks another program
+     * marked in the save file. Tasks no longer in the task list are left alone.
+     *
+     * @param tasksToMark Tasks to mark, compared by identity.
+     * @param isDone Whether to mark the tasks as done.
+     */
+    public void markTasks(List<Task> tasksToMark, boolean isDone) {
+        Set<Task> markedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        markedTasks.addAll(tasksToMark);
+        ArrayList<Task> changedTasks = new ArrayList<>();
+        for (Task task : this.tasks) {
+            if (!markedTasks.contains(task)) {
+                continue;
+            }
+            this.setDone(task, isDone);
+            changedTasks.add(task);
+        }
+        this.modificationCount++;
+        for (Task task : changedTasks) {
+            for (TaskChangeListener listener : this.changeListeners) {
+                listener.onTaskChanged(task);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks that are done, e.g. to archive them.
+     *
+     * @param endedBefore Only find Deadlines, Events and RecurringTasks that ended before this time,
+     *     or null to find every done task.
+     * @return ArrayList of done Task, in order.
+     */
+    public ArrayList<Task> findDoneTasks(LocalDateTime endedBefore) {
+        List<Task> list = this.tasks.stream()
+            .filter(x -> x.isDone() && (endedBefore == null || TaskManager.hasEndedBefore(x, endedBefore)))
+            .toList();
+        return new ArrayList<>(list);
+    }
+
+    /**
+     * Checks if a task is over before a time. ToDos have no time, so they never are.
+     */
+    private static boolean hasEndedBefore(Task task, LocalDateTime time) {
+        if (task instanceof TimedTask) {
+            return ((TimedTask) task).getEnd().isBefore(time);
+        } else if (task instanceof RecurringTask) {
+            LocalDate until = ((RecurringTask) task).getRecurrence().getUntil();
+            return until != null && until.isBefore(time.toLocalDate());
+        }
+        return false;
+    }
+
+    /**
+     * Removes tasks in a single pass over the task list, keeping the order of the remaining tasks.
+     * Tasks no longer in the task list are left alone.
+     *
+     * @param tasksToRemove Tasks to remove, compared by identity.
+     */
+    public void removeTasks(List<Task> tasksToRemove) {
+        Set<Task> requestedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        requestedTasks.addAll(tasksToRemove);
+        // tasks no longer in the task list were already unindexed
+        Set<Task> removedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Task task : this.tasks) {
+            if (requestedTasks.contains(task)) {
+                removedTasks.add(task);
+            }
+        }
+        for (Task task : removedTasks) {
+            this.unindexTask(task);
+        }
+        // the list is shared with whoever created this TaskManager, so it is changed in place
+        this.tasks.removeIf(removedTasks::contains);
+        this.modificationCount++;
+        for (Task task : removedTasks) {
+            for (TaskChangeListener listener : this.changeListeners) {
+                listener.onTaskRemoved(task);
+            }
+        }
+    }
+
     /**
      * Marks a task as done.
      *
@@ -143,7 +453,11 @@ public class TaskManager {
 
         assert t != null : TaskManager.ERROR_MESSAGE_TASK_NULL;
 
-        t.markAsDone();
+        this.setDone(t, true);
+        this.modificationCount++;
+        for (TaskChangeListener listener : this.changeListeners) {
+            listener.onTaskChanged(t);
+        }
         return t;
     }
 
@@ -160,10 +474,146 @@ public class TaskManager {
 
         assert t != null : TaskManager.ERROR_MESSAGE_TASK_NULL;
 
-        t.markAsUndone();
+        this.setDone(t, false);
+        this.modificationCount++;
+        for (TaskChangeListener listener : this.changeListeners) {
+            listener.onTaskChanged(t);
+        }
         return t;
     }
 
+    /**
+     * Marks a task as done or undone, and updates the indexes that depend on whether it is done.
+     */
+    private void setDone(Task task, boolean isDone) {
+        this.statisticsIndex.remove(task);
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsUndone();
+        }
+        this.statisticsIndex.add(task);
+        if (task instanceof TimedTask) {
+            this.agenda.update((TimedTask) task);
+        }
+        this.dependencyGraph.update(task);
+    }
+
+    /**
+     * Makes a task come after another, so that it is blocked until the other task is done.
+     *
+     * @param taskNumber the task number (1-indexed) of the task to come after the other.
+     * @param prerequisiteNumber the task number (1-indexed) of the task to be done first.
+     * @return the Dependency, which is not added again if the task already came after the other.
+     * @throws TaskManagerException If either task number is out of bounds, or the other task already comes after
+     *     the task, directly or through other tasks, as the tasks could then never be done in order.
+     */
+    public Dependency addDependency(int taskNumber, int prerequisiteNumber) throws TaskManagerException {
+        this.checkNotOutOfBounds(taskNumber);
+        this.checkNotOutOfBounds(prerequisiteNumber);
+        if (taskNumber == prerequisiteNumber) {
+            throw new TaskManagerException(TaskManager.ERROR_MESSAGE_DEPENDENCY_ON_ITSELF.formatted(taskNumber));
+        }
+        Task task = this.tasks.get(taskNumber - 1);
+        Task prerequisite = this.tasks.get(prerequisiteNumber - 1);
+        if (this.dependencyGraph.wouldCreateCycle(task, prerequisite)) {
+            throw new TaskManagerException(
+                TaskManager.ERROR_MESSAGE_DEPENDENCY_CYCLE.formatted(prerequisiteNumber, taskNumber));
+        }
+
+        if (this.dependencyGraph.addDependency(task, prerequisite)) {
+            this.modificationCount++;
+            for (TaskChangeListener listener : this.changeListeners) {
+                listener.onTaskChanged(task);
+            }
+        }
+        return new Dependency(task, prerequisite);
+    }
+
+    /**
+     * Adds dependencies between tasks already in the task list, e.g. those loaded with the tasks.
+     * Dependencies that would close a cycle are skipped.
+     *
+     * @param dependencies Dependencies to add.
+     */
+    public void addDependencies(List<Dependency> dependencies) {
+        ArrayList<Task> changedTasks = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            if (!this.dependencyGraph.wouldCreateCycle(dependency.getTask(), dependency.getPrerequisite())
+                    && this.dependencyGraph.addDependency(dependency.getTask(), dependency.getPrerequisite())) {
+                changedTasks.add(dependency.getTask());
+            }
+        }
+        if (changedTasks.isEmpty()) {
+            return;
+        }
+        this.modificationCount++;
+        for (Task task : changedTasks) {
+            for (TaskChangeListener listener : this.changeListeners) {
+                listener.onTaskChanged(task);
+            }
+        }
+    }
+
+    /**
+     * Gets every dependency between the tasks, e.g. to save them.
+     *
+     * @return ArrayList of Dependency.
+     */
+    public ArrayList<Dependency> getDependencies() {
+        return this.dependencyGraph.getDependencies();
+    }
+
+    /**
+     * Checks if any task comes after another.
+     *
+     * @return true if there are dependencies between the tasks, else false.
+     */
+    public boolean hasDependencies() {
+        return !this.dependencyGraph.isEmpty();
+    }
+
+    /**
+     * Gets the tasks not done yet whose prerequisites are all done, so they can be worked on now.
+     * Takes time in the number of ready tasks, as the ready tasks are kept up to date by every change.
+     *
+     * @return ArrayList of the ready tasks, in the order they became ready.
+     */
+    public ArrayList<Task> getReadyTasks() {
+        return this.dependencyGraph.getReadyTasks();
+    }
+
+    /**
+     * Adds a listener to be told about every later change to the tasks.
+     *
+     * @param listener Listener to add.
+     */
+    public void addChangeListener(TaskChangeListener listener) {
+        assert listener != null : TaskManager.ERROR_MESSAGE_LISTENER_NULL;
+
+        this.changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener so that it is not told about later changes to the tasks.
+     *
+     * @param listener Listener to remove.
+     */
+    public void removeChangeListener(TaskChangeListener listener) {
+        this.changeListeners.remove(listener);
+    }
+
+    /**
+     * Gets the number of changes made to the tasks so far.
+     * Only differences between two counts are meaningful.
+     *
+     * @return Number of additions, removals, completion status changes and dependencies made through this
+     *     TaskManager.
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
     /**
      * Get the number of tasks present in the TaskManager currently.
      *
@@ -173,6 +623,19 @@ public class TaskManager {
         return this.tasks.size();
     }
 
+    /**
+     * Gets how many tasks there are of each kind, how many are done and how many deadlines are overdue.
+     * Takes O(log n) time, as the counts are kept up to date by every change to the tasks.
+     *
+     * @param now Time before which deadlines not done are overdue, usually the current time.
+     * @return the statistics of the tasks.
+     */
+    public TaskStatistics getStatistics(LocalDateTime now) {
+        assert now != null : TaskManager.ERROR_MESSAGE_DATE_NULL;
+
+        return this.statisticsIndex.getStatistics(now);
+    }
+
     /**
      * Searches for Tasks whose descriptions contain keyword.
      *
@@ -187,19 +650,122 @@ public class TaskManager {
         return filteredTasks;
     }
 
+    /**
+     * Searches for the Tasks whose descriptions best match a query, ignoring case and allowing small typos.
+     *
+     * @param query Words to search for in the Task descriptions.
+     * @param limit Maximum number of Tasks to find.
+     * @return ArrayList of up to limit Task sharing a word or a near miss with the query, best match first.
+     */
+    public ArrayList<Task> searchTasks(String query, int limit) {
+        assert query != null : TaskManager.ERROR_MESSAGE_QUERY_NULL;
+
+        return this.searchIndex.search(query, limit);
+    }
+
     /**
      * Finds all tasks that have scheduling conflicts with the given task.
      *
      * @param task The task to check for conflicts against.
+     * @param candidates Tasks that may conflict with the given task.
      * @return ArrayList of tasks that have scheduling conflicts with the given task.
      */
-    private ArrayList<Task> findConflictingTasks(Task task) {
-        // go through every task, check task falls within start and end date
-        List<Task> list = this.tasks.stream()
+    private ArrayList<Task> findConflictingTasks(Task task, LinkedHashSet<Task> candidates) {
+        // sharing a day is not enough, check the candidate actually overlaps the task
+        List<Task> list = candidates.stream()
             .filter(x -> x.hasSchedulingConflict(task))
             .toList();
         return new ArrayList<Task>(list);
     }
+
+    /**
+     * Finds all Deadlines and Events that take place on a day, without scanning every task.
+     *
+     * @param day Day to find tasks for.
+     * @return ArrayList of Deadlines due on the day and Events overlapping the day,
+     *     including occurrences of RecurringTasks.
+     */
+    public ArrayList<Task> findTasksOn(LocalDate day) {
+        assert day != null : TaskManager.ERROR_MESSAGE_DATE_NULL;
+
+        ArrayList<Task> tasksOnDay = new ArrayList<Task>(this.timeBucketIndex.findOn(day));
+        LocalDateTime startOfDay = day.atStartOfDay();
+        LocalDateTime endOfDay = day.atTime(LocalTime.MAX);
+        for (RecurringTask recurringTask : this.recurringTasks) {
+            tasksOnDay.addAll(recurringTask.findOccurrencesOverlapping(startOfDay, endOfDay));
+        }
+        return tasksOnDay;
+    }
+
+    /**
+     * Finds all Deadlines due on a day.
+     *
+     * @param day Day the Deadlines are due on.
+     * @return ArrayList of Deadlines due on the day, sorted by due time.
+     * @throws StorageException If the Agenda could not read the file it looks the tasks up in.
+     */
+    public ArrayList<Task> findDeadlinesDueOn(LocalDate day) throws StorageException {
+        assert day != null : TaskManager.ERROR_MESSAGE_DATE_NULL;
+
+        List<Task> list = this.findTimedTasksStartingBetween(day, day).stream()
+            .filter(x -> x instanceof Deadline)
+            .map(x -> (Task) x)
+            .toList();
+        return new ArrayList<Task>(list);
+    }
+
+    /**
+     * Finds all Deadlines due and Events starting from the first day to the last day, inclusive.
+     *
+     * @param firstDay First day of the range.
+     * @param lastDay Last day of the range.
+     * @return ArrayList of Deadlines and Events in the range, sorted by due or start time.
+     * @throws StorageException If the Agenda could not read the file it looks the tasks up in.
+     */
+    public ArrayList<Task> findTasksBetween(LocalDate firstDay, LocalDate lastDay) throws StorageException {
+        assert firstDay != null : TaskManager.ERROR_MESSAGE_DATE_NULL;
+        assert lastDay != null : TaskManager.ERROR_MESSAGE_DATE_NULL;
+
+        return new ArrayList<Task>(this.findTimedTasksStartingBetween(firstDay, lastDay));
+    }
+
+    /**
+     * Finds the Deadlines and Events, including occurrences of RecurringTasks, starting within a range of days.
+     *
+     * @param firstDay First day of the range.
+     * @param lastDay Last day of the range.
+     * @return TimedTasks starting within the range, sorted by start time.
+     */
+    private ArrayList<TimedTask> findTimedTasksStartingBetween(LocalDate firstDay, LocalDate lastDay)
+            throws StorageException {
+        ArrayList<TimedTask> found = this.agenda.findStartingBetween(firstDay, lastDay);
+        for (RecurringTask recurringTask : this.recurringTasks) {
+            found.addAll(recurringTask.findOccurrencesStartingBetween(firstDay.atStartOfDay(),
+                lastDay.plusDays(1).atStartOfDay()));
+        }
+        // stable, so tasks starting at the same time stay in the order they were added
+        found.sort(Comparator.comparing(TimedTask::getStart));
+        return found;
+    }
+
+    /**
+     * Finds the next few undone Deadlines and Events, starting from a given time.
+     *
+     * @param from Time to look for upcoming tasks from, usually the current time.
+     * @param limit Maximum number of tasks to find.
+     * @return ArrayList of at most limit upcoming tasks, sorted by due or start time.
+     * @throws StorageException If the Agenda could not read the file it looks the tasks up in.
+     */
+    public ArrayList<Task> findUpcomingTasks(LocalDateTime from, int limit) throws StorageException {
+        assert from != null : TaskManager.ERROR_MESSAGE_DATE_NULL;
+
+        ArrayList<TimedTask> upcomingTasks = this.agenda.findUpcoming(from, limit);
+        for (RecurringTask recurringTask : this.recurringTasks) {
+            if (!recurringTask.isDone()) {
+                upcomingTasks.addAll(recurringTask.findNextOccurrences(from, limit));
+            }
+        }
+        upcomingTasks.sort(Comparator.comparing(TimedTask::getStart));
+        return new ArrayList<Task>(upcomingTasks.subList(0, Math.min(limit, upcomingTasks.size())));
+    }
 }
-// TODO: managed to display the Tasks that have scheduling conflicts. Can we make the code cleaner?
-// TODO: Refactor code to make it use the TimedTask or something instead?
@@ -0,0 +1,73 @@
+package echo.task;
+
+/**
+ * Represents how many tasks of each kind a task list had at some moment.
+ */
+public class TaskStatistics {
+    private final int numTasks;
+    private final int numDone;
+    private final int numToDos;
+    private final int numDeadlines;
+    private final int numEvents;
+    private final int numRecurring;
+    private final int numOverdue;
+
+    /**
+     * Constructs a TaskStatistics.
+     *
+     * @param numTasks number of tasks
+     * @param numDone number of tasks marked as done
+     * @param numToDos number of todos
+     * @param numDeadlines number of deadlines that do not repeat
+     * @param numEvents number of events that do not repeat
+     * @param numRecurring number of recurring deadlines and events
+     * @param numOverdue number of deadlines not done that were due before the moment
+     */
+    public TaskStatistics(int numTasks, int numDone, int numToDos, int numDeadlines, int numEvents, int numRecurring,
+            int numOverdue) {
+        this.numTasks = numTasks;
+        this.numDone = numDone;
+        this.numToDos = numToDos;
+        this.numDeadlines = numDeadlines;
+        this.numEvents = numEvents;
+        this.numRecurring = numRecurring;
+        this.numOverdue = numOverdue;
+    }
+
+    public int getNumTasks() {
+        return this.numTasks;
+    }
+
+    public int getNumDone() {
+        return this.numDone;
+    }
+
+    public int getNumToDos() {
+        return this.numToDos;
+    }
+
+    public int getNumDeadlines() {
+        return this.numDeadlines;
+    }
+
+    public int getNumEvents() {
+        return this.numEvents;
+    }
+
+    public int getNumRecurring() {
+        return this.numRecurring;
+    }
+
+    public int getNumOverdue() {
+        return this.numOverdue;
+    }
+
+    /**
+     * Gets the share of tasks that are done.
+     *
+     * @return a number from 0 to 1, which is 0 if there are no tasks.
+     */
+    public double getCompletionRate() {
+        return this.numTasks == 0 ? 0 : (double) this.numDone / this.numTasks;
+    }
+}
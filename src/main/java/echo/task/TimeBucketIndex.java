@@ -0,0 +1,90 @@
+package echo.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Indexes TimedTasks by the days they occupy.
+ * A TimedTask is placed in the bucket of every day from its start date to its end date, inclusive.
+ *
+ * Two TimedTasks can only conflict if they share an instant, and therefore a day, so a conflict check
+ * only has to look at the buckets of the days the new task occupies instead of every task.
+ */
+class TimeBucketIndex {
+    private static final String ERROR_MESSAGE_TASK_NULL = "Timed task is null";
+    private static final String ERROR_MESSAGE_FROM_AFTER_TO = "Start of range is after end of range";
+
+    private final HashMap<LocalDate, ArrayList<TimedTask>> buckets = new HashMap<>();
+
+    /**
+     * Adds a TimedTask into the bucket of every day it occupies.
+     *
+     * @param task TimedTask to be indexed.
+     */
+    void add(TimedTask task) {
+        assert task != null : TimeBucketIndex.ERROR_MESSAGE_TASK_NULL;
+
+        LocalDate lastDay = task.getEnd().toLocalDate();
+        for (LocalDate day = task.getStart().toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            this.buckets.computeIfAbsent(day, key -> new ArrayList<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes a TimedTask from the bucket of every day it occupies.
+     *
+     * @param task TimedTask to be removed from the index.
+     */
+    void remove(TimedTask task) {
+        assert task != null : TimeBucketIndex.ERROR_MESSAGE_TASK_NULL;
+
+        LocalDate lastDay = task.getEnd().toLocalDate();
+        for (LocalDate day = task.getStart().toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            ArrayList<TimedTask> bucket = this.buckets.get(day);
+            if (bucket == null) {
+                continue;
+            }
+            // remove by identity, two tasks with the same details are still different tasks
+            bucket.removeIf(indexedTask -> indexedTask == task);
+            if (bucket.isEmpty()) {
+                this.buckets.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Gets the TimedTasks that occupy any of the days between from and to, inclusive.
+     * Each task is returned once, even if it occupies several of those days.
+     *
+     * @param from Time whose day is the first day to look at.
+     * @param to Time whose day is the last day to look at.
+     * @return TimedTasks that may overlap the range from to to, in order of the first day they were found on.
+     */
+    LinkedHashSet<TimedTask> findCandidates(LocalDateTime from, LocalDateTime to) {
+        assert !from.isAfter(to) : TimeBucketIndex.ERROR_MESSAGE_FROM_AFTER_TO;
+
+        LinkedHashSet<TimedTask> candidates = new LinkedHashSet<>();
+        LocalDate lastDay = to.toLocalDate();
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            ArrayList<TimedTask> bucket = this.buckets.get(day);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Gets the TimedTasks that occupy a day.
+     *
+     * @param day Day to look up.
+     * @return TimedTasks that overlap the day, in the order they were indexed.
+     */
+    ArrayList<TimedTask> findOn(LocalDate day) {
+        ArrayList<TimedTask> bucket = this.buckets.get(day);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+}
@@ -3,6 +3,7 @@ package echo.task;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 
 import echo.exception.TaskException;
 
@@ -13,18 +14,47 @@ import echo.exception.TaskException;
  * Provides static variables for its children to format and parse the date time information.
  */
 public abstract class TimedTask extends Task {
-    // formatter for displaying the string representation only
-    protected static final DateTimeFormatter FORMATTER_TO_STRING = DateTimeFormatter.ofPattern("d MMM yyyy HHmm");
-    // formatter for parsing and saving the deadline
-    protected static final DateTimeFormatter FORMATTER_TO_SAVE = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    // formatter for parsing the deadline, dates are displayed and saved by DateTimeWriter
+    // strict, so days that do not exist such as 2026-02-30 are rejected instead of moved to the end of the month
+    protected static final DateTimeFormatter FORMATTER_TO_SAVE = DateTimeFormatter.ofPattern("uuuu-MM-dd HHmm")
+        .withResolverStyle(ResolverStyle.STRICT);
 
-    private static final String ERROR_MESSAGE_DATE_WRONG_FORMAT =
-        "Date is in the wrong format! Must be in yyyy-mm-dd HHmm";
+    // lists the forms DateParser accepts, the saved form first
+    static final String ERROR_MESSAGE_DATE_WRONG_FORMAT = "Date is in the wrong format! Try e.g. 2026-01-25 1800, "
+        + "2026-01-25, 6pm, 18:30, noon, tomorrow 6pm, next mon or in 3 days";
 
     protected TimedTask(String description) throws TaskException {
         super(description);
     }
 
+    protected TimedTask(TimedTask other) {
+        super(other);
+    }
+
+    /**
+     * Creates a copy of this task moved to start at another time, as an occurrence of a RecurringTask.
+     * The copy lasts as long as this task does.
+     *
+     * @param start Start of the copy.
+     * @return the copy, which is not part of any task list.
+     */
+    abstract TimedTask createOccurrence(LocalDateTime start);
+
+    /**
+     * Gets the time at which this task starts occupying the schedule.
+     *
+     * @return start of the task as a LocalDateTime.
+     */
+    public abstract LocalDateTime getStart();
+
+    /**
+     * Gets the time at which this task stops occupying the schedule.
+     * Never earlier than {@link #getStart()}.
+     *
+     * @return end of the task as a LocalDateTime.
+     */
+    public abstract LocalDateTime getEnd();
+
     /**
      * Parses all dates in the form of String
      * Intended as a helper method for child classes
@@ -40,8 +40,17 @@ public class ToDo extends Task {
      * @throws TaskException If the line is wrongly formatted to what ToDo expects
      */
     public static ToDo fromSaveFormat(String line) throws TaskException {
-        // get arguments to parse
-        String[] args = line.split(Task.LOADING_SPLIT_PATTERN);
+        return ToDo.fromSaveArgs(line.split(Task.LOADING_SPLIT_PATTERN));
+    }
+
+    /**
+     * Creates a new ToDo object from a saved line that has already been split into its fields.
+     *
+     * @param args Fields of the saved line, with the description already resolved
+     * @return A ToDo object after parsing the fields
+     * @throws TaskException If the fields are wrongly formatted to what ToDo expects
+     */
+    public static ToDo fromSaveArgs(String[] args) throws TaskException {
         // check valid arguments for saving format
         ToDo.checkTodoValid(args);
         // create new ToDo
@@ -53,13 +62,15 @@ public class ToDo extends Task {
     }
 
     /**
-     * Displays Todo class in String form
+     * Appends Todo class in String form, e.g. [T][ ] read book
      *
-     * @return String representation of Todo when displayed on the terminal
+     * @param builder StringBuilder to append to.
+     * @return the same StringBuilder.
      */
     @Override
-    public String toString() {
-        return "[" + ToDo.MARKER_TODO + "]" + super.toString();
+    public StringBuilder appendTo(StringBuilder builder) {
+        builder.append('[').append(ToDo.MARKER_TODO).append(']');
+        return super.appendTo(builder);
     }
 
     /**
@@ -72,15 +83,16 @@ public class ToDo extends Task {
     }
 
     /**
-     * Create String representation of ToDo task.
-     * Return String is of the form: T | 1 | read book
+     * Appends String representation of ToDo task for saving.
+     * Appended String is of the form: T | 1 | read book
      *
-     * @return String representation of the ToDo task ready to be saved into a .txt file.
+     * @param builder StringBuilder to append to.
+     * @param savedDescription What to save in place of the description.
+     * @return the same StringBuilder.
      */
     @Override
-    public String saveRepresentation() {
-        String isDone = super.isDone ? Task.MARKER_IS_DONE : Task.MARKER_IS_NOT_DONE;
-        return ToDo.MARKER_TODO + Task.SEPARATOR + isDone + Task.SEPARATOR + super.description;
+    public StringBuilder appendSaveRepresentation(StringBuilder builder, String savedDescription) {
+        return super.appendSaveFields(builder, ToDo.MARKER_TODO).append(Task.SEPARATOR).append(savedDescription);
     }
 
     @Override
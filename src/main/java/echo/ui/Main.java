@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import echo.Echo;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -13,6 +14,8 @@ import javafx.stage.Stage;
  * A GUI for Echo using FXML.
  * This class serves as the entry point for the JavaFX application,
  * loading the main window layout and initializing the Echo chatbot.
+ *
+ * The window is shown before the saved tasks are loaded, see {@link MainWindow#setEcho(Echo)}.
  */
 public class Main extends Application {
 
@@ -22,6 +25,7 @@ public class Main extends Application {
     private static final int SCREEN_MIN_HEIGHT = 220;
     private static final int SCREEN_MIN_WIDTH = 417;
 
+    // cheap to construct, the saved tasks are loaded in the background once the window is up
     private Echo echo = new Echo();
 
     /**
@@ -40,6 +44,14 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Saves the changes still waiting for a batched save before the application exits.
+     */
+    @Override
+    public void stop() {
+        this.echo.close();
+    }
+
     private void createScene(Stage stage) throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource(Main.MAIN_WINDOW_FXML_PATH));
         AnchorPane ap = fxmlLoader.load();
@@ -50,6 +62,23 @@ public class Main extends Application {
         stage.setMinHeight(Main.SCREEN_MIN_HEIGHT);
         stage.setMinWidth(Main.SCREEN_MIN_WIDTH);
         fxmlLoader.<MainWindow>getController().setEcho(this.echo);
+        this.recordFirstPaint(scene);
         stage.show();
     }
+
+    /**
+     * Records the first layout pass of the scene as the time-to-first-paint of Echo.
+     *
+     * @param scene Scene of the main window.
+     */
+    private void recordFirstPaint(Scene scene) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                StartupTimer.markFirstPaint();
+                // remove outside of the pulse, the listener list is being iterated over right now
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        });
+    }
 }
@@ -1,9 +1,16 @@
 package echo.ui;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
 import echo.Echo;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
@@ -13,7 +20,10 @@ import javafx.scene.layout.VBox;
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
-    private static final String BYE_COMMAND = "bye";
+    private static final String LOADER_THREAD_NAME = "echo-task-loader";
+    private static final double LOADING_INDICATOR_SIZE = 32;
+    // file of commands to run on startup, used to train the class-data-sharing archive
+    private static final String PROPERTY_STARTUP_SCRIPT = "echo.startup.script";
 
     @FXML
     private ScrollPane scrollPane;
@@ -25,6 +35,14 @@ public class MainWindow extends AnchorPane {
     private Button sendButton;
 
     private Echo echo;
+    private final MessageFormatter messageFormatter = new MessageFormatter();
+
+    // user commands that arrived before the saved tasks finished loading, in the order they were sent
+    private final Queue<String> pendingInputs = new ArrayDeque<>();
+    private final ProgressIndicator loadingIndicator = new ProgressIndicator();
+    private boolean hasLoadedTasks = false;
+    // set by the loader thread if loading failed with an unexpected exception
+    private volatile String loaderErrorMessage;
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
@@ -35,14 +53,99 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Injects the Echo instance
+     * Injects the Echo instance.
+     * Greets the user straight away and loads the saved tasks in the background,
+     * so that the window does not wait on a large history before it is shown.
      *
      * @param e The Echo instance to be injected
      */
     public void setEcho(Echo e) {
         this.echo = e;
         this.greetUser();
+        // changes made by other programs are merged in, reminders become due, and batched saves fail,
+        // on other threads
+        this.echo.setExternalChangeListener(this::showDukeMessageLater);
+        this.echo.setReminderListener(this::showDukeMessageLater);
+        this.echo.setSaveFailureListener(this::showDukeMessageLater);
+        this.loadTasksInBackground();
+    }
+
+    /**
+     * Appends a message from Duke to the dialog container on the JavaFX application thread.
+     * Can be called from any thread.
+     *
+     * @param message Message to show.
+     */
+    private void showDukeMessageLater(String message) {
+        Platform.runLater(() ->
+            this.dialogContainer.getChildren().add(DialogBox.getDukeDialog(message, this.dukeImage)));
+    }
+
+    /**
+     * Loads the saved tasks on a background thread while showing a progress indicator.
+     */
+    private void loadTasksInBackground() {
+        this.loadingIndicator.setMaxSize(MainWindow.LOADING_INDICATOR_SIZE, MainWindow.LOADING_INDICATOR_SIZE);
+        this.dialogContainer.getChildren().add(this.loadingIndicator);
+
+        Thread loader = new Thread(() -> {
+            try {
+                this.echo.loadTasks();
+            } catch (RuntimeException e) {
+                this.loaderErrorMessage = this.messageFormatter.createLoadingFailedMessage(e);
+            } finally {
+                // the input stays queued until loading has finished, so finish even if it failed
+                Platform.runLater(this::finishLoading);
+            }
+        }, MainWindow.LOADER_THREAD_NAME);
+        // do not keep the application alive just to finish loading
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Removes the progress indicator and applies the commands that were queued while loading, in order.
+     * Must be called on the JavaFX application thread.
+     */
+    private void finishLoading() {
+        this.dialogContainer.getChildren().remove(this.loadingIndicator);
         this.checkLoadingErrors();
+        this.hasLoadedTasks = true;
+
+        while (!this.pendingInputs.isEmpty()) {
+            this.respondTo(this.pendingInputs.poll());
+        }
+        this.runStartupScript();
+
+        StartupTimer.markInteractive();
+        if (StartupTimer.shouldExitWhenInteractive()) {
+            // the first paint may still be to come, both timings are reported before exiting
+            StartupTimer.runWhenComplete(Platform::exit);
+        }
+    }
+
+    /**
+     * Runs the commands in the file given by the {@code echo.startup.script} system property, if any,
+     * as if the user had typed them one by one.
+     */
+    private void runStartupScript() {
+        String scriptPath = System.getProperty(MainWindow.PROPERTY_STARTUP_SCRIPT);
+        if (scriptPath == null) {
+            return;
+        }
+
+        try {
+            for (String input : Files.readAllLines(Path.of(scriptPath))) {
+                if (input.isBlank()) {
+                    continue;
+                }
+                this.dialogContainer.getChildren().add(DialogBox.getUserDialog(input, this.userImage));
+                this.respondTo(input);
+            }
+        } catch (IOException e) {
+            this.dialogContainer.getChildren().add(DialogBox.getDukeDialog(
+                this.messageFormatter.createStartupScriptErrorMessage(scriptPath, e), this.dukeImage));
+        }
     }
 
     /**
@@ -55,6 +158,10 @@ public class MainWindow extends AnchorPane {
                     this.dialogContainer.getChildren().add(
                             DialogBox.getDukeDialog(error, this.dukeImage));
                 });
+        if (this.loaderErrorMessage != null) {
+            this.dialogContainer.getChildren().add(
+                    DialogBox.getDukeDialog(this.loaderErrorMessage, this.dukeImage));
+        }
     }
 
     /**
@@ -76,7 +183,8 @@ public class MainWindow extends AnchorPane {
             try {
                 Thread.sleep(delay);
             } catch (InterruptedException e) {
-                e.printStackTrace();
+                // asked to stop waiting, so close the window now
+                Thread.currentThread().interrupt();
             }
             Platform.exit();
         }).start();
@@ -85,6 +193,7 @@ public class MainWindow extends AnchorPane {
     /**
      * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
      * the dialog container.
+     * If the saved tasks are still loading, the reply is deferred until loading finishes.
      * Clears the user input after processing.
      */
     @FXML
@@ -95,14 +204,26 @@ public class MainWindow extends AnchorPane {
         if (input.length() == 0) {
             return;
         }
-        String response = this.echo.getResponse(input);
-        this.dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, this.userImage),
-                DialogBox.getDukeDialog(response, this.dukeImage)
-        );
+        this.dialogContainer.getChildren().add(DialogBox.getUserDialog(input, this.userImage));
         this.userInput.clear();
 
-        if (input.trim().equalsIgnoreCase(MainWindow.BYE_COMMAND)) {
+        if (!this.hasLoadedTasks) {
+            this.pendingInputs.add(input);
+            return;
+        }
+        this.respondTo(input);
+    }
+
+    /**
+     * Gets Echo's reply to the user input and appends it to the dialog container.
+     *
+     * @param input Message from the user.
+     */
+    private void respondTo(String input) {
+        String response = this.echo.getResponse(input);
+        this.dialogContainer.getChildren().add(DialogBox.getDukeDialog(response, this.dukeImage));
+
+        if (this.echo.isExitCommand(input)) {
             // delay for 5000ms before exiting the user
             this.closeWindowAfterDelay(5000);
         }
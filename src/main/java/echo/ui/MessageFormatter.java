@@ -1,10 +1,21 @@
 package echo.ui;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.stream.IntStream;
 
+import echo.exchange.ImportResult;
+import echo.monitoring.RenderEvent;
+import echo.storage.SaveFileChanges;
+import echo.sync.SyncResult;
 import echo.task.AddTaskResult;
+import echo.task.DateTimeWriter;
+import echo.task.Dependency;
 import echo.task.Task;
+import echo.task.TaskStatistics;
+import echo.task.TimedTask;
 
 /**
  * Handles all user interface interactions for the Echo application.
@@ -24,14 +35,72 @@ public class MessageFormatter {
     private static final String MESSAGE_REMOVE_TASK =
         "Noted. I've removed this task:\n\n%s\nNow you have %d tasks in the list.";
     private static final String MESSAGE_FILTERED_TASKS = "Here are the matching tasks in your list:\n\n%s";
+    private static final String MESSAGE_SEARCH_RESULTS = "Here are the tasks best matching \"%s\":\n\n%s";
+    private static final String MESSAGE_NO_SEARCH_RESULTS = "No tasks match \"%s\", even allowing for typos!";
+    private static final String MESSAGE_ARCHIVED_FILTERED_TASKS = "\n\nHere are the matching archived tasks:\n\n%s";
+    private static final String MESSAGE_NO_ARCHIVED_FILTERED_TASKS = "\n\nNo archived tasks match.";
+    private static final String MESSAGE_ARCHIVE =
+        "Okay, I've archived %d done tasks. Now you have %d tasks in the list.\n"
+        + "Use find --all to search archived tasks.";
+    private static final String MESSAGE_USE_PROFILE = "Now using the task list %s, which has %d tasks.";
+    private static final String MESSAGE_NOTHING_TO_ARCHIVE = "There are no done tasks to archive!";
+    private static final String MESSAGE_TASKS_ON_DATE = "Here are the tasks taking place on %s:\n\n%s";
+    private static final String MESSAGE_NO_TASKS_ON_DATE = "You have nothing scheduled on %s!";
+    private static final String MESSAGE_DUE_TASKS = "Here are the deadlines due on %s:\n\n%s";
+    private static final String MESSAGE_NO_DUE_TASKS = "Nothing is due on %s!";
+    private static final String MESSAGE_TASKS_BETWEEN = "Here are the tasks from %s to %s:\n\n%s";
+    private static final String MESSAGE_NO_TASKS_BETWEEN = "You have nothing scheduled from %s to %s!";
+    private static final String MESSAGE_UPCOMING_TASKS = "Here are your next %d upcoming tasks:\n\n%s";
+    private static final String MESSAGE_ALIAS = "Okay! You can now type %s instead of %s.";
+    private static final String MESSAGE_NO_UPCOMING_TASKS = "You have no upcoming deadlines or events!";
+    private static final String MESSAGE_SYNC_IN_SYNC = "Both save files already have the same tasks!";
+    private static final String MESSAGE_SYNC = "Synced! Here, %d tasks were added and %d marked as done.\n"
+        + "There, %d tasks were added and %d marked as done.\n"
+        + "(read %d bytes, wrote %d bytes, chunk trees %d bytes)";
+    private static final String MESSAGE_EXTERNAL_CHANGES = "The task list %s was changed by another program, "
+        + "so I merged in its changes: %d tasks added, %d removed, %d marked as done and %d unmarked.";
+    private static final String MESSAGE_REMINDER = "Reminder! This starts in %d minutes:\n\n%s";
+    private static final String MESSAGE_REMINDER_NOW = "Reminder! This is starting now:\n\n%s";
+    private static final String MESSAGE_EXPORT = "Exported %d tasks to %s!";
+    private static final String MESSAGE_IMPORT = "Imported %d tasks from %s!";
+    private static final String MESSAGE_STATISTICS = "You have %d tasks, %d of them done (%d%%).\n\n"
+        + "- %d todos\n- %d deadlines, %d of them overdue\n- %d events\n- %d recurring tasks";
+    private static final String MESSAGE_DEPENDENCY = "Okay! This task:\n\n%s\nnow comes after this task:\n\n%s";
+    private static final String MESSAGE_DEPENDENCY_BLOCKED = "\n\nIt is blocked until that task is done.";
+    private static final String MESSAGE_READY_TASKS = "Here are the tasks you can do now:\n\n%s";
+    private static final String MESSAGE_NO_READY_TASKS =
+        "There is nothing you can do now, every task is either done or waiting for another!";
+    private static final String MESSAGE_IMPORT_SKIPPED =
+        "\n\nI skipped %d entries that were not tasks, the first one ending on line %d: %s";
 
     private static final String PERIOD_SPACE = ". ";
+    private static final String BULLET_SPACE = "- ";
     private static final String NEWLINE = "\n";
 
+    // labels for the recorded render events
+    private static final String RENDER_TYPE_CONFLICTS = "conflicts";
+    private static final String RENDER_TYPE_LIST = "list";
+    private static final String RENDER_TYPE_FILTERED = "filtered list";
+    private static final String RENDER_TYPE_SEARCH = "search";
+    private static final String RENDER_TYPE_ARCHIVED = "archived list";
+    private static final String RENDER_TYPE_TASKS_ON_DATE = "tasks on date";
+    private static final String RENDER_TYPE_DUE = "due";
+    private static final String RENDER_TYPE_BETWEEN = "between";
+    private static final String RENDER_TYPE_UPCOMING = "upcoming";
+    private static final String RENDER_TYPE_READY = "ready";
+
     private static final String ERROR_MESSAGE_TASK_NULL = "Task is null";
     private static final String ERROR_MESSAGE_NUM_TASKS_NEGATIVE = "Number of tasks is negative";
     private static final String ERROR_MESSAGE_TASK_LIST_NULL = "Task list is null";
     private static final String ERROR_MESSAGE_FILTERED_TASK_LIST_NULL = "Filtered task list is null";
+    private static final String ERROR_MESSAGE_DATE_NULL = "Date is null";
+    private static final String ERROR_MESSAGE_SYNC_RESULT_NULL = "Sync result is null";
+    private static final String ERROR_MESSAGE_IMPORT_RESULT_NULL = "Import result is null";
+    private static final String ERROR_MESSAGE_STATISTICS_NULL = "Task statistics are null";
+    private static final String ERROR_MESSAGE_CHANGES_NULL = "Save file changes are null";
+    private static final String ERROR_MESSAGE_DEPENDENCY_NULL = "Dependency is null";
+    private static final String ERROR_MESSAGE_STARTUP_SCRIPT = "I could not run the startup script %s due to: %s";
+    private static final String ERROR_MESSAGE_LOADING_FAILED = "I could not load your saved tasks due to: %s";
 
     private static final String WARNING_MESSAGE_CONFLICTING_TASKS =
         "\n\nNote that you have other Tasks conflicting with the new task!\n\nHere are the conflicting tasks:\n";
@@ -73,7 +142,8 @@ public class MessageFormatter {
             .formatted(result.getTask().toString(), numTasks);
 
         if (result.hasConflict()) {
-            String conflictingTasksString = this.createNumberedTasksString(result.getConflictingTasks());
+            String conflictingTasksString = this.createNumberedTasksString(result.getConflictingTasks(),
+                MessageFormatter.RENDER_TYPE_CONFLICTS);
             resultString = resultString + MessageFormatter.WARNING_MESSAGE_CONFLICTING_TASKS
                 + conflictingTasksString;
         }
@@ -90,7 +160,7 @@ public class MessageFormatter {
     public String createListTaskMessage(ArrayList<Task> tasks) {
         assert tasks != null : MessageFormatter.ERROR_MESSAGE_TASK_LIST_NULL;
 
-        String tasksString = this.createNumberedTasksString(tasks);
+        String tasksString = this.createNumberedTasksString(tasks, MessageFormatter.RENDER_TYPE_LIST);
         return MessageFormatter.MESSAGE_LIST_TASK
             .formatted(tasksString);
     }
@@ -146,23 +216,100 @@ public class MessageFormatter {
         return e.getMessage();
     }
 
+    /**
+     * Formats a message for the user to tell them the startup script could not be run.
+     *
+     * @param scriptPath Path of the startup script.
+     * @param e Exception thrown while reading the script.
+     * @return String of formatted message for the user.
+     */
+    public String createStartupScriptErrorMessage(String scriptPath, Exception e) {
+        return MessageFormatter.ERROR_MESSAGE_STARTUP_SCRIPT.formatted(scriptPath, e.getMessage());
+    }
+
+    /**
+     * Formats a message for the user to tell them loading the saved tasks failed unexpectedly.
+     *
+     * @param e Exception thrown while loading the tasks.
+     * @return String of formatted message for the user.
+     */
+    public String createLoadingFailedMessage(Exception e) {
+        return MessageFormatter.ERROR_MESSAGE_LOADING_FAILED.formatted(e);
+    }
+
     /**
      * Private helper method to format the tasks as a numbered list.
      *
      * @param tasks ArrayList of Task for formatting.
+     * @param renderType Label of the message being rendered, recorded by the flight recorder.
      * @return Formatted String of Tasks as a numbered list.
      */
-    private String createNumberedTasksString(ArrayList<Task> tasks) {
-        String joinedTasksString = IntStream.range(0, tasks.size())
-            .boxed()
-            .map(i -> (i + 1) + MessageFormatter.PERIOD_SPACE + tasks.get(i))
-            .reduce("", (curString, newString) -> curString + MessageFormatter.NEWLINE + newString);
+    private String createNumberedTasksString(ArrayList<Task> tasks, String renderType) {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+
+        // every task is rendered into one builder, instead of concatenating the list so far for each task
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tasks.size(); i++) {
+            builder.append(MessageFormatter.NEWLINE).append(i + 1).append(MessageFormatter.PERIOD_SPACE);
+            tasks.get(i).appendTo(builder);
+        }
+        MessageFormatter.stripTrailing(builder);
+        String cleanedTasksString = builder.toString();
 
-        String cleanedTasksString = joinedTasksString.stripTrailing();
+        event.end();
+        if (event.shouldCommit()) {
+            event.messageType = renderType;
+            event.taskCount = tasks.size();
+            event.messageSize = cleanedTasksString.getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
 
         return cleanedTasksString;
     }
 
+    /**
+     * Private helper method to format tasks that have no task number as a bulleted list.
+     *
+     * @param tasks ArrayList of Task for formatting.
+     * @param renderType Label of the message being rendered, recorded by the flight recorder.
+     * @return Formatted String of Tasks as a bulleted list.
+     */
+    private String createBulletedTasksString(ArrayList<Task> tasks, String renderType) {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+
+        StringBuilder builder = new StringBuilder();
+        for (Task task : tasks) {
+            if (builder.length() > 0) {
+                builder.append(MessageFormatter.NEWLINE);
+            }
+            task.appendTo(builder.append(MessageFormatter.BULLET_SPACE));
+        }
+        String joinedTasksString = builder.toString();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.messageType = renderType;
+            event.taskCount = tasks.size();
+            event.messageSize = joinedTasksString.getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
+
+        return joinedTasksString;
+    }
+
+    /**
+     * Removes the whitespace at the end of a builder, as String.stripTrailing does.
+     */
+    private static void stripTrailing(StringBuilder builder) {
+        int length = builder.length();
+        while (length > 0 && Character.isWhitespace(builder.charAt(length - 1))) {
+            length--;
+        }
+        builder.setLength(length);
+    }
+
     /**
      * Formats the filtered tasks for the user to see in the user interface.
      *
@@ -172,8 +319,300 @@ public class MessageFormatter {
     public String createFilteredListTaskMessage(ArrayList<Task> filteredTasks) {
         assert filteredTasks != null : ERROR_MESSAGE_FILTERED_TASK_LIST_NULL;
 
-        String tasksString = this.createNumberedTasksString(filteredTasks);
+        String tasksString = this.createNumberedTasksString(filteredTasks,
+            MessageFormatter.RENDER_TYPE_FILTERED);
         return MessageFormatter.MESSAGE_FILTERED_TASKS
             .formatted(tasksString);
     }
+
+    /**
+     * Formats the tasks found by a search, best match first, for the user to see in the user interface.
+     *
+     * @param query Words that were searched for.
+     * @param tasks ArrayList of Task found, best match first.
+     * @return Formatted string of Tasks suitable for the user interface.
+     */
+    public String createSearchMessage(String query, ArrayList<Task> tasks) {
+        assert tasks != null : MessageFormatter.ERROR_MESSAGE_TASK_LIST_NULL;
+
+        if (tasks.isEmpty()) {
+            return MessageFormatter.MESSAGE_NO_SEARCH_RESULTS.formatted(query);
+        }
+
+        String tasksString = this.createNumberedTasksString(tasks, MessageFormatter.RENDER_TYPE_SEARCH);
+        return MessageFormatter.MESSAGE_SEARCH_RESULTS.formatted(query, tasksString);
+    }
+
+    /**
+     * Formats the tasks taking place on a day for the user to see in the user interface.
+     *
+     * @param day Day that the tasks take place on.
+     * @param tasks ArrayList of Task taking place on the day.
+     * @return Formatted string of Tasks suitable for the user interface.
+     */
+    public String createTasksOnDateMessage(LocalDate day, ArrayList<Task> tasks) {
+        assert day != null : MessageFormatter.ERROR_MESSAGE_DATE_NULL;
+        assert tasks != null : MessageFormatter.ERROR_MESSAGE_TASK_LIST_NULL;
+
+        String dayString = DateTimeWriter.toDisplayString(day);
+        if (tasks.isEmpty()) {
+            return MessageFormatter.MESSAGE_NO_TASKS_ON_DATE.formatted(dayString);
+        }
+
+        String tasksString = this.createNumberedTasksString(tasks, MessageFormatter.RENDER_TYPE_TASKS_ON_DATE);
+        return MessageFormatter.MESSAGE_TASKS_ON_DATE
+            .formatted(dayString, tasksString);
+    }
+
+    /**
+     * Formats the Deadlines due on a day for the user to see in the user interface.
+     *
+     * @param day Day that the Deadlines are due on.
+     * @param tasks ArrayList of Deadlines due on the day.
+     * @return Formatted string of Tasks suitable for the user interface.
+     */
+    public String createDueTasksMessage(LocalDate day, ArrayList<Task> tasks) {
+        assert day != null : MessageFormatter.ERROR_MESSAGE_DATE_NULL;
+        assert tasks != null : MessageFormatter.ERROR_MESSAGE_TASK_LIST_NULL;
+
+        String dayString = DateTimeWriter.toDisplayString(day);
+        if (tasks.isEmpty()) {
+            return MessageFormatter.MESSAGE_NO_DUE_TASKS.formatted(dayString);
+        }
+
+        String tasksString = this.createNumberedTasksString(tasks, MessageFormatter.RENDER_TYPE_DUE);
+        return MessageFormatter.MESSAGE_DUE_TASKS
+            .formatted(dayString, tasksString);
+    }
+
+    /**
+     * Formats the tasks from the first day to the last day for the user to see in the user interface.
+     *
+     * @param firstDay First day of the range.
+     * @param lastDay Last day of the range.
+     * @param tasks ArrayList of Task in the range.
+     * @return Formatted string of Tasks suitable for the user interface.
+     */
+    public String createTasksBetweenMessage(LocalDate firstDay, LocalDate lastDay, ArrayList<Task> tasks) {
+        assert firstDay != null : MessageFormatter.ERROR_MESSAGE_DATE_NULL;
+        assert lastDay != null : MessageFormatter.ERROR_MESSAGE_DATE_NULL;
+        assert tasks != null : MessageFormatter.ERROR_MESSAGE_TASK_LIST_NULL;
+
+        String firstDayString = DateTimeWriter.toDisplayString(firstDay);
+        String lastDayString = DateTimeWriter.toDisplayString(lastDay);
+        if (tasks.isEmpty()) {
+            return MessageFormatter.MESSAGE_NO_TASKS_BETWEEN.formatted(firstDayString, lastDayString);
+        }
+
+        String tasksString = this.createNumberedTasksString(tasks, MessageFormatter.RENDER_TYPE_BETWEEN);
+        return MessageFormatter.MESSAGE_TASKS_BETWEEN
+            .formatted(firstDayString, lastDayString, tasksString);
+    }
+
+    /**
+     * Formats the upcoming tasks for the user to see in the user interface.
+     *
+     * @param tasks ArrayList of upcoming Task, sorted by time.
+     * @return Formatted string of Tasks suitable for the user interface.
+     */
+    public String createUpcomingTasksMessage(ArrayList<Task> tasks) {
+        assert tasks != null : MessageFormatter.ERROR_MESSAGE_TASK_LIST_NULL;
+
+        if (tasks.isEmpty()) {
+            return MessageFormatter.MESSAGE_NO_UPCOMING_TASKS;
+        }
+
+        String tasksString = this.createNumberedTasksString(tasks, MessageFormatter.RENDER_TYPE_UPCOMING);
+        return MessageFormatter.MESSAGE_UPCOMING_TASKS
+            .formatted(tasks.size(), tasksString);
+    }
+
+    /**
+     * Formats the filtered tasks and the filtered archived tasks for the user to see in the user interface.
+     * Archived tasks are listed without numbers, since they cannot be marked or deleted.
+     *
+     * @param filteredTasks ArrayList of Task that have been filtered by some sort of keyword.
+     * @param archivedFilteredTasks ArrayList of archived Task that have been filtered by the same keyword.
+     * @return Formatted string of Tasks suitable for the user interface.
+     */
+    public String createFilteredListTaskMessage(ArrayList<Task> filteredTasks, ArrayList<Task> archivedFilteredTasks) {
+        assert archivedFilteredTasks != null : ERROR_MESSAGE_FILTERED_TASK_LIST_NULL;
+
+        String message = this.createFilteredListTaskMessage(filteredTasks);
+        if (archivedFilteredTasks.isEmpty()) {
+            return message + MessageFormatter.MESSAGE_NO_ARCHIVED_FILTERED_TASKS;
+        }
+
+        String archivedTasksString = this.createBulletedTasksString(archivedFilteredTasks,
+            MessageFormatter.RENDER_TYPE_ARCHIVED);
+        return message + MessageFormatter.MESSAGE_ARCHIVED_FILTERED_TASKS.formatted(archivedTasksString);
+    }
+
+    /**
+     * Generates a message that tells user how many done tasks were moved into the archive.
+     *
+     * @param numArchivedTasks Number of tasks archived.
+     * @param numTasks Number of tasks left in the list.
+     * @return String of formatted message for the user.
+     */
+    public String createArchiveMessage(int numArchivedTasks, int numTasks) {
+        assert numTasks >= 0 : MessageFormatter.ERROR_MESSAGE_NUM_TASKS_NEGATIVE;
+
+        if (numArchivedTasks == 0) {
+            return MessageFormatter.MESSAGE_NOTHING_TO_ARCHIVE;
+        }
+        return MessageFormatter.MESSAGE_ARCHIVE.formatted(numArchivedTasks, numTasks);
+    }
+
+    /**
+     * Generates a message that tells user which task list is now in use.
+     *
+     * @param name Name of the task list.
+     * @param numTasks Number of tasks in the task list.
+     * @return String of formatted message for the user.
+     */
+    public String createUseProfileMessage(String name, int numTasks) {
+        assert numTasks >= 0 : MessageFormatter.ERROR_MESSAGE_NUM_TASKS_NEGATIVE;
+
+        return MessageFormatter.MESSAGE_USE_PROFILE.formatted(name, numTasks);
+    }
+
+    /**
+     * Generates a message that tells user a new alias has been defined.
+     *
+     * @param alias The new alias.
+     * @param keyword Full keyword of the command the alias stands for.
+     * @return String of formatted message for the user.
+     */
+    public String createAliasMessage(String alias, String keyword) {
+        return MessageFormatter.MESSAGE_ALIAS.formatted(alias.toLowerCase(), keyword);
+    }
+
+    /**
+     * Generates a message that tells user how the tasks of both save files were synced.
+     *
+     * @param result Result of syncing the save files.
+     * @return String of formatted message for the user.
+     */
+    public String createSyncMessage(SyncResult result) {
+        assert result != null : MessageFormatter.ERROR_MESSAGE_SYNC_RESULT_NULL;
+
+        if (result.isInSync()) {
+            return MessageFormatter.MESSAGE_SYNC_IN_SYNC;
+        }
+
+        return MessageFormatter.MESSAGE_SYNC.formatted(result.getTasksAddedHere().size(),
+            result.getTaskNumbersDoneHere().size(), result.getNumTasksAddedThere(), result.getNumTasksDoneThere(),
+            result.getBytesRead(), result.getBytesWritten(), result.getTreeBytes());
+    }
+
+    /**
+     * Generates a message that tells user how many tasks were exported.
+     *
+     * @param numTasks Number of tasks exported.
+     * @param path Path of the file the tasks were exported to.
+     * @return String of formatted message for the user.
+     */
+    public String createExportMessage(int numTasks, String path) {
+        assert numTasks >= 0 : MessageFormatter.ERROR_MESSAGE_NUM_TASKS_NEGATIVE;
+
+        return MessageFormatter.MESSAGE_EXPORT.formatted(numTasks, path);
+    }
+
+    /**
+     * Generates a message that tells user how many tasks were imported, and why entries were skipped if any were.
+     *
+     * @param result Result of reading the file.
+     * @param path Path of the file the tasks were imported from.
+     * @return String of formatted message for the user.
+     */
+    public String createImportMessage(ImportResult result, String path) {
+        assert result != null : MessageFormatter.ERROR_MESSAGE_IMPORT_RESULT_NULL;
+
+        String message = MessageFormatter.MESSAGE_IMPORT.formatted(result.getTasks().size(), path);
+        if (result.getNumSkipped() == 0) {
+            return message;
+        }
+        return message + MessageFormatter.MESSAGE_IMPORT_SKIPPED.formatted(result.getNumSkipped(),
+            result.getFirstSkippedLine(), result.getFirstSkipReason());
+    }
+
+    /**
+     * Generates a message that tells user what changes another program made to the save file of a task list.
+     *
+     * @param name Name of the task list.
+     * @param changes Changes merged into the task list.
+     * @return String of formatted message for the user.
+     */
+    public String createExternalChangesMessage(String name, SaveFileChanges changes) {
+        assert changes != null : MessageFormatter.ERROR_MESSAGE_CHANGES_NULL;
+
+        return MessageFormatter.MESSAGE_EXTERNAL_CHANGES.formatted(name, changes.getNumInsertedTasks(),
+            changes.getRemovedTasks().size(), changes.getTasksToMarkDone().size(),
+            changes.getTasksToMarkUndone().size());
+    }
+
+    /**
+     * Generates a message that reminds user of a task that starts soon.
+     *
+     * @param occurrence The task, or the occurrence of a recurring task, that starts soon.
+     * @param now The current time.
+     * @return String of formatted message for the user.
+     */
+    public String createReminderMessage(TimedTask occurrence, LocalDateTime now) {
+        assert occurrence != null : MessageFormatter.ERROR_MESSAGE_TASK_NULL;
+
+        long minutesLeft = Duration.between(now, occurrence.getStart()).toMinutes();
+        if (minutesLeft <= 0) {
+            return MessageFormatter.MESSAGE_REMINDER_NOW.formatted(occurrence.toString());
+        }
+        return MessageFormatter.MESSAGE_REMINDER.formatted(minutesLeft, occurrence.toString());
+    }
+
+    /**
+     * Generates a message that tells user how many tasks there are of each kind and how many are done.
+     *
+     * @param statistics Statistics of the task list.
+     * @return String of formatted message for the user.
+     */
+    public String createStatisticsMessage(TaskStatistics statistics) {
+        assert statistics != null : MessageFormatter.ERROR_MESSAGE_STATISTICS_NULL;
+
+        long percentDone = Math.round(statistics.getCompletionRate() * 100);
+        return MessageFormatter.MESSAGE_STATISTICS.formatted(statistics.getNumTasks(), statistics.getNumDone(),
+            percentDone, statistics.getNumToDos(), statistics.getNumDeadlines(), statistics.getNumOverdue(),
+            statistics.getNumEvents(), statistics.getNumRecurring());
+    }
+
+    /**
+     * Generates a message that tells the user a task now comes after another task.
+     *
+     * @param dependency Dependency between the task and the task it comes after.
+     * @return String of formatted message for the user.
+     */
+    public String createDependencyMessage(Dependency dependency) {
+        assert dependency != null : MessageFormatter.ERROR_MESSAGE_DEPENDENCY_NULL;
+
+        String message = MessageFormatter.MESSAGE_DEPENDENCY
+            .formatted(dependency.getTask().toString(), dependency.getPrerequisite().toString());
+        return dependency.getPrerequisite().isDone() ? message : message + MessageFormatter.MESSAGE_DEPENDENCY_BLOCKED;
+    }
+
+    /**
+     * Formats the tasks that are ready to be done for the user to see in the user interface.
+     *
+     * @param tasks ArrayList of undone Task that do not come after any undone Task.
+     * @return Formatted string of Tasks suitable for the user interface.
+     */
+    public String createReadyTasksMessage(ArrayList<Task> tasks) {
+        assert tasks != null : MessageFormatter.ERROR_MESSAGE_TASK_LIST_NULL;
+
+        if (tasks.isEmpty()) {
+            return MessageFormatter.MESSAGE_NO_READY_TASKS;
+        }
+
+        String tasksString = this.createNumberedTasksString(tasks, MessageFormatter.RENDER_TYPE_READY);
+        return MessageFormatter.MESSAGE_READY_TASKS
+            .formatted(tasksString);
+    }
 }
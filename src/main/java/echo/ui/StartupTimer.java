@@ -0,0 +1,100 @@
+package echo.ui;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records how long Echo takes to start up, measured from the start of the JVM.
+ *
+ * Two milestones are recorded: time-to-first-paint, when the window with the greeting is first laid out,
+ * and time-to-interactive, when the saved tasks have been loaded and any queued commands applied.
+ * They are only reported when the {@code echo.startup.report} system property is set to true.
+ */
+public class StartupTimer {
+    private static final String PROPERTY_REPORT = "echo.startup.report";
+    private static final String PROPERTY_EXIT_WHEN_INTERACTIVE = "echo.startup.exitWhenInteractive";
+
+    // kept on one line so that scripts/startup-benchmark.sh can parse it
+    private static final String REPORT_FORMAT = "echo.startup firstPaintMs=%d interactiveMs=%d";
+
+    private static final long NOT_RECORDED = -1;
+
+    private static long firstPaintMillis = StartupTimer.NOT_RECORDED;
+    private static long interactiveMillis = StartupTimer.NOT_RECORDED;
+    // run once both milestones are recorded and reported, e.g. to exit
+    private static Runnable onComplete;
+
+    private StartupTimer() {
+
+    }
+
+    /**
+     * Records the time at which the window was first painted.
+     * Only the first call has any effect.
+     */
+    public static synchronized void markFirstPaint() {
+        if (StartupTimer.firstPaintMillis == StartupTimer.NOT_RECORDED) {
+            StartupTimer.firstPaintMillis = StartupTimer.getMillisSinceJvmStart();
+            StartupTimer.reportIfComplete();
+        }
+    }
+
+    /**
+     * Records the time at which Echo started responding to commands.
+     * Only the first call has any effect.
+     */
+    public static synchronized void markInteractive() {
+        if (StartupTimer.interactiveMillis == StartupTimer.NOT_RECORDED) {
+            StartupTimer.interactiveMillis = StartupTimer.getMillisSinceJvmStart();
+            StartupTimer.reportIfComplete();
+        }
+    }
+
+    /**
+     * Checks if Echo should exit as soon as it becomes interactive.
+     * Used by the startup benchmark to measure repeated cold starts.
+     *
+     * @return true if the {@code echo.startup.exitWhenInteractive} system property is set to true.
+     */
+    public static boolean shouldExitWhenInteractive() {
+        return Boolean.getBoolean(StartupTimer.PROPERTY_EXIT_WHEN_INTERACTIVE);
+    }
+
+    /**
+     * Runs an action once both milestones have been recorded and reported, or right away if they already are.
+     * Used to exit after becoming interactive without missing the first paint, which can come later.
+     *
+     * @param action Action to run, on the thread recording the last milestone.
+     */
+    public static void runWhenComplete(Runnable action) {
+        synchronized (StartupTimer.class) {
+            if (!StartupTimer.isComplete()) {
+                StartupTimer.onComplete = action;
+                return;
+            }
+        }
+        action.run();
+    }
+
+    private static long getMillisSinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    private static boolean isComplete() {
+        return StartupTimer.firstPaintMillis != StartupTimer.NOT_RECORDED
+            && StartupTimer.interactiveMillis != StartupTimer.NOT_RECORDED;
+    }
+
+    private static void reportIfComplete() {
+        if (!StartupTimer.isComplete()) {
+            return;
+        }
+        if (Boolean.getBoolean(StartupTimer.PROPERTY_REPORT)) {
+            System.out.println(StartupTimer.REPORT_FORMAT
+                .formatted(StartupTimer.firstPaintMillis, StartupTimer.interactiveMillis));
+        }
+        if (StartupTimer.onComplete != null) {
+            StartupTimer.onComplete.run();
+            StartupTimer.onComplete = null;
+        }
+    }
+}
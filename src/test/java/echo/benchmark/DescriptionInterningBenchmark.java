@@ -0,0 +1,150 @@
+package echo.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.Scanner;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.storage.Storage;
+import echo.task.Deadline;
+import echo.task.Event;
+import echo.task.Task;
+import echo.task.ToDo;
+
+/**
+ * Compares the heap used by a large, repetitive task history with and without description interning.
+ *
+ * Generates a history in the older save format without a dictionary, then loads it three ways:
+ * line by line without interning, as Storage used to, through Storage with interning,
+ * and through Storage again after it has been rewritten with a description dictionary.
+ * After each load, prints the String and byte[] rows of the class histogram of the live heap.
+ *
+ * Usage: DescriptionInterningBenchmark [NUM_TASKS] [WORK_DIR], defaulting to 1000000 tasks in build/benchmark.
+ */
+public class DescriptionInterningBenchmark {
+    private static final int DEFAULT_NUM_TASKS = 1_000_000;
+    private static final String DEFAULT_WORK_DIR = "build/benchmark";
+
+    // most of a real history is the same few chores, with the odd one-off task in between
+    private static final String[] RECURRING_DESCRIPTIONS = {
+        "standup", "weekly sync", "pay rent", "gym", "read book", "water plants", "team lunch",
+        "submit timesheet", "call mom", "grocery shopping", "code review", "1:1 with manager",
+        "laundry", "take out trash", "plan sprint", "retro", "dentist", "pay credit card bill",
+    };
+    private static final double ONE_OFF_RATIO = 0.05;
+    private static final long SEED = 42;
+
+    private static final String[] HISTOGRAM_ROWS = {"java.lang.String ", "[B ", "Total"};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of tasks and working directory.
+     */
+    public static void main(String[] args) throws IOException, JMException, StorageException, TaskException {
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : DescriptionInterningBenchmark.DEFAULT_NUM_TASKS;
+        File workDir = new File(args.length > 1 ? args[1] : DescriptionInterningBenchmark.DEFAULT_WORK_DIR);
+        workDir.mkdirs();
+
+        File legacyFile = new File(workDir, "history-legacy.txt");
+        File dictionaryFile = new File(workDir, "history-dictionary.txt");
+        DescriptionInterningBenchmark.writeLegacyHistory(legacyFile, numTasks);
+
+        ArrayList<Task> tasks = DescriptionInterningBenchmark.loadWithoutInterning(legacyFile);
+        DescriptionInterningBenchmark.report("without interning", tasks.size());
+
+        tasks = null;
+        tasks = new Storage(legacyFile.getPath()).loadTasks();
+        DescriptionInterningBenchmark.report("with interning", tasks.size());
+
+        new Storage(dictionaryFile.getPath()).saveTasks(tasks);
+        tasks = null;
+        tasks = new Storage(dictionaryFile.getPath()).loadTasks();
+        DescriptionInterningBenchmark.report("with interning, dictionary file", tasks.size());
+
+        System.out.printf("file size: %d bytes without dictionary, %d bytes with dictionary%n",
+            legacyFile.length(), dictionaryFile.length());
+    }
+
+    private static void writeLegacyHistory(File file, int numTasks) throws IOException {
+        Random random = new Random(DescriptionInterningBenchmark.SEED);
+        FileWriter writer = new FileWriter(file, false);
+        for (int i = 0; i < numTasks; i++) {
+            String description = random.nextDouble() < DescriptionInterningBenchmark.ONE_OFF_RATIO
+                ? "one-off task " + i
+                : DescriptionInterningBenchmark.pickRecurringDescription(random);
+            String isDone = random.nextBoolean() ? "1" : "0";
+            String day = "2026-%02d-%02d".formatted(1 + random.nextInt(12), 1 + random.nextInt(28));
+            String line;
+            switch (i % 3) {
+            case 0:
+                line = "T | " + isDone + " | " + description;
+                break;
+            case 1:
+                line = "D | " + isDone + " | " + description + " | " + day + " 1000";
+                break;
+            default:
+                line = "E | " + isDone + " | " + description + " | " + day + " 1200 | " + day + " 1300";
+                break;
+            }
+            writer.write(line + System.lineSeparator());
+        }
+        writer.close();
+    }
+
+    /**
+     * Picks a recurring description, favouring the first few the way a real history does.
+     */
+    private static String pickRecurringDescription(Random random) {
+        int numDescriptions = DescriptionInterningBenchmark.RECURRING_DESCRIPTIONS.length;
+        int index = (int) (numDescriptions * Math.pow(random.nextDouble(), 2));
+        return DescriptionInterningBenchmark.RECURRING_DESCRIPTIONS[index];
+    }
+
+    /**
+     * Loads the history one line at a time without interning, which is how Storage loaded tasks before.
+     */
+    private static ArrayList<Task> loadWithoutInterning(File file) throws IOException, TaskException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        Scanner scanner = new Scanner(file);
+        while (scanner.hasNextLine()) {
+            String line = scanner.nextLine();
+            if (line.startsWith(ToDo.getMarker())) {
+                tasks.add(ToDo.fromSaveFormat(line));
+            } else if (line.startsWith(Deadline.getMarker())) {
+                tasks.add(Deadline.fromSaveFormat(line));
+            } else {
+                tasks.add(Event.fromSaveFormat(line));
+            }
+        }
+        scanner.close();
+        return tasks;
+    }
+
+    /**
+     * Prints the heap used and the String and byte[] rows of the class histogram, which forces a full GC first.
+     */
+    private static void report(String label, int numTasks) throws JMException {
+        ObjectName diagnosticCommand = new ObjectName("com.sun.management:type=DiagnosticCommand");
+        String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(diagnosticCommand,
+            "gcClassHistogram", new Object[] {new String[0]}, new String[] {String[].class.getName()});
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        System.out.printf("%s: %d tasks, %.1f MB heap used%n", label, numTasks, heapUsed / 1e6);
+        for (String row : histogram.split("\n")) {
+            for (String className : DescriptionInterningBenchmark.HISTOGRAM_ROWS) {
+                if (row.contains(className)) {
+                    System.out.println("    " + row.trim());
+                }
+            }
+        }
+    }
+}
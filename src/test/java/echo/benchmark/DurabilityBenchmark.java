@@ -0,0 +1,141 @@
+package echo.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import echo.command.Command;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.profile.Profile;
+import echo.profile.SaveBatcher;
+import echo.storage.Durability;
+import echo.storage.Storage;
+import echo.task.Task;
+import echo.task.ToDo;
+
+/**
+ * Compares the throughput of each Durability mode for task lists kept in save files and in page files.
+ *
+ * For each mode, starts from a saved history, then adds tasks one at a time as fast as possible, saving after
+ * each one as the command handlers do, and finally closes the SaveBatcher so every change is on disk.
+ * Prints the changes per second, the 99th percentile time to acknowledge a change, and the number of saves
+ * forced onto the disk. Every mode is run once before measuring, so the JIT has warmed up for all of them.
+ *
+ * Then saves the history into a save file over and over, with and without forcing it onto the disk, and prints
+ * the time of each, so the cost of forcing the temporary file onto the disk before renaming it over the save file
+ * shows apart from the cost of writing and renaming it.
+ *
+ * Usage: DurabilityBenchmark [NUM_TASKS] [NUM_CHANGES] [WORK_DIR], defaulting to a history of 10000 tasks,
+ * 2000 changes and build/benchmark.
+ */
+public class DurabilityBenchmark {
+    private static final int DEFAULT_NUM_TASKS = 10_000;
+    private static final int DEFAULT_NUM_CHANGES = 2_000;
+    private static final String DEFAULT_WORK_DIR = "build/benchmark";
+    private static final long WINDOW_MILLIS = 100;
+    private static final int NUM_SAVES = 50;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of tasks, number of changes and working directory.
+     */
+    public static void main(String[] args)
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : DurabilityBenchmark.DEFAULT_NUM_TASKS;
+        int numChanges = args.length > 1 ? Integer.parseInt(args[1]) : DurabilityBenchmark.DEFAULT_NUM_CHANGES;
+        File workDir = new File(args.length > 2 ? args[2] : DurabilityBenchmark.DEFAULT_WORK_DIR, "durability");
+
+        for (boolean isReported : new boolean[] {false, true}) {
+            for (boolean isPaged : new boolean[] {false, true}) {
+                for (Durability durability : Durability.values()) {
+                    File dataDir = new File(workDir, durability + (isPaged ? "-paged" : "-text"));
+                    DurabilityBenchmark.deleteRecursively(dataDir);
+                    DurabilityBenchmark.run(dataDir, isPaged, durability, numTasks, numChanges, isReported);
+                }
+            }
+        }
+
+        File saveDir = new File(workDir, "save");
+        for (boolean isReported : new boolean[] {false, true}) {
+            for (boolean isForced : new boolean[] {false, true}) {
+                DurabilityBenchmark.deleteRecursively(saveDir);
+                DurabilityBenchmark.runSaves(saveDir, isForced, numTasks, isReported);
+            }
+        }
+    }
+
+    /**
+     * Saves a save file of numTasks tasks NUM_SAVES times, each written into a temporary file,
+     * forced onto the disk if isForced, and renamed over the save file.
+     */
+    private static void runSaves(File dataDir, boolean isForced, int numTasks, boolean isReported)
+            throws IOException, TaskException {
+        ArrayList<Task> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            tasks.add(new ToDo("history " + i));
+        }
+        Storage storage = new Storage(new File(dataDir, "echo.txt").getPath());
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < DurabilityBenchmark.NUM_SAVES; i++) {
+            long saveStart = System.nanoTime();
+            storage.saveTasks(tasks, new ArrayList<>(), isForced);
+            histogram.record(System.nanoTime() - saveStart);
+        }
+        if (!isReported) {
+            return;
+        }
+
+        System.out.printf("save %d tasks, %s: p50 %.3f ms, p99 %.3f ms%n", numTasks,
+            isForced ? "forced then renamed" : "renamed           ",
+            histogram.getPercentileNanos(50) / DurabilityBenchmark.NANOS_PER_MILLI,
+            histogram.getPercentileNanos(99) / DurabilityBenchmark.NANOS_PER_MILLI);
+    }
+
+    private static void run(File dataDir, boolean isPaged, Durability durability, int numTasks, int numChanges,
+            boolean isReported) throws IOException, StorageException, TaskException, TaskManagerException {
+        Profile profile = new Profile("echo", dataDir.getPath(), isPaged);
+        profile.load();
+        for (int i = 0; i < numTasks; i++) {
+            profile.getTaskManager().addTask("history " + i, Command.TODO, new ArrayList<>());
+        }
+        profile.save(true);
+
+        Object lock = new Object();
+        SaveBatcher saveBatcher = new SaveBatcher(durability, DurabilityBenchmark.WINDOW_MILLIS, lock);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long start = System.nanoTime();
+        for (int i = 0; i < numChanges; i++) {
+            long changeStart = System.nanoTime();
+            synchronized (lock) {
+                profile.getTaskManager().addTask("change " + i, Command.TODO, new ArrayList<>());
+                saveBatcher.save(profile);
+            }
+            histogram.record(System.nanoTime() - changeStart);
+        }
+        saveBatcher.close();
+        long elapsedNanos = System.nanoTime() - start;
+        profile.close();
+        if (!isReported) {
+            return;
+        }
+
+        System.out.printf("%-11s %s: %.0f changes/s, p99 %.3f ms to acknowledge, %d forced saves%n",
+            durability, isPaged ? "paged" : "text ", numChanges * DurabilityBenchmark.NANOS_PER_SECOND / elapsedNanos,
+            histogram.getPercentileNanos(99) / DurabilityBenchmark.NANOS_PER_MILLI, saveBatcher.getNumForcedSaves());
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                DurabilityBenchmark.deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,114 @@
+package echo.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exchange.ImportResult;
+import echo.exchange.TaskExchange;
+import echo.exchange.TaskFormat;
+import echo.task.Deadline;
+import echo.task.DescriptionPool;
+import echo.task.Event;
+import echo.task.Recurrence;
+import echo.task.RecurringTask;
+import echo.task.Task;
+import echo.task.ToDo;
+
+/**
+ * Measures exporting and importing a large task list in every TaskFormat.
+ *
+ * For each format, exports a mix of todos, deadlines, events and recurring tasks, then imports them back.
+ * Prints the time taken each way, the size of the file, and the heap used by the imported tasks, which should
+ * be about the same for every format since files are streamed rather than read whole. Run with a small heap
+ * to check that importing stays within it.
+ *
+ * Usage: ExchangeBenchmark [NUM_TASKS] [WORK_DIR], defaulting to 500000 tasks and build/benchmark.
+ */
+public class ExchangeBenchmark {
+    private static final int DEFAULT_NUM_TASKS = 500_000;
+    private static final String DEFAULT_WORK_DIR = "build/benchmark";
+    private static final int NUM_DESCRIPTIONS = 5_000;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of tasks and working directory.
+     */
+    public static void main(String[] args) throws StorageException, TaskException {
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : ExchangeBenchmark.DEFAULT_NUM_TASKS;
+        File workDir = new File(args.length > 1 ? args[1] : ExchangeBenchmark.DEFAULT_WORK_DIR, "exchange");
+        workDir.mkdirs();
+
+        ArrayList<Task> tasks = ExchangeBenchmark.createTasks(numTasks);
+        // once before measuring, so the JIT has warmed up for every format
+        for (boolean isReported : new boolean[] {false, true}) {
+            for (TaskFormat format : TaskFormat.values()) {
+                File file = new File(workDir, "tasks" + format.getExtension());
+                ExchangeBenchmark.run(tasks, file, format, isReported);
+                file.delete();
+            }
+        }
+    }
+
+    private static void run(ArrayList<Task> tasks, File file, TaskFormat format, boolean isReported)
+            throws StorageException {
+        long start = System.nanoTime();
+        new TaskExchange().exportTasks(tasks, file.getPath(), format);
+        long exportNanos = System.nanoTime() - start;
+
+        long heapBefore = ExchangeBenchmark.getUsedHeap();
+        start = System.nanoTime();
+        ImportResult result = new TaskExchange().importTasks(file.getPath(), format, new DescriptionPool());
+        long importNanos = System.nanoTime() - start;
+        long heapAfter = ExchangeBenchmark.getUsedHeap();
+        if (result.getTasks().size() != tasks.size()) {
+            throw new IllegalStateException("imported %d of %d tasks, first skipped: %s".formatted(
+                result.getTasks().size(), tasks.size(), result.getFirstSkipReason()));
+        }
+
+        if (isReported) {
+            System.out.printf("%-10s %d tasks: export %.0f ms, import %.0f ms, file %.1f MB, "
+                + "heap after import %.1f MB (%d bytes per task)%n", format, tasks.size(),
+                exportNanos / ExchangeBenchmark.NANOS_PER_MILLI, importNanos / ExchangeBenchmark.NANOS_PER_MILLI,
+                file.length() / ExchangeBenchmark.BYTES_PER_MEGABYTE,
+                (heapAfter - heapBefore) / ExchangeBenchmark.BYTES_PER_MEGABYTE,
+                (heapAfter - heapBefore) / tasks.size());
+        }
+    }
+
+    private static ArrayList<Task> createTasks(int numTasks) throws TaskException {
+        ArrayList<Task> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            // descriptions repeat like in real task lists, and some need quoting or escaping
+            String description = "task, \"number\" " + (i % ExchangeBenchmark.NUM_DESCRIPTIONS);
+            String day = "2026-%02d-%02d".formatted(i % 12 + 1, i % 28 + 1);
+            Task task;
+            if (i % 4 == 0) {
+                task = new ToDo(description);
+            } else if (i % 4 == 1) {
+                task = new Deadline(description, day + " 1800");
+            } else if (i % 4 == 2) {
+                task = new Event(description, day + " 0900", day + " 1030");
+            } else {
+                task = new RecurringTask(new Deadline(description, day + " 0800"), Recurrence.of("week", null));
+            }
+            if (i % 3 == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
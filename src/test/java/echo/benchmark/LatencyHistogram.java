@@ -0,0 +1,54 @@
+package echo.benchmark;
+
+/**
+ * Records latencies in buckets that grow by a fixed ratio, so percentiles stay accurate to within that ratio
+ * while using the same small amount of memory however many latencies are recorded.
+ */
+public class LatencyHistogram {
+    private static final double BUCKET_RATIO = 1.02;
+    private static final double LOG_BUCKET_RATIO = Math.log(LatencyHistogram.BUCKET_RATIO);
+    // enough buckets for latencies of over an hour
+    private static final int NUM_BUCKETS = 1600;
+
+    private final long[] counts = new long[LatencyHistogram.NUM_BUCKETS];
+    private long totalCount;
+    private long maxNanos;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos Latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        int bucket = nanos <= 1 ? 0 : (int) (Math.log(nanos) / LatencyHistogram.LOG_BUCKET_RATIO);
+        this.counts[Math.min(bucket, LatencyHistogram.NUM_BUCKETS - 1)]++;
+        this.totalCount++;
+        this.maxNanos = Math.max(this.maxNanos, nanos);
+    }
+
+    /**
+     * Gets a percentile of the recorded latencies, rounded up to the end of its bucket.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return the latency in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100 * this.totalCount);
+        long seen = 0;
+        for (int i = 0; i < LatencyHistogram.NUM_BUCKETS; i++) {
+            seen += this.counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(this.maxNanos, (long) Math.pow(LatencyHistogram.BUCKET_RATIO, i + 1));
+            }
+        }
+        return this.maxNanos;
+    }
+
+    public long getTotalCount() {
+        return this.totalCount;
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+}
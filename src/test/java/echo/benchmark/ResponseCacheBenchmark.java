@@ -0,0 +1,105 @@
+package echo.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import echo.Echo;
+import echo.command.ResponseCache;
+import echo.exception.TaskException;
+import echo.storage.Storage;
+import echo.task.Task;
+import echo.task.ToDo;
+
+/**
+ * Measures how much the response cache speeds up list and find when they are asked far more often than
+ * the tasks change.
+ *
+ * Saves a task list whose descriptions each hold one of a few keywords, then drives Echo.getResponse with
+ * a mix of mostly list and find commands and a few todo, mark and unmark commands, once with the response cache
+ * turned off and once with it on. Prints the mean time of the read-only commands and the hit rate of each run.
+ *
+ * Usage: ResponseCacheBenchmark [NUM_TASKS] [NUM_COMMANDS] [WORK_DIR], defaulting to 10000 tasks,
+ * 20000 commands and build/benchmark.
+ */
+public class ResponseCacheBenchmark {
+    private static final int DEFAULT_NUM_TASKS = 10_000;
+    private static final int DEFAULT_NUM_COMMANDS = 20_000;
+    private static final String DEFAULT_WORK_DIR = "build/benchmark";
+    private static final String PROPERTY_RESPONSE_CACHE_SIZE = "echo.responseCache.size";
+    private static final String PROPERTY_WATCH_FILES = "echo.storage.watch";
+    private static final String[] KEYWORDS = {"book", "floor", "email", "report", "gym", "plants", "taxes", "car"};
+    // out of 100 commands, this many change the tasks
+    private static final int CHANGES_PER_HUNDRED = 5;
+    private static final long SEED = 42;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of tasks, number of commands and working directory.
+     */
+    public static void main(String[] args) throws IOException, TaskException {
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : ResponseCacheBenchmark.DEFAULT_NUM_TASKS;
+        int numCommands = args.length > 1 ? Integer.parseInt(args[1]) : ResponseCacheBenchmark.DEFAULT_NUM_COMMANDS;
+        File workDir = new File(args.length > 2 ? args[2] : ResponseCacheBenchmark.DEFAULT_WORK_DIR, "cache");
+        System.setProperty(ResponseCacheBenchmark.PROPERTY_WATCH_FILES, "false");
+
+        // once before measuring, so the JIT has warmed up for both runs
+        for (boolean isReported : new boolean[] {false, true}) {
+            for (int cacheSize : new int[] {0, 64}) {
+                ResponseCacheBenchmark.run(numTasks, numCommands, workDir, cacheSize, isReported);
+            }
+        }
+    }
+
+    private static void run(int numTasks, int numCommands, File workDir, int cacheSize, boolean isReported)
+            throws IOException, TaskException {
+        workDir.mkdirs();
+        for (File file : workDir.listFiles()) {
+            file.delete();
+        }
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < numTasks; i++) {
+            tasks.add(new ToDo("task %d about %s".formatted(i,
+                ResponseCacheBenchmark.KEYWORDS[i % ResponseCacheBenchmark.KEYWORDS.length])));
+        }
+        new Storage(new File(workDir, "echo.txt").getPath()).saveTasks(tasks);
+
+        System.setProperty(ResponseCacheBenchmark.PROPERTY_RESPONSE_CACHE_SIZE, String.valueOf(cacheSize));
+        Echo echo = new Echo(workDir.getPath());
+        echo.loadTasks();
+
+        Random random = new Random(ResponseCacheBenchmark.SEED);
+        long readNanos = 0;
+        int numReads = 0;
+        for (int i = 0; i < numCommands; i++) {
+            String keyword = ResponseCacheBenchmark.KEYWORDS[random.nextInt(ResponseCacheBenchmark.KEYWORDS.length)];
+            if (random.nextInt(100) < ResponseCacheBenchmark.CHANGES_PER_HUNDRED) {
+                int choice = random.nextInt(3);
+                int taskNumber = 1 + random.nextInt(numTasks);
+                String command = choice == 0 ? "todo new task about " + keyword
+                    : (choice == 1 ? "mark " : "unmark ") + taskNumber;
+                echo.getResponse(command);
+                continue;
+            }
+
+            String command = random.nextBoolean() ? "list" : "find " + keyword;
+            long start = System.nanoTime();
+            echo.getResponse(command);
+            readNanos += System.nanoTime() - start;
+            numReads++;
+        }
+        echo.close();
+
+        if (isReported) {
+            ResponseCache cache = echo.getResponseCache();
+            long numLookups = cache.getNumHits() + cache.getNumMisses();
+            System.out.printf("cache size %2d: %d tasks, list and find %.1f us on average, %d hits, %d misses "
+                + "(%.0f%% hit rate)%n", cacheSize, numTasks, readNanos / ResponseCacheBenchmark.NANOS_PER_MICRO
+                / numReads, cache.getNumHits(), cache.getNumMisses(),
+                numLookups == 0 ? 0 : 100.0 * cache.getNumHits() / numLookups);
+        }
+    }
+}
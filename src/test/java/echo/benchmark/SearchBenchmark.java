@@ -0,0 +1,113 @@
+package echo.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import echo.exception.TaskException;
+import echo.task.Task;
+import echo.task.TaskManager;
+import echo.task.ToDo;
+
+/**
+ * Measures how long ranked search takes over a large task list.
+ *
+ * Generates descriptions of a few words each from a made up vocabulary in which a few words are very common
+ * and most are rare, as in real text. Builds a TaskManager over them, then times searches for common words,
+ * rare words, misspelt words and several words at once, printing the median and slowest time of each.
+ *
+ * Usage: SearchBenchmark [NUM_TASKS], defaulting to 1000000 tasks.
+ */
+public class SearchBenchmark {
+    private static final int DEFAULT_NUM_TASKS = 1_000_000;
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int MIN_WORDS = 2;
+    private static final int MAX_WORDS = 8;
+    // a higher exponent makes the first words of the vocabulary more common
+    private static final double SKEW = 4;
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ren", "sa", "tor", "vi", "pel", "dun", "gra", "bo", "shi", "ter", "fan", "qui", "zo",
+    };
+    private static final int RUNS = 21;
+    private static final int LIMIT = 10;
+    private static final long SEED = 42;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of tasks.
+     */
+    public static void main(String[] args) throws TaskException {
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : SearchBenchmark.DEFAULT_NUM_TASKS;
+        Random random = new Random(SearchBenchmark.SEED);
+        String[] vocabulary = SearchBenchmark.createVocabulary(random);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < numTasks; i++) {
+            int numWords = SearchBenchmark.MIN_WORDS
+                + random.nextInt(SearchBenchmark.MAX_WORDS - SearchBenchmark.MIN_WORDS);
+            StringBuilder description = new StringBuilder();
+            for (int j = 0; j < numWords; j++) {
+                description.append(j == 0 ? "" : " ").append(SearchBenchmark.pickWord(random, vocabulary));
+            }
+            tasks.add(new ToDo(description.toString()));
+        }
+
+        long start = System.nanoTime();
+        TaskManager taskManager = new TaskManager(tasks);
+        System.out.printf("indexed %d tasks in %.0f ms%n", numTasks,
+            (System.nanoTime() - start) / SearchBenchmark.NANOS_PER_MILLI);
+
+        String common = vocabulary[0];
+        String middle = vocabulary[SearchBenchmark.VOCABULARY_SIZE / 100];
+        String rare = vocabulary[SearchBenchmark.VOCABULARY_SIZE - 1];
+        SearchBenchmark.time(taskManager, "common word", common);
+        SearchBenchmark.time(taskManager, "middle word", middle);
+        SearchBenchmark.time(taskManager, "rare word", rare);
+        SearchBenchmark.time(taskManager, "rare word, typo", SearchBenchmark.misspell(rare));
+        SearchBenchmark.time(taskManager, "middle word, typo", SearchBenchmark.misspell(middle));
+        SearchBenchmark.time(taskManager, "three words", rare + " " + middle + " " + common);
+        SearchBenchmark.time(taskManager, "no match", "xylophone");
+    }
+
+    private static void time(TaskManager taskManager, String label, String query) {
+        long[] nanos = new long[SearchBenchmark.RUNS];
+        int numFound = 0;
+        for (int i = 0; i < SearchBenchmark.RUNS; i++) {
+            long start = System.nanoTime();
+            numFound = taskManager.searchTasks(query, SearchBenchmark.LIMIT).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-18s %-32s found %2d, median %7.2f ms, max %7.2f ms%n", label, "\"" + query + "\"",
+            numFound, nanos[nanos.length / 2] / SearchBenchmark.NANOS_PER_MILLI,
+            nanos[nanos.length - 1] / SearchBenchmark.NANOS_PER_MILLI);
+    }
+
+    private static String[] createVocabulary(Random random) {
+        LinkedHashSet<String> words = new LinkedHashSet<>();
+        while (words.size() < SearchBenchmark.VOCABULARY_SIZE) {
+            int numSyllables = 2 + random.nextInt(3);
+            StringBuilder word = new StringBuilder();
+            for (int i = 0; i < numSyllables; i++) {
+                word.append(SearchBenchmark.SYLLABLES[random.nextInt(SearchBenchmark.SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static String pickWord(Random random, String[] vocabulary) {
+        return vocabulary[(int) (vocabulary.length * Math.pow(random.nextDouble(), SearchBenchmark.SKEW))];
+    }
+
+    /**
+     * Swaps the second letter for another, one edit away from the word.
+     */
+    private static String misspell(String word) {
+        char replacement = word.charAt(1) == 'x' ? 'y' : 'x';
+        return word.charAt(0) + String.valueOf(replacement) + word.substring(2);
+    }
+}
@@ -0,0 +1,145 @@
+package echo.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+import echo.command.Command;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.profile.Profile;
+import echo.storage.Storage;
+import echo.task.Task;
+import echo.task.TaskManager;
+
+/**
+ * Checks that several Echo processes sharing one save file never lose each other's changes.
+ *
+ * Starts worker processes that all load the same task list and, in a tight loop, each add their own tasks,
+ * mark some of them as done, and add and then delete others, saving after every change. Every save either
+ * finds the save file as the worker last saw it, or merges in what the other workers saved first.
+ * At the end, the save file must hold every task that was added and not deleted exactly once, marked as done
+ * if it was marked, and none of the deleted tasks. Prints how long the workers took and how many of
+ * the other workers' tasks each of them merged in, and exits with status 1 if any change was lost.
+ *
+ * Usage: SharedSaveFileStress [NUM_PROCESSES] [NUM_CHANGES] [WORK_DIR], defaulting to 4 processes that
+ * make 200 changes each, in build/benchmark.
+ */
+public class SharedSaveFileStress {
+    private static final int DEFAULT_NUM_PROCESSES = 4;
+    private static final int DEFAULT_NUM_CHANGES = 200;
+    private static final String DEFAULT_WORK_DIR = "build/benchmark";
+    private static final String ARG_WORKER = "--worker";
+    private static final String PROFILE_NAME = "shared";
+    private static final String FORMAT_KEPT_TASK = "worker %d change %d";
+    private static final String FORMAT_DELETED_TASK = "worker %d deleted %d";
+    // every this many changes, a task is marked as done, or added and deleted again
+    private static final int MARK_EVERY = 3;
+    private static final int DELETE_EVERY = 5;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Runs the stress test, or one worker of it.
+     *
+     * @param args Optional number of processes, number of changes per process and working directory,
+     *     or the arguments of a worker.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, StorageException,
+            TaskException, TaskManagerException {
+        if (args.length > 0 && args[0].equals(SharedSaveFileStress.ARG_WORKER)) {
+            SharedSaveFileStress.runWorker(Integer.parseInt(args[1]), Integer.parseInt(args[2]), args[3]);
+            return;
+        }
+
+        int numProcesses = args.length > 0 ? Integer.parseInt(args[0]) : SharedSaveFileStress.DEFAULT_NUM_PROCESSES;
+        int numChanges = args.length > 1 ? Integer.parseInt(args[1]) : SharedSaveFileStress.DEFAULT_NUM_CHANGES;
+        File workDir = new File(args.length > 2 ? args[2] : SharedSaveFileStress.DEFAULT_WORK_DIR, "shared");
+        workDir.mkdirs();
+        for (File file : workDir.listFiles()) {
+            file.delete();
+        }
+
+        long start = System.nanoTime();
+        ArrayList<Process> workers = new ArrayList<>();
+        for (int i = 0; i < numProcesses; i++) {
+            String javaPath = new File(System.getProperty("java.home"), "bin/java").getPath();
+            workers.add(new ProcessBuilder(javaPath, "-cp", System.getProperty("java.class.path"),
+                SharedSaveFileStress.class.getName(), SharedSaveFileStress.ARG_WORKER, String.valueOf(i),
+                String.valueOf(numChanges), workDir.getPath()).inheritIO().start());
+        }
+        boolean haveWorkersFailed = false;
+        for (Process worker : workers) {
+            haveWorkersFailed |= worker.waitFor() != 0;
+        }
+        double elapsedMillis = (System.nanoTime() - start) / SharedSaveFileStress.NANOS_PER_MILLI;
+
+        int numLost = SharedSaveFileStress.countLostChanges(numProcesses, numChanges, workDir);
+        System.out.printf("%d processes x %d changes in %.0f ms (%.0f changes per second), %d changes lost%n",
+            numProcesses, numChanges, elapsedMillis, numProcesses * numChanges * 1000 / elapsedMillis, numLost);
+        if (haveWorkersFailed || numLost > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void runWorker(int id, int numChanges, String workDir) throws IOException, StorageException,
+            TaskException, TaskManagerException {
+        Profile profile = new Profile(SharedSaveFileStress.PROFILE_NAME, workDir);
+        profile.load();
+        TaskManager taskManager = profile.getTaskManager();
+        Random random = new Random(id);
+        for (int i = 0; i < numChanges; i++) {
+            Task task = taskManager.addTask(SharedSaveFileStress.FORMAT_KEPT_TASK.formatted(id, i), Command.TODO,
+                new ArrayList<>()).getTask();
+            profile.save();
+            if (i % SharedSaveFileStress.MARK_EVERY == 0) {
+                // other workers' tasks may have been merged in before it
+                taskManager.markAsDone(taskManager.getTasks().indexOf(task) + 1);
+                profile.save();
+            }
+            if (i % SharedSaveFileStress.DELETE_EVERY == 0) {
+                Task deletedTask = taskManager.addTask(SharedSaveFileStress.FORMAT_DELETED_TASK.formatted(id, i),
+                    Command.TODO, new ArrayList<>()).getTask();
+                profile.save();
+                taskManager.removeTask(taskManager.getTasks().indexOf(deletedTask) + 1);
+                profile.save();
+            }
+            if (random.nextBoolean()) {
+                Thread.yield();
+            }
+        }
+
+        System.out.printf("worker %d merged in %d tasks of the other workers%n", id,
+            taskManager.getNumTasks() - numChanges);
+    }
+
+    private static int countLostChanges(int numProcesses, int numChanges, File workDir)
+            throws StorageException, TaskException, IOException {
+        File saveFile = new File(workDir, SharedSaveFileStress.PROFILE_NAME + ".txt");
+        HashMap<String, Integer> counts = new HashMap<>();
+        HashMap<String, Boolean> doneFlags = new HashMap<>();
+        for (Task task : new Storage(saveFile.getPath()).loadTasks()) {
+            counts.merge(task.getDescription(), 1, Integer::sum);
+            doneFlags.put(task.getDescription(), task.isDone());
+        }
+
+        int numLost = 0;
+        for (int id = 0; id < numProcesses; id++) {
+            for (int i = 0; i < numChanges; i++) {
+                String description = SharedSaveFileStress.FORMAT_KEPT_TASK.formatted(id, i);
+                boolean isKept = counts.getOrDefault(description, 0) == 1;
+                boolean isMarked = i % SharedSaveFileStress.MARK_EVERY != 0
+                    || Boolean.TRUE.equals(doneFlags.get(description));
+                boolean isDeleted = !counts.containsKey(SharedSaveFileStress.FORMAT_DELETED_TASK.formatted(id, i));
+                if (!isKept || !isMarked || !isDeleted) {
+                    System.out.printf("lost: %s (count %d, done %s), deleted task kept: %s%n", description,
+                        counts.getOrDefault(description, 0), doneFlags.get(description), !isDeleted);
+                    numLost++;
+                }
+            }
+        }
+        return numLost;
+    }
+}
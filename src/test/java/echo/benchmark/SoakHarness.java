@@ -0,0 +1,425 @@
+package echo.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import echo.Echo;
+
+/**
+ * Drives Echo.getResponse headlessly with a generated workload for a long time, and checks the results
+ * against a stored baseline, and that Echo does not get slower or use more memory as the run goes on.
+ *
+ * Records the latency of every command, by command keyword and overall. At every report interval, it forces a
+ * garbage collection and records the heap still in use and the total size of the data directory, so slow leaks
+ * show up as a rising heap or data size over a long run. At the end, prints the latency percentiles and the
+ * largest heap and data size seen, then compares them with the baseline. The run fails if any of them is more
+ * than the tolerance above the baseline, as a fraction of it.
+ *
+ * Latencies depend on the machine, so the baseline file keeps the results of each machine apart, under the name
+ * of the machine, and --write-baseline only replaces those of the machine it runs on. A machine with no baseline
+ * yet is only checked against itself.
+ *
+ * The run is also checked against itself: once the task list has grown to the target size, the first window of
+ * the run is recorded as the reference, and the last window of the run is compared with it in the same way.
+ * The check is skipped if the run is too short for the two windows to be apart.
+ *
+ * Usage: SoakHarness [--minutes M] [--window-minutes W] [--data-dir DIR] [--baseline FILE] [--write-baseline]
+ *     [--tolerance T] [--target-tasks N] [--seed S]
+ */
+public class SoakHarness {
+    private static final double DEFAULT_MINUTES = 10;
+    private static final double DEFAULT_WINDOW_MINUTES = 2;
+    private static final String DEFAULT_DATA_DIR = "build/soak";
+    private static final double DEFAULT_TOLERANCE = 0.5;
+    private static final int DEFAULT_TARGET_TASKS = 2000;
+    private static final long DEFAULT_SEED = 42;
+
+    private static final long REPORT_INTERVAL_NANOS = 30_000_000_000L;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    // p99.9 and max are printed but not checked, they are too noisy over a run of a few minutes
+    private static final double[] CHECKED_PERCENTILES = {50, 99};
+    // latencies of a few hundred microseconds jitter by more than the tolerance, so allow this much on top
+    private static final long LATENCY_SLACK_MICROS = 1000;
+    private static final String OVERALL = "all";
+
+    private static final String KEY_HEAP = "heapAfterGc.max.bytes";
+    private static final String KEY_DATA_SIZE = "dataSize.max.bytes";
+    private static final String KEY_LATENCY = "latency.%s.p%s.micros";
+    // between the machine name and the metric in the keys of the baseline file
+    private static final String MACHINE_SEPARATOR = "/";
+
+    private final TreeMap<String, LatencyHistogram> histograms = new TreeMap<>();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Window referenceWindow = new Window();
+    private final Window lastWindow = new Window();
+    private long maxHeapAfterGc;
+    private long maxDataSize;
+    private boolean areWindowsApart;
+
+    /**
+     * Runs the soak test, exiting with status 1 if it regressed against the baseline of this machine,
+     * or its last window regressed against its reference window.
+     *
+     * @param args Options as in the usage above.
+     * @throws IOException If the baseline could not be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        double minutes = SoakHarness.DEFAULT_MINUTES;
+        double windowMinutes = SoakHarness.DEFAULT_WINDOW_MINUTES;
+        String dataDir = SoakHarness.DEFAULT_DATA_DIR;
+        String baselinePath = null;
+        boolean shouldWriteBaseline = false;
+        double tolerance = SoakHarness.DEFAULT_TOLERANCE;
+        int targetTasks = SoakHarness.DEFAULT_TARGET_TASKS;
+        long seed = SoakHarness.DEFAULT_SEED;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--minutes":
+                minutes = Double.parseDouble(args[++i]);
+                break;
+            case "--window-minutes":
+                windowMinutes = Double.parseDouble(args[++i]);
+                break;
+            case "--data-dir":
+                dataDir = args[++i];
+                break;
+            case "--baseline":
+                baselinePath = args[++i];
+                break;
+            case "--write-baseline":
+                shouldWriteBaseline = true;
+                break;
+            case "--tolerance":
+                tolerance = Double.parseDouble(args[++i]);
+                break;
+            case "--target-tasks":
+                targetTasks = Integer.parseInt(args[++i]);
+                break;
+            case "--seed":
+                seed = Long.parseLong(args[++i]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        SoakHarness harness = new SoakHarness();
+        harness.run(dataDir, new WorkloadGenerator(seed, targetTasks), targetTasks,
+            (long) (minutes * SoakHarness.NANOS_PER_MINUTE), (long) (windowMinutes * SoakHarness.NANOS_PER_MINUTE));
+        harness.printResults();
+        Properties results = harness.getResults();
+        String machine = SoakHarness.getMachineName();
+
+        if (baselinePath != null && shouldWriteBaseline) {
+            SoakHarness.writeBaseline(results, baselinePath, machine, minutes, targetTasks, seed);
+            System.out.println("Wrote baseline of " + machine + " to " + baselinePath);
+            return;
+        }
+
+        boolean hasRegressed = false;
+        Properties baseline = baselinePath == null ? new Properties() : SoakHarness.loadBaseline(baselinePath, machine);
+        if (baseline.isEmpty()) {
+            System.out.println("No baseline of " + machine + " to check against, record one with --write-baseline");
+        } else {
+            ArrayList<String> regressions = SoakHarness.compare(results, baseline, tolerance);
+            if (regressions.isEmpty()) {
+                System.out.println("PASSED, within " + tolerance + " of the baseline of " + machine);
+            } else {
+                System.out.println("FAILED, regressed against the baseline of " + machine + ":");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                hasRegressed = true;
+            }
+        }
+
+        if (!harness.areWindowsApart) {
+            System.out.println("Skipped comparing the last " + windowMinutes + " minutes with the first "
+                + windowMinutes + " minutes at " + targetTasks + " tasks, the run is too short");
+        } else {
+            ArrayList<String> regressions = SoakHarness.compare(harness.lastWindow.getResults(),
+                harness.referenceWindow.getResults(), tolerance);
+            if (regressions.isEmpty()) {
+                System.out.println("PASSED, the last window is within " + tolerance + " of the reference window");
+            } else {
+                System.out.println("FAILED, the last window regressed against the reference window:");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                hasRegressed = true;
+            }
+        }
+        if (hasRegressed) {
+            System.exit(1);
+        }
+    }
+
+    private void run(String dataDir, WorkloadGenerator generator, int targetTasks, long durationNanos,
+            long windowNanos) {
+        File directory = new File(dataDir);
+        SoakHarness.clearDirectory(directory);
+        Echo echo = new Echo(dataDir);
+        echo.loadTasks();
+
+        long start = System.nanoTime();
+        long nextReport = start + SoakHarness.REPORT_INTERVAL_NANOS;
+        long lastWindowStart = start + durationNanos - windowNanos;
+        long referenceStart = -1;
+        Window window = null;
+        long now = start;
+        while (now - start < durationNanos) {
+            String command = generator.next();
+            long before = System.nanoTime();
+            echo.getResponse(command);
+            now = System.nanoTime();
+
+            String keyword = command.substring(0, command.indexOf(' ') < 0 ? command.length() : command.indexOf(' '));
+            this.histograms.computeIfAbsent(keyword, k -> new LatencyHistogram()).record(now - before);
+            this.histograms.computeIfAbsent(SoakHarness.OVERALL, k -> new LatencyHistogram()).record(now - before);
+
+            // commands are cheaper while the list is still growing, so only start the reference at the target size
+            if (referenceStart < 0 && generator.getNumTasks() >= targetTasks) {
+                referenceStart = now;
+                this.areWindowsApart = referenceStart + windowNanos <= lastWindowStart;
+            }
+            Window nextWindow = null;
+            if (referenceStart >= 0 && now < referenceStart + windowNanos) {
+                nextWindow = this.referenceWindow;
+            } else if (this.areWindowsApart && now >= lastWindowStart) {
+                nextWindow = this.lastWindow;
+            }
+            if (nextWindow != window) {
+                // sample at both ends of each window, so every window has at least two samples
+                this.sample(directory, now - start, generator.getNumTasks(), window, nextWindow);
+                window = nextWindow;
+            }
+            if (window != null) {
+                window.record(keyword, now - before);
+            }
+
+            if (now >= nextReport) {
+                this.sample(directory, now - start, generator.getNumTasks(), window, null);
+                nextReport += SoakHarness.REPORT_INTERVAL_NANOS;
+            }
+        }
+        this.sample(directory, now - start, generator.getNumTasks(), window, null);
+    }
+
+    /**
+     * Records the heap in use after a full garbage collection and the size of the data directory,
+     * in the whole run and in the windows the sample is taken at the edge of or inside.
+     */
+    private void sample(File directory, long elapsedNanos, int numTasks, Window window, Window nextWindow) {
+        this.memory.gc();
+        long heapAfterGc = this.memory.getHeapMemoryUsage().getUsed();
+        long dataSize = SoakHarness.getDirectorySize(directory);
+        this.maxHeapAfterGc = Math.max(this.maxHeapAfterGc, heapAfterGc);
+        this.maxDataSize = Math.max(this.maxDataSize, dataSize);
+        for (Window sampledWindow : new Window[] {window, nextWindow}) {
+            if (sampledWindow != null) {
+                sampledWindow.sample(heapAfterGc, dataSize);
+            }
+        }
+
+        LatencyHistogram overall = this.histograms.get(SoakHarness.OVERALL);
+        System.out.printf("[%6.1f min] %d commands, %d tasks, p99 %d us, heap after GC %d KB, data %d KB%n",
+            elapsedNanos / (double) SoakHarness.NANOS_PER_MINUTE, overall.getTotalCount(), numTasks,
+            overall.getPercentileNanos(99) / 1000, heapAfterGc / 1024, dataSize / 1024);
+    }
+
+    private void printResults() {
+        System.out.printf("%-10s %10s %10s %10s %10s %10s%n", "command", "count", "p50 us", "p99 us", "p99.9 us",
+            "max us");
+        for (Map.Entry<String, LatencyHistogram> entry : this.histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            System.out.printf("%-10s %10d %10d %10d %10d %10d%n", entry.getKey(), histogram.getTotalCount(),
+                histogram.getPercentileNanos(50) / 1000, histogram.getPercentileNanos(99) / 1000,
+                histogram.getPercentileNanos(99.9) / 1000, histogram.getMaxNanos() / 1000);
+        }
+        System.out.printf("max heap after GC %d KB, max data size %d KB%n", this.maxHeapAfterGc / 1024,
+            this.maxDataSize / 1024);
+    }
+
+    private Properties getResults() {
+        Properties results = new Properties();
+        for (Map.Entry<String, LatencyHistogram> entry : this.histograms.entrySet()) {
+            for (double percentile : SoakHarness.CHECKED_PERCENTILES) {
+                results.setProperty(SoakHarness.getLatencyKey(entry.getKey(), percentile),
+                    Long.toString(entry.getValue().getPercentileNanos(percentile) / 1000));
+            }
+        }
+        results.setProperty(SoakHarness.KEY_HEAP, Long.toString(this.maxHeapAfterGc));
+        results.setProperty(SoakHarness.KEY_DATA_SIZE, Long.toString(this.maxDataSize));
+        return results;
+    }
+
+    /**
+     * Compares results with a reference, either the baseline or the reference window,
+     * only checking the metrics recorded in both.
+     *
+     * @return a description of each metric that is more than the tolerance above the reference.
+     */
+    private static ArrayList<String> compare(Properties results, Properties reference, double tolerance) {
+        ArrayList<String> regressions = new ArrayList<>();
+        for (String key : new TreeSet<>(reference.stringPropertyNames())) {
+            String result = results.getProperty(key);
+            if (result == null) {
+                continue;
+            }
+            long referenceValue = Long.parseLong(reference.getProperty(key));
+            long value = Long.parseLong(result);
+            long slack = key.startsWith("latency.") ? SoakHarness.LATENCY_SLACK_MICROS : 0;
+            if (value > referenceValue * (1 + tolerance) + slack) {
+                regressions.add("%s is %d, reference %d".formatted(key, value, referenceValue));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Gets a name for this machine, from its host name and what its latencies depend on most.
+     */
+    private static String getMachineName() {
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            hostName = "unknown";
+        }
+        String name = "%s-%s-%s-%dcpu".formatted(hostName, System.getProperty("os.name"),
+            System.getProperty("os.arch"), Runtime.getRuntime().availableProcessors());
+        // the name prefixes the keys of the baseline file, so keep it to characters keys do not escape
+        return name.toLowerCase().replaceAll("[^a-z0-9.-]", "-");
+    }
+
+    /**
+     * Reads the baseline of one machine from the baseline file.
+     *
+     * @return the metrics of the machine, without the machine prefix, or none if it has no baseline.
+     */
+    private static Properties loadBaseline(String baselinePath, String machine) throws IOException {
+        Properties baseline = new Properties();
+        String prefix = machine + SoakHarness.MACHINE_SEPARATOR;
+        for (Map.Entry<String, String> entry : SoakHarness.readBaselineFile(baselinePath).entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                baseline.setProperty(entry.getKey().substring(prefix.length()), entry.getValue());
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Replaces the baseline of one machine in the baseline file, keeping those of the other machines.
+     */
+    private static void writeBaseline(Properties results, String baselinePath, String machine, double minutes,
+            int targetTasks, long seed) throws IOException {
+        TreeMap<String, String> baseline = SoakHarness.readBaselineFile(baselinePath);
+        baseline.keySet().removeIf(key -> key.startsWith(machine + SoakHarness.MACHINE_SEPARATOR));
+        for (String key : results.stringPropertyNames()) {
+            baseline.put(machine + SoakHarness.MACHINE_SEPARATOR + key, results.getProperty(key));
+        }
+
+        File baselineFile = new File(baselinePath);
+        baselineFile.getAbsoluteFile().getParentFile().mkdirs();
+        Properties stored = new Properties();
+        stored.putAll(baseline);
+        OutputStream out = new FileOutputStream(baselineFile);
+        try {
+            stored.store(out, "SoakHarness baseline, last written by %s, %s minutes, %d target tasks, seed %d, Java %s"
+                .formatted(machine, minutes, targetTasks, seed, System.getProperty("java.version")));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static TreeMap<String, String> readBaselineFile(String baselinePath) throws IOException {
+        TreeMap<String, String> baseline = new TreeMap<>();
+        File baselineFile = new File(baselinePath);
+        if (!baselineFile.isFile()) {
+            return baseline;
+        }
+        Properties stored = new Properties();
+        InputStream in = new FileInputStream(baselineFile);
+        try {
+            stored.load(in);
+        } finally {
+            in.close();
+        }
+        for (String key : stored.stringPropertyNames()) {
+            baseline.put(key, stored.getProperty(key));
+        }
+        return baseline;
+    }
+
+    private static String getLatencyKey(String keyword, double percentile) {
+        String percentileString = percentile == Math.rint(percentile)
+            ? Long.toString((long) percentile)
+            : Double.toString(percentile);
+        return SoakHarness.KEY_LATENCY.formatted(keyword, percentileString);
+    }
+
+    private static long getDirectorySize(File directory) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        return size;
+    }
+
+    private static void clearDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isFile()) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Latencies, heap and data size recorded during one window of the run.
+     */
+    private static class Window {
+        private final TreeMap<String, LatencyHistogram> histograms = new TreeMap<>();
+        private long maxHeapAfterGc;
+        private long maxDataSize;
+
+        void record(String keyword, long latencyNanos) {
+            this.histograms.computeIfAbsent(keyword, k -> new LatencyHistogram()).record(latencyNanos);
+            this.histograms.computeIfAbsent(SoakHarness.OVERALL, k -> new LatencyHistogram()).record(latencyNanos);
+        }
+
+        void sample(long heapAfterGc, long dataSize) {
+            this.maxHeapAfterGc = Math.max(this.maxHeapAfterGc, heapAfterGc);
+            this.maxDataSize = Math.max(this.maxDataSize, dataSize);
+        }
+
+        Properties getResults() {
+            Properties results = new Properties();
+            for (Map.Entry<String, LatencyHistogram> entry : this.histograms.entrySet()) {
+                for (double percentile : SoakHarness.CHECKED_PERCENTILES) {
+                    results.setProperty(SoakHarness.getLatencyKey(entry.getKey(), percentile),
+                        Long.toString(entry.getValue().getPercentileNanos(percentile) / 1000));
+                }
+            }
+            results.setProperty(SoakHarness.KEY_HEAP, Long.toString(this.maxHeapAfterGc));
+            results.setProperty(SoakHarness.KEY_DATA_SIZE, Long.toString(this.maxDataSize));
+            return results;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package echo.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.storage.Storage;
+import echo.sync.SyncResult;
+import echo.sync.Synchronizer;
+import echo.task.Deadline;
+import echo.task.Task;
+import echo.task.ToDo;
+
+/**
+ * Measures how much of two large save files a sync reads and writes when they differ by a few tasks.
+ *
+ * Saves the same history to two files, then marks a few different tasks as done and adds a few different tasks
+ * in each before saving them again. Prints the bytes of task lines read and written and of chunk trees used
+ * by the first sync, which merges the changes, and by a second sync, which finds nothing left to do.
+ *
+ * Usage: SyncBenchmark [NUM_TASKS] [WORK_DIR], defaulting to 1000000 tasks in build/benchmark.
+ */
+public class SyncBenchmark {
+    private static final int DEFAULT_NUM_TASKS = 1_000_000;
+    private static final String DEFAULT_WORK_DIR = "build/benchmark";
+    private static final int NUM_CHANGES = 3;
+    private static final long SEED = 42;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of tasks and working directory.
+     */
+    public static void main(String[] args) throws IOException, StorageException, TaskException {
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : SyncBenchmark.DEFAULT_NUM_TASKS;
+        File workDir = new File(args.length > 1 ? args[1] : SyncBenchmark.DEFAULT_WORK_DIR);
+        workDir.mkdirs();
+
+        Storage here = new Storage(new File(workDir, "sync-here.txt").getPath());
+        Storage there = new Storage(new File(workDir, "sync-there.txt").getPath());
+        Random random = new Random(SyncBenchmark.SEED);
+        here.saveTasks(SyncBenchmark.createHistory(numTasks, random, "here"));
+        there.saveTasks(SyncBenchmark.createHistory(numTasks, random, "there"));
+        System.out.printf("file size: %d bytes, %d tasks%n", new File(here.getPath()).length(), numTasks);
+
+        SyncBenchmark.report("first sync", here, there);
+        SyncBenchmark.report("second sync", here, there);
+    }
+
+    /**
+     * Creates the same history every time, apart from a few tasks marked as done and a few extra tasks.
+     */
+    private static ArrayList<Task> createHistory(int numTasks, Random random, String label) throws TaskException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < numTasks; i++) {
+            String day = "2026-%02d-%02d".formatted(1 + i % 12, 1 + i % 28);
+            tasks.add(i % 2 == 0 ? new ToDo("task " + i) : new Deadline("task " + i, day + " 1000"));
+        }
+        for (int i = 0; i < SyncBenchmark.NUM_CHANGES; i++) {
+            tasks.get(random.nextInt(numTasks)).markAsDone();
+            tasks.add(new ToDo(label + " task " + i));
+        }
+        return tasks;
+    }
+
+    private static void report(String label, Storage here, Storage there) throws StorageException {
+        long start = System.nanoTime();
+        SyncResult result = new Synchronizer().sync(here, there.getPath());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%s: %d ms, %d bytes read, %d bytes written, %d bytes of chunk trees, "
+            + "%d + %d tasks added, %d + %d marked as done%n", label, elapsedMillis, result.getBytesRead(),
+            result.getBytesWritten(), result.getTreeBytes(), result.getTasksAddedHere().size(),
+            result.getNumTasksAddedThere(), result.getTaskNumbersDoneHere().size(), result.getNumTasksDoneThere());
+    }
+}
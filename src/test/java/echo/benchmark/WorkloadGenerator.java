@@ -0,0 +1,175 @@
+package echo.benchmark;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Generates a realistic stream of user commands for soak testing Echo.
+ *
+ * Commands are picked with fixed weights, roughly what a heavy user types in a day. Deadlines and events fall on
+ * whole hours of working days in a two-week window, so many of them conflict. A small share of descriptions
+ * are several kilobytes long. The generator keeps track of how many tasks there should be, so that task numbers
+ * are valid, and deletes instead of adding once there are more than the target number of tasks,
+ * which keeps the list around a steady size however long the run.
+ */
+public class WorkloadGenerator {
+    private static final String[] WORDS = {
+        "read", "book", "report", "meeting", "gym", "call", "mom", "project", "review", "code",
+        "lunch", "team", "plan", "sprint", "pay", "rent", "buy", "groceries", "clean", "room",
+        "email", "client", "draft", "proposal", "submit", "assignment", "dentist", "laundry", "walk", "dog",
+        "water", "plants", "fix", "bug", "deploy", "release", "write", "notes", "study", "exam",
+    };
+
+    private static final double LARGE_DESCRIPTION_RATIO = 0.01;
+    private static final int MAX_WORDS = 5;
+    private static final int LARGE_DESCRIPTION_MIN_WORDS = 300;
+    private static final int LARGE_DESCRIPTION_MAX_WORDS = 1200;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 3, 2);
+    private static final int NUM_DAYS = 14;
+    private static final int FIRST_HOUR = 8;
+    private static final int NUM_HOURS = 11;
+    private static final int MAX_EVENT_HOURS = 3;
+    private static final int MAX_UPCOMING = 10;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final Random random;
+    private final int targetTasks;
+    private int numTasks;
+
+    /**
+     * Creates a WorkloadGenerator for an empty task list.
+     *
+     * @param seed Seed of the random choices, the same seed always gives the same commands.
+     * @param targetTasks Number of tasks to keep the list at once it has grown.
+     */
+    public WorkloadGenerator(long seed, int targetTasks) {
+        this.random = new Random(seed);
+        this.targetTasks = targetTasks;
+    }
+
+    /**
+     * Generates the next command, assuming every command so far has been carried out.
+     *
+     * @return the command, as the user would type it.
+     */
+    public String next() {
+        CommandKind kind = this.pickKind();
+        if (this.numTasks == 0 && kind.needsTask) {
+            kind = CommandKind.TODO;
+        }
+
+        switch (kind) {
+        case TODO:
+            return this.add("todo " + this.createDescription());
+        case DEADLINE:
+            return this.add("deadline " + this.createDescription() + " /by " + this.createDateTime(this.pickSlot(), 0));
+        case EVENT:
+            int slot = this.pickSlot();
+            int hours = 1 + this.random.nextInt(WorkloadGenerator.MAX_EVENT_HOURS);
+            return this.add("event " + this.createDescription() + " /from " + this.createDateTime(slot, 0)
+                + " /to " + this.createDateTime(slot, hours));
+        case MARK:
+            return "mark " + this.pickTaskNumber();
+        case UNMARK:
+            return "unmark " + this.pickTaskNumber();
+        case FIND:
+            return "find " + this.pickWord();
+        case LIST:
+            return "list";
+        case DELETE:
+            return this.delete();
+        default:
+            return "upcoming " + (1 + this.random.nextInt(WorkloadGenerator.MAX_UPCOMING));
+        }
+    }
+
+    public int getNumTasks() {
+        return this.numTasks;
+    }
+
+    private String add(String command) {
+        if (this.numTasks >= this.targetTasks) {
+            return this.delete();
+        }
+        this.numTasks++;
+        return command;
+    }
+
+    private String delete() {
+        String command = "delete " + this.pickTaskNumber();
+        this.numTasks--;
+        return command;
+    }
+
+    private int pickTaskNumber() {
+        return 1 + this.random.nextInt(this.numTasks);
+    }
+
+    private String pickWord() {
+        return WorkloadGenerator.WORDS[this.random.nextInt(WorkloadGenerator.WORDS.length)];
+    }
+
+    private String createDescription() {
+        int numWords = this.random.nextDouble() < WorkloadGenerator.LARGE_DESCRIPTION_RATIO
+            ? WorkloadGenerator.LARGE_DESCRIPTION_MIN_WORDS + this.random.nextInt(
+                WorkloadGenerator.LARGE_DESCRIPTION_MAX_WORDS - WorkloadGenerator.LARGE_DESCRIPTION_MIN_WORDS)
+            : 1 + this.random.nextInt(WorkloadGenerator.MAX_WORDS);
+        StringBuilder description = new StringBuilder(this.pickWord());
+        for (int i = 1; i < numWords; i++) {
+            description.append(' ').append(this.pickWord());
+        }
+        return description.toString();
+    }
+
+    private CommandKind pickKind() {
+        int pick = this.random.nextInt(CommandKind.TOTAL_WEIGHT);
+        for (CommandKind kind : CommandKind.values()) {
+            if (pick < kind.weight) {
+                return kind;
+            }
+            pick -= kind.weight;
+        }
+        throw new AssertionError();
+    }
+
+    private int pickSlot() {
+        return this.random.nextInt(WorkloadGenerator.NUM_DAYS * WorkloadGenerator.NUM_HOURS);
+    }
+
+    /**
+     * Formats a whole hour of the window, as typed after /by, /from or /to.
+     */
+    private String createDateTime(int slot, int hoursLater) {
+        LocalDate day = WorkloadGenerator.FIRST_DAY.plusDays(slot / WorkloadGenerator.NUM_HOURS);
+        int hour = WorkloadGenerator.FIRST_HOUR + slot % WorkloadGenerator.NUM_HOURS + hoursLater;
+        return day.format(WorkloadGenerator.DATE_FORMAT) + " %02d00".formatted(hour);
+    }
+
+    /**
+     * Kinds of commands, with how often each is picked relative to the others.
+     */
+    private enum CommandKind {
+        TODO(16, false),
+        DEADLINE(14, false),
+        EVENT(14, false),
+        MARK(14, true),
+        UNMARK(5, true),
+        FIND(16, false),
+        LIST(2, false),
+        DELETE(14, true),
+        UPCOMING(5, false);
+
+        private static final int TOTAL_WEIGHT = 100;
+
+        private final int weight;
+        // whether the command needs an existing task number
+        private final boolean needsTask;
+
+        CommandKind(int weight, boolean needsTask) {
+            this.weight = weight;
+            this.needsTask = needsTask;
+        }
+    }
+}
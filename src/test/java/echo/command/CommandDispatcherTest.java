@@ -0,0 +1,226 @@
+package echo.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.ServiceLoader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import echo.command.handler.ByeHandler;
+import echo.command.handler.DeadlineHandler;
+import echo.command.handler.EventHandler;
+import echo.command.handler.FindHandler;
+import echo.command.handler.ListHandler;
+import echo.exception.ParsingException;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.parser.InstructionParser;
+import echo.profile.Profile;
+import echo.storage.Archive;
+import echo.storage.Storage;
+import echo.task.Task;
+import echo.task.TaskManager;
+import echo.ui.MessageFormatter;
+
+public class CommandDispatcherTest {
+    private CommandDispatcher dispatcher;
+    private CommandContext context;
+    private MessageFormatter formatter;
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher = new CommandDispatcher();
+        context = new StubCommandContext();
+        formatter = new MessageFormatter();
+    }
+
+    private String dispatch(String userMessage)
+            throws ParsingException, StorageException, TaskException, TaskManagerException {
+        return dispatcher.dispatch(userMessage, context, formatter);
+    }
+
+    @Test
+    public void findHandler_everyServiceListedHandler_found() throws ParsingException {
+        for (CommandHandler<?, ?> handler : ServiceLoader.load(CommandHandler.class)) {
+            assertEquals(handler.getClass(), dispatcher.findHandler(handler.getKeyword()).getClass());
+            for (String alias : handler.getAliases()) {
+                assertEquals(handler.getClass(), dispatcher.findHandler(alias).getClass());
+            }
+        }
+    }
+
+    @Test
+    public void dispatch_handlerOnlyListedInTestServices_parsedOnceAndRun() throws Exception {
+        PingHandler ping = assertInstanceOf(PingHandler.class, dispatcher.findHandler("ping"));
+
+        assertEquals("pong hello", dispatch("ping hello"));
+        assertEquals(1, ping.getNumParses());
+    }
+
+    @Test
+    public void dispatch_prefixWithSpaces_handlerGetsFullKeywordOnce() throws Exception {
+        PingHandler ping = assertInstanceOf(PingHandler.class, dispatcher.findHandler("ping"));
+
+        assertEquals("pong there", dispatch("   PI there  "));
+        assertEquals("ping there", ping.getLastMessage());
+        assertEquals(1, ping.getNumParses());
+    }
+
+    @Test
+    public void dispatch_invalidArguments_exceptionFromHandlerParse() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            dispatch("mark abc");
+        });
+        assertEquals("mark needs a valid task number!", exception.getMessage());
+
+        exception = assertThrows(ParsingException.class, () -> {
+            dispatch("dl");
+        });
+        assertEquals("got no deadline description and by when you should complete it...", exception.getMessage());
+    }
+
+    @Test
+    public void dispatch_unknownCommand_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            dispatch("Unknown stuff");
+        });
+        assertEquals("Sorry what does that mean ah? I never see unknown before...", exception.getMessage());
+    }
+
+    @Test
+    public void findHandler_upperCaseKeyword_found() throws ParsingException {
+        assertInstanceOf(ListHandler.class, dispatcher.findHandler("LiSt"));
+    }
+
+    @Test
+    public void findHandler_unambiguousPrefix_found() throws ParsingException {
+        assertInstanceOf(ListHandler.class, dispatcher.findHandler("l"));
+        assertInstanceOf(EventHandler.class, dispatcher.findHandler("ev meeting /from 2pm /to 4pm"));
+    }
+
+    @Test
+    public void findHandler_builtInAlias_found() throws ParsingException {
+        assertInstanceOf(DeadlineHandler.class, dispatcher.findHandler("dl submit report /by 2026-01-25 1800"));
+        assertInstanceOf(ListHandler.class, dispatcher.findHandler("ls"));
+    }
+
+    @Test
+    public void findHandler_ambiguousPrefix_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            dispatcher.findHandler("de 1");
+        });
+        assertEquals("de could mean deadline or delete, please type more of the command!", exception.getMessage());
+    }
+
+    @Test
+    public void addAlias_newAlias_usableAsCommand() throws Exception {
+        assertEquals("find", dispatcher.addAlias("lookup", "find"));
+        assertInstanceOf(FindHandler.class, dispatcher.findHandler("lookup book"));
+
+        assertEquals("ping", dispatcher.addAlias("Hello", "pi"));
+        assertEquals("pong you", dispatch("hello you"));
+    }
+
+    @Test
+    public void addAlias_existingKeyword_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            dispatcher.addAlias("list", "find");
+        });
+        assertEquals("list is already a command!", exception.getMessage());
+    }
+
+    @Test
+    public void addAlias_unknownTarget_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            dispatcher.addAlias("x", "nothing");
+        });
+        assertEquals("Sorry what does that mean ah? I never see nothing before...", exception.getMessage());
+    }
+
+    @Test
+    public void register_keywordTaken_exceptionThrown() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            dispatcher.register(new ListHandler());
+        });
+        assertEquals("Cannot register the handler for command list: list is already a command!",
+            exception.getMessage());
+    }
+
+    @Test
+    public void isExitCommand_byeInAnyForm_true() throws ParsingException {
+        assertTrue(dispatcher.isExitCommand("bye"));
+        assertTrue(dispatcher.isExitCommand("  BY "));
+        assertInstanceOf(ByeHandler.class, dispatcher.findHandler("bye"));
+    }
+
+    @Test
+    public void isExitCommand_otherMessages_false() {
+        assertFalse(dispatcher.isExitCommand("list"));
+        assertFalse(dispatcher.isExitCommand("blah"));
+        assertFalse(dispatcher.isExitCommand("b"));
+        assertFalse(dispatcher.isExitCommand(""));
+    }
+
+    /**
+     * Gives handlers a parser but no tasks, which is all the handlers run by these tests need.
+     */
+    private static class StubCommandContext implements CommandContext {
+        private final InstructionParser parser = new InstructionParser();
+
+        @Override
+        public TaskManager getTaskManager() {
+            return null;
+        }
+
+        @Override
+        public InstructionParser getInstructionParser() {
+            return this.parser;
+        }
+
+        @Override
+        public String addAlias(String alias, String target) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveTasks() {
+        }
+
+        @Override
+        public Storage getStorage() {
+            return null;
+        }
+
+        @Override
+        public void checkCanSaveDependencies() {
+        }
+
+        @Override
+        public Archive getArchive() {
+            return null;
+        }
+
+        @Override
+        public ArrayList<Task> archiveDoneTasks(LocalDateTime endedBefore) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Profile useProfile(String name) {
+            return null;
+        }
+
+        @Override
+        public LocalDateTime getCurrentTime() {
+            return LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package echo.command;
+
+import echo.parser.InstructionParser;
+import echo.ui.MessageFormatter;
+
+/**
+ * Handles the ping command, which only exists in the tests to check that handlers listed in
+ * META-INF/services are picked up without any change to Echo, and to count how often messages are parsed.
+ */
+public class PingHandler implements CommandHandler<String, String> {
+    private static final String KEYWORD = "ping";
+    private static final String RESPONSE = "pong";
+
+    private int numParses;
+    private String lastMessage;
+
+    @Override
+    public String getKeyword() {
+        return PingHandler.KEYWORD;
+    }
+
+    @Override
+    public String parse(String userMessage, InstructionParser parser) {
+        this.numParses++;
+        this.lastMessage = userMessage;
+        return userMessage.substring(PingHandler.KEYWORD.length()).trim();
+    }
+
+    @Override
+    public String execute(String request, CommandContext context) {
+        return PingHandler.RESPONSE;
+    }
+
+    @Override
+    public String format(String request, String result, MessageFormatter formatter) {
+        return request.isEmpty() ? result : result + " " + request;
+    }
+
+    public int getNumParses() {
+        return this.numParses;
+    }
+
+    public String getLastMessage() {
+        return this.lastMessage;
+    }
+}
@@ -0,0 +1,85 @@
+package echo.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import echo.command.handler.FindHandler;
+import echo.command.handler.FindRequest;
+import echo.command.handler.ListHandler;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.task.TaskManager;
+
+public class ResponseCacheTest {
+    private ResponseCache cache;
+    private TaskManager taskManager;
+    private ListHandler listHandler;
+    private FindHandler findHandler;
+
+    @BeforeEach
+    public void setUp() throws TaskException, TaskManagerException {
+        cache = new ResponseCache(2);
+        taskManager = new TaskManager();
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("sweep floor", Command.TODO, new ArrayList<>());
+        listHandler = new ListHandler();
+        findHandler = new FindHandler();
+    }
+
+    @Test
+    public void get_sameRequestTwice_hit() {
+        assertNull(cache.get(findHandler, new FindRequest("book", false), taskManager));
+        cache.put(findHandler, new FindRequest("book", false), taskManager, "books");
+
+        assertEquals("books", cache.get(findHandler, new FindRequest("book", false), taskManager));
+        assertEquals(1, cache.getNumHits());
+        assertEquals(1, cache.getNumMisses());
+    }
+
+    @Test
+    public void get_taskAdded_onlyAffectedResponsesDropped() throws TaskException, TaskManagerException {
+        cache.put(listHandler, null, taskManager, "everything");
+        cache.put(findHandler, new FindRequest("book", false), taskManager, "books");
+
+        taskManager.addTask("mop floor", Command.TODO, new ArrayList<>());
+        assertNull(cache.get(listHandler, null, taskManager));
+        assertEquals("books", cache.get(findHandler, new FindRequest("book", false), taskManager));
+
+        taskManager.markAsDone(1);
+        assertNull(cache.get(findHandler, new FindRequest("book", false), taskManager));
+    }
+
+    @Test
+    public void get_findWithArchive_notCached() {
+        cache.put(findHandler, new FindRequest("book", true), taskManager, "books");
+
+        assertNull(cache.get(findHandler, new FindRequest("book", true), taskManager));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getNumMisses());
+    }
+
+    @Test
+    public void get_otherTaskManager_miss() {
+        cache.put(listHandler, null, taskManager, "everything");
+
+        assertNull(cache.get(listHandler, null, new TaskManager()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void put_moreThanCapacity_leastRecentlyUsedDropped() {
+        cache.put(findHandler, new FindRequest("book", false), taskManager, "books");
+        cache.put(findHandler, new FindRequest("floor", false), taskManager, "floors");
+        cache.get(findHandler, new FindRequest("book", false), taskManager);
+        cache.put(listHandler, null, taskManager, "everything");
+
+        assertEquals("books", cache.get(findHandler, new FindRequest("book", false), taskManager));
+        assertNull(cache.get(findHandler, new FindRequest("floor", false), taskManager));
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,135 @@
+package echo.exchange;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.task.Deadline;
+import echo.task.DescriptionPool;
+import echo.task.Event;
+import echo.task.Recurrence;
+import echo.task.RecurringTask;
+import echo.task.Task;
+import echo.task.ToDo;
+
+public class TaskExchangeTest {
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> createTasks() throws TaskException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("read \"War, and Peace\"; then \\ rest"));
+        tasks.add(new ToDo("buy \u725B\u5976 and \uD83C\uDF70"));
+        tasks.add(new ToDo("a long description that has to be folded by the iCalendar writer, as lines of "
+            + "more than seventy-five bytes are folded, even with \u00FCn\u00EFc\u00F6d\u00E9 in the middle"));
+        Deadline deadline = new Deadline("return book", "2026-01-25 1800");
+        deadline.markAsDone();
+        tasks.add(deadline);
+        Event event = new Event("project meeting", "2026-01-26 1400", "2026-01-26 1600");
+        event.markAsDone();
+        tasks.add(event);
+        tasks.add(new RecurringTask(new Deadline("pay rent", "2026-02-01 0900"), Recurrence.of("month", null)));
+        tasks.add(new RecurringTask(new Event("gym", "2026-01-27 0700", "2026-01-27 0800"),
+            Recurrence.of("week", "2026-03-31")));
+        return tasks;
+    }
+
+    private List<String> toSaveLines(List<Task> tasks) {
+        return tasks.stream().map(Task::saveRepresentation).toList();
+    }
+
+    private ImportResult importFile(String fileName, String content) throws IOException, StorageException {
+        Path file = this.tempDir.resolve(fileName);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return new TaskExchange().importTasks(file.toString(), TaskFormat.fromPath(fileName), new DescriptionPool());
+    }
+
+    @Test
+    public void exportThenImport_everyFormat_sameTasks() throws StorageException, TaskException {
+        ArrayList<Task> tasks = this.createTasks();
+        for (TaskFormat format : TaskFormat.values()) {
+            String path = this.tempDir.resolve("tasks" + format.getExtension()).toString();
+            assertEquals(tasks.size(), new TaskExchange().exportTasks(tasks, path, format));
+
+            ImportResult result = new TaskExchange().importTasks(path, format, new DescriptionPool());
+            assertEquals(0, result.getNumSkipped(), format + ": " + result.getFirstSkipReason());
+            assertEquals(this.toSaveLines(tasks), this.toSaveLines(result.getTasks()), format.toString());
+        }
+    }
+
+    @Test
+    public void importTasks_icsFromOtherApp_tasksRead() throws IOException, StorageException {
+        String ics = "BEGIN:VCALENDAR\r\n"
+            + "VERSION:2.0\r\n"
+            + "BEGIN:VTIMEZONE\r\n"
+            + "TZID:Asia/Singapore\r\n"
+            + "BEGIN:STANDARD\r\n"
+            + "DTSTART:19700101T000000\r\n"
+            + "END:STANDARD\r\n"
+            + "END:VTIMEZONE\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "SUMMARY:team lunch at the\r\n"
+            + "  new place\r\n"
+            + "DTSTART;TZID=\"Asia/Singapore\":20260126T123000\r\n"
+            + "DTEND;TZID=\"Asia/Singapore\":20260126T133045\r\n"
+            + "BEGIN:VALARM\r\n"
+            + "ACTION:DISPLAY\r\n"
+            + "SUMMARY:not a task\r\n"
+            + "END:VALARM\r\n"
+            + "END:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "SUMMARY:holiday\r\n"
+            + "DTSTART;VALUE=DATE:20260201\r\n"
+            + "END:VEVENT\r\n"
+            + "BEGIN:VTODO\r\n"
+            + "SUMMARY:water plants\r\n"
+            + "DTSTART:20260105T080000\r\n"
+            + "DUE:20260105T090000\r\n"
+            + "RRULE:FREQ=DAILY;COUNT=3\r\n"
+            + "COMPLETED:20260105T083000Z\r\n"
+            + "END:VTODO\r\n"
+            + "END:VCALENDAR\r\n";
+        ImportResult result = this.importFile("other.ics", ics);
+
+        assertEquals(0, result.getNumSkipped(), result.getFirstSkipReason());
+        assertEquals(List.of("E | 0 | team lunch at the new place | 2026-01-26 1230 | 2026-01-26 1330",
+            "E | 0 | holiday | 2026-02-01 0000 | 2026-02-01 0000",
+            "RD | 1 | water plants | 2026-01-05 0900 | DAILY | 2026-01-07"),
+            this.toSaveLines(result.getTasks()));
+    }
+
+    @Test
+    public void importTasks_csvWithBadRows_badRowsSkipped() throws IOException, StorageException {
+        String csv = "\uFEFFdescription,notes,type,by\n"
+            + "return book,,deadline,2026-01-25 1800\n"
+            + "no type,,,\n"
+            + "\"multi\n"
+            + "line\",,todo,\n"
+            + "bad date,,deadline,tomorrow\n";
+        ImportResult result = this.importFile("tasks.csv", csv);
+
+        assertEquals(2, result.getNumSkipped());
+        assertEquals(3, result.getFirstSkippedLine());
+        assertEquals(2, result.getTasks().size());
+        assertTrue(result.getTasks().get(1).saveRepresentation().contains("multi line"));
+    }
+
+    @Test
+    public void importTasks_noSuchFile_exceptionThrown() {
+        String path = this.tempDir.resolve("none.jsonl").toString();
+        assertThrows(StorageException.class, () ->
+            new TaskExchange().importTasks(path, TaskFormat.JSON_LINES, new DescriptionPool()));
+    }
+}
@@ -0,0 +1,110 @@
+package echo.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import echo.exception.ParsingException;
+
+public class CommandRegistryTest {
+    private CommandRegistry<String> registry;
+
+    @BeforeEach
+    public void setUp() throws ParsingException {
+        registry = new CommandRegistry<>();
+        registry.register("deadline", "deadline");
+        registry.register("delete", "delete");
+        registry.register("list", "list");
+        registry.register("todo", "todo");
+    }
+
+    private String lookup(String keyword) throws ParsingException {
+        return registry.lookup(keyword, 0, keyword.length());
+    }
+
+    @Test
+    public void lookup_mixedCase_matched() throws ParsingException {
+        assertEquals("list", lookup("LiSt"));
+        assertEquals("deadline", lookup("DEADLINE"));
+    }
+
+    @Test
+    public void lookup_keywordInsideMessage_onlyRangeMatched() throws ParsingException {
+        assertEquals("todo", registry.lookup("please todo read book", 7, 11));
+        assertNull(registry.lookup("todo", 0, 0));
+    }
+
+    @Test
+    public void lookup_builtInAndUserAliases_matched() throws ParsingException {
+        registry.addAlias("rm", "delete");
+        registry.addAlias("T", "todo");
+
+        assertEquals("delete", lookup("rm"));
+        assertEquals("delete", lookup("RM"));
+        assertEquals("todo", lookup("t"));
+        assertEquals("delete", registry.getKeyword("delete"));
+    }
+
+    @Test
+    public void lookup_uniquePrefix_matched() throws ParsingException {
+        assertEquals("list", lookup("l"));
+        assertEquals("deadline", lookup("dea"));
+        assertEquals("delete", lookup("del"));
+    }
+
+    @Test
+    public void lookup_unknownOrTooLong_null() throws ParsingException {
+        assertNull(lookup("bye"));
+        assertNull(lookup("lists"));
+        assertNull(lookup("l\u00e9"));
+    }
+
+    @Test
+    public void lookup_ambiguousPrefix_exceptionListsCandidates() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            lookup("De");
+        });
+        assertEquals("De could mean deadline or delete, please type more of the command!", exception.getMessage());
+    }
+
+    @Test
+    public void lookup_prefixOfKeywordAndAlias_sameValueNotAmbiguous() throws ParsingException {
+        registry.addAlias("dl", "deadline");
+
+        assertEquals("deadline", lookup("dl"));
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            lookup("d");
+        });
+        assertEquals("d could mean deadline or delete, please type more of the command!", exception.getMessage());
+    }
+
+    @Test
+    public void addAlias_aliasShadowingPrefix_exactMatchWins() throws ParsingException {
+        registry.addAlias("de", "delete");
+
+        assertEquals("delete", lookup("de"));
+        // longer prefixes are still told apart
+        assertEquals("deadline", lookup("dea"));
+    }
+
+    @Test
+    public void addAlias_aliasShadowingKeyword_exceptionThrown() throws ParsingException {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            registry.addAlias("List", "delete");
+        });
+        assertEquals("List is already a command!", exception.getMessage());
+        assertEquals("list", lookup("list"));
+    }
+
+    @Test
+    public void register_invalidKeyword_exceptionThrownAndTrieUnchanged() throws ParsingException {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            registry.register("lis-t", "bye");
+        });
+        assertEquals("Commands can only contain letters and numbers!", exception.getMessage());
+        assertEquals("list", lookup("lis"));
+    }
+}
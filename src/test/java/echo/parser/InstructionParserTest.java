@@ -1,14 +1,17 @@
 package echo.parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import echo.command.Command;
 import echo.exception.ParsingException;
 
 public class InstructionParserTest {
@@ -19,158 +22,89 @@ public class InstructionParserTest {
         parser = new InstructionParser();
     }
 
-    // NOTE: Tests for parseCommand
+    // NOTE: Tests for the arguments of each command
     @Test
-    public void parseCommand_validTodo_success() throws ParsingException {
-        assertEquals(Command.TODO, parser.parseCommand("todo read book"));
-    }
-
-    @Test
-    public void parseCommand_validTodoWithExtraSpaces_success() throws ParsingException {
-        assertEquals(Command.TODO, parser.parseCommand("  todo   read book  "));
-    }
-
-    @Test
-    public void parseCommand_todoNoDescription_exceptionThrown() {
+    public void parseTodoDescription_keywordOnly_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("todo");
+            parser.parseTodoDescription("todo");
         });
         assertEquals("The todo description cannot be empty leh...", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_validDeadline_success() throws ParsingException {
-        assertEquals(Command.DEADLINE, parser.parseCommand("deadline submit report /by 2026-01-25 1800"));
-    }
-
-    @Test
-    public void parseCommand_deadlineNoDescription_exceptionThrown() {
+    public void parseDeadlineDescription_keywordOnly_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("deadline");
+            parser.parseDeadlineDescription("deadline");
         });
         assertEquals("got no deadline description and by when you should complete it...", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_deadlineNoBy_exceptionThrown() {
-        ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("deadline submit report");
-        });
-        assertEquals("need to indicate when you need to complete the deadline by!", exception.getMessage());
-    }
-
-    @Test
-    public void parseCommand_deadlineEmptyDescription_exceptionThrown() {
-        ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("deadline /by 2026-01-25 1800");
-        });
-        assertEquals("got no deadline description...", exception.getMessage());
-    }
-
-    @Test
-    public void parseCommand_validEvent_success() throws ParsingException {
-        assertEquals(Command.EVENT, parser.parseCommand("event meeting /from 2pm /to 4pm"));
-    }
-
-    @Test
-    public void parseCommand_eventNoDescription_exceptionThrown() {
+    public void parseEventDescription_keywordOnly_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("event");
+            parser.parseEventDescription("event");
         });
         assertEquals("why got no event description one...", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_validList_success() throws ParsingException {
-        assertEquals(Command.LIST, parser.parseCommand("list"));
-    }
-
-    @Test
-    public void parseCommand_validMark_success() throws ParsingException {
-        assertEquals(Command.MARK, parser.parseCommand("mark 1"));
-    }
-
-    @Test
-    public void parseCommand_markNoNumber_exceptionThrown() {
+    public void parseMarkArgs_noNumber_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("mark");
+            parser.parseMarkArgs("mark");
         });
         assertEquals("mark requires a task number!", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_markInvalidNumber_exceptionThrown() {
+    public void parseMarkArgs_invalidNumber_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("mark abc");
+            parser.parseMarkArgs("mark abc");
         });
         assertEquals("mark needs a valid task number!", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_validUnmark_success() throws ParsingException {
-        assertEquals(Command.UNMARK, parser.parseCommand("unmark 1"));
-    }
-
-    @Test
-    public void parseCommand_unmarkNoNumber_exceptionThrown() {
+    public void parseUnmarkArgs_noNumber_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("unmark");
+            parser.parseUnmarkArgs("unmark");
         });
         assertEquals("unmark requires a task number!", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_unmarkInvalidNumber_exceptionThrown() {
+    public void parseUnmarkArgs_invalidNumber_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("unmark xyz");
+            parser.parseUnmarkArgs("unmark xyz");
         });
         assertEquals("unmark needs a valid task number!", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_validDelete_success() throws ParsingException {
-        assertEquals(Command.DELETE, parser.parseCommand("delete 1"));
-    }
-
-    @Test
-    public void parseCommand_deleteNoNumber_exceptionThrown() {
+    public void parseDeleteArgs_noNumber_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("delete");
+            parser.parseDeleteArgs("delete");
         });
         assertEquals("delete requires a task number!", exception.getMessage());
     }
 
     @Test
-    public void parseCommand_deleteInvalidNumber_exceptionThrown() {
+    public void parseDeleteArgs_invalidNumber_exceptionThrown() {
         ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("delete notanumber");
+            parser.parseDeleteArgs("delete notanumber");
         });
         assertEquals("delete needs a valid task number!", exception.getMessage());
     }
 
+    // NOTE: Test for parseMarkArgs and parseUnmarkArgs
     @Test
-    public void parseCommand_validBye_success() throws ParsingException {
-        assertEquals(Command.BYE, parser.parseCommand("bye"));
-    }
-
-    @Test
-    public void parseCommand_unknownCommand_exceptionThrown() {
-        ParsingException exception = assertThrows(ParsingException.class, () -> {
-            parser.parseCommand("unknown");
-        });
-        assertEquals("Sorry what does that mean ah? I never see unknown before...", exception.getMessage());
-    }
-
-    // NOTE: Test for parseMarkUnmarkArgs
-    @Test
-    public void parseMarkUnmarkArgs_validInput_success() {
-        assertEquals(1, parser.parseMarkUnmarkArgs("mark 1"));
-        assertEquals(5, parser.parseMarkUnmarkArgs("unmark 5"));
+    public void parseMarkArgs_validInput_success() throws ParsingException {
+        assertEquals(1, parser.parseMarkArgs("mark 1"));
+        assertEquals(5, parser.parseUnmarkArgs("unmark 5"));
     }
 
     // NOTE: Test for parseDeleteArgs
     @Test
-    public void parseDeleteArgs_validInput_success() {
+    public void parseDeleteArgs_validInput_success() throws ParsingException {
         assertEquals(1, parser.parseDeleteArgs("delete 1"));
         assertEquals(10, parser.parseDeleteArgs("delete 10"));
     }
@@ -323,4 +257,97 @@ public class InstructionParserTest {
         });
         assertEquals("Did you forget to specify /to for the event?", exception.getMessage());
     }
+
+    @Test
+    public void parseEventArgs_everyAndUntil_recurrenceAppended() throws ParsingException {
+        ArrayList<String> result = parser.parseEventArgs(
+            "event standup /from 2026-01-05 0900 /to 2026-01-05 0915 /every day /until 2026-03-31");
+        assertEquals(List.of("2026-01-05 0900", "2026-01-05 0915", "day", "2026-03-31"), result);
+    }
+
+    @Test
+    public void parseDeadlineArgs_every_recurrenceAppended() throws ParsingException {
+        ArrayList<String> result = parser.parseDeadlineArgs("deadline report /by 2026-01-09 1700 /every week");
+        assertEquals(List.of("2026-01-09 1700", "week"), result);
+    }
+
+    @Test
+    public void parseDeadlineArgs_untilWithoutEvery_exceptionThrown() throws ParsingException {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            parser.parseDeadlineArgs("deadline report /by 2026-01-09 1700 /until 2026-03-31");
+        });
+        assertEquals("/until only works together with /every!", exception.getMessage());
+    }
+
+    // NOTE: Tests for conflicts
+    @Test
+    public void parseConflictsDate_invalidDate_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            parser.parseConflictsDate("conflicts tomorrow");
+        });
+        assertEquals("conflicts needs a date in the format yyyy-mm-dd!", exception.getMessage());
+    }
+
+    @Test
+    public void parseConflictsDate_validInput_success() throws ParsingException {
+        assertEquals(LocalDate.of(2026, 1, 25), parser.parseConflictsDate("conflicts 2026-01-25"));
+    }
+
+    // NOTE: Tests for agenda queries
+    @Test
+    public void parseBetweenDates_validInput_success() throws ParsingException {
+        ArrayList<LocalDate> range = parser.parseBetweenDates("between 2026-01-01   2026-01-31");
+        assertEquals(LocalDate.of(2026, 1, 1), range.get(0));
+        assertEquals(LocalDate.of(2026, 1, 31), range.get(1));
+    }
+
+    @Test
+    public void parseBetweenDates_startAfterEnd_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            parser.parseBetweenDates("between 2026-02-01 2026-01-01");
+        });
+        assertEquals("The start date cannot be later than the end date!", exception.getMessage());
+    }
+
+    @Test
+    public void parseUpcomingCount_notPositive_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            parser.parseUpcomingCount("upcoming 0");
+        });
+        assertEquals("upcoming needs a positive number of tasks!", exception.getMessage());
+    }
+
+    @Test
+    public void parseUpcomingCount_validInput_success() throws ParsingException {
+        assertEquals(5, parser.parseUpcomingCount("upcoming 5"));
+    }
+
+    @Test
+    public void parseAfterTaskNumbers_validInput_success() throws ParsingException {
+        assertEquals(List.of(5, 3), parser.parseAfterTaskNumbers("after 5  3"));
+    }
+
+    @Test
+    public void parseAfterTaskNumbers_oneNumber_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            parser.parseAfterTaskNumbers("after 5");
+        });
+        assertEquals("after needs a task number and the number of the task it comes after, like after 5 3!",
+            exception.getMessage());
+    }
+
+    @Test
+    public void parseFindKeyword_allFlag_keywordAfterFlag() throws ParsingException {
+        assertEquals("read book", parser.parseFindKeyword("find --all read book"));
+        assertTrue(parser.isFindAll("find --all read book"));
+        assertFalse(parser.isFindAll("find --allowance"));
+    }
+
+    @Test
+    public void parseArchiveDays_negativeDays_exceptionThrown() {
+        ParsingException exception = assertThrows(ParsingException.class, () -> {
+            parser.parseArchiveDays("archive -1");
+        });
+        assertEquals("archive needs a number of days that is 0 or more!", exception.getMessage());
+    }
 }
@@ -0,0 +1,263 @@
+package echo.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import echo.command.Command;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.storage.Storage;
+import echo.task.Task;
+import echo.task.TaskManager;
+import echo.task.ToDo;
+
+public class ProfileCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void get_sameName_sameProfile() throws StorageException, TaskException {
+        ProfileCache profiles = new ProfileCache(tempDir.toString(), Long.MAX_VALUE);
+        Profile work = profiles.get("work");
+        profiles.get("home");
+
+        assertSame(work, profiles.get("work"));
+        assertEquals(List.of("home", "work"), profiles.getLoadedNames());
+    }
+
+    @Test
+    public void get_overBudget_leastRecentlyUsedSavedAndUnloaded()
+            throws StorageException, TaskException, TaskManagerException {
+        ProfileCache profiles = new ProfileCache(tempDir.toString(), 0);
+        Profile work = profiles.get("work");
+        work.getTaskManager().addTask("write report", Command.TODO, new ArrayList<>());
+        assertTrue(work.hasUnsavedChanges());
+
+        profiles.get("home");
+        assertFalse(profiles.isLoaded("work"));
+        assertFalse(work.hasUnsavedChanges());
+
+        Profile reloadedWork = profiles.get("work");
+        assertEquals("[T][ ] write report", reloadedWork.getTaskManager().getTasks().get(0).toString());
+        assertEquals(List.of("work"), profiles.getLoadedNames());
+    }
+
+    @Test
+    public void get_pagedOverBudget_changesKeptInPageFile()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        ProfileCache profiles = new ProfileCache(tempDir.toString(), 0, true);
+        Profile work = profiles.get("work");
+        work.getTaskManager().addTask("read book", Command.TODO, new ArrayList<>());
+        work.getTaskManager().addTask("return book", Command.TODO, new ArrayList<>());
+        work.getTaskManager().addTask("buy milk", Command.TODO, new ArrayList<>());
+        work.save();
+        work.getTaskManager().markAsDone(2);
+        work.getTaskManager().removeTask(1);
+
+        profiles.get("home");
+        assertFalse(profiles.isLoaded("work"));
+        assertTrue(Files.isRegularFile(tempDir.resolve("work.pages")));
+        assertFalse(Files.exists(tempDir.resolve("work.txt")));
+
+        ArrayList<Task> tasks = profiles.get("work").getTaskManager().getTasks();
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] return book", tasks.get(0).toString());
+        assertEquals("[T][ ] buy milk", tasks.get(1).toString());
+        assertThrows(StorageException.class, profiles.get("work")::getStorage);
+    }
+
+    @Test
+    public void load_paged_agendaFoundInPageFileIncludingUnsavedChanges()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        Profile work = new Profile("work", tempDir.toString(), true);
+        work.load();
+        TaskManager taskManager = work.getTaskManager();
+        taskManager.addTask("return book", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700")));
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("meeting", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-08 0900", "2026-01-08 1000")));
+        work.save();
+        work.close();
+
+        Profile reloadedWork = new Profile("work", tempDir.toString(), true);
+        reloadedWork.load();
+        TaskManager reloadedTaskManager = reloadedWork.getTaskManager();
+        reloadedTaskManager.addTask("pay rent", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 0800")));
+        reloadedTaskManager.markAsDone(3);
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        ArrayList<Task> dueTasks = reloadedTaskManager.findDeadlinesDueOn(LocalDate.of(2026, 1, 9));
+        assertEquals(List.of("pay rent", "return book"), dueTasks.stream().map(Task::getDescription).toList());
+        assertEquals(3, reloadedTaskManager.findTasksBetween(from.toLocalDate(), LocalDate.of(2026, 1, 31)).size());
+        assertEquals(List.of("pay rent"),
+            reloadedTaskManager.findUpcomingTasks(from, 1).stream().map(Task::getDescription).toList());
+
+        reloadedTaskManager.removeTask(1);
+        assertEquals(List.of("pay rent"),
+            reloadedTaskManager.findUpcomingTasks(from, 5).stream().map(Task::getDescription).toList());
+        assertTrue(reloadedWork.hasUnsavedChanges());
+    }
+
+    @Test
+    public void archiveDoneTasks_saveFails_archiveCutBackAndTasksPutBack()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        Profile work = new Profile("work", tempDir.toString());
+        work.load();
+        TaskManager taskManager = work.getTaskManager();
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("return book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("buy milk", Command.TODO, new ArrayList<>());
+        taskManager.addTask("pay rent", Command.TODO, new ArrayList<>());
+        taskManager.markAsDone(1);
+        taskManager.markAsDone(3);
+        taskManager.markAsDone(4);
+        taskManager.addDependency(2, 1);
+        // a directory cannot be replaced by the save file
+        Files.createDirectories(tempDir.resolve("work.txt").resolve("blocked"));
+
+        assertThrows(StorageException.class, () -> work.archiveDoneTasks(null));
+        assertEquals(0, work.getArchive().getNumTasks());
+        assertEquals(List.of("read book", "return book", "buy milk", "pay rent"),
+            taskManager.getTasks().stream().map(Task::getDescription).toList());
+        assertEquals(1, taskManager.getDependencies().size());
+
+        Files.delete(tempDir.resolve("work.txt").resolve("blocked"));
+        Files.delete(tempDir.resolve("work.txt"));
+        assertEquals(3, work.archiveDoneTasks(null).size());
+        assertEquals(3, work.getArchive().getNumTasks());
+        Profile reloadedWork = new Profile("work", tempDir.toString());
+        reloadedWork.load();
+        assertEquals(List.of("return book"),
+            reloadedWork.getTaskManager().getTasks().stream().map(Task::getDescription).toList());
+    }
+
+    @Test
+    public void get_pagedAfterDeletingImportedTasks_saveFileNotImportedAgain()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        ArrayList<Task> savedTasks = new ArrayList<>(List.of(new ToDo("read book"), new ToDo("buy milk")));
+        new Storage(tempDir.resolve("work.txt").toString()).saveTasks(savedTasks);
+        Profile work = new Profile("work", tempDir.toString(), true);
+        work.load();
+        assertEquals(2, work.getTaskManager().getTasks().size());
+        work.getTaskManager().removeTask(2);
+        work.getTaskManager().removeTask(1);
+        work.save();
+        work.close();
+
+        Profile reloadedWork = new Profile("work", tempDir.toString(), true);
+        reloadedWork.load();
+        assertEquals(List.of(), reloadedWork.getTaskManager().getTasks());
+    }
+
+    @Test
+    public void save_twoInstancesAddingDependencies_bothDependenciesKept()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        Profile first = new Profile("shared", tempDir.toString());
+        first.load();
+        for (String description : List.of("buy paint", "paint wall", "hang picture")) {
+            first.getTaskManager().addTask(description, Command.TODO, new ArrayList<>());
+        }
+        first.save();
+        Profile second = new Profile("shared", tempDir.toString());
+        second.load();
+
+        first.getTaskManager().addDependency(2, 1);
+        first.save();
+        second.getTaskManager().addDependency(3, 2);
+        second.save();
+
+        Profile reloaded = new Profile("shared", tempDir.toString());
+        reloaded.load();
+        List<String> dependencies = reloaded.getTaskManager().getDependencies().stream()
+            .map(dependency -> dependency.getTask().getDescription() + " after "
+                + dependency.getPrerequisite().getDescription())
+            .sorted().toList();
+        assertEquals(List.of("hang picture after paint wall", "paint wall after buy paint"), dependencies);
+    }
+
+    @Test
+    public void checkCanSaveDependencies_paged_exceptionThrown() throws StorageException, TaskException {
+        ProfileCache profiles = new ProfileCache(tempDir.toString(), Long.MAX_VALUE, true);
+        StorageException exception = assertThrows(StorageException.class,
+            profiles.get("work")::checkCanSaveDependencies);
+        assertEquals("The task list work is kept in a page file, which cannot remember which tasks come after others!",
+            exception.getMessage());
+        profiles.get("work").close();
+    }
+
+    @Test
+    public void save_changedByOtherProgram_bothChangesKept()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        ProfileCache profiles = new ProfileCache(tempDir.toString(), Long.MAX_VALUE);
+        Profile work = profiles.get("work");
+        work.getTaskManager().addTask("write report", Command.TODO, new ArrayList<>());
+        work.getTaskManager().addTask("read book", Command.TODO, new ArrayList<>());
+        work.save();
+
+        // another program marks a task and adds one, while a task is added here but not saved yet
+        Path file = tempDir.resolve("work.txt");
+        Storage otherStorage = new Storage(file.toString());
+        ArrayList<Task> otherTasks = otherStorage.loadTasks();
+        otherTasks.get(1).markAsDone();
+        otherTasks.add(new ToDo("call mum"));
+        otherStorage.saveTasks(otherTasks);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(file.toFile().lastModified() + 2000));
+        work.getTaskManager().addTask("pay rent", Command.TODO, new ArrayList<>());
+        work.save();
+
+        List<String> tasks = new Storage(file.toString()).loadTasks().stream().map(Task::toString).toList();
+        assertEquals(List.of("[T][ ] write report", "[T][X] read book", "[T][ ] call mum", "[T][ ] pay rent"),
+            tasks);
+    }
+
+    @Test
+    public void save_twoInstancesSharingSaveFile_noChangesLost() throws InterruptedException, IOException,
+            StorageException, TaskException {
+        ArrayList<Thread> threads = new ArrayList<>();
+        ArrayList<Exception> failures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            // a separate Profile and Storage each, like separate Echo processes
+            Profile shared = new Profile("shared", tempDir.toString());
+            shared.load();
+            String prefix = "instance " + i + " task ";
+            threads.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < 50; j++) {
+                        shared.getTaskManager().addTask(prefix + j, Command.TODO, new ArrayList<>());
+                        shared.save();
+                    }
+                } catch (Exception e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), failures);
+        ArrayList<Task> tasks = new Storage(tempDir.resolve("shared.txt").toString()).loadTasks();
+        assertEquals(100, tasks.stream().map(Task::getDescription).distinct().count());
+        assertEquals(100, tasks.size());
+    }
+}
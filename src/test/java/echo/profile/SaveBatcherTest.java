@@ -0,0 +1,157 @@
+package echo.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import echo.command.Command;
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.storage.Durability;
+
+public class SaveBatcherTest {
+    // long enough that the background flush never runs during a test
+    private static final long LONG_WINDOW_MILLIS = 60_000;
+    private static final long SHORT_WINDOW_MILLIS = 20;
+    private static final long WAIT_MILLIS = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void save_batched_savesWithinWindowForcedOnceOnFlush()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        Object lock = new Object();
+        SaveBatcher saveBatcher = new SaveBatcher(Durability.BATCHED, SaveBatcherTest.LONG_WINDOW_MILLIS, lock);
+        Profile work = new Profile("work", tempDir.toString());
+        work.load();
+
+        synchronized (lock) {
+            for (int i = 0; i < 5; i++) {
+                work.getTaskManager().addTask("task " + i, Command.TODO, new ArrayList<>());
+                saveBatcher.save(work);
+            }
+        }
+        assertTrue(work.hasUnsavedChanges());
+        Profile savedWork = new Profile("work", tempDir.toString());
+        savedWork.load();
+        assertEquals(0, savedWork.getTaskManager().getNumTasks());
+
+        saveBatcher.close();
+        assertFalse(work.hasUnsavedChanges());
+        assertEquals(1, saveBatcher.getNumForcedSaves());
+        Profile reloadedWork = new Profile("work", tempDir.toString());
+        reloadedWork.load();
+        assertEquals(5, reloadedWork.getTaskManager().getNumTasks());
+    }
+
+    @Test
+    public void save_everyWrite_everySaveForced()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        Object lock = new Object();
+        SaveBatcher saveBatcher = new SaveBatcher(Durability.EVERY_WRITE, SaveBatcherTest.LONG_WINDOW_MILLIS, lock);
+        Profile work = new Profile("work", tempDir.toString());
+        work.load();
+
+        for (int i = 0; i < 3; i++) {
+            work.getTaskManager().addTask("task " + i, Command.TODO, new ArrayList<>());
+            saveBatcher.save(work);
+            assertFalse(work.hasUnsavedChanges());
+        }
+        assertEquals(3, saveBatcher.getNumForcedSaves());
+    }
+
+    @Test
+    public void flush_saveFails_profileKeptPendingAndSavedByNextFlush()
+            throws IOException, StorageException, TaskException, TaskManagerException {
+        Object lock = new Object();
+        SaveBatcher saveBatcher = new SaveBatcher(Durability.BATCHED, SaveBatcherTest.LONG_WINDOW_MILLIS, lock);
+        Profile work = new Profile("work", tempDir.toString());
+        work.load();
+        synchronized (lock) {
+            work.getTaskManager().addTask("read book", Command.TODO, new ArrayList<>());
+            saveBatcher.save(work);
+        }
+        this.blockSaveFile("work");
+
+        StorageException exception = assertThrows(StorageException.class, saveBatcher::flush);
+        assertTrue(exception.getMessage().startsWith("Saving the task list work failed due to: "));
+        assertTrue(work.hasUnsavedChanges());
+        assertEquals(0, saveBatcher.getNumForcedSaves());
+
+        this.unblockSaveFile("work");
+        saveBatcher.flush();
+        assertFalse(work.hasUnsavedChanges());
+        Profile reloadedWork = new Profile("work", tempDir.toString());
+        reloadedWork.load();
+        assertEquals(1, reloadedWork.getTaskManager().getNumTasks());
+    }
+
+    @Test
+    public void save_backgroundFlushFails_listenerToldOnceAndRetriedNextWindow() throws InterruptedException,
+            IOException, StorageException, TaskException, TaskManagerException {
+        Object lock = new Object();
+        SaveBatcher saveBatcher = new SaveBatcher(Durability.BATCHED, SaveBatcherTest.SHORT_WINDOW_MILLIS, lock);
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        saveBatcher.setFailureListener(failures::add);
+        Profile work = new Profile("work", tempDir.toString());
+        work.load();
+        this.blockSaveFile("work");
+
+        synchronized (lock) {
+            work.getTaskManager().addTask("read book", Command.TODO, new ArrayList<>());
+            saveBatcher.save(work);
+        }
+        long deadline = System.currentTimeMillis() + SaveBatcherTest.WAIT_MILLIS;
+        while (failures.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(SaveBatcherTest.SHORT_WINDOW_MILLIS);
+        }
+        // the retries of the next few windows fail the same way, without telling the listener again
+        Thread.sleep(SaveBatcherTest.SHORT_WINDOW_MILLIS * 5);
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0).startsWith("Saving the task list work failed due to: "));
+
+        this.unblockSaveFile("work");
+        deadline = System.currentTimeMillis() + SaveBatcherTest.WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (lock) {
+                if (!work.hasUnsavedChanges()) {
+                    break;
+                }
+            }
+            Thread.sleep(SaveBatcherTest.SHORT_WINDOW_MILLIS);
+        }
+        synchronized (lock) {
+            assertFalse(work.hasUnsavedChanges());
+        }
+        assertEquals(1, saveBatcher.getNumForcedSaves());
+        saveBatcher.close();
+    }
+
+    /**
+     * Puts a directory where the save file of a task list goes, so that saving it fails.
+     */
+    private void blockSaveFile(String name) throws IOException {
+        Path file = tempDir.resolve(name + ".txt");
+        Files.deleteIfExists(file);
+        Files.createDirectories(file.resolve("blocker"));
+    }
+
+    private void unblockSaveFile(String name) throws IOException {
+        Path file = tempDir.resolve(name + ".txt");
+        Files.delete(file.resolve("blocker"));
+        Files.delete(file);
+    }
+}
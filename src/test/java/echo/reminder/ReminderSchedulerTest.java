@@ -0,0 +1,114 @@
+package echo.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import echo.command.Command;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+import echo.task.Deadline;
+import echo.task.Recurrence;
+import echo.task.RecurringTask;
+import echo.task.Task;
+import echo.task.TaskManager;
+import echo.task.TimedTask;
+
+public class ReminderSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 23, 17, 0);
+
+    private ArrayList<String> reminders;
+    private ReminderScheduler scheduler;
+    private TaskManager taskManager;
+
+    @BeforeEach
+    public void setUp() {
+        reminders = new ArrayList<>();
+        scheduler = new ReminderScheduler(Duration.ofMinutes(15), NOW,
+            (TimedTask occurrence) -> reminders.add(occurrence.toString()));
+        taskManager = new TaskManager();
+        scheduler.watch(taskManager);
+    }
+
+    @Test
+    public void advanceTo_deadlineAndEvent_remindedBeforeStart() throws TaskException, TaskManagerException {
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("sweep floor", Command.DEADLINE, new ArrayList<>(List.of("2026-01-23 1800")));
+        taskManager.addTask("party", Command.EVENT, new ArrayList<>(List.of("2026-01-23 1900", "2026-01-23 2100")));
+        taskManager.addTask("homework", Command.DEADLINE, new ArrayList<>(List.of("2026-01-23 1000")));
+        assertEquals(2, scheduler.getNumScheduled());
+
+        tickUntil(NOW.withHour(17).withMinute(44));
+        assertTrue(reminders.isEmpty());
+        tickUntil(NOW.withHour(17).withMinute(45));
+        assertEquals(List.of("[D][ ] sweep floor (by: 23 Jan 2026 1800)"), reminders);
+        tickUntil(NOW.withHour(20));
+        assertEquals(2, reminders.size());
+        assertEquals(0, scheduler.getNumScheduled());
+    }
+
+    @Test
+    public void advanceTo_markedDoneOrRemoved_notReminded() throws TaskException, TaskManagerException {
+        taskManager.addTask("sweep floor", Command.DEADLINE, new ArrayList<>(List.of("2026-01-23 1800")));
+        taskManager.addTask("mop floor", Command.DEADLINE, new ArrayList<>(List.of("2026-01-23 1800")));
+        taskManager.addTask("party", Command.EVENT, new ArrayList<>(List.of("2026-01-23 1900", "2026-01-23 2100")));
+        taskManager.markAsDone(1);
+        taskManager.markAsDone(2);
+        taskManager.markAsUndone(2);
+        taskManager.removeTask(3);
+
+        tickUntil(NOW.plusDays(1));
+        assertEquals(List.of("[D][ ] mop floor (by: 23 Jan 2026 1800)"), reminders);
+    }
+
+    @Test
+    public void advanceTo_recurringTask_remindedOfEachOccurrence() throws TaskException {
+        Task task = new RecurringTask(new Deadline("water plants", "2026-01-20 0800"), Recurrence.of("day", null));
+        taskManager.importTasks(List.of(task));
+
+        tickUntil(NOW.plusDays(3));
+        assertEquals(3, reminders.size());
+        assertTrue(reminders.get(0).contains("24 Jan 2026 0800"), reminders.get(0));
+        assertTrue(reminders.get(2).contains("26 Jan 2026 0800"), reminders.get(2));
+        assertEquals(1, scheduler.getNumScheduled());
+    }
+
+    @Test
+    public void advanceTo_startedWhileAsleep_notReminded() throws TaskException, TaskManagerException {
+        taskManager.addTask("sweep floor", Command.DEADLINE, new ArrayList<>(List.of("2026-01-23 1800")));
+        Task task = new RecurringTask(new Deadline("water plants", "2026-01-20 0800"), Recurrence.of("day", null));
+        taskManager.importTasks(List.of(task));
+
+        scheduler.advanceTo(NOW.plusDays(3));
+        assertTrue(reminders.isEmpty());
+        assertEquals(1, scheduler.getNumScheduled());
+    }
+
+    @Test
+    public void watch_otherTaskManager_changesToOldOneIgnored() throws TaskException, TaskManagerException {
+        taskManager.addTask("sweep floor", Command.DEADLINE, new ArrayList<>(List.of("2026-01-23 1800")));
+        TaskManager otherTaskManager = new TaskManager();
+        otherTaskManager.addTask("party", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-23 1900", "2026-01-23 2100")));
+
+        scheduler.watch(otherTaskManager);
+        taskManager.addTask("mop floor", Command.DEADLINE, new ArrayList<>(List.of("2026-01-23 1800")));
+        tickUntil(NOW.plusDays(1));
+        assertEquals(1, reminders.size());
+        assertTrue(reminders.get(0).contains("party"), reminders.get(0));
+    }
+
+    // advances a minute at a time, like the thread of the scheduler
+    private void tickUntil(LocalDateTime end) {
+        for (LocalDateTime now = NOW.plusMinutes(1); !now.isAfter(end); now = now.plusMinutes(1)) {
+            scheduler.advanceTo(now);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package echo.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TimerWheelTest {
+    // not on a slot boundary of any level, so items cascade down at different ticks
+    private static final long START_TICK = 29_000_000 + 17;
+
+    @Test
+    public void advanceTo_itemsOnEveryLevel_expireAtTheirTicks() {
+        TimerWheel<Long> wheel = new TimerWheel<>(TimerWheelTest.START_TICK);
+        Random random = new Random(42);
+        ArrayList<Long> ticks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // deltas from one tick up to beyond the third level
+            long tick = TimerWheelTest.START_TICK + 1 + (long) Math.pow(random.nextDouble(), 4) * 300_000;
+            ticks.add(tick);
+            wheel.schedule(tick, tick);
+        }
+        long lastTick = TimerWheelTest.START_TICK + 300_000;
+
+        int numExpired = 0;
+        for (long tick = TimerWheelTest.START_TICK; tick < lastTick; ) {
+            long nextTick = Math.min(lastTick, tick + 1 + random.nextInt(500));
+            for (long expiredTick : wheel.advanceTo(nextTick)) {
+                assertTrue(expiredTick > tick && expiredTick <= nextTick,
+                    "tick " + expiredTick + " expired between " + tick + " and " + nextTick);
+                numExpired++;
+            }
+            tick = nextTick;
+        }
+        assertEquals(ticks.size(), numExpired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cancel_waitingItem_neverExpires() {
+        TimerWheel<String> wheel = new TimerWheel<>(TimerWheelTest.START_TICK);
+        TimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", TimerWheelTest.START_TICK + 5000);
+        wheel.schedule("kept", TimerWheelTest.START_TICK + 5000);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(cancelled.isWaiting());
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(List.of("kept"), wheel.advanceTo(TimerWheelTest.START_TICK + 10_000));
+    }
+
+    @Test
+    public void schedule_pastTick_expiresAtNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(TimerWheelTest.START_TICK);
+        TimerWheel.Timeout<String> timeout = wheel.schedule("late", TimerWheelTest.START_TICK - 100);
+
+        assertEquals(TimerWheelTest.START_TICK + 1, timeout.getTick());
+        assertEquals(List.of("late"), wheel.advanceTo(TimerWheelTest.START_TICK + 1));
+        assertFalse(timeout.isWaiting());
+    }
+}
@@ -0,0 +1,96 @@
+package echo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.task.Task;
+import echo.task.TaskManager;
+import echo.task.ToDo;
+
+public class ArchiveTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void archiveDoneTasks_manyTasks_searchableAfterReopening()
+            throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.archive");
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            ToDo toDo = new ToDo("task " + i);
+            if (i % 2 == 0) {
+                toDo.markAsDone();
+            }
+            tasks.add(toDo);
+        }
+        TaskManager taskManager = new TaskManager(tasks);
+
+        Archive archive = new Archive(file.toString());
+        assertEquals(1500, archive.archiveDoneTasks(taskManager, null).size());
+        assertEquals(1500, taskManager.getNumTasks());
+        assertTrue(Files.size(file) < 3000 * 10);
+
+        Archive reopenedArchive = new Archive(file.toString());
+        assertEquals(1500, reopenedArchive.getNumTasks());
+        ArrayList<Task> result = reopenedArchive.findTasksByKeyword("task 2998");
+        assertEquals(1, result.size());
+        assertEquals("[T][X] task 2998", result.get(0).toString());
+    }
+
+    @Test
+    public void appendTasks_twice_bothSearchable() throws IOException, StorageException, TaskException {
+        Archive archive = new Archive(tempDir.resolve("echo.archive").toString());
+        archive.appendTasks(List.of(new ToDo("read book")));
+        archive.appendTasks(List.of(new ToDo("return book")));
+
+        assertEquals(2, new Archive(archive.getPath()).findTasksByKeyword("book").size());
+    }
+
+    @Test
+    public void findTasksByKeyword_corruptedFile_exceptionThrown() throws IOException {
+        Path file = tempDir.resolve("echo.archive");
+        Files.write(file, List.of("T | 1 | read book"));
+
+        Archive archive = new Archive(file.toString());
+        assertThrows(StorageException.class, () -> archive.findTasksByKeyword("book"));
+    }
+
+    @Test
+    public void appendTasks_failsHalfway_fileCutBackAndStillSearchable()
+            throws IOException, StorageException, TaskException {
+        Archive archive = new Archive(tempDir.resolve("echo.archive").toString());
+        archive.appendTasks(List.of(new ToDo("read book")));
+        long length = Files.size(tempDir.resolve("echo.archive"));
+
+        // the first block is written before the task in the second block fails
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            tasks.add(new ToDo("return book " + i));
+        }
+        tasks.add(new ToDo("broken book") {
+            @Override
+            public StringBuilder appendSaveRepresentation(StringBuilder builder, String savedDescription) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        });
+        assertThrows(UncheckedIOException.class, () -> archive.appendTasks(tasks));
+
+        assertEquals(length, Files.size(tempDir.resolve("echo.archive")));
+        assertEquals(1, archive.getNumTasks());
+        archive.appendTasks(List.of(new ToDo("lend book")));
+        assertEquals(2, new Archive(archive.getPath()).findTasksByKeyword("book").size());
+    }
+}
@@ -0,0 +1,201 @@
+package echo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.task.Deadline;
+import echo.task.Dependency;
+import echo.task.Event;
+import echo.task.Recurrence;
+import echo.task.RecurringTask;
+import echo.task.Task;
+import echo.task.ToDo;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void saveTasks_repeatedDescriptions_savedOnceInDictionary() throws IOException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        Deadline deadline = new Deadline("pay rent", "2026-01-25 1000");
+        deadline.markAsDone();
+        storage.saveTasks(new ArrayList<>(List.of(new ToDo("pay rent"), new ToDo("standup"), deadline)));
+
+        List<String> expected = List.of("#ECHO dict version 0000000000000000001", "#DICT pay rent", "#DICT standup",
+            "T | 0 | @0", "T | 0 | @1", "D | 1 | @0 | 2026-01-25 1000");
+        assertEquals(expected, Files.readAllLines(file));
+    }
+
+    @Test
+    public void saveTasks_savedTwice_replacedWithNoTemporaryFileLeft()
+            throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        storage.saveTasks(new ArrayList<>(List.of(new ToDo("pay rent"), new ToDo("standup"))), true);
+        storage.saveTasks(new ArrayList<>(List.of(new ToDo("read book"))), true);
+
+        assertEquals(List.of("read book"),
+            new Storage(file.toString()).loadTasks().stream().map(Task::getDescription).toList());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(files.noneMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    public void loadTasks_dictionaryFile_descriptionsShared() throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        storage.saveTasks(new ArrayList<>(List.of(new ToDo("standup"), new ToDo("read book"), new ToDo("standup"))));
+
+        ArrayList<Task> tasks = storage.loadTasks();
+        assertEquals("[T][ ] standup", tasks.get(0).toString());
+        assertEquals("[T][ ] read book", tasks.get(1).toString());
+        assertSame(tasks.get(0).getDescription(), tasks.get(2).getDescription());
+    }
+
+    @Test
+    public void loadTasks_fileWithoutDictionary_descriptionsShared()
+            throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Files.write(file, List.of("T | 1 | standup", "E | 0 | standup | 2026-01-27 1200 | 2026-01-27 1500"));
+
+        ArrayList<Task> tasks = new Storage(file.toString()).loadTasks();
+        assertEquals("[T][X] standup", tasks.get(0).toString());
+        assertEquals("[E][ ] standup (from: 27 Jan 2026 1200 to: 27 Jan 2026 1500)", tasks.get(1).toString());
+        assertSame(tasks.get(0).getDescription(), tasks.get(1).getDescription());
+    }
+
+    @Test
+    public void loadTasks_referenceOutsideDictionary_exceptionThrown() throws IOException {
+        Path file = tempDir.resolve("echo.txt");
+        Files.write(file, List.of("#ECHO dict", "#DICT standup", "T | 0 | @1"));
+
+        StorageException exception = assertThrows(StorageException.class, () -> {
+            new Storage(file.toString()).loadTasks();
+        });
+        assertEquals("Invalid description reference @1 when parsing!\n"
+            + "Your data file is formatted incorrectly! Starting with an empty history...", exception.getMessage());
+    }
+
+    @Test
+    public void loadTasks_recurringTask_savedAsSingleRule() throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        RecurringTask standup = new RecurringTask(new Event("standup", "2026-01-05 0900", "2026-01-05 0915"),
+            Recurrence.of("day", "2026-03-31"));
+        standup.markAsDone();
+        storage.saveTasks(new ArrayList<>(List.of(standup)));
+
+        assertEquals("RE | 1 | @0 | 2026-01-05 0900 | 2026-01-05 0915 | DAILY | 2026-03-31",
+            Files.readAllLines(file).get(2));
+        ArrayList<Task> tasks = storage.loadTasks();
+        assertEquals("[E][X] standup (from: 5 Jan 2026 0900 to: 5 Jan 2026 0915) (every day until 31 Mar 2026)",
+            tasks.get(0).toString());
+    }
+
+    @Test
+    public void readChanges_editedByOtherProgram_onlyChangedChunksRead()
+            throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        storage.saveTasks(tasks);
+        assertFalse(storage.hasChangedOnDisk());
+
+        // another program marks one task, deletes another and inserts one in the middle
+        Storage otherStorage = new Storage(file.toString());
+        ArrayList<Task> otherTasks = otherStorage.loadTasks();
+        otherTasks.get(10).markAsDone();
+        otherTasks.remove(500);
+        otherTasks.add(1500, new ToDo("new task"));
+        otherStorage.saveTasks(otherTasks);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(file.toFile().lastModified() + 2000));
+
+        assertTrue(storage.hasChangedOnDisk());
+        SaveFileChanges changes = storage.readChanges();
+        assertTrue(storage.acceptChanges(changes));
+        assertEquals(List.of(tasks.get(10)), changes.getTasksToMarkDone());
+        assertEquals(List.of(tasks.get(500)), changes.getRemovedTasks());
+        assertEquals(List.of(tasks.get(1500)), changes.getInsertionAnchors());
+        assertEquals("[T][ ] new task", changes.getInsertedTasks().get(0).get(0).toString());
+        assertTrue(changes.getNumChunksRead() < changes.getNumChunks());
+        assertFalse(storage.hasChangedOnDisk());
+    }
+
+    @Test
+    public void readChanges_onlyTouched_noChanges() throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        storage.saveTasks(new ArrayList<>(List.of(new ToDo("standup"), new ToDo("read book"))));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(file.toFile().lastModified() + 2000));
+
+        assertTrue(storage.hasChangedOnDisk());
+        SaveFileChanges changes = storage.readChanges();
+        assertTrue(changes.isEmpty());
+        assertEquals(0, changes.getNumChunksRead());
+    }
+
+    @Test
+    public void saveTasksIfUnchanged_savedByOtherInstance_notSaved()
+            throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        storage.saveTasks(new ArrayList<>(List.of(new ToDo("standup"))));
+        Storage otherStorage = new Storage(file.toString());
+        ArrayList<Task> otherTasks = otherStorage.loadTasks();
+        otherTasks.get(0).markAsDone();
+        assertTrue(otherStorage.saveTasksIfUnchanged(otherTasks, false));
+
+        // the same length and possibly the same modification time, but a newer version
+        assertTrue(storage.hasChangedOnDisk());
+        assertFalse(storage.saveTasksIfUnchanged(new ArrayList<>(List.of(new ToDo("standup"))), false));
+        assertEquals("#ECHO dict version 0000000000000000002", Files.readAllLines(file).get(0));
+        assertEquals("[T][X] standup", new Storage(file.toString()).loadTasks().get(0).toString());
+    }
+
+    @Test
+    public void loadDependencies_savedWithTasks_sameTasksLinked()
+            throws IOException, StorageException, TaskException {
+        Path file = tempDir.resolve("echo.txt");
+        Storage storage = new Storage(file.toString());
+        ArrayList<Task> tasks = new ArrayList<>(List.of(new ToDo("buy paint"), new ToDo("paint fence"),
+            new ToDo("sell house")));
+        storage.saveTasks(tasks, List.of(new Dependency(tasks.get(1), tasks.get(0)),
+            new Dependency(tasks.get(2), tasks.get(1))), false);
+
+        Storage otherStorage = new Storage(file.toString());
+        ArrayList<Task> loadedTasks = otherStorage.loadTasks();
+        ArrayList<Dependency> dependencies = otherStorage.loadDependencies();
+        assertEquals(2, dependencies.size());
+        assertSame(loadedTasks.get(1), dependencies.get(0).getTask());
+        assertSame(loadedTasks.get(0), dependencies.get(0).getPrerequisite());
+        assertSame(loadedTasks.get(2), dependencies.get(1).getTask());
+
+        // a save file rewritten without dependencies leaves none behind
+        storage.saveTasks(tasks);
+        otherStorage.loadTasks();
+        assertTrue(otherStorage.loadDependencies().isEmpty());
+        assertFalse(Files.exists(tempDir.resolve("echo.txt.after")));
+    }
+}
@@ -0,0 +1,154 @@
+package echo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.task.Deadline;
+import echo.task.DescriptionPool;
+import echo.task.Event;
+import echo.task.Task;
+import echo.task.ToDo;
+
+public class TaskStoreTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void insert_manyTasks_readableInOrderAfterReopening() throws StorageException, TaskException {
+        String path = tempDir.resolve("echo.pages").toString();
+        TaskStore store = new TaskStore(path, new DescriptionPool(), 16);
+        store.open();
+        for (int i = 0; i < 5000; i++) {
+            store.insert(new ToDo("task " + i));
+        }
+        // longer than a page, so it is kept in overflow pages
+        store.insert(new ToDo("x".repeat(10000)));
+        store.close();
+
+        TaskStore reopenedStore = new TaskStore(path, new DescriptionPool(), 16);
+        reopenedStore.open();
+        assertEquals(5001, reopenedStore.getNumTasks());
+        assertEquals("[T][ ] task 4321", reopenedStore.get(4322).toString());
+        assertEquals(10000, reopenedStore.get(5001).getDescription().length());
+
+        ArrayList<Task> tasks = new ArrayList<>(reopenedStore.loadTasks().values());
+        assertEquals(5001, tasks.size());
+        assertEquals("[T][ ] task 0", tasks.get(0).toString());
+        assertEquals("[T][ ] task 4999", tasks.get(4999).toString());
+    }
+
+    @Test
+    public void update_oneTask_onlyItsLeafWritten() throws StorageException, TaskException {
+        String path = tempDir.resolve("echo.pages").toString();
+        TaskStore store = new TaskStore(path, new DescriptionPool(), 16);
+        store.open();
+        for (int i = 0; i < 20000; i++) {
+            store.insert(new ToDo("task " + i));
+        }
+        store.close();
+
+        TaskStore reopenedStore = new TaskStore(path, new DescriptionPool(), 16);
+        reopenedStore.open();
+        Task task = reopenedStore.get(12345);
+        task.markAsDone();
+        reopenedStore.update(12345, task);
+        reopenedStore.flush();
+
+        assertTrue(reopenedStore.getNumPages() > 100);
+        // the root, inner node and leaf on the way down
+        assertTrue(reopenedStore.getPagesRead() <= 4);
+        // the leaf and the header
+        assertEquals(2, reopenedStore.getPagesWritten());
+        assertEquals("[T][X] task 12344", reopenedStore.get(12345).toString());
+    }
+
+    @Test
+    public void delete_allTasks_pagesReused() throws StorageException, TaskException {
+        TaskStore store = new TaskStore(tempDir.resolve("echo.pages").toString(), new DescriptionPool(), 16);
+        store.open();
+        ArrayList<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            ids.add(store.insert(new Deadline("deadline " + i, "2026-01-25 1800")));
+        }
+        int numPages = store.getNumPages();
+        for (long id : ids) {
+            store.delete(id);
+        }
+        assertEquals(0, store.getNumTasks());
+        assertThrows(StorageException.class, () -> store.get(ids.get(0)));
+        assertThrows(StorageException.class, () -> store.delete(ids.get(0)));
+
+        for (int i = 0; i < 3000; i++) {
+            store.insert(new Deadline("deadline " + i, "2026-01-25 1800"));
+        }
+        assertEquals(numPages, store.getNumPages());
+    }
+
+    @Test
+    public void hasImportedSaveFile_markedThenAllTasksDeleted_stillImportedAfterReopening()
+            throws StorageException, TaskException {
+        String path = tempDir.resolve("echo.pages").toString();
+        TaskStore store = new TaskStore(path, new DescriptionPool(), 16);
+        store.open();
+        assertFalse(store.hasImportedSaveFile());
+        long id = store.insert(new ToDo("read book"));
+        store.markSaveFileImported();
+        store.delete(id);
+        store.close();
+
+        TaskStore reopenedStore = new TaskStore(path, new DescriptionPool(), 16);
+        reopenedStore.open();
+        assertEquals(0, reopenedStore.getNumTasks());
+        assertTrue(reopenedStore.hasImportedSaveFile());
+    }
+
+    @Test
+    public void findIdsStartingBetween_deadlinesAndEvents_inOrderOfStart() throws StorageException, TaskException {
+        String path = tempDir.resolve("echo.pages").toString();
+        TaskStore store = new TaskStore(path, new DescriptionPool(), 16);
+        store.open();
+        long lateId = store.insert(new Deadline("late", "2026-01-25 1800"));
+        store.insert(new ToDo("read book"));
+        long eventId = store.insert(new Event("meeting", "2026-01-25 0900", "2026-01-25 1000"));
+        store.insert(new Deadline("next day", "2026-01-26 0000"));
+        long earlyId = store.insert(new Deadline("early", "2026-01-25 0000"));
+        store.close();
+
+        TaskStore reopenedStore = new TaskStore(path, new DescriptionPool(), 16);
+        reopenedStore.open();
+        assertEquals(List.of(earlyId, eventId, lateId), reopenedStore.findIdsStartingBetween(
+            LocalDateTime.of(2026, 1, 25, 0, 0), LocalDateTime.of(2026, 1, 26, 0, 0)));
+    }
+
+    @Test
+    public void findUndoneIdsStartingFrom_doneAfterUpdate_skipped() throws StorageException, TaskException {
+        TaskStore store = new TaskStore(tempDir.resolve("echo.pages").toString(), new DescriptionPool(), 16);
+        store.open();
+        ArrayList<Long> ids = new ArrayList<>();
+        for (int day = 1; day <= 9; day++) {
+            ids.add(store.insert(new Deadline("deadline " + day, "2026-01-0" + day + " 1200")));
+        }
+        Task task = store.get(ids.get(2));
+        task.markAsDone();
+        store.update(ids.get(2), task);
+
+        // a few seconds past noon, so the deadline at noon has passed
+        LocalDateTime from = LocalDateTime.of(2026, 1, 2, 12, 0, 30);
+        assertEquals(List.of(ids.get(3), ids.get(4)), store.findUndoneIdsStartingFrom(from, 2));
+        assertEquals(6, store.findUndoneIdsStartingFrom(from, Integer.MAX_VALUE).size());
+        assertEquals(9, store.findIdsStartingBetween(LocalDateTime.of(2026, 1, 1, 0, 0),
+            LocalDateTime.of(2026, 1, 10, 0, 0)).size());
+    }
+}
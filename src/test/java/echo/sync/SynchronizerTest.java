@@ -0,0 +1,106 @@
+package echo.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import echo.exception.StorageException;
+import echo.exception.TaskException;
+import echo.storage.Storage;
+import echo.task.Task;
+import echo.task.ToDo;
+
+public class SynchronizerTest {
+    private static final int NUM_TASKS = 2000;
+
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> createTasks() throws TaskException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < SynchronizerTest.NUM_TASKS; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        return tasks;
+    }
+
+    private ArrayList<String> loadLines(Storage storage) throws IOException, StorageException, TaskException {
+        ArrayList<String> lines = new ArrayList<>();
+        for (Task task : storage.loadTasks()) {
+            lines.add(task.saveRepresentation());
+        }
+        lines.sort(null);
+        return lines;
+    }
+
+    @Test
+    public void sync_sameTasks_inSync() throws IOException, StorageException, TaskException {
+        Storage here = new Storage(tempDir.resolve("here.txt").toString());
+        Storage there = new Storage(tempDir.resolve("there.txt").toString());
+        here.saveTasks(this.createTasks());
+        there.saveTasks(this.createTasks());
+
+        SyncResult result = new Synchronizer().sync(here, there.getPath());
+        assertTrue(result.isInSync());
+        assertEquals(0, result.getBytesRead());
+    }
+
+    @Test
+    public void sync_differentTasks_mergedIntoBothFiles() throws IOException, StorageException, TaskException {
+        Storage here = new Storage(tempDir.resolve("here.txt").toString());
+        Storage there = new Storage(tempDir.resolve("there.txt").toString());
+        ArrayList<Task> hereTasks = this.createTasks();
+        hereTasks.get(10).markAsDone();
+        hereTasks.add(new ToDo("only here"));
+        ArrayList<Task> thereTasks = this.createTasks();
+        thereTasks.get(1500).markAsDone();
+        thereTasks.add(new ToDo("only there"));
+        here.saveTasks(hereTasks);
+        there.saveTasks(thereTasks);
+
+        SyncResult result = new Synchronizer().sync(here, there.getPath());
+        assertEquals(List.of(1501), result.getTaskNumbersDoneHere());
+        assertEquals(1, result.getTasksAddedHere().size());
+        assertEquals("[T][ ] only there", result.getTasksAddedHere().get(0).toString());
+        assertEquals(1, result.getNumTasksAddedThere());
+        assertEquals(1, result.getNumTasksDoneThere());
+        // only the chunks around the changed tasks are read
+        assertTrue(result.getBytesRead() < Files.size(tempDir.resolve("here.txt")) / 2);
+
+        assertEquals(this.loadLines(here), this.loadLines(there));
+        assertTrue(this.loadLines(here).contains("T | 1 | task 10"));
+        assertTrue(this.loadLines(here).contains("T | 1 | task 1500"));
+        assertTrue(new Synchronizer().sync(here, there.getPath()).isInSync());
+    }
+
+    @Test
+    public void sync_fileWithoutDictionary_linesAppendedInSameFormat()
+            throws IOException, StorageException, TaskException {
+        Path thereFile = tempDir.resolve("there.txt");
+        Files.write(thereFile, List.of("T | 1 | read book"));
+        Storage here = new Storage(tempDir.resolve("here.txt").toString());
+        here.saveTasks(new ArrayList<>(List.of(new ToDo("read book"), new ToDo("standup"))));
+
+        SyncResult result = new Synchronizer().sync(here, thereFile.toString());
+        assertEquals(List.of(1), result.getTaskNumbersDoneHere());
+        assertEquals(List.of("T | 1 | read book", "T | 0 | standup"), Files.readAllLines(thereFile));
+    }
+
+    @Test
+    public void sync_missingFile_exceptionThrown() throws IOException, TaskException {
+        Storage here = new Storage(tempDir.resolve("here.txt").toString());
+        here.saveTasks(this.createTasks());
+
+        assertThrows(StorageException.class, () -> new Synchronizer().sync(here, tempDir.resolve("x").toString()));
+        assertThrows(StorageException.class, () -> new Synchronizer().sync(here, here.getPath()));
+    }
+}
@@ -0,0 +1,87 @@
+package echo.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+import echo.exception.TaskException;
+
+public class DateParserTest {
+    private static final String ERROR_MESSAGE_DATE_WRONG_FORMAT = "Date is in the wrong format! "
+        + "Try e.g. 2026-01-25 1800, 2026-01-25, 6pm, 18:30, noon, tomorrow 6pm, next mon or in 3 days";
+
+    // a Wednesday
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 21, 14, 30);
+    private static final LocalDate TODAY = NOW.toLocalDate();
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    private final DateParser parser = new DateParser(4);
+
+    private LocalDateTime parse(String phrase) throws TaskException {
+        return parser.parse(phrase, NOW, TODAY, END_OF_DAY);
+    }
+
+    @Test
+    public void parse_savedFormat_sameTime() throws TaskException {
+        assertEquals(LocalDateTime.of(2026, 1, 25, 18, 0), parse("2026-01-25 1800"));
+        assertEquals("2026-01-25 1800", DateParser.toSaveFormat(parse("2026-01-25 1800")));
+    }
+
+    @Test
+    public void parse_relativePhrases_resolvedAgainstNow() throws TaskException {
+        assertEquals(LocalDateTime.of(2026, 1, 22, 18, 0), parse("tomorrow 6pm"));
+        assertEquals(LocalDateTime.of(2026, 1, 22, 9, 15), parse("Tomorrow at 9:15am"));
+        assertEquals(LocalDateTime.of(2026, 1, 21, 12, 0), parse("today noon"));
+        assertEquals(LocalDateTime.of(2026, 1, 26, 23, 59), parse("next mon"));
+        assertEquals(LocalDateTime.of(2026, 1, 21, 23, 59), parse("wed"));
+        assertEquals(LocalDateTime.of(2026, 1, 28, 23, 59), parse("next wednesday"));
+        assertEquals(LocalDateTime.of(2026, 1, 24, 23, 59), parse("in 3 days"));
+        assertEquals(LocalDateTime.of(2026, 2, 21, 8, 0), parse("in 1 month 0800"));
+        assertEquals(LocalDateTime.of(2026, 1, 21, 16, 30), parse("in 2 hours"));
+        assertEquals(LocalDateTime.of(2026, 1, 25, 23, 59), parse("2026-01-25"));
+        assertEquals(LocalDateTime.of(2026, 1, 23, 19, 0), parse("7pm fri"));
+        assertEquals(LocalDateTime.of(2026, 1, 21, 18, 0), parse("6pm"));
+    }
+
+    @Test
+    public void parse_cachedPhrase_resolvedAgainstNewNow() throws TaskException {
+        assertEquals(LocalDateTime.of(2026, 1, 22, 23, 59), parse("tomorrow"));
+        LocalDateTime later = NOW.plusDays(10);
+        assertEquals(LocalDateTime.of(2026, 2, 1, 23, 59),
+            parser.parse("tomorrow", later, later.toLocalDate(), END_OF_DAY));
+        assertEquals(1, parser.size());
+    }
+
+    @Test
+    public void parse_manyPhrases_onlyRecentKept() throws TaskException {
+        for (int day = 1; day <= 10; day++) {
+            parse("2026-01-%02d".formatted(day));
+        }
+        assertEquals(4, parser.size());
+    }
+
+    @Test
+    public void parse_invalidPhrases_exceptionThrown() {
+        String[] phrases = {"2026-01-23 180", "2026-01-6 1800", "2026-13-01", "someday", "tomorrow 13pm",
+            "next", "2026-01-25 2500", ""};
+        for (String phrase : phrases) {
+            TaskException exception = assertThrows(TaskException.class, () -> parse(phrase));
+            assertEquals(DateParserTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_dayNotInMonth_exceptionThrown() throws TaskException {
+        for (String phrase : new String[] {"2026-02-30", "2026-02-29 1200", "2026-04-31 0900"}) {
+            TaskException exception = assertThrows(TaskException.class, () -> parse(phrase));
+            assertEquals(DateParserTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
+        }
+        // a leap year
+        assertEquals(LocalDateTime.of(2028, 2, 29, 12, 0), parse("2028-02-29 1200"));
+    }
+}
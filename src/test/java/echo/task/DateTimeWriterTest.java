@@ -0,0 +1,55 @@
+package echo.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import echo.exception.TaskException;
+
+public class DateTimeWriterTest {
+    private static final DateTimeFormatter FORMATTER_DISPLAY =
+        DateTimeFormatter.ofPattern("d MMM yyyy HHmm", Locale.ENGLISH);
+    private static final DateTimeFormatter FORMATTER_SAVE = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+
+    @Test
+    public void append_everyHourOfTwoYears_sameAsDateTimeFormatter() {
+        StringBuilder builder = new StringBuilder();
+        LocalDateTime end = LocalDateTime.of(2028, 1, 1, 0, 7);
+        for (LocalDateTime dateTime = LocalDateTime.of(2026, 1, 1, 0, 7); dateTime.isBefore(end);
+                dateTime = dateTime.plusMinutes(61)) {
+            builder.setLength(0);
+            assertEquals(dateTime.format(FORMATTER_DISPLAY), DateTimeWriter.appendDisplay(builder, dateTime)
+                .toString());
+            builder.setLength(0);
+            assertEquals(dateTime.format(FORMATTER_SAVE), DateTimeWriter.appendSave(builder, dateTime).toString());
+        }
+    }
+
+    @Test
+    public void append_unusualYears_sameAsDateTimeFormatter() {
+        for (int year : new int[] {0, 1, 99, 999, 9999, 10000}) {
+            LocalDateTime dateTime = LocalDateTime.of(year, 12, 31, 23, 59);
+            assertEquals(dateTime.format(FORMATTER_DISPLAY), DateTimeWriter.appendDisplay(new StringBuilder(),
+                dateTime).toString());
+            assertEquals(dateTime.format(FORMATTER_SAVE), DateTimeWriter.appendSave(new StringBuilder(), dateTime)
+                .toString());
+        }
+    }
+
+    @Test
+    public void appendTo_recurringEvent_rendersIntoExistingBuilder() throws TaskException {
+        Event event = new Event("standup", "2026-01-05 0900", "2026-01-05 0915");
+        RecurringTask task = new RecurringTask(event, Recurrence.of("day", "2026-03-31"));
+
+        StringBuilder builder = new StringBuilder("1. ");
+        task.appendTo(builder);
+        assertEquals("1. [E][ ] standup (from: 5 Jan 2026 0900 to: 5 Jan 2026 0915) (every day until 31 Mar 2026)",
+            builder.toString());
+        assertEquals("RE | 0 | standup | 2026-01-05 0900 | 2026-01-05 0915 | DAILY | 2026-03-31",
+            task.saveRepresentation());
+    }
+}
@@ -0,0 +1,43 @@
+package echo.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import echo.command.Command;
+import echo.exception.TaskException;
+import echo.exception.TaskManagerException;
+
+public class DescriptionPoolTest {
+    // full collections needed at most before the pool notices a description is no longer used
+    private static final int MAX_COLLECTIONS = 50;
+
+    @Test
+    public void intern_equalDescriptions_sameInstance() {
+        DescriptionPool pool = new DescriptionPool();
+        String first = pool.intern(new String("pay rent"));
+
+        assertSame(first, pool.intern(new String("pay rent")));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void intern_taskRemoved_descriptionReleased() throws TaskException, TaskManagerException {
+        DescriptionPool pool = new DescriptionPool();
+        TaskManager taskManager = new TaskManager(new ArrayList<>(), pool);
+        taskManager.addTask(new String("pay rent"), Command.TODO, new ArrayList<>());
+        taskManager.addTask(new String("standup"), Command.TODO, new ArrayList<>());
+        assertEquals(2, pool.size());
+
+        taskManager.removeTask(1);
+        for (int i = 0; i < DescriptionPoolTest.MAX_COLLECTIONS && pool.size() > 1; i++) {
+            System.gc();
+        }
+
+        assertEquals(1, pool.size());
+        assertSame(taskManager.getTasks().get(0).getDescription(), pool.intern(new String("standup")));
+    }
+}
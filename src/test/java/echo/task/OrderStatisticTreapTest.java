@@ -0,0 +1,47 @@
+package echo.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class OrderStatisticTreapTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    public void countBefore_randomAddsAndRemoves_sameAsScan() {
+        OrderStatisticTreap treap = new OrderStatisticTreap();
+        ArrayList<LocalDateTime> times = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            // few distinct times, so many are repeated
+            LocalDateTime time = START.plusHours(random.nextInt(200));
+            if (times.isEmpty() || random.nextInt(3) > 0) {
+                treap.add(time);
+                times.add(time);
+            } else {
+                LocalDateTime removed = times.remove(random.nextInt(times.size()));
+                treap.remove(removed);
+            }
+
+            LocalDateTime query = START.plusHours(random.nextInt(210)).plusMinutes(random.nextInt(2) * 30);
+            long expected = times.stream().filter(t -> t.isBefore(query)).count();
+            assertEquals(expected, treap.countBefore(query));
+            assertEquals(times.size(), treap.size());
+        }
+    }
+
+    @Test
+    public void remove_missingTime_nothingRemoved() {
+        OrderStatisticTreap treap = new OrderStatisticTreap();
+        treap.add(START);
+        treap.remove(START.plusDays(1));
+
+        assertEquals(1, treap.size());
+        assertEquals(1, treap.countBefore(START.plusDays(1)));
+        assertEquals(0, treap.countBefore(START));
+    }
+}
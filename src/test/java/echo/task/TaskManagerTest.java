@@ -1,8 +1,12 @@
 package echo.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,10 +14,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import echo.command.Command;
+import echo.exception.StorageException;
 import echo.exception.TaskException;
 import echo.exception.TaskManagerException;
 
 public class TaskManagerTest {
+    private static final String ERROR_MESSAGE_DATE_WRONG_FORMAT = "Date is in the wrong format! "
+        + "Try e.g. 2026-01-25 1800, 2026-01-25, 6pm, 18:30, noon, tomorrow 6pm, next mon or in 3 days";
+
     private TaskManager taskManager;
 
     @BeforeEach
@@ -45,13 +53,22 @@ public class TaskManagerTest {
         assertEquals("[D][ ] sweep floor (by: 23 Jan 2026 1800)", result.getTask().toString());
     }
 
+    @Test
+    public void addTask_deadlineDayNotInMonth_exceptionThrown() throws TaskException {
+        ArrayList<String> deadlineArrayList = new ArrayList<>(List.of("2026-02-30 1800"));
+        TaskException exception = assertThrows(TaskException.class, () -> {
+            taskManager.addTask("sweep floor", Command.DEADLINE, deadlineArrayList);
+        });
+        assertEquals(TaskManagerTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
+    }
+
     @Test
     public void addTask_invalidDeadlineTime_exceptionThrown() throws TaskException {
         ArrayList<String> deadlineArrayList = new ArrayList<>(List.of("2026-01-23 180"));
         TaskException exception = assertThrows(TaskException.class, () -> {
             taskManager.addTask("sweep floor", Command.DEADLINE, deadlineArrayList);
         });
-        assertEquals("Date is in the wrong format! Must be in yyyy-mm-dd HHmm", exception.getMessage());
+        assertEquals(TaskManagerTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
     }
 
     @Test
@@ -60,7 +77,7 @@ public class TaskManagerTest {
         TaskException exception = assertThrows(TaskException.class, () -> {
             taskManager.addTask("sweep floor", Command.DEADLINE, deadlineArrayList);
         });
-        assertEquals("Date is in the wrong format! Must be in yyyy-mm-dd HHmm", exception.getMessage());
+        assertEquals(TaskManagerTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
     }
 
     // NOTE: tests for Event task
@@ -78,7 +95,7 @@ public class TaskManagerTest {
         TaskException exception = assertThrows(TaskException.class, () -> {
             taskManager.addTask("Attend Conference", Command.EVENT, deadlineArrayList);
         });
-        assertEquals("Date is in the wrong format! Must be in yyyy-mm-dd HHmm", exception.getMessage());
+        assertEquals(TaskManagerTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
     }
 
     @Test
@@ -87,7 +104,7 @@ public class TaskManagerTest {
         TaskException exception = assertThrows(TaskException.class, () -> {
             taskManager.addTask("Attend Conference", Command.EVENT, deadlineArrayList);
         });
-        assertEquals("Date is in the wrong format! Must be in yyyy-mm-dd HHmm", exception.getMessage());
+        assertEquals(TaskManagerTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
     }
 
     @Test
@@ -96,7 +113,7 @@ public class TaskManagerTest {
         TaskException exception = assertThrows(TaskException.class, () -> {
             taskManager.addTask("Attend Conference", Command.EVENT, deadlineArrayList);
         });
-        assertEquals("Date is in the wrong format! Must be in yyyy-mm-dd HHmm", exception.getMessage());
+        assertEquals(TaskManagerTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
     }
 
     @Test
@@ -105,7 +122,7 @@ public class TaskManagerTest {
         TaskException exception = assertThrows(TaskException.class, () -> {
             taskManager.addTask("Attend Conference", Command.EVENT, deadlineArrayList);
         });
-        assertEquals("Date is in the wrong format! Must be in yyyy-mm-dd HHmm", exception.getMessage());
+        assertEquals(TaskManagerTest.ERROR_MESSAGE_DATE_WRONG_FORMAT, exception.getMessage());
     }
 
     @Test
@@ -141,8 +158,337 @@ public class TaskManagerTest {
         assertEquals("No such thing as task -10!", exception.getMessage());
     }
 
+    // NOTE: tests for conflict detection and the per-day index
+    @Test
+    public void addTask_overlappingEvents_conflictReported() throws TaskException, TaskManagerException {
+        taskManager.addTask("project meeting", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-25 1400", "2026-01-25 1600")));
+        AddTaskResult result = taskManager.addTask("team discussion", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-25 1500", "2026-01-25 1700")));
+        assertTrue(result.hasConflict());
+        assertEquals(1, result.getConflictingTasks().size());
+    }
+
+    @Test
+    public void addTask_deadlineInsideMultiDayEvent_conflictReported() throws TaskException, TaskManagerException {
+        taskManager.addTask("conference", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-24 0900", "2026-01-27 1700")));
+        AddTaskResult result = taskManager.addTask("submit proposal", Command.DEADLINE,
+            new ArrayList<>(List.of("2026-01-26 1200")));
+        assertTrue(result.hasConflict());
+    }
+
+    @Test
+    public void addTask_sameDayNoOverlap_noConflict() throws TaskException, TaskManagerException {
+        taskManager.addTask("project meeting", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-25 1400", "2026-01-25 1600")));
+        AddTaskResult result = taskManager.addTask("submit report", Command.DEADLINE,
+            new ArrayList<>(List.of("2026-01-25 1800")));
+        assertFalse(result.hasConflict());
+    }
+
+    @Test
+    public void addTask_conflictingTaskRemoved_noConflict() throws TaskException, TaskManagerException {
+        taskManager.addTask("submit report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-25 1800")));
+        taskManager.removeTask(1);
+        AddTaskResult result = taskManager.addTask("complete assignment", Command.DEADLINE,
+            new ArrayList<>(List.of("2026-01-25 1800")));
+        assertFalse(result.hasConflict());
+    }
+
+    @Test
+    public void findTasksOn_multiDayEvent_foundOnEveryDay() throws TaskException, TaskManagerException {
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("conference", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-24 0900", "2026-01-26 1700")));
+        assertEquals(1, taskManager.findTasksOn(LocalDate.of(2026, 1, 24)).size());
+        assertEquals(1, taskManager.findTasksOn(LocalDate.of(2026, 1, 26)).size());
+        assertEquals(0, taskManager.findTasksOn(LocalDate.of(2026, 1, 27)).size());
+    }
+
+    // NOTE: tests for agenda queries
+    @Test
+    public void findDeadlinesDueOn_mixedTasks_onlyDeadlinesOnDay()
+            throws StorageException, TaskException, TaskManagerException {
+        taskManager.addTask("late report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-25 1800")));
+        taskManager.addTask("early report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-25 0900")));
+        taskManager.addTask("next day report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-26 0900")));
+        taskManager.addTask("meeting", Command.EVENT, new ArrayList<>(List.of("2026-01-25 1000", "2026-01-25 1100")));
+
+        ArrayList<Task> dueTasks = taskManager.findDeadlinesDueOn(LocalDate.of(2026, 1, 25));
+        assertEquals(2, dueTasks.size());
+        assertEquals("[D][ ] early report (by: 25 Jan 2026 0900)", dueTasks.get(0).toString());
+    }
+
+    @Test
+    public void findTasksBetween_inclusiveRange_sortedByStart()
+            throws StorageException, TaskException, TaskManagerException {
+        taskManager.addTask("report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-31 2359")));
+        taskManager.addTask("meeting", Command.EVENT, new ArrayList<>(List.of("2026-01-01 0000", "2026-01-01 0100")));
+        taskManager.addTask("too late", Command.DEADLINE, new ArrayList<>(List.of("2026-02-01 0000")));
+
+        ArrayList<Task> tasks = taskManager.findTasksBetween(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.get(0) instanceof Event);
+    }
+
+    @Test
+    public void findUpcomingTasks_doneAndPastTasks_skipped()
+            throws StorageException, TaskException, TaskManagerException {
+        taskManager.addTask("past", Command.DEADLINE, new ArrayList<>(List.of("2026-01-01 0900")));
+        taskManager.addTask("done", Command.DEADLINE, new ArrayList<>(List.of("2026-01-03 0900")));
+        taskManager.addTask("first", Command.DEADLINE, new ArrayList<>(List.of("2026-01-04 0900")));
+        taskManager.addTask("second", Command.DEADLINE, new ArrayList<>(List.of("2026-01-05 0900")));
+        taskManager.addTask("third", Command.DEADLINE, new ArrayList<>(List.of("2026-01-06 0900")));
+        taskManager.markAsDone(2);
+
+        ArrayList<Task> tasks = taskManager.findUpcomingTasks(LocalDateTime.of(2026, 1, 2, 0, 0), 2);
+        assertEquals(2, tasks.size());
+        assertEquals("[D][ ] first (by: 4 Jan 2026 0900)", tasks.get(0).toString());
+        assertEquals("[D][ ] second (by: 5 Jan 2026 0900)", tasks.get(1).toString());
+    }
+
+    @Test
+    public void findUpcomingTasks_markedThenUnmarked_keptUpToDate()
+            throws StorageException, TaskException, TaskManagerException {
+        taskManager.addTask("first", Command.DEADLINE, new ArrayList<>(List.of("2026-01-04 0900")));
+        taskManager.addTask("second", Command.EVENT, new ArrayList<>(List.of("2026-01-05 0900", "2026-01-05 1000")));
+        taskManager.addTask("third", Command.DEADLINE, new ArrayList<>(List.of("2026-01-06 0900")));
+        taskManager.markTasks(List.of(taskManager.getTasks().get(0), taskManager.getTasks().get(1)), true);
+        LocalDateTime from = LocalDateTime.of(2026, 1, 2, 0, 0);
+
+        assertEquals("[D][ ] third (by: 6 Jan 2026 0900)", taskManager.findUpcomingTasks(from, 1).get(0).toString());
+        taskManager.markAsUndone(2);
+        assertEquals(List.of("second", "third"),
+            taskManager.findUpcomingTasks(from, 5).stream().map(Task::getDescription).toList());
+        taskManager.removeTask(2);
+        assertEquals(List.of("third"),
+            taskManager.findUpcomingTasks(from, 5).stream().map(Task::getDescription).toList());
+        // done tasks are still found in ranges
+        assertEquals(2, taskManager.findTasksBetween(from.toLocalDate(), from.toLocalDate().plusDays(7)).size());
+    }
+
     @Test
     public void anotherDummyTest() {
         assertEquals(4, 4);
     }
+
+    // NOTE: tests for recurring tasks
+    @Test
+    public void addTask_eventOnRecurringOccurrence_conflictFound() throws TaskException, TaskManagerException {
+        taskManager.addTask("standup", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-05 0900", "2026-01-05 0915", "day")));
+        AddTaskResult result = taskManager.addTask("sync", Command.EVENT,
+            new ArrayList<>(List.of("2027-06-01 0910", "2027-06-01 1000")));
+        assertTrue(result.hasConflict());
+        assertEquals(1, result.getConflictingTasks().size());
+    }
+
+    @Test
+    public void addTask_eventAfterRecurrenceEnds_noConflict() throws TaskException, TaskManagerException {
+        taskManager.addTask("standup", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-05 0900", "2026-01-05 0915", "day", "2026-03-31")));
+        AddTaskResult result = taskManager.addTask("sync", Command.EVENT,
+            new ArrayList<>(List.of("2026-04-01 0900", "2026-04-01 1000")));
+        assertFalse(result.hasConflict());
+    }
+
+    @Test
+    public void addTask_recurringTasksMeetingLater_conflictFound() throws TaskException, TaskManagerException {
+        // a weekly Friday deadline and a monthly event on the 13th first collide on Friday 13 Feb 2026
+        taskManager.addTask("report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700", "week")));
+        AddTaskResult result = taskManager.addTask("review", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-13 1600", "2026-01-13 1800", "month")));
+        assertTrue(result.hasConflict());
+    }
+
+    @Test
+    public void findTasksBetween_recurringTask_onlyOccurrencesInRange()
+            throws StorageException, TaskException, TaskManagerException {
+        taskManager.addTask("report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700", "week")));
+        taskManager.addTask("launch", Command.DEADLINE, new ArrayList<>(List.of("2030-01-15 1200")));
+        ArrayList<Task> result = taskManager.findTasksBetween(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 15));
+        assertEquals(3, result.size());
+        assertEquals("[D][ ] report (by: 4 Jan 2030 1700)", result.get(0).toString());
+        assertEquals("[D][ ] report (by: 11 Jan 2030 1700)", result.get(1).toString());
+        assertEquals("[D][ ] launch (by: 15 Jan 2030 1200)", result.get(2).toString());
+    }
+
+    @Test
+    public void findUpcomingTasks_doneRecurringTask_skipped()
+            throws StorageException, TaskException, TaskManagerException {
+        taskManager.addTask("report", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700", "week")));
+        taskManager.addTask("standup", Command.EVENT,
+            new ArrayList<>(List.of("2026-01-05 0900", "2026-01-05 0915", "day")));
+        taskManager.markAsDone(2);
+        ArrayList<Task> result = taskManager.findUpcomingTasks(LocalDateTime.of(2026, 1, 10, 0, 0), 2);
+        assertEquals("[D][ ] report (by: 16 Jan 2026 1700)", result.get(0).toString());
+        assertEquals("[D][ ] report (by: 23 Jan 2026 1700)", result.get(1).toString());
+    }
+
+    @Test
+    public void findDoneTasks_endedBefore_onlyOldTimedTasks() throws TaskException, TaskManagerException {
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("return book", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700")));
+        taskManager.addTask("book club", Command.DEADLINE, new ArrayList<>(List.of("2026-03-09 1700")));
+        taskManager.markAsDone(1);
+        taskManager.markAsDone(2);
+        taskManager.markAsDone(3);
+
+        ArrayList<Task> result = taskManager.findDoneTasks(LocalDateTime.of(2026, 2, 1, 0, 0));
+        assertEquals(1, result.size());
+        assertEquals("[D][X] return book (by: 9 Jan 2026 1700)", result.get(0).toString());
+        assertEquals(3, taskManager.findDoneTasks(null).size());
+    }
+
+    @Test
+    public void removeTasks_doneTasks_indexesUpdated() throws StorageException, TaskException, TaskManagerException {
+        taskManager.addTask("return book", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700")));
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.markAsDone(1);
+
+        taskManager.removeTasks(taskManager.findDoneTasks(null));
+        assertEquals(1, taskManager.getNumTasks());
+        assertTrue(taskManager.findDeadlinesDueOn(LocalDate.of(2026, 1, 9)).isEmpty());
+    }
+
+    @Test
+    public void searchTasks_typoAndCapitals_rankedMatches() throws TaskException, TaskManagerException {
+        taskManager.addTask("buy milk", Command.TODO, new ArrayList<>());
+        taskManager.addTask("project planning meeting with the whole team", Command.TODO, new ArrayList<>());
+        taskManager.addTask("Project report", Command.TODO, new ArrayList<>());
+
+        ArrayList<Task> result = taskManager.searchTasks("projet REPOT", 10);
+        assertEquals(2, result.size());
+        // matches both words, and is shorter
+        assertEquals("[T][ ] Project report", result.get(0).toString());
+        assertEquals("[T][ ] project planning meeting with the whole team", result.get(1).toString());
+        assertEquals(1, taskManager.searchTasks("project", 1).size());
+    }
+
+    @Test
+    public void searchTasks_shortWordOrRemovedTask_noMatch() throws TaskException, TaskManagerException {
+        taskManager.addTask("go to the gym", Command.TODO, new ArrayList<>());
+        taskManager.addTask("return book", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700")));
+
+        // words of up to two letters must match exactly
+        assertTrue(taskManager.searchTasks("gp", 10).isEmpty());
+        assertEquals(1, taskManager.searchTasks("go", 10).size());
+
+        taskManager.removeTask(2);
+        assertTrue(taskManager.searchTasks("book", 10).isEmpty());
+    }
+
+    @Test
+    public void getStatistics_addMarkRemove_countsKeptUpToDate() throws TaskException, TaskManagerException {
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addTask("return book", Command.DEADLINE, new ArrayList<>(List.of("2026-01-09 1700")));
+        taskManager.addTask("sweep floor", Command.DEADLINE, new ArrayList<>(List.of("2026-01-20 1700")));
+        taskManager.addTask("party", Command.EVENT, new ArrayList<>(List.of("2026-01-09 1900", "2026-01-09 2200")));
+        taskManager.addTask("water plants", Command.DEADLINE,
+            new ArrayList<>(List.of("2026-01-01 0800", "day")));
+        taskManager.markAsDone(1);
+        taskManager.markAsDone(1);
+        taskManager.markAsDone(2);
+
+        TaskStatistics statistics = taskManager.getStatistics(LocalDateTime.of(2026, 1, 15, 0, 0));
+        assertEquals(5, statistics.getNumTasks());
+        assertEquals(2, statistics.getNumDone());
+        assertEquals(1, statistics.getNumToDos());
+        assertEquals(2, statistics.getNumDeadlines());
+        assertEquals(1, statistics.getNumEvents());
+        assertEquals(1, statistics.getNumRecurring());
+        assertEquals(0, statistics.getNumOverdue());
+        assertEquals(1, taskManager.getStatistics(LocalDateTime.of(2026, 1, 21, 0, 0)).getNumOverdue());
+
+        taskManager.markAsUndone(2);
+        assertEquals(2, taskManager.getStatistics(LocalDateTime.of(2026, 1, 21, 0, 0)).getNumOverdue());
+        taskManager.removeTask(3);
+        statistics = taskManager.getStatistics(LocalDateTime.of(2026, 1, 21, 0, 0));
+        assertEquals(4, statistics.getNumTasks());
+        assertEquals(1, statistics.getNumOverdue());
+        assertEquals(0.25, statistics.getCompletionRate());
+    }
+
+    @Test
+    public void getStatistics_loadedAndRemovedTasks_sameAsScan() throws TaskException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Task task = i % 2 == 0
+                ? new Deadline("deadline " + i, "2026-01-%02d 0900".formatted(i % 28 + 1))
+                : new ToDo("todo " + i);
+            if (i % 3 == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        TaskManager loadedTaskManager = new TaskManager(tasks);
+        loadedTaskManager.removeTasks(List.of(tasks.get(0), tasks.get(1), new ToDo("not in the list")));
+
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 0, 0);
+        long numOverdue = tasks.stream()
+            .filter(task -> task instanceof Deadline && !task.isDone() && ((Deadline) task).getStart().isBefore(now))
+            .count();
+        TaskStatistics statistics = loadedTaskManager.getStatistics(now);
+        assertEquals(tasks.size(), statistics.getNumTasks());
+        assertEquals(tasks.stream().filter(Task::isDone).count(), statistics.getNumDone());
+        assertEquals(numOverdue, statistics.getNumOverdue());
+    }
+
+    @Test
+    public void getReadyTasks_markUnmarkRemove_keptUpToDate() throws TaskException, TaskManagerException {
+        taskManager.addTask("buy paint", Command.TODO, new ArrayList<>());
+        taskManager.addTask("paint fence", Command.TODO, new ArrayList<>());
+        taskManager.addTask("sell house", Command.TODO, new ArrayList<>());
+        taskManager.addTask("read book", Command.TODO, new ArrayList<>());
+        taskManager.addDependency(2, 1);
+        taskManager.addDependency(3, 2);
+        taskManager.addDependency(3, 1);
+        assertEquals(List.of("buy paint", "read book"), getReadyDescriptions());
+
+        taskManager.markAsDone(1);
+        assertEquals(List.of("read book", "paint fence"), getReadyDescriptions());
+        taskManager.markAsDone(2);
+        assertEquals(List.of("read book", "sell house"), getReadyDescriptions());
+        taskManager.markAsUndone(1);
+        assertEquals(List.of("read book", "buy paint"), getReadyDescriptions());
+
+        // removing an undone prerequisite unblocks the tasks waiting for it
+        taskManager.removeTask(1);
+        assertEquals(List.of("read book", "sell house"), getReadyDescriptions());
+        assertTrue(taskManager.hasDependencies());
+        taskManager.removeTask(1);
+        assertFalse(taskManager.hasDependencies());
+    }
+
+    @Test
+    public void addDependency_cycleOrItself_exceptionThrown() throws TaskException, TaskManagerException {
+        taskManager.addTask("buy paint", Command.TODO, new ArrayList<>());
+        taskManager.addTask("paint fence", Command.TODO, new ArrayList<>());
+        taskManager.addTask("sell house", Command.TODO, new ArrayList<>());
+        taskManager.addDependency(2, 1);
+        taskManager.addDependency(3, 2);
+        long modificationCount = taskManager.getModificationCount();
+
+        TaskManagerException exception = assertThrows(TaskManagerException.class, () -> {
+            taskManager.addDependency(1, 3);
+        });
+        assertEquals("Task 3 already comes after task 1, so it cannot also come before it!", exception.getMessage());
+        exception = assertThrows(TaskManagerException.class, () -> {
+            taskManager.addDependency(2, 2);
+        });
+        assertEquals("Task 2 cannot come after itself!", exception.getMessage());
+        assertThrows(TaskManagerException.class, () -> {
+            taskManager.addDependency(4, 1);
+        });
+
+        // adding a dependency again changes nothing
+        taskManager.addDependency(2, 1);
+        assertEquals(modificationCount, taskManager.getModificationCount());
+        assertEquals(2, taskManager.getDependencies().size());
+    }
+
+    private List<String> getReadyDescriptions() {
+        return taskManager.getReadyTasks().stream().map(Task::getDescription).toList();
+    }
 }